@@ -0,0 +1,122 @@
+package com.example.student_management.benchmark;
+
+import com.example.student_management.StudentManagementApplication;
+import com.example.student_management.dto.DatasetSpec;
+import com.example.student_management.service.DatasetGenerator;
+import com.example.student_management.service.StudentSearchIndex;
+import org.flywaydb.core.api.FlywayException;
+import org.hibernate.tool.schema.spi.SchemaManagementException;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+
+// Boots the application (no web server unless a subclass adds one) against an H2 file database in MySQL mode.
+// A database is seeded once per (rows, seed) and reused by later forks and runs; it is
+// rebuilt when its student count does not match. Delete target/benchmark-data to force a reseed.
+@State(Scope.Benchmark)
+public class BenchmarkDatabase {
+
+    @Param({"10000", "100000", "1000000"})
+    public int rows;
+
+    @Param({"42"})
+    public long seed;
+
+    public ConfigurableApplicationContext context;
+    public int courses;
+
+    @Setup(Level.Trial)
+    public void start() throws Exception {
+        Path dataDir = Paths.get(System.getProperty("benchmark.data-dir", "target/benchmark-data"));
+        String url = "jdbc:h2:file:" + dataDir.toAbsolutePath().resolve("rows-" + rows + "-seed-" + seed)
+                + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH";
+        DatasetSpec spec = new DatasetSpec();
+        spec.setSeed(seed);
+        spec.setStudents(rows);
+        courses = spec.resolveCourses();
+
+        Long students = null;
+        try {
+            context = boot(url);
+            students = context.getBean(JdbcTemplate.class).queryForObject("SELECT COUNT(*) FROM students", Long.class);
+        } catch (RuntimeException e) {
+            if (!isSchemaMismatch(e)) {
+                throw e;
+            }
+            // A database left by an older schema fails migration or validation; it is seeded again below
+            context = null;
+        }
+        if (students == null || students != rows) {
+            if (context != null) {
+                context.close();
+            }
+            try (Connection connection = DriverManager.getConnection(url, "sa", "");
+                 Statement statement = connection.createStatement()) {
+                statement.execute("DROP ALL OBJECTS");
+            }
+            // Flyway creates the schema; the generator also rebuilds the derived tables and the search index
+            context = boot(url);
+            context.getBean(DatasetGenerator.class).generate(spec);
+        }
+        awaitSearchIndex();
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        if (context != null) {
+            context.close();
+        }
+    }
+
+    public <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    // Subclasses add a web server or extra settings here
+    protected void configure(SpringApplicationBuilder builder) {
+        builder.web(WebApplicationType.NONE);
+    }
+
+    private ConfigurableApplicationContext boot(String url) {
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(StudentManagementApplication.class)
+                .properties(
+                        "spring.datasource.url=" + url,
+                        "spring.datasource.username=sa",
+                        "spring.datasource.password=",
+                        "spring.jpa.open-in-view=false",
+                        "spring.main.banner-mode=off",
+                        "logging.level.root=WARN");
+        configure(builder);
+        return builder.run();
+    }
+
+    private static boolean isSchemaMismatch(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof FlywayException || cause instanceof SchemaManagementException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void awaitSearchIndex() throws InterruptedException {
+        StudentSearchIndex index = context.getBean(StudentSearchIndex.class);
+        long deadline = System.nanoTime() + 600_000_000_000L;
+        while (!index.isReady() && System.nanoTime() < deadline) {
+            Thread.sleep(100);
+        }
+    }
+}
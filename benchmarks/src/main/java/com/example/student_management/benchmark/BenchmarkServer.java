@@ -0,0 +1,49 @@
+package com.example.student_management.benchmark;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+
+// The benchmark database behind a real Tomcat on a random port, in platform- or virtual-thread mode.
+// H2 answers in microseconds, so every JDBC statement is held back by dbLatencyMs to stand in for the
+// MySQL round trip that keeps request threads blocked in production.
+@State(Scope.Benchmark)
+public class BenchmarkServer extends BenchmarkDatabase {
+
+    @Param({"false", "true"})
+    public boolean virtualThreads;
+
+    @Param({"5"})
+    public int dbLatencyMs;
+
+    public HttpClient client;
+    public String baseUrl;
+
+    @Override
+    protected void configure(SpringApplicationBuilder builder) {
+        builder.web(WebApplicationType.SERVLET)
+                .properties(
+                        "server.port=0",
+                        "spring.threads.virtual.enabled=" + virtualThreads)
+                .initializers(context -> context.getBeanFactory()
+                        .addBeanPostProcessor(new SimulatedDbLatency(dbLatencyMs)));
+    }
+
+    @Setup(Level.Trial)
+    public void connect() {
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        baseUrl = "http://localhost:" + port;
+        client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.student_management.benchmark;
+
+import com.example.student_management.model.Enrollments;
+import com.example.student_management.service.EnrollmentService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// EnrollmentServiceImpl.enrollStudentInCourse, followed by a delete so seat counts stay level
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class EnrollmentBenchmark {
+
+    private EnrollmentService enrollmentService;
+    private SplittableRandom random;
+    private int students;
+    private int courses;
+
+    @Setup(Level.Trial)
+    public void setUp(BenchmarkDatabase database) {
+        enrollmentService = database.bean(EnrollmentService.class);
+        random = new SplittableRandom(database.seed);
+        students = database.rows;
+        courses = database.courses;
+    }
+
+    @Benchmark
+    public void enrollAndDrop(Blackhole blackhole) {
+        long studentId = 1 + random.nextInt(students);
+        long courseId = 1 + random.nextInt(courses);
+        try {
+            Enrollments enrollment = enrollmentService.enrollStudentInCourse(studentId, courseId);
+            enrollmentService.deleteEnrollment(enrollment.getEnrollmentId());
+            blackhole.consume(enrollment);
+        } catch (RuntimeException e) {
+            // Already enrolled: the duplicate check is part of the path being measured
+            blackhole.consume(e);
+        }
+    }
+}
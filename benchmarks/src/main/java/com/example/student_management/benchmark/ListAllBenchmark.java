@@ -0,0 +1,56 @@
+package com.example.student_management.benchmark;
+
+import com.example.student_management.service.CourseService;
+import com.example.student_management.service.StudentService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// Unpaged list-all endpoints against the keyset-paginated alternative
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 3, time = 10)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class ListAllBenchmark {
+
+    private StudentService studentService;
+    private CourseService courseService;
+    private SplittableRandom random;
+    private int students;
+
+    @Setup(Level.Trial)
+    public void setUp(BenchmarkDatabase database) {
+        studentService = database.bean(StudentService.class);
+        courseService = database.bean(CourseService.class);
+        random = new SplittableRandom(database.seed);
+        students = database.rows;
+    }
+
+    @Benchmark
+    public Object allStudents() {
+        return studentService.getAllStudents();
+    }
+
+    @Benchmark
+    public Object allCourses() {
+        return courseService.getAllCourses();
+    }
+
+    @Benchmark
+    public Object studentsPage() {
+        return studentService.getStudentsPage((long) random.nextInt(students), 50);
+    }
+}
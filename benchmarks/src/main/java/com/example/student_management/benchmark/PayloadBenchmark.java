@@ -0,0 +1,87 @@
+package com.example.student_management.benchmark;
+
+import com.example.student_management.service.EnrollmentService;
+import com.example.student_management.service.StudentService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+// Serialization CPU for 10k list rows per response format, using the application's own mappers.
+// The payload size of each (payload, format) pair is reported next to the timing as payloadBytes.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 3, time = 10)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class PayloadBenchmark {
+
+    private static final int ROWS = 10_000;
+
+    @Param({"students", "enrollments"})
+    public String payload;
+
+    @Param({"json", "json-gzip", "cbor", "smile"})
+    public String format;
+
+    private List<?> rows;
+    private ObjectMapper mapper;
+    private boolean gzip;
+    private final ByteArrayOutputStream buffer = new ByteArrayOutputStream(4 * 1024 * 1024);
+
+    @Setup(Level.Trial)
+    public void setUp(BenchmarkDatabase database) {
+        List<?> all = payload.equals("students")
+                ? database.bean(StudentService.class).getAllStudents()
+                : database.bean(EnrollmentService.class).getAllEnrollments();
+        rows = all.subList(0, Math.min(ROWS, all.size()));
+        gzip = format.equals("json-gzip");
+        mapper = switch (format) {
+            case "cbor" -> database.bean(MappingJackson2CborHttpMessageConverter.class).getObjectMapper();
+            case "smile" -> database.bean(MappingJackson2SmileHttpMessageConverter.class).getObjectMapper();
+            default -> database.bean(MappingJackson2HttpMessageConverter.class).getObjectMapper();
+        };
+    }
+
+    // Bytes of the last serialized response; assigned, not summed, so the counter reads as the size
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class PayloadSize {
+        public long payloadBytes;
+    }
+
+    @Benchmark
+    public int serialize(PayloadSize size) throws IOException {
+        buffer.reset();
+        if (gzip) {
+            try (OutputStream out = new GZIPOutputStream(buffer, 8192)) {
+                mapper.writeValue(out, rows);
+            }
+        } else {
+            mapper.writeValue(buffer, rows);
+        }
+        size.payloadBytes = buffer.size();
+        return buffer.size();
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.student_management.benchmark;
+
+import com.example.student_management.service.FeeService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// FeeServiceImpl.makePayment with a one-cent payment against a random unpaid fee
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class PaymentBenchmark {
+
+    private static final BigDecimal ONE_CENT = new BigDecimal("0.01");
+
+    private FeeService feeService;
+    private SplittableRandom random;
+    private long[] unpaidFeeIds;
+
+    @Setup(Level.Trial)
+    public void setUp(BenchmarkDatabase database) {
+        feeService = database.bean(FeeService.class);
+        random = new SplittableRandom(database.seed);
+        List<Long> ids = database.bean(JdbcTemplate.class).queryForList(
+                "SELECT fee_id FROM fees WHERE payment_status <> 'Paid' ORDER BY fee_id", Long.class);
+        unpaidFeeIds = ids.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    @Benchmark
+    public Object makePayment() {
+        long feeId = unpaidFeeIds[random.nextInt(unpaidFeeIds.length)];
+        // A fresh transaction id per call; a repeated one is rejected as already posted
+        return feeService.makePayment(feeId, ONE_CENT, "Online", "bench-" + UUID.randomUUID());
+    }
+}
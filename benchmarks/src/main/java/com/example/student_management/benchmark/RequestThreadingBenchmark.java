@@ -0,0 +1,51 @@
+package com.example.student_management.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Platform vs virtual request threads under registration-style load: 400 concurrent clients, twice
+// Tomcat's default 200 platform threads, reading a student's enrollments and fees over HTTP.
+// Throughput gives requests per second, SampleTime the p50/p99 per request; compare the two
+// virtualThreads values, e.g.
+//   mvn -f benchmarks/pom.xml package exec:exec -Dbenchmark.rows=10000 -Dbenchmark.include=RequestThreading
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(400)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 3, time = 10)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class RequestThreadingBenchmark {
+
+    @Benchmark
+    public int studentEnrollments(BenchmarkServer server) throws IOException, InterruptedException {
+        return get(server, "/api/enrollments/student/");
+    }
+
+    @Benchmark
+    public int studentFees(BenchmarkServer server) throws IOException, InterruptedException {
+        return get(server, "/api/fees/student/");
+    }
+
+    private static int get(BenchmarkServer server, String path) throws IOException, InterruptedException {
+        long studentId = 1 + ThreadLocalRandom.current().nextInt(server.rows);
+        HttpRequest request = HttpRequest.newBuilder(URI.create(server.baseUrl + path + studentId)).GET().build();
+        HttpResponse<Void> response = server.client.send(request, HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException(path + studentId + " returned " + response.statusCode());
+        }
+        return response.statusCode();
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.student_management.benchmark;
+
+import com.example.student_management.enums.StudentStatus;
+import com.example.student_management.repository.StudentRepository;
+import com.example.student_management.service.StudentService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// Keyword search (in-memory index and the LIKE query behind it) and the combined student filter
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class StudentQueryBenchmark {
+
+    // Selective keywords: a student number prefix and a rare-ish email fragment
+    private static final String[] KEYWORDS = {"S0000012", "garcia12", "mary.lopez9", "S0001"};
+    private static final BigDecimal MIN_GPA = new BigDecimal("3.50");
+
+    private StudentService studentService;
+    private StudentRepository studentRepository;
+    private SplittableRandom random;
+
+    @Setup(Level.Trial)
+    public void setUp(BenchmarkDatabase database) {
+        studentService = database.bean(StudentService.class);
+        studentRepository = database.bean(StudentRepository.class);
+        random = new SplittableRandom(database.seed);
+    }
+
+    @Benchmark
+    public Object searchService() {
+        return studentService.searchStudents(KEYWORDS[random.nextInt(KEYWORDS.length)]);
+    }
+
+    @Benchmark
+    public Object searchRepository() {
+        return studentRepository.searchStudents(KEYWORDS[random.nextInt(KEYWORDS.length)]);
+    }
+
+    @Benchmark
+    public Object filter() {
+        long departmentId = 1 + random.nextInt(20);
+        return studentService.filterStudents(StudentStatus.Active, departmentId, MIN_GPA);
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.student_management.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.support.SimpleCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+// Bounded, expiring caches for reference data (departments and courses).
+// Caches are transaction aware: puts and evictions are applied when the surrounding transaction commits.
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String DEPARTMENTS_BY_ID = "departmentsById";
+    public static final String DEPARTMENTS_BY_CODE = "departmentsByCode";
+    public static final String COURSES_BY_ID = "coursesById";
+    public static final String COURSES_BY_CODE = "coursesByCode";
+
+    @Bean
+    public CacheManager cacheManager(MeterRegistry meterRegistry,
+                                     @Value("${reference-data.cache.max-size:1000}") long maxSize,
+                                     @Value("${reference-data.cache.ttl:10m}") Duration ttl) {
+        List<CaffeineCache> caches = new ArrayList<>();
+        for (String name : List.of(DEPARTMENTS_BY_ID, DEPARTMENTS_BY_CODE, COURSES_BY_ID, COURSES_BY_CODE)) {
+            com.github.benmanes.caffeine.cache.Cache<Object, Object> cache = Caffeine.newBuilder()
+                    .maximumSize(maxSize)
+                    .expireAfterWrite(ttl)
+                    .recordStats()
+                    .build();
+            // Publishes cache.gets (hit/miss), cache.puts and cache.evictions for this cache
+            CaffeineCacheMetrics.monitor(meterRegistry, cache, name);
+            caches.add(new CaffeineCache(name, cache));
+        }
+
+        SimpleCacheManager cacheManager = new SimpleCacheManager();
+        cacheManager.setCaches(caches);
+        cacheManager.initializeCaches();
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.student_management.config;
+
+import com.example.student_management.dto.DatasetSpec;
+import com.example.student_management.service.DatasetGenerator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+// Fills an empty database with synthetic data and exits, e.g.
+// java -jar student-management.jar --spring.profiles.active=generate-data --dataset.students=1000000 --dataset.threads=8
+// Set --dataset.exit=false to keep the application running on the generated data.
+@Component
+@Profile("generate-data")
+public class DatasetGenerationRunner implements ApplicationRunner {
+
+    private final DatasetGenerator datasetGenerator;
+    private final ApplicationContext applicationContext;
+    private final DatasetSpec spec = new DatasetSpec();
+    private final boolean exit;
+
+    public DatasetGenerationRunner(DatasetGenerator datasetGenerator,
+                                   ApplicationContext applicationContext,
+                                   @Value("${dataset.seed:42}") long seed,
+                                   @Value("${dataset.students:100000}") int students,
+                                   @Value("${dataset.departments:25}") int departments,
+                                   @Value("${dataset.courses:0}") int courses,
+                                   @Value("${dataset.reference-date:2026-01-15}") LocalDate referenceDate,
+                                   @Value("${dataset.threads:4}") int threads,
+                                   @Value("${dataset.batch-size:1000}") int batchSize,
+                                   @Value("${dataset.chunk-size:10000}") int chunkSize,
+                                   @Value("${dataset.exit:true}") boolean exit) {
+        this.datasetGenerator = datasetGenerator;
+        this.applicationContext = applicationContext;
+        this.spec.setSeed(seed);
+        this.spec.setStudents(students);
+        this.spec.setDepartments(departments);
+        this.spec.setCourses(courses);
+        this.spec.setReferenceDate(referenceDate);
+        this.spec.setThreads(threads);
+        this.spec.setBatchSize(batchSize);
+        this.spec.setChunkSize(chunkSize);
+        this.exit = exit;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        datasetGenerator.generate(spec);
+        if (exit) {
+            System.exit(SpringApplication.exit(applicationContext, () -> 0));
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.student_management.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+
+import java.util.function.ToDoubleFunction;
+
+// Publishes Hibernate's session factory statistics (process-wide totals) and hooks the
+// per-request counters of RequestQueryStats into Hibernate's event system.
+@Component
+public class HibernateMetrics implements MeterBinder {
+
+    private final Statistics statistics;
+
+    public HibernateMetrics(EntityManagerFactory entityManagerFactory) {
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        this.statistics = sessionFactory.getStatistics();
+
+        RequestQueryStats.Listener listener = new RequestQueryStats.Listener();
+        EventListenerRegistry listeners = sessionFactory.getServiceRegistry().getService(EventListenerRegistry.class);
+        listeners.appendListeners(EventType.POST_LOAD, listener);
+        listeners.appendListeners(EventType.INIT_COLLECTION, listener);
+        listeners.appendListeners(EventType.FLUSH, listener);
+        listeners.appendListeners(EventType.AUTO_FLUSH, listener);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (!statistics.isStatisticsEnabled()) {
+            return;
+        }
+        counter(registry, "hibernate.statements", "SQL statements prepared", Statistics::getPrepareStatementCount);
+        counter(registry, "hibernate.entities.loads", "Entities loaded from the database", Statistics::getEntityLoadCount);
+        counter(registry, "hibernate.entities.fetches", "Entities fetched by a separate select", Statistics::getEntityFetchCount);
+        counter(registry, "hibernate.collections.loads", "Collections loaded", Statistics::getCollectionLoadCount);
+        counter(registry, "hibernate.collections.fetches", "Collections fetched by a separate select", Statistics::getCollectionFetchCount);
+        counter(registry, "hibernate.flushes", "Session flushes", Statistics::getFlushCount);
+        counter(registry, "hibernate.queries.executions", "Queries executed", Statistics::getQueryExecutionCount);
+        counter(registry, "hibernate.sessions.opened", "Sessions opened", Statistics::getSessionOpenCount);
+        counter(registry, "hibernate.transactions", "Transactions completed", Statistics::getTransactionCount);
+        counter(registry, "hibernate.optimistic.failures", "Stale object failures", Statistics::getOptimisticFailureCount);
+        Gauge.builder("hibernate.queries.executions.max", statistics, Statistics::getQueryExecutionMaxTime)
+                .description("Slowest query execution so far")
+                .baseUnit("milliseconds")
+                .register(registry);
+    }
+
+    private void counter(MeterRegistry registry, String name, String description,
+                         ToDoubleFunction<Statistics> value) {
+        FunctionCounter.builder(name, statistics, value)
+                .description(description)
+                .register(registry);
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.student_management.config;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.PropertySource;
+
+import java.util.List;
+
+// Latency percentiles for endpoints, services and repositories, plus the Hibernate hooks behind
+// HibernateMetrics and RequestQueryMetricsInterceptor. Everything is readable under /actuator/metrics,
+// e.g. /actuator/metrics/http.server.requests.percentile?tag=uri:/api/enrollments&tag=phi:0.99
+@Configuration
+@PropertySource("classpath:metrics.properties")
+public class MetricsConfig {
+
+    // Timers and summaries that get p50/p95/p99 and a histogram
+    private static final List<String> DISTRIBUTIONS = List.of(
+            "http.server.requests",
+            "spring.data.repository.invocations",
+            "service.invocations");
+
+    @Bean
+    public MeterFilter percentilesMeterFilter() {
+        return new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                boolean tracked = DISTRIBUTIONS.stream().anyMatch(name -> id.getName().startsWith(name));
+                if (!tracked) {
+                    return config;
+                }
+                return DistributionStatisticConfig.builder()
+                        .percentiles(0.5, 0.95, 0.99)
+                        .percentilesHistogram(true)
+                        .build()
+                        .merge(config);
+            }
+        };
+    }
+
+    // Session factory statistics cost a little on every session, so HibernateMetrics only publishes them
+    // where metrics.hibernate.statistics=true opts in. Even then Hibernate's per-session "Session Metrics"
+    // log stays off.
+    @Bean
+    public HibernatePropertiesCustomizer metricsHibernatePropertiesCustomizer(
+            @Value("${metrics.hibernate.statistics:false}") boolean statistics) {
+        return properties -> {
+            properties.putIfAbsent(AvailableSettings.GENERATE_STATISTICS, Boolean.toString(statistics));
+            properties.putIfAbsent(AvailableSettings.LOG_SESSION_METRICS, "false");
+            properties.put(AvailableSettings.STATEMENT_INSPECTOR, new RequestQueryStats.StatementCounter());
+        };
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.student_management.config;
+
+import org.hibernate.event.spi.AutoFlushEvent;
+import org.hibernate.event.spi.AutoFlushEventListener;
+import org.hibernate.event.spi.FlushEvent;
+import org.hibernate.event.spi.FlushEventListener;
+import org.hibernate.event.spi.InitializeCollectionEvent;
+import org.hibernate.event.spi.InitializeCollectionEventListener;
+import org.hibernate.event.spi.PostLoadEvent;
+import org.hibernate.event.spi.PostLoadEventListener;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// What Hibernate did on the current thread while a request was being handled.
+// Counting only happens between begin() and end(); scheduled jobs and other threads are not tracked.
+// Scopes nest: an inner scope's counts are added to the enclosing one when it ends, so a test can
+// wrap a whole MockMvc call while the request interceptor keeps its own scope.
+public final class RequestQueryStats {
+
+    private static final ThreadLocal<RequestQueryStats> CURRENT = new ThreadLocal<>();
+
+    private final RequestQueryStats parent;
+    // Only filled when this or an enclosing scope asked for it, request scopes just count
+    private final List<String> sql;
+    private long statements;
+    private long entitiesLoaded;
+    private long collectionsFetched;
+    private long flushes;
+
+    private RequestQueryStats(RequestQueryStats parent, boolean captureSql) {
+        this.parent = parent;
+        this.sql = captureSql || (parent != null && parent.sql != null) ? new ArrayList<>() : null;
+    }
+
+    public static void begin() {
+        begin(false);
+    }
+
+    public static void begin(boolean captureSql) {
+        CURRENT.set(new RequestQueryStats(CURRENT.get(), captureSql));
+    }
+
+    // Stats gathered since the matching begin(), or null when nothing was being tracked
+    public static RequestQueryStats end() {
+        RequestQueryStats stats = CURRENT.get();
+        if (stats == null) {
+            return null;
+        }
+        if (stats.parent != null) {
+            stats.parent.add(stats);
+            CURRENT.set(stats.parent);
+        } else {
+            CURRENT.remove();
+        }
+        return stats;
+    }
+
+    private void add(RequestQueryStats inner) {
+        statements += inner.statements;
+        entitiesLoaded += inner.entitiesLoaded;
+        collectionsFetched += inner.collectionsFetched;
+        flushes += inner.flushes;
+        if (sql != null) {
+            sql.addAll(inner.sql);
+        }
+    }
+
+    public long getStatements() {
+        return statements;
+    }
+
+    public long getEntitiesLoaded() {
+        return entitiesLoaded;
+    }
+
+    public long getCollectionsFetched() {
+        return collectionsFetched;
+    }
+
+    public long getFlushes() {
+        return flushes;
+    }
+
+    // Statements in execution order; empty unless captured
+    public List<String> getSql() {
+        return sql != null ? sql : List.of();
+    }
+
+    // Called for every SQL statement Hibernate prepares
+    public static final class StatementCounter implements StatementInspector {
+        @Override
+        public String inspect(String sql) {
+            RequestQueryStats stats = CURRENT.get();
+            if (stats != null) {
+                stats.statements++;
+                if (stats.sql != null) {
+                    stats.sql.add(sql);
+                }
+            }
+            return sql;
+        }
+    }
+
+    // Appended to Hibernate's own listeners, see HibernateMetrics
+    static final class Listener implements PostLoadEventListener, InitializeCollectionEventListener,
+            FlushEventListener, AutoFlushEventListener {
+
+        @Override
+        public void onPostLoad(PostLoadEvent event) {
+            RequestQueryStats stats = CURRENT.get();
+            if (stats != null) {
+                stats.entitiesLoaded++;
+            }
+        }
+
+        @Override
+        public void onInitializeCollection(InitializeCollectionEvent event) {
+            RequestQueryStats stats = CURRENT.get();
+            if (stats != null) {
+                stats.collectionsFetched++;
+            }
+        }
+
+        @Override
+        public void onFlush(FlushEvent event) {
+            RequestQueryStats stats = CURRENT.get();
+            if (stats != null) {
+                stats.flushes++;
+            }
+        }
+
+        @Override
+        public void onAutoFlush(AutoFlushEvent event) {
+            // Auto flush runs before every query but only flushes when there are pending changes
+            RequestQueryStats stats = CURRENT.get();
+            if (stats != null && event.isFlushRequired()) {
+                stats.flushes++;
+            }
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.student_management.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.PropertySource;
+
+// The schema is versioned as Flyway migrations in src/main/resources/db/migration; a new table,
+// column or index is a new V<n>__*.sql script rather than an entity change picked up by Hibernate
+@Configuration
+@PropertySource("classpath:schema-migration.properties")
+public class SchemaMigrationConfig {
+}
@@ -0,0 +1,38 @@
+package com.example.student_management.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.PropertySource;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+
+// Platform or virtual request threads, switched with spring.threads.virtual.enabled (threading.properties).
+// Spring Boot moves Tomcat, the application task executor and the scheduler over; this class adds the
+// connection permits that keep thousands of virtual threads from piling onto the Hikari pool.
+@Configuration
+@PropertySource("classpath:threading.properties")
+public class ThreadingConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "datasource.permits.enabled", havingValue = "true")
+    public static BeanPostProcessor connectionPermitsPostProcessor(Environment environment,
+                                                                   ObjectProvider<MeterRegistry> meterRegistry) {
+        int maxConcurrent = environment.getRequiredProperty("datasource.permits.max-concurrent", Integer.class);
+        long timeoutMillis = environment.getRequiredProperty("datasource.permits.timeout-ms", Long.class);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ConnectionPermitDataSource)) {
+                    return new ConnectionPermitDataSource(dataSource, maxConcurrent, timeoutMillis,
+                            meterRegistry.getIfAvailable());
+                }
+                return bean;
+            }
+        };
+    }
+}
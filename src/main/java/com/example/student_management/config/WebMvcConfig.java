@@ -0,0 +1,33 @@
+package com.example.student_management.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.Duration;
+
+@Configuration
+public class WebMvcConfig implements WebMvcConfigurer {
+
+    // Streamed exports run as async requests; the container default (30s) would cut large tables off
+    private final Duration asyncTimeout;
+    private final RequestQueryMetricsInterceptor requestQueryMetricsInterceptor;
+
+    public WebMvcConfig(@Value("${exports.async-timeout:30m}") Duration asyncTimeout,
+                        RequestQueryMetricsInterceptor requestQueryMetricsInterceptor) {
+        this.asyncTimeout = asyncTimeout;
+        this.requestQueryMetricsInterceptor = requestQueryMetricsInterceptor;
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setDefaultTimeout(asyncTimeout.toMillis());
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(requestQueryMetricsInterceptor).addPathPatterns("/api/**");
+    }
+}
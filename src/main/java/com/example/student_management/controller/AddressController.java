@@ -1,5 +1,7 @@
 package com.example.student_management.controller;
 
+import com.example.student_management.dto.AddressListItem;
+import com.example.student_management.dto.CursorPage;
 import com.example.student_management.enums.AddressType;
 import com.example.student_management.model.Address;
 import com.example.student_management.service.AddressService;
@@ -32,11 +34,19 @@ public class AddressController {
     }
 
     @GetMapping
-    public ResponseEntity<List<Address>> getAllAddresses() {
-        List<Address> addresses = addressService.getAllAddresses();
+    public ResponseEntity<List<AddressListItem>> getAllAddresses() {
+        List<AddressListItem> addresses = addressService.getAllAddresses();
         return ResponseEntity.ok(addresses);
     }
 
+    @GetMapping(params = "limit")
+    public ResponseEntity<CursorPage<AddressListItem>> getAddressesPage(
+            @RequestParam Integer limit,
+            @RequestParam(required = false) Long after) {
+        CursorPage<AddressListItem> page = addressService.getAddressesPage(after, limit);
+        return ResponseEntity.ok(page);
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<Address> updateAddress(@PathVariable Long id, @RequestBody Address address) {
         Address updated = addressService.updateAddress(id, address);
@@ -1,11 +1,18 @@
 package com.example.student_management.controller;
 
+import com.example.student_management.dto.CourseSeats;
+import com.example.student_management.dto.CursorPage;
 import com.example.student_management.model.Courses;
 import com.example.student_management.service.CourseService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.Duration;
 import java.util.List;
 
 @RestController
@@ -13,9 +20,12 @@ import java.util.List;
 public class CourseController {
 
     private final CourseService courseService;
+    private final CacheControl referenceCacheControl;
 
-    public CourseController(CourseService courseService) {
+    public CourseController(CourseService courseService,
+                            @Value("${http.cache.reference-max-age:PT1M}") Duration referenceMaxAge) {
         this.courseService = courseService;
+        this.referenceCacheControl = CacheControl.maxAge(referenceMaxAge).mustRevalidate();
     }
 
     @PostMapping
@@ -30,10 +40,31 @@ public class CourseController {
         return ResponseEntity.ok(course);
     }
 
+    // Reference data: cached by clients for a while, then revalidated with If-None-Match
     @GetMapping
-    public ResponseEntity<List<Courses>> getAllCourses() {
+    public ResponseEntity<List<Courses>> getAllCourses(WebRequest request) {
+        String etag = ETags.strong(courseService.getCoursesVersion(), request);
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(referenceCacheControl)
+                    .varyBy(HttpHeaders.ACCEPT).build();
+        }
         List<Courses> courses = courseService.getAllCourses();
-        return ResponseEntity.ok(courses);
+        return ResponseEntity.ok().eTag(etag).cacheControl(referenceCacheControl)
+                .varyBy(HttpHeaders.ACCEPT).body(courses);
+    }
+
+    @GetMapping(params = "limit")
+    public ResponseEntity<CursorPage<Courses>> getCoursesPage(
+            @RequestParam Integer limit,
+            @RequestParam(required = false) Long after) {
+        CursorPage<Courses> page = courseService.getCoursesPage(after, limit);
+        return ResponseEntity.ok(page);
+    }
+
+    // Live seat counts, kept out of the course body so enrollments leave its ETag and caches alone
+    @GetMapping("/{id}/seats")
+    public ResponseEntity<CourseSeats> getCourseSeats(@PathVariable Long id) {
+        return ResponseEntity.ok(courseService.getCourseSeats(id));
     }
 
     @PutMapping("/{id}")
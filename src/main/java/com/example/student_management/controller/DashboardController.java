@@ -0,0 +1,26 @@
+package com.example.student_management.controller;
+
+import com.example.student_management.dto.DashboardStats;
+import com.example.student_management.service.DashboardService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/dashboard")
+public class DashboardController {
+
+    private final DashboardService dashboardService;
+
+    public DashboardController(DashboardService dashboardService) {
+        this.dashboardService = dashboardService;
+    }
+
+    // READ - GET /api/dashboard/stats
+    @GetMapping("/stats")
+    public ResponseEntity<DashboardStats> getStats() {
+        DashboardStats stats = dashboardService.getStats();
+        return ResponseEntity.ok(stats);
+    }
+}
@@ -1,11 +1,17 @@
 package com.example.student_management.controller;
 
+import com.example.student_management.dto.CursorPage;
 import com.example.student_management.model.Department;
 import com.example.student_management.service.DepartmentService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.Duration;
 import java.util.List;
 
 @RestController
@@ -13,9 +19,12 @@ import java.util.List;
 public class DepartmentController {
 
     private final DepartmentService departmentService;
+    private final CacheControl referenceCacheControl;
 
-    public DepartmentController(DepartmentService departmentService) {
+    public DepartmentController(DepartmentService departmentService,
+                                @Value("${http.cache.reference-max-age:PT1M}") Duration referenceMaxAge) {
         this.departmentService = departmentService;
+        this.referenceCacheControl = CacheControl.maxAge(referenceMaxAge).mustRevalidate();
     }
 
     @PostMapping
@@ -30,10 +39,25 @@ public class DepartmentController {
         return ResponseEntity.ok(department);
     }
 
+    // Reference data: cached by clients for a while, then revalidated with If-None-Match
     @GetMapping
-    public ResponseEntity<List<Department>> getAllDepartments() {
+    public ResponseEntity<List<Department>> getAllDepartments(WebRequest request) {
+        String etag = ETags.strong(departmentService.getDepartmentsVersion(), request);
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(referenceCacheControl)
+                    .varyBy(HttpHeaders.ACCEPT).build();
+        }
         List<Department> departments = departmentService.getAllDepartments();
-        return ResponseEntity.ok(departments);
+        return ResponseEntity.ok().eTag(etag).cacheControl(referenceCacheControl)
+                .varyBy(HttpHeaders.ACCEPT).body(departments);
+    }
+
+    @GetMapping(params = "limit")
+    public ResponseEntity<CursorPage<Department>> getDepartmentsPage(
+            @RequestParam Integer limit,
+            @RequestParam(required = false) Long after) {
+        CursorPage<Department> page = departmentService.getDepartmentsPage(after, limit);
+        return ResponseEntity.ok(page);
     }
 
     @PutMapping("/{id}")
@@ -0,0 +1,57 @@
+package com.example.student_management.controller;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.util.DigestUtils;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.context.request.WebRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+// Strong ETags from the version strings the services hand out, so a poll can be answered with
+// 304 Not Modified before the body is loaded. The digest keeps timestamps out of the header.
+// JSON, CBOR and Smile bodies of one version differ byte for byte, so the body format picked from
+// the Accept header is part of the tag, and responses carrying one must also send Vary: Accept.
+final class ETags {
+
+    // The formats of SerializationConfig, JSON first as the default
+    private static final List<MediaType> BODY_TYPES = List.of(MediaType.APPLICATION_JSON,
+            MediaType.APPLICATION_CBOR, MediaType.parseMediaType("application/x-jackson-smile"));
+
+    private ETags() {
+    }
+
+    static String strong(String version, WebRequest request) {
+        String input = version + "|" + bodyType(request);
+        return "\"" + DigestUtils.md5DigestAsHex(input.getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    // The most preferred acceptable body format, by quality and then specificity
+    static MediaType bodyType(WebRequest request) {
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        if (accept == null || accept.isBlank()) {
+            return BODY_TYPES.get(0);
+        }
+        List<MediaType> accepted;
+        try {
+            accepted = new ArrayList<>(MediaType.parseMediaTypes(accept));
+        } catch (InvalidMediaTypeException e) {
+            return BODY_TYPES.get(0);
+        }
+        MimeTypeUtils.sortBySpecificity(accepted);
+        for (MediaType type : accepted) {
+            if (type.getQualityValue() == 0) {
+                continue;
+            }
+            for (MediaType body : BODY_TYPES) {
+                if (type.isCompatibleWith(body)) {
+                    return body;
+                }
+            }
+        }
+        return BODY_TYPES.get(0);
+    }
+}
@@ -1,11 +1,21 @@
 package com.example.student_management.controller;
 
+import com.example.student_management.dto.CursorPage;
+import com.example.student_management.dto.EnrollmentBatchRequest;
+import com.example.student_management.dto.EnrollmentBatchResult;
+import com.example.student_management.dto.EnrollmentListItem;
+import com.example.student_management.enums.ExportFormat;
 import com.example.student_management.enums.EnrollmentStatus;
 import com.example.student_management.model.Enrollments;
+import com.example.student_management.service.EnrollmentBatchService;
+import com.example.student_management.service.ExportService;
 import com.example.student_management.service.EnrollmentService;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -14,9 +24,14 @@ import java.util.List;
 public class EnrollmentController {
 
     private final EnrollmentService enrollmentService;
+    private final EnrollmentBatchService enrollmentBatchService;
+    private final ExportService exportService;
 
-    public EnrollmentController(EnrollmentService enrollmentService) {
+    public EnrollmentController(EnrollmentService enrollmentService, EnrollmentBatchService enrollmentBatchService,
+                                ExportService exportService) {
         this.enrollmentService = enrollmentService;
+        this.enrollmentBatchService = enrollmentBatchService;
+        this.exportService = exportService;
     }
 
     @PostMapping
@@ -25,6 +40,13 @@ public class EnrollmentController {
         return new ResponseEntity<>(created, HttpStatus.CREATED);
     }
 
+    // Registers a cohort into a course, or a student into several courses; reports each pair
+    @PostMapping("/bulk")
+    public ResponseEntity<EnrollmentBatchResult> enrollInBulk(@RequestBody EnrollmentBatchRequest request) {
+        EnrollmentBatchResult result = enrollmentBatchService.enroll(request);
+        return ResponseEntity.ok(result);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<Enrollments> getEnrollmentById(@PathVariable Long id) {
         Enrollments enrollment = enrollmentService.getEnrollmentById(id);
@@ -32,11 +54,19 @@ public class EnrollmentController {
     }
 
     @GetMapping
-    public ResponseEntity<List<Enrollments>> getAllEnrollments() {
-        List<Enrollments> enrollments = enrollmentService.getAllEnrollments();
+    public ResponseEntity<List<EnrollmentListItem>> getAllEnrollments() {
+        List<EnrollmentListItem> enrollments = enrollmentService.getAllEnrollments();
         return ResponseEntity.ok(enrollments);
     }
 
+    @GetMapping(params = "limit")
+    public ResponseEntity<CursorPage<EnrollmentListItem>> getEnrollmentsPage(
+            @RequestParam Integer limit,
+            @RequestParam(required = false) Long after) {
+        CursorPage<EnrollmentListItem> page = enrollmentService.getEnrollmentsPage(after, limit);
+        return ResponseEntity.ok(page);
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<Enrollments> updateEnrollment(@PathVariable Long id, @RequestBody Enrollments enrollment) {
         Enrollments updated = enrollmentService.updateEnrollment(id, enrollment);
@@ -66,4 +96,16 @@ public class EnrollmentController {
         List<Enrollments> enrollments = enrollmentService.getEnrollmentsByStatus(status);
         return ResponseEntity.ok(enrollments);
     }
-}
\ No newline at end of file
+
+    // Streams the whole table as ndjson or csv
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportEnrollments(
+            @RequestParam(defaultValue = "ndjson") String format) {
+        ExportFormat exportFormat = ExportFormat.fromParameter(format);
+        StreamingResponseBody body = out -> exportService.exportEnrollments(exportFormat, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=enrollments." + exportFormat.getExtension())
+                .body(body);
+    }
+}
@@ -1,11 +1,25 @@
 package com.example.student_management.controller;
 
+import com.example.student_management.dto.CursorPage;
+import com.example.student_management.dto.FeeListItem;
+import com.example.student_management.dto.FeeRolloverRequest;
+import com.example.student_management.dto.FeeRolloverResult;
+import com.example.student_management.dto.FeeSummary;
+import com.example.student_management.dto.PaymentBatchItem;
+import com.example.student_management.dto.PaymentBatchResult;
+import com.example.student_management.enums.ExportFormat;
 import com.example.student_management.enums.PaymentStatus;
 import com.example.student_management.model.Fee;
+import com.example.student_management.service.ExportService;
+import com.example.student_management.service.FeeRolloverService;
 import com.example.student_management.service.FeeService;
+import com.example.student_management.service.PaymentBatchService;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -14,9 +28,16 @@ import java.util.List;
 public class FeeController {
 
     private final FeeService feeService;
+    private final PaymentBatchService paymentBatchService;
+    private final FeeRolloverService feeRolloverService;
+    private final ExportService exportService;
 
-    public FeeController(FeeService feeService) {
+    public FeeController(FeeService feeService, PaymentBatchService paymentBatchService,
+                         FeeRolloverService feeRolloverService, ExportService exportService) {
         this.feeService = feeService;
+        this.paymentBatchService = paymentBatchService;
+        this.feeRolloverService = feeRolloverService;
+        this.exportService = exportService;
     }
 
     @PostMapping
@@ -25,6 +46,21 @@ public class FeeController {
         return new ResponseEntity<>(created, HttpStatus.CREATED);
     }
 
+    // Posts a reconciliation file; lines whose transaction id was already posted are skipped
+    @PostMapping("/payments/batch")
+    public ResponseEntity<PaymentBatchResult> postPayments(@RequestBody List<PaymentBatchItem> payments) {
+        PaymentBatchResult result = paymentBatchService.postPayments(payments);
+        return ResponseEntity.ok(result);
+    }
+
+    // Semester start: raises the scheduled fees for every active student. An interrupted run is resumed
+    // by posting the same request again; a finished one creates nothing more.
+    @PostMapping("/rollover")
+    public ResponseEntity<FeeRolloverResult> rollOver(@RequestBody FeeRolloverRequest request) {
+        FeeRolloverResult result = feeRolloverService.rollOver(request);
+        return ResponseEntity.ok(result);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<Fee> getFeeById(@PathVariable Long id) {
         Fee fee = feeService.getFeeById(id);
@@ -32,11 +68,19 @@ public class FeeController {
     }
 
     @GetMapping
-    public ResponseEntity<List<Fee>> getAllFees() {
-        List<Fee> fees = feeService.getAllFees();
+    public ResponseEntity<List<FeeListItem>> getAllFees() {
+        List<FeeListItem> fees = feeService.getAllFees();
         return ResponseEntity.ok(fees);
     }
 
+    @GetMapping(params = "limit")
+    public ResponseEntity<CursorPage<FeeListItem>> getFeesPage(
+            @RequestParam Integer limit,
+            @RequestParam(required = false) Long after) {
+        CursorPage<FeeListItem> page = feeService.getFeesPage(after, limit);
+        return ResponseEntity.ok(page);
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<Fee> updateFee(@PathVariable Long id, @RequestBody Fee fee) {
         Fee updated = feeService.updateFee(id, fee);
@@ -49,9 +93,33 @@ public class FeeController {
         return ResponseEntity.noContent().build();
     }
 
+    @GetMapping("/student/{studentId}")
+    public ResponseEntity<List<Fee>> getFeesByStudent(@PathVariable Long studentId) {
+        List<Fee> fees = feeService.getFeesByStudent(studentId);
+        return ResponseEntity.ok(fees);
+    }
+
+    @GetMapping("/student/{studentId}/summary")
+    public ResponseEntity<FeeSummary> getFeeSummary(@PathVariable Long studentId) {
+        FeeSummary summary = feeService.getFeeSummary(studentId);
+        return ResponseEntity.ok(summary);
+    }
+
     @GetMapping("/payment-status/{paymentStatus}")
     public ResponseEntity<List<Fee>> getFeesByStatus(@PathVariable PaymentStatus paymentStatus) {
         List<Fee> fees = feeService.getFeesByStatus(paymentStatus);
         return ResponseEntity.ok(fees);
     }
+
+    // Streams the whole table as ndjson or csv
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportFees(
+            @RequestParam(defaultValue = "ndjson") String format) {
+        ExportFormat exportFormat = ExportFormat.fromParameter(format);
+        StreamingResponseBody body = out -> exportService.exportFees(exportFormat, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=fees." + exportFormat.getExtension())
+                .body(body);
+    }
 }
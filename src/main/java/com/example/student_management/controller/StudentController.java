@@ -1,11 +1,22 @@
 package com.example.student_management.controller;
 
+import com.example.student_management.dto.CursorPage;
+import com.example.student_management.dto.StudentImportResult;
+import com.example.student_management.dto.StudentListItem;
+import com.example.student_management.enums.ExportFormat;
 import com.example.student_management.enums.StudentStatus;
 import com.example.student_management.model.Student;
+import com.example.student_management.service.ExportService;
+import com.example.student_management.service.StudentImportService;
 import com.example.student_management.service.StudentService;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import java.math.BigDecimal;
 import java.util.List;
 
@@ -14,10 +25,15 @@ import java.util.List;
 public class StudentController {
 
     private final StudentService studentService;
+    private final StudentImportService studentImportService;
+    private final ExportService exportService;
 
     // Constructor injection (best practice!)
-    public StudentController(StudentService studentService) {
+    public StudentController(StudentService studentService, StudentImportService studentImportService,
+                             ExportService exportService) {
         this.studentService = studentService;
+        this.studentImportService = studentImportService;
+        this.exportService = exportService;
     }
 
     // CREATE - POST /api/students
@@ -27,20 +43,49 @@ public class StudentController {
         return new ResponseEntity<>(created, HttpStatus.CREATED);
     }
 
-    // READ - GET /api/students/{id}
+    // BULK CREATE - POST /api/students/bulk (JSON array)
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<StudentImportResult> importStudents(@RequestBody List<Student> students) {
+        StudentImportResult result = studentImportService.importStudents(students);
+        return ResponseEntity.ok(result);
+    }
+
+    // BULK CREATE - POST /api/students/bulk (CSV with a header row)
+    @PostMapping(value = "/bulk", consumes = "text/csv")
+    public ResponseEntity<StudentImportResult> importStudentsCsv(@RequestBody String csv) {
+        StudentImportResult result = studentImportService.importStudentsCsv(csv);
+        return ResponseEntity.ok(result);
+    }
+
+    // READ - GET /api/students/{id}; revalidated on every use, a matching If-None-Match gets 304
     @GetMapping("/{id}")
-    public ResponseEntity<Student> getStudentById(@PathVariable Long id) {
+    public ResponseEntity<Student> getStudentById(@PathVariable Long id, WebRequest request) {
+        String etag = ETags.strong(studentService.getStudentVersion(id), request);
+        CacheControl cacheControl = CacheControl.noCache().cachePrivate();
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(cacheControl)
+                    .varyBy(HttpHeaders.ACCEPT).build();
+        }
         Student student = studentService.getStudentById(id);
-        return ResponseEntity.ok(student);
+        return ResponseEntity.ok().eTag(etag).cacheControl(cacheControl).varyBy(HttpHeaders.ACCEPT).body(student);
     }
 
     // READ - GET /api/students
     @GetMapping
-    public ResponseEntity<List<Student>> getAllStudents() {
-        List<Student> students = studentService.getAllStudents();
+    public ResponseEntity<List<StudentListItem>> getAllStudents() {
+        List<StudentListItem> students = studentService.getAllStudents();
         return ResponseEntity.ok(students);
     }
 
+    // READ - GET /api/students?limit=50&after=123 (keyset paginated)
+    @GetMapping(params = "limit")
+    public ResponseEntity<CursorPage<StudentListItem>> getStudentsPage(
+            @RequestParam Integer limit,
+            @RequestParam(required = false) Long after) {
+        CursorPage<StudentListItem> page = studentService.getStudentsPage(after, limit);
+        return ResponseEntity.ok(page);
+    }
+
     // UPDATE - PUT /api/students/{id}
     @PutMapping("/{id}")
     public ResponseEntity<Student> updateStudent(
@@ -69,18 +114,30 @@ public class StudentController {
         return ResponseEntity.ok(students);
     }
     @GetMapping("/search")
-    public ResponseEntity<List<Student>> searchStudents(@RequestParam String keyword) {
-        List<Student> students = studentService.searchStudents(keyword);
+    public ResponseEntity<List<StudentListItem>> searchStudents(@RequestParam String keyword) {
+        List<StudentListItem> students = studentService.searchStudents(keyword);
         return ResponseEntity.ok(students);
     }
 
     // Filter endpoint
     @GetMapping("/filter")
-    public ResponseEntity<List<Student>> filterStudents(
+    public ResponseEntity<List<StudentListItem>> filterStudents(
             @RequestParam(required = false) StudentStatus status,
             @RequestParam(required = false) Long departmentId,
             @RequestParam(required = false) BigDecimal minGpa) {
-        List<Student> students = studentService.filterStudents(status, departmentId, minGpa);
+        List<StudentListItem> students = studentService.filterStudents(status, departmentId, minGpa);
         return ResponseEntity.ok(students);
     }
-}
\ No newline at end of file
+
+    // EXPORT - GET /api/students/export?format=ndjson|csv (streamed, whole table)
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportStudents(
+            @RequestParam(defaultValue = "ndjson") String format) {
+        ExportFormat exportFormat = ExportFormat.fromParameter(format);
+        StreamingResponseBody body = out -> exportService.exportStudents(exportFormat, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=students." + exportFormat.getExtension())
+                .body(body);
+    }
+}
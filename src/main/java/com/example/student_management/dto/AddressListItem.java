@@ -0,0 +1,29 @@
+package com.example.student_management.dto;
+
+import com.example.student_management.enums.AddressType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Row of the address list, built by a JPQL constructor expression
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AddressListItem {
+    private Long addressId;
+    private StudentRef student;
+    private AddressType addressType;
+    private String streetAddress;
+    private String city;
+    private String state;
+    private String postalCode;
+    private String country;
+    private Boolean isPrimary;
+
+    public AddressListItem(Long addressId, Long studentId, String firstName, String lastName,
+                           AddressType addressType, String streetAddress, String city, String state,
+                           String postalCode, String country, Boolean isPrimary) {
+        this(addressId, new StudentRef(studentId, firstName, lastName), addressType, streetAddress, city, state,
+                postalCode, country, isPrimary);
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.student_management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Live seat counts of one course, read from SeatAllocator rather than the cached course
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CourseSeats {
+    private Long courseId;
+    private Integer maxStudents;
+    private Integer enrolled;
+    private Integer available;
+}
@@ -0,0 +1,48 @@
+package com.example.student_management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.function.Function;
+
+// One page of a keyset (cursor) paginated listing.
+// Pass nextCursor back as the "after" parameter to fetch the following page.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPage<T> {
+
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 500;
+
+    private List<T> content;
+    private int limit;
+    private Long nextCursor;
+    private boolean hasNext;
+
+    // Normalize a client supplied limit into the allowed range
+    public static int resolveLimit(Integer limit) {
+        if (limit == null) {
+            return DEFAULT_LIMIT;
+        }
+        if (limit <= 0) {
+            throw new RuntimeException("Limit must be greater than zero");
+        }
+        return Math.min(limit, MAX_LIMIT);
+    }
+
+    // Cursor to start from when the client did not send one
+    public static long resolveAfter(Long after) {
+        return after != null ? after : 0L;
+    }
+
+    // Build a page from rows fetched with limit + 1, the extra row only signals that more data exists
+    public static <T> CursorPage<T> of(List<T> rows, int limit, Function<T, Long> idExtractor) {
+        boolean hasNext = rows.size() > limit;
+        List<T> content = hasNext ? rows.subList(0, limit) : rows;
+        Long nextCursor = hasNext ? idExtractor.apply(content.get(content.size() - 1)) : null;
+        return new CursorPage<>(content, limit, nextCursor, hasNext);
+    }
+}
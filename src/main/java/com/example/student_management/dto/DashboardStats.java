@@ -0,0 +1,24 @@
+package com.example.student_management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// Snapshot of the counters shown on the dashboard
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DashboardStats {
+    private long students;
+    private long courses;
+    private long departments;
+    private long enrollments;
+    private long totalFees;
+    private long pendingFees;
+    private long overdueFees;
+    private BigDecimal outstandingAmount;
+    private LocalDateTime generatedAt;
+}
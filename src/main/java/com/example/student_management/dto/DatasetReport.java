@@ -0,0 +1,23 @@
+package com.example.student_management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Row counts written by one dataset generation run
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DatasetReport {
+    private long departments;
+    private long courses;
+    private long students;
+    private long addresses;
+    private long enrollments;
+    private long fees;
+    private long elapsedMillis;
+
+    public long totalRows() {
+        return departments + courses + students + addresses + enrollments + fees;
+    }
+}
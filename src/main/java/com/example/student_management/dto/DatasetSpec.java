@@ -0,0 +1,29 @@
+package com.example.student_management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+// Shape of a synthetic dataset. The same spec always produces the same rows, whatever the thread count.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DatasetSpec {
+    private long seed = 42L;
+    private int students = 100_000;
+    private int departments = 25;
+    // 0 means one course per 100 students, at least 50
+    private int courses;
+    // Due dates and overdue shares are laid out around this date, not the wall clock
+    private LocalDate referenceDate = LocalDate.of(2026, 1, 15);
+    private int threads = 4;
+    // Students per transaction and per random stream; changing it changes the rows
+    private int chunkSize = 10_000;
+    private int batchSize = 1_000;
+
+    public int resolveCourses() {
+        return courses > 0 ? courses : Math.max(50, students / 100);
+    }
+}
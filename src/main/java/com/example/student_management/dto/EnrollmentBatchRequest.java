@@ -0,0 +1,19 @@
+package com.example.student_management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Either a course and the students to enroll in it (a cohort), or a student and the courses to enroll in
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EnrollmentBatchRequest {
+    private Long courseId;
+    private List<Long> studentIds = new ArrayList<>();
+    private Long studentId;
+    private List<Long> courseIds = new ArrayList<>();
+}
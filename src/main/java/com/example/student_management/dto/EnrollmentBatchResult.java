@@ -0,0 +1,40 @@
+package com.example.student_management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Per-pair outcome of a bulk enrollment
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EnrollmentBatchResult {
+    private int total;
+    private int enrolled;
+    private int duplicates;
+    private int rejected;
+    private List<Row> rows = new ArrayList<>();
+
+    public enum Outcome {
+        Enrolled,
+        // Already enrolled, or listed earlier in the same request; nothing was written
+        Duplicate,
+        Rejected
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Row {
+        // 1-based position in the submitted id list
+        private int row;
+        private Long studentId;
+        private Long courseId;
+        private Long enrollmentId;
+        private Outcome outcome;
+        private String message;
+    }
+}
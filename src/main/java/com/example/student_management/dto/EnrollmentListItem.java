@@ -0,0 +1,41 @@
+package com.example.student_management.dto;
+
+import com.example.student_management.enums.EnrollmentStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// Row of the enrollment list, built by a JPQL constructor expression
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EnrollmentListItem {
+    private Long enrollmentId;
+    private StudentRef student;
+    private CourseRef course;
+    private LocalDate enrollmentDate;
+    private String grade;
+    private BigDecimal gradePoints;
+    private BigDecimal attendancePercentage;
+    private EnrollmentStatus status;
+
+    public EnrollmentListItem(Long enrollmentId, Long studentId, String firstName, String lastName, Long courseId,
+                              String courseCode, String courseName, LocalDate enrollmentDate, String grade,
+                              BigDecimal gradePoints, BigDecimal attendancePercentage, EnrollmentStatus status) {
+        this(enrollmentId, new StudentRef(studentId, firstName, lastName),
+                new CourseRef(courseId, courseCode, courseName), enrollmentDate, grade, gradePoints,
+                attendancePercentage, status);
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class CourseRef {
+        private Long courseId;
+        private String courseCode;
+        private String courseName;
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.student_management.dto;
+
+import com.example.student_management.enums.FeeType;
+import com.example.student_management.enums.PaymentStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// Row of the fee list, built by a JPQL constructor expression
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FeeListItem {
+    private Long feeId;
+    private StudentRef student;
+    private String semester;
+    private FeeType feeType;
+    private BigDecimal amount;
+    private BigDecimal paidAmount;
+    private PaymentStatus paymentStatus;
+    private LocalDate dueDate;
+
+    public FeeListItem(Long feeId, Long studentId, String firstName, String lastName, String semester,
+                       FeeType feeType, BigDecimal amount, BigDecimal paidAmount, PaymentStatus paymentStatus,
+                       LocalDate dueDate) {
+        this(feeId, new StudentRef(studentId, firstName, lastName), semester, feeType, amount, paidAmount,
+                paymentStatus, dueDate);
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.student_management.dto;
+
+import com.example.student_management.enums.FeeType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+// Fees to raise for every active student at the start of a semester
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FeeRolloverRequest {
+    private String semester;
+    private LocalDate dueDate;
+    private List<Item> schedule = new ArrayList<>();
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Item {
+        // null applies the fee to students of every department
+        private Long departmentId;
+        private FeeType feeType;
+        private BigDecimal amount;
+    }
+}
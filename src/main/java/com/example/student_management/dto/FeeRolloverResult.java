@@ -0,0 +1,19 @@
+package com.example.student_management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// What one roll-over run did; a run that resumes an interrupted one only counts its own work
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FeeRolloverResult {
+    private String semester;
+    private int partitions;
+    // Partitions an earlier run had started but not finished
+    private int resumedPartitions;
+    private long studentsProcessed;
+    private long feesCreated;
+    private long elapsedMillis;
+}
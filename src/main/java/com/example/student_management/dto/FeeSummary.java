@@ -0,0 +1,36 @@
+package com.example.student_management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+// Fee totals of one student, overall and per semester
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FeeSummary {
+    private Long studentId;
+    private BigDecimal totalAmount = BigDecimal.ZERO;
+    private BigDecimal paidAmount = BigDecimal.ZERO;
+    private BigDecimal outstandingAmount = BigDecimal.ZERO;
+    private long pendingCount;
+    private long overdueCount;
+    private List<Semester> semesters = new ArrayList<>();
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Semester {
+        private String semester;
+        private long feeCount;
+        private BigDecimal totalAmount;
+        private BigDecimal paidAmount;
+        private BigDecimal outstandingAmount;
+        private long pendingCount;
+        private long overdueCount;
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.student_management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+// Fee aggregates computed in a single pass over the fees table
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FeeTotals {
+    private Long totalFees;
+    private Long pendingFees;
+    private Long overdueFees;
+    private BigDecimal outstandingAmount;
+}
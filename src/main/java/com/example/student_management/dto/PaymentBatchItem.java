@@ -0,0 +1,18 @@
+package com.example.student_management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+// One line of a bank reconciliation file
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaymentBatchItem {
+    private Long feeId;
+    private BigDecimal amount;
+    private String paymentMethod;
+    private String transactionId;
+}
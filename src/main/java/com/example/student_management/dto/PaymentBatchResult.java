@@ -0,0 +1,39 @@
+package com.example.student_management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Per-line outcome of a batch payment posting
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaymentBatchResult {
+    private int total;
+    private int applied;
+    private int duplicates;
+    private int rejected;
+    private List<Row> rows = new ArrayList<>();
+
+    public enum Outcome {
+        Applied,
+        // The transaction id was already posted, nothing was written
+        Duplicate,
+        Rejected
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Row {
+        // 1-based position in the submitted batch
+        private int row;
+        private Long feeId;
+        private String transactionId;
+        private Outcome outcome;
+        private String message;
+    }
+}
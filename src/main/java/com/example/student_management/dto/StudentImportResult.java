@@ -0,0 +1,31 @@
+package com.example.student_management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Per-row outcome of a bulk student import
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StudentImportResult {
+    private int total;
+    private int created;
+    private int failed;
+    private List<Row> rows = new ArrayList<>();
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Row {
+        // 1-based position in the submitted file or array
+        private int row;
+        private String studentNumber;
+        private boolean success;
+        private Long studentId;
+        private String message;
+    }
+}
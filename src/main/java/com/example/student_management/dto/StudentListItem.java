@@ -0,0 +1,39 @@
+package com.example.student_management.dto;
+
+import com.example.student_management.enums.StudentStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+// Row of the student list, built by a JPQL constructor expression
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StudentListItem {
+    private Long studentId;
+    private String studentNumber;
+    private String firstName;
+    private String lastName;
+    private String email;
+    private String phone;
+    private DepartmentRef department;
+    private StudentStatus studentStatus;
+    private BigDecimal gpa;
+
+    public StudentListItem(Long studentId, String studentNumber, String firstName, String lastName, String email,
+                           String phone, Long departmentId, String departmentName, StudentStatus studentStatus,
+                           BigDecimal gpa) {
+        this(studentId, studentNumber, firstName, lastName, email, phone,
+                new DepartmentRef(departmentId, departmentName), studentStatus, gpa);
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class DepartmentRef {
+        private Long departmentId;
+        private String departmentName;
+    }
+}
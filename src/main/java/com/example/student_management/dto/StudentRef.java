@@ -0,0 +1,15 @@
+package com.example.student_management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// The student columns list views show next to an enrollment, fee or address
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StudentRef {
+    private Long studentId;
+    private String firstName;
+    private String lastName;
+}
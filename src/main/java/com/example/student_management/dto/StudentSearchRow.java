@@ -0,0 +1,17 @@
+package com.example.student_management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// The student columns covered by keyword search
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StudentSearchRow {
+    private Long studentId;
+    private String firstName;
+    private String lastName;
+    private String email;
+    private String studentNumber;
+}
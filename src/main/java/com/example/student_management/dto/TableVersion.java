@@ -0,0 +1,21 @@
+package com.example.student_management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Row count and latest updated_at of a table. Every write moves updated_at forward and a delete
+// lowers the count, so an unchanged pair means the table's rows are unchanged.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TableVersion {
+    private Long rows;
+    private LocalDateTime lastUpdated;
+
+    public String token() {
+        return rows + "@" + lastUpdated;
+    }
+}
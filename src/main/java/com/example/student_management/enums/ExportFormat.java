@@ -0,0 +1,32 @@
+package com.example.student_management.enums;
+
+public enum ExportFormat {
+    Ndjson("application/x-ndjson", "ndjson"),
+    Csv("text/csv", "csv");
+
+    private final String contentType;
+    private final String extension;
+
+    ExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    // Matches the ?format= request parameter, case-insensitively
+    public static ExportFormat fromParameter(String format) {
+        for (ExportFormat value : values()) {
+            if (value.extension.equalsIgnoreCase(format)) {
+                return value;
+            }
+        }
+        throw new RuntimeException("Unsupported export format: " + format);
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.student_management.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -46,6 +47,12 @@ public class Courses {
     @Column(name = "max_students")
     private Integer maxStudents = 50;
 
+    // Maintained by EnrollmentServiceImpl through atomic updates, never written from the entity.
+    // Left out of the course JSON so cached bodies and ETags never carry a stale count, see /seats
+    @JsonIgnore
+    @Column(name = "enrolled_count", nullable = false, updatable = false)
+    private Integer enrolledCount = 0;
+
     @Column(name = "semester")
     private String semester;
 
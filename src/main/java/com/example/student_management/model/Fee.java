@@ -72,4 +72,9 @@ public class Fee {
 
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
+
+    // Optimistic locking; a save over a row changed since it was read fails with a conflict
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version = 0L;
 }
\ No newline at end of file
@@ -0,0 +1,57 @@
+package com.example.student_management.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// Running fee totals for one student and semester, kept in step with the fees table by FeeServiceImpl
+@Entity
+@Table(name = "fee_ledgers")
+@IdClass(FeeLedger.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FeeLedger {
+
+    @Id
+    @Column(name = "student_id")
+    private Long studentId;
+
+    @Id
+    @Column(name = "semester")
+    private String semester;
+
+    @Column(name = "fee_count", nullable = false)
+    private Long feeCount = 0L;
+
+    @Column(name = "total_amount", nullable = false)
+    private BigDecimal totalAmount = BigDecimal.ZERO;
+
+    @Column(name = "paid_amount", nullable = false)
+    private BigDecimal paidAmount = BigDecimal.ZERO;
+
+    @Column(name = "outstanding_amount", nullable = false)
+    private BigDecimal outstandingAmount = BigDecimal.ZERO;
+
+    @Column(name = "pending_count", nullable = false)
+    private Long pendingCount = 0L;
+
+    @Column(name = "overdue_count", nullable = false)
+    private Long overdueCount = 0L;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long studentId;
+        private String semester;
+    }
+}
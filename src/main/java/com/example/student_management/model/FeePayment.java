@@ -0,0 +1,40 @@
+package com.example.student_management.model;
+
+import com.example.student_management.enums.PaymentMethod;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// One posted payment. The unique transaction id makes re-posting the same bank line a no-op.
+@Entity
+@Table(name = "fee_payments")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FeePayment {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "payment_id")
+    private Long paymentId;
+
+    @Column(name = "fee_id", nullable = false)
+    private Long feeId;
+
+    @Column(name = "transaction_id", unique = true, nullable = false)
+    private String transactionId;
+
+    @Column(name = "amount", nullable = false)
+    private BigDecimal amount;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "payment_method")
+    private PaymentMethod paymentMethod;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,59 @@
+package com.example.student_management.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+// One partition of a semester fee roll-over: the student id range it covers and how far it has got
+@Entity
+@Table(name = "fee_rollover_checkpoints")
+@IdClass(FeeRolloverCheckpoint.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FeeRolloverCheckpoint {
+
+    @Id
+    @Column(name = "semester")
+    private String semester;
+
+    @Id
+    @Column(name = "partition_no")
+    private Integer partitionNo;
+
+    // Students with firstStudentId < id <= lastStudentId belong to this partition
+    @Column(name = "first_student_id", nullable = false)
+    private Long firstStudentId;
+
+    @Column(name = "last_student_id", nullable = false)
+    private Long lastStudentId;
+
+    // Fees exist for every active student of the partition up to this id
+    @Column(name = "processed_through", nullable = false)
+    private Long processedThrough;
+
+    @Column(name = "fees_created", nullable = false)
+    private Long feesCreated = 0L;
+
+    @Column(name = "completed", nullable = false)
+    private Boolean completed = false;
+
+    // SHA-256 of the due date and fee schedule the semester was planned with; null before V10
+    @Column(name = "schedule_fingerprint", length = 64)
+    private String scheduleFingerprint;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private String semester;
+        private Integer partitionNo;
+    }
+}
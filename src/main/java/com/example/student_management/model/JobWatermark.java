@@ -0,0 +1,29 @@
+package com.example.student_management.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// How far an incremental background job has got, so the next run starts where the last one ended
+@Entity
+@Table(name = "job_watermarks")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobWatermark {
+
+    @Id
+    @Column(name = "job_name")
+    private String jobName;
+
+    // Everything dated before this day has been processed
+    @Column(name = "processed_before", nullable = false)
+    private LocalDate processedBefore;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
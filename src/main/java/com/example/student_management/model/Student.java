@@ -2,6 +2,7 @@ package com.example.student_management.model;
 
 import com.example.student_management.enums.Gender;
 import com.example.student_management.enums.StudentStatus;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
@@ -62,9 +63,19 @@ public class Student {
     @Column(name = "student_status")
     private StudentStatus studentStatus=StudentStatus.Active;
 
-    @Column(name = "gpa")
+    // Credit-weighted, kept in step with graded enrollments by StudentGpaWriter; entity saves never write it
+    @Column(name = "gpa", updatable = false)
     private BigDecimal gpa = BigDecimal.ZERO;
 
+    // Running sums behind gpa, written only by StudentGpaWriter's UPDATE statements
+    @JsonIgnore
+    @Column(name = "graded_credits", nullable = false, insertable = false, updatable = false)
+    private Long gradedCredits = 0L;
+
+    @JsonIgnore
+    @Column(name = "quality_points", nullable = false, insertable = false, updatable = false)
+    private BigDecimal qualityPoints = BigDecimal.ZERO;
+
     @Column(name = "created_at")
     private LocalDateTime createdAt;
 
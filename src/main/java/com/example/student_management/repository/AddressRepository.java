@@ -1,8 +1,12 @@
 package com.example.student_management.repository;
 
+import com.example.student_management.dto.AddressListItem;
 import com.example.student_management.enums.AddressType;
 import com.example.student_management.model.Address;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -10,13 +14,29 @@ import java.util.Optional;
 
 @Repository
 public interface AddressRepository extends JpaRepository<Address, Long> {
-    List<Address> findByStudentStudentId(Long studentId);
+    // Select clause of the address list view; append a WHERE/ORDER BY
+    String LIST_ITEM = "SELECT new com.example.student_management.dto.AddressListItem(" +
+            "a.addressId, s.studentId, s.firstName, s.lastName, a.addressType, a.streetAddress, a.city, a.state, " +
+            "a.postalCode, a.country, a.isPrimary) FROM Address a JOIN a.student s ";
+
+    // Per-student lookups fetch the student with the rows, so callers need no separate student query
+    @Query("SELECT a FROM Address a JOIN FETCH a.student s JOIN FETCH s.department WHERE s.studentId = :studentId")
+    List<Address> findByStudentStudentId(@Param("studentId") Long studentId);
 
     // Find addresses by type (Permanent or Current)
-    List<Address> findByStudentStudentIdAndAddressType(Long studentId, AddressType addressType);
+    @Query("SELECT a FROM Address a JOIN FETCH a.student s JOIN FETCH s.department " +
+            "WHERE s.studentId = :studentId AND a.addressType = :addressType")
+    List<Address> findByStudentStudentIdAndAddressType(@Param("studentId") Long studentId,
+                                                      @Param("addressType") AddressType addressType);
 
     // Find primary address for a student
-    Optional<Address> findByStudentStudentIdAndIsPrimaryTrue(Long studentId);
+    @Query("SELECT a FROM Address a JOIN FETCH a.student s JOIN FETCH s.department " +
+            "WHERE s.studentId = :studentId AND a.isPrimary = true")
+    Optional<Address> findByStudentStudentIdAndIsPrimaryTrue(@Param("studentId") Long studentId);
+
+    // List view of every address
+    @Query(LIST_ITEM + "ORDER BY a.addressId")
+    List<AddressListItem> findListItems();
 
     // Find addresses by city
     List<Address> findByCity(String city);
@@ -26,4 +46,8 @@ public interface AddressRepository extends JpaRepository<Address, Long> {
 
     // Delete all addresses for a student
     void deleteByStudentStudentId(Long studentId);
+
+    // Keyset pagination: next page of list view rows after the given id
+    @Query(LIST_ITEM + "WHERE a.addressId > :after ORDER BY a.addressId")
+    List<AddressListItem> findListItemsAfter(@Param("after") Long after, Limit limit);
 }
@@ -1,10 +1,15 @@
 package com.example.student_management.repository;
 
+import com.example.student_management.dto.TableVersion;
 import com.example.student_management.model.Courses;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,8 +21,10 @@ public interface CourseRepository extends JpaRepository<Courses,Long> {
     // Check if course code exists
     boolean existsByCourseCode(String courseCode);
 
-    // Find courses by department
-    List<Courses> findByDepartmentDepartmentId(Long departmentId);
+    // Find courses by department; filtering on the foreign key column keeps the derived
+    // outer join to departments out of the plan, so the department_id index is used
+    @Query("SELECT c FROM Courses c WHERE c.department.departmentId = :departmentId")
+    List<Courses> findByDepartmentDepartmentId(@Param("departmentId") Long departmentId);
 
     // Find courses by semester
     List<Courses> findBySemester(String semester);
@@ -35,11 +42,45 @@ public interface CourseRepository extends JpaRepository<Courses,Long> {
     List<Courses> findByCourseNameContainingIgnoreCase(String courseName);
 
     // Custom query: Find courses with available seats
-    @Query("SELECT c FROM Courses c WHERE " +
-            "(SELECT COUNT(e) FROM Enrollments e WHERE e.course.courseId = c.courseId " +
-            "AND e.status = com.example.student_management.enums.EnrollmentStatus.Enrolled) < c.maxStudents")
+    @Query("SELECT c FROM Courses c WHERE c.enrolledCount < c.maxStudents")
     List<Courses> findCoursesWithAvailableSeats();
 
+    // Adjust the denormalized enrolled count in place; updatedAt stays, so seat changes leave the
+    // course version, its caches and ETags alone
+    @Modifying
+    @Query("UPDATE Courses c SET c.enrolledCount = c.enrolledCount + :delta WHERE c.courseId = :courseId")
+    int adjustEnrolledCount(@Param("courseId") Long courseId, @Param("delta") int delta);
+
+    // Denormalized enrolled count of one course, the seed of SeatAllocator's counter
+    @Query("SELECT c.enrolledCount FROM Courses c WHERE c.courseId = :courseId")
+    Optional<Integer> findEnrolledCount(@Param("courseId") Long courseId);
+
+    // [courseId, courseCode, maxStudents] of the given courses, all that seat reservation needs
+    @Query("SELECT c.courseId, c.courseCode, c.maxStudents FROM Courses c WHERE c.courseId IN :courseIds")
+    List<Object[]> findSeatLimits(@Param("courseIds") Collection<Long> courseIds);
+
+    // Courses whose enrolled count drifted from the enrollments table
+    @Query("SELECT c.courseId FROM Courses c WHERE c.enrolledCount <> " +
+            "(SELECT COUNT(e) FROM Enrollments e WHERE e.course.courseId = c.courseId " +
+            "AND e.status = com.example.student_management.enums.EnrollmentStatus.Enrolled)")
+    List<Long> findDriftedEnrolledCounts();
+
+    // Recompute the enrolled count of the given courses from the enrollments table
+    @Modifying
+    @Query("UPDATE Courses c SET c.enrolledCount = " +
+            "(SELECT COUNT(e) FROM Enrollments e WHERE e.course.courseId = c.courseId " +
+            "AND e.status = com.example.student_management.enums.EnrollmentStatus.Enrolled) " +
+            "WHERE c.courseId IN :courseIds")
+    int reconcileEnrolledCounts(@Param("courseIds") Collection<Long> courseIds);
+
+    // Version of the course list, see TableVersion
+    @Query("SELECT new com.example.student_management.dto.TableVersion(COUNT(c), MAX(c.updatedAt)) FROM Courses c")
+    TableVersion findTableVersion();
+
     // Count courses by department
-    long countByDepartmentDepartmentId(Long departmentId);
+    @Query("SELECT COUNT(c) FROM Courses c WHERE c.department.departmentId = :departmentId")
+    long countByDepartmentDepartmentId(@Param("departmentId") Long departmentId);
+
+    // Keyset pagination: next page of rows after the given id
+    List<Courses> findByCourseIdGreaterThanOrderByCourseIdAsc(Long courseId, Limit limit);
 }
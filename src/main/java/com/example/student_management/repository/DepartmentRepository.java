@@ -1,9 +1,13 @@
 package com.example.student_management.repository;
 
+import com.example.student_management.dto.TableVersion;
 import com.example.student_management.model.Department;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -11,4 +15,11 @@ public interface DepartmentRepository extends JpaRepository<Department, Long> {
     Optional<Department> findByDepartmentCode(String departmentCode);
     boolean existsByDepartmentCode(String departmentCode);
     Optional<Department> findByDepartmentName(String departmentName);
-}
\ No newline at end of file
+
+    // Keyset pagination: next page of rows after the given id
+    List<Department> findByDepartmentIdGreaterThanOrderByDepartmentIdAsc(Long departmentId, Limit limit);
+
+    // Version of the department list, see TableVersion
+    @Query("SELECT new com.example.student_management.dto.TableVersion(COUNT(d), MAX(d.updatedAt)) FROM Department d")
+    TableVersion findTableVersion();
+}
@@ -1,25 +1,48 @@
 package com.example.student_management.repository;
 
+import com.example.student_management.dto.EnrollmentListItem;
 import com.example.student_management.enums.EnrollmentStatus;
 import com.example.student_management.model.Enrollments;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface EnrollmentRepository extends JpaRepository<Enrollments,Long> {
-    // Find all enrollments for a student
-    List<Enrollments> findByStudentStudentId(Long studentId);
+    // Select clause of the enrollment list view; append a WHERE/ORDER BY
+    String LIST_ITEM = "SELECT new com.example.student_management.dto.EnrollmentListItem(" +
+            "e.enrollmentId, s.studentId, s.firstName, s.lastName, c.courseId, c.courseCode, c.courseName, " +
+            "e.enrollmentDate, e.grade, e.gradePoints, e.attendancePercentage, e.status) " +
+            "FROM Enrollments e JOIN e.student s JOIN e.course c ";
+
+    // Find all enrollments for a student, with student and course fetched in the same query
+    @Query("SELECT e FROM Enrollments e JOIN FETCH e.student s JOIN FETCH s.department " +
+            "JOIN FETCH e.course c JOIN FETCH c.department WHERE s.studentId = :studentId")
+    List<Enrollments> findByStudentStudentId(@Param("studentId") Long studentId);
+
+    // List view of every enrollment
+    @Query(LIST_ITEM + "ORDER BY e.enrollmentId")
+    List<EnrollmentListItem> findListItems();
 
     // Find all enrollments for a course
-    List<Enrollments> findByCourseCourseId(Long courseId);
+    @Query("SELECT e FROM Enrollments e JOIN FETCH e.student s JOIN FETCH s.department " +
+            "JOIN FETCH e.course c JOIN FETCH c.department WHERE c.courseId = :courseId")
+    List<Enrollments> findByCourseCourseId(@Param("courseId") Long courseId);
 
     // Find enrollments by status
-    List<Enrollments> findByStatus(EnrollmentStatus status);
+    @Query("SELECT e FROM Enrollments e JOIN FETCH e.student s JOIN FETCH s.department " +
+            "JOIN FETCH e.course c JOIN FETCH c.department WHERE e.status = :status")
+    List<Enrollments> findByStatus(@Param("status") EnrollmentStatus status);
 
     // Find enrollments for a student with specific status
     List<Enrollments> findByStudentStudentIdAndStatus(Long studentId, EnrollmentStatus status);
@@ -27,25 +50,43 @@ public interface EnrollmentRepository extends JpaRepository<Enrollments,Long> {
     // Check if student is enrolled in a course
     boolean existsByStudentStudentIdAndCourseCourseId(Long studentId, Long courseId);
 
+    // [studentId, courseId] pairs that already have an enrollment, for duplicate checks in bulk
+    @Query("SELECT e.student.studentId, e.course.courseId FROM Enrollments e " +
+            "WHERE e.student.studentId IN :studentIds AND e.course.courseId IN :courseIds")
+    List<Object[]> findEnrolledPairs(@Param("studentIds") Collection<Long> studentIds,
+                                     @Param("courseIds") Collection<Long> courseIds);
+
     // Find specific enrollment
     Optional<Enrollments> findByStudentStudentIdAndCourseCourseId(Long studentId, Long courseId);
 
     // Count enrollments for a course
     long countByCourseCourseId(Long courseId);
 
+    // Count enrollments for a course with a specific status
+    long countByCourseCourseIdAndStatus(Long courseId, EnrollmentStatus status);
+
     // Count enrollments for a student
     long countByStudentStudentId(Long studentId);
 
     // Custom query: Find enrollments with grade
-    @Query("SELECT e FROM Enrollments e WHERE e.student.studentId = :studentId " +
+    @Query("SELECT e FROM Enrollments e JOIN FETCH e.student s JOIN FETCH s.department " +
+            "JOIN FETCH e.course c JOIN FETCH c.department WHERE s.studentId = :studentId " +
             "AND e.grade IS NOT NULL")
     List<Enrollments> findCompletedEnrollmentsByStudent(@Param("studentId") Long studentId);
 
-    // Custom query: Calculate average GPA for a student
-    @Query("SELECT AVG(e.gradePoints) FROM Enrollments e WHERE e.student.studentId = :studentId " +
-            "AND e.gradePoints IS NOT NULL")
-    Double calculateAverageGpa(@Param("studentId") Long studentId);
-
     // Delete all enrollments for a student
     void deleteByStudentStudentId(Long studentId);
+
+    // Forward-only stream of every enrollment for exports, must be consumed inside a transaction
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT e FROM Enrollments e JOIN FETCH e.student s JOIN FETCH s.department " +
+            "JOIN FETCH e.course c JOIN FETCH c.department ORDER BY e.enrollmentId")
+    Stream<Enrollments> streamAllForExport();
+
+    // Keyset pagination: next page of list view rows after the given id
+    @Query(LIST_ITEM + "WHERE e.enrollmentId > :after ORDER BY e.enrollmentId")
+    List<EnrollmentListItem> findListItemsAfter(@Param("after") Long after, Limit limit);
 }
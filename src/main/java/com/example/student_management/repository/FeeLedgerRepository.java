@@ -0,0 +1,99 @@
+package com.example.student_management.repository;
+
+import com.example.student_management.model.FeeLedger;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Repository
+public interface FeeLedgerRepository extends JpaRepository<FeeLedger, FeeLedger.Key> {
+
+    // Ledger rows recomputed from the fees table; append a WHERE and then the GROUP BY
+    String LEDGER_FROM_FEES = "SELECT student_id, semester, COUNT(*) AS fee_count, SUM(amount) AS total_amount, " +
+            "SUM(COALESCE(paid_amount, 0)) AS paid_amount, " +
+            "SUM(CASE WHEN payment_status = 'Paid' THEN 0 ELSE amount - COALESCE(paid_amount, 0) END) " +
+            "AS outstanding_amount, " +
+            "SUM(CASE WHEN payment_status = 'Pending' THEN 1 ELSE 0 END) AS pending_count, " +
+            "SUM(CASE WHEN payment_status = 'Overdue' THEN 1 ELSE 0 END) AS overdue_count, " +
+            "CURRENT_TIMESTAMP AS updated_at FROM fees ";
+
+    String GROUP_BY_KEY = "GROUP BY student_id, semester";
+
+    String INSERT_LEDGER = "INSERT INTO fee_ledgers (student_id, semester, fee_count, total_amount, paid_amount, " +
+            "outstanding_amount, pending_count, overdue_count, updated_at) ";
+
+    // Per-semester ledger rows of a student
+    List<FeeLedger> findByStudentIdOrderBySemesterAsc(Long studentId);
+
+    // Add a delta to one ledger row, creating it on first use. A single statement, so concurrent
+    // payments for the same student cannot lose each other's updates.
+    @Modifying
+    @Query(value = "INSERT INTO fee_ledgers (student_id, semester, fee_count, total_amount, paid_amount, " +
+            "outstanding_amount, pending_count, overdue_count, updated_at) " +
+            "VALUES (:studentId, :semester, :feeCount, :totalAmount, :paidAmount, :outstandingAmount, " +
+            ":pendingCount, :overdueCount, CURRENT_TIMESTAMP) " +
+            "ON DUPLICATE KEY UPDATE fee_count = fee_count + :feeCount, " +
+            "total_amount = total_amount + :totalAmount, paid_amount = paid_amount + :paidAmount, " +
+            "outstanding_amount = outstanding_amount + :outstandingAmount, " +
+            "pending_count = pending_count + :pendingCount, overdue_count = overdue_count + :overdueCount, " +
+            "updated_at = CURRENT_TIMESTAMP",
+            nativeQuery = true)
+    int applyDelta(@Param("studentId") Long studentId,
+                   @Param("semester") String semester,
+                   @Param("feeCount") long feeCount,
+                   @Param("totalAmount") BigDecimal totalAmount,
+                   @Param("paidAmount") BigDecimal paidAmount,
+                   @Param("outstandingAmount") BigDecimal outstandingAmount,
+                   @Param("pendingCount") long pendingCount,
+                   @Param("overdueCount") long overdueCount);
+
+    // Drop rows whose fees are all gone
+    @Modifying
+    @Query("DELETE FROM FeeLedger l WHERE l.studentId = :studentId AND l.semester = :semester AND l.feeCount = 0")
+    int deleteIfEmpty(@Param("studentId") Long studentId, @Param("semester") String semester);
+
+    @Modifying
+    @Query("DELETE FROM FeeLedger l WHERE l.studentId = :studentId")
+    int deleteByStudentId(@Param("studentId") Long studentId);
+
+    // Recompute every ledger row from the fees table with one grouped scan; for an empty ledger
+    @Modifying
+    @Query(value = INSERT_LEDGER + LEDGER_FROM_FEES + GROUP_BY_KEY, nativeQuery = true)
+    int rebuildFromFees();
+
+    // Student and semester of every ledger row that differs from its fees, is missing, or has no fees left
+    @Query(value = "SELECT f.student_id, f.semester FROM (" + LEDGER_FROM_FEES + GROUP_BY_KEY + ") f " +
+            "LEFT JOIN fee_ledgers l ON l.student_id = f.student_id AND l.semester = f.semester " +
+            "WHERE l.student_id IS NULL OR l.fee_count <> f.fee_count OR l.total_amount <> f.total_amount " +
+            "OR l.paid_amount <> f.paid_amount OR l.outstanding_amount <> f.outstanding_amount " +
+            "OR l.pending_count <> f.pending_count OR l.overdue_count <> f.overdue_count " +
+            "UNION ALL " +
+            "SELECT l.student_id, l.semester FROM fee_ledgers l WHERE NOT EXISTS " +
+            "(SELECT 1 FROM fees x WHERE x.student_id = l.student_id AND x.semester = l.semester)",
+            nativeQuery = true)
+    List<Object[]> findDrifted();
+
+    // Recompute one ledger row from its fees. Reads the fees before writing the ledger, the same
+    // order as a payment, so it cannot deadlock against one.
+    @Modifying
+    @Query(value = INSERT_LEDGER + LEDGER_FROM_FEES +
+            "WHERE student_id = :studentId AND semester = :semester " + GROUP_BY_KEY + " " +
+            "ON DUPLICATE KEY UPDATE fee_count = VALUES(fee_count), total_amount = VALUES(total_amount), " +
+            "paid_amount = VALUES(paid_amount), outstanding_amount = VALUES(outstanding_amount), " +
+            "pending_count = VALUES(pending_count), overdue_count = VALUES(overdue_count), " +
+            "updated_at = VALUES(updated_at)",
+            nativeQuery = true)
+    int refreshFromFees(@Param("studentId") Long studentId, @Param("semester") String semester);
+
+    // Drop a ledger row whose fees are all gone
+    @Modifying
+    @Query(value = "DELETE FROM fee_ledgers WHERE student_id = :studentId AND semester = :semester " +
+            "AND NOT EXISTS (SELECT 1 FROM fees x WHERE x.student_id = :studentId AND x.semester = :semester)",
+            nativeQuery = true)
+    int deleteIfNoFees(@Param("studentId") Long studentId, @Param("semester") String semester);
+}
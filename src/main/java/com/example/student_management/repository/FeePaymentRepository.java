@@ -0,0 +1,20 @@
+package com.example.student_management.repository;
+
+import com.example.student_management.model.FeePayment;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface FeePaymentRepository extends JpaRepository<FeePayment, Long> {
+
+    boolean existsByTransactionId(String transactionId);
+
+    // Which of the given transaction ids have already been posted
+    @Query("SELECT p.transactionId FROM FeePayment p WHERE p.transactionId IN :transactionIds")
+    List<String> findRecordedTransactionIds(@Param("transactionIds") Collection<String> transactionIds);
+}
@@ -1,60 +1,153 @@
 package com.example.student_management.repository;
 
+import com.example.student_management.dto.FeeListItem;
+import com.example.student_management.dto.FeeTotals;
 import com.example.student_management.enums.FeeType;
+import com.example.student_management.enums.PaymentMethod;
 import com.example.student_management.enums.PaymentStatus;
 import com.example.student_management.model.Fee;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface FeeRepository extends JpaRepository<Fee, Long> {
-    // Find all fees for a student
-    List<Fee> findByStudentStudentId(Long studentId);
+    // Select clause of the fee list view; append a WHERE/ORDER BY
+    String LIST_ITEM = "SELECT new com.example.student_management.dto.FeeListItem(" +
+            "f.feeId, s.studentId, s.firstName, s.lastName, f.semester, f.feeType, f.amount, f.paidAmount, " +
+            "f.paymentStatus, f.dueDate) FROM Fee f JOIN f.student s ";
+    // Columns read by FeeStates.fromPaymentState; append a WHERE
+    String PAYMENT_STATE = "SELECT f.feeId, f.student.studentId, f.semester, f.amount, f.paidAmount, " +
+            "f.paymentStatus, f.dueDate, f.version FROM Fee f ";
+
+    // Find all fees for a student, with the student fetched in the same query
+    @Query("SELECT f FROM Fee f JOIN FETCH f.student s JOIN FETCH s.department WHERE s.studentId = :studentId")
+    List<Fee> findByStudentStudentId(@Param("studentId") Long studentId);
+
+    // A fee with its student, read back once applyPayment has written it
+    @Query("SELECT f FROM Fee f JOIN FETCH f.student s JOIN FETCH s.department WHERE f.feeId = :feeId")
+    Optional<Fee> findForPayment(@Param("feeId") Long feeId);
+
+    // Adds a payment in one statement, with the status rule of FeeStates.afterPayment. Guarded on the
+    // balance, so the fee is never overpaid, and on the status the caller expects, so it knows the
+    // row's state before the write; 0 rows means either guard failed. The status is assigned first
+    // because MySQL evaluates SET left to right. Clears the persistence context, whose copy of the fee
+    // is now stale.
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Fee f SET f.paymentStatus = CASE WHEN COALESCE(f.paidAmount, 0) + :amount = f.amount " +
+            "THEN com.example.student_management.enums.PaymentStatus.Paid " +
+            "WHEN f.dueDate < :today THEN com.example.student_management.enums.PaymentStatus.Overdue " +
+            "ELSE com.example.student_management.enums.PaymentStatus.Partial END, " +
+            "f.paidAmount = COALESCE(f.paidAmount, 0) + :amount, " +
+            "f.paymentDate = :today, f.paymentMethod = COALESCE(:method, f.paymentMethod), " +
+            "f.transactionId = :transactionId, f.updatedAt = :now, f.version = f.version + 1 " +
+            "WHERE f.feeId = :feeId " +
+            "AND (f.paymentStatus = :prior OR (:prior IS NULL AND f.paymentStatus IS NULL)) " +
+            "AND COALESCE(f.paidAmount, 0) + :amount <= f.amount")
+    int applyPayment(@Param("feeId") Long feeId,
+                     @Param("prior") PaymentStatus prior,
+                     @Param("amount") BigDecimal amount,
+                     @Param("method") PaymentMethod method,
+                     @Param("transactionId") String transactionId,
+                     @Param("today") LocalDate today,
+                     @Param("now") LocalDateTime now);
+
+    // List view of every fee
+    @Query(LIST_ITEM + "ORDER BY f.feeId")
+    List<FeeListItem> findListItems();
+
+    // Payment state of the given fees, without loading entities
+    @Query(PAYMENT_STATE + "WHERE f.feeId IN :feeIds")
+    List<Object[]> findPaymentStates(@Param("feeIds") Collection<Long> feeIds);
+
+    // Next chunk of open fees whose due date is in [from, before); from is null on a first full sweep
+    @Query(PAYMENT_STATE + "WHERE f.feeId > :after AND f.dueDate < :before " +
+            "AND (:from IS NULL OR f.dueDate >= :from) " +
+            "AND f.paymentStatus IN (com.example.student_management.enums.PaymentStatus.Pending, " +
+            "com.example.student_management.enums.PaymentStatus.Partial) ORDER BY f.feeId")
+    List<Object[]> findOpenPaymentStatesDueBetween(@Param("after") Long after,
+                                                   @Param("from") LocalDate from,
+                                                   @Param("before") LocalDate before,
+                                                   Limit limit);
+
+    // Guarded on the open statuses, so a fee paid since it was read is left alone
+    @Modifying
+    @Query("UPDATE Fee f SET f.paymentStatus = com.example.student_management.enums.PaymentStatus.Overdue, " +
+            "f.updatedAt = :now, f.version = f.version + 1 WHERE f.feeId IN :feeIds " +
+            "AND f.paymentStatus IN (com.example.student_management.enums.PaymentStatus.Pending, " +
+            "com.example.student_management.enums.PaymentStatus.Partial)")
+    int markOverdue(@Param("feeIds") Collection<Long> feeIds, @Param("now") LocalDateTime now);
 
     // Find fees by semester
-    List<Fee> findBySemester(String semester);
+    @Query("SELECT f FROM Fee f JOIN FETCH f.student s JOIN FETCH s.department WHERE f.semester = :semester")
+    List<Fee> findBySemester(@Param("semester") String semester);
 
     // Find fees by student and semester
-    List<Fee> findByStudentStudentIdAndSemester(Long studentId, String semester);
+    @Query("SELECT f FROM Fee f JOIN FETCH f.student s JOIN FETCH s.department " +
+            "WHERE s.studentId = :studentId AND f.semester = :semester")
+    List<Fee> findByStudentStudentIdAndSemester(@Param("studentId") Long studentId,
+                                                @Param("semester") String semester);
 
     // Find fees by payment status
-    List<Fee> findByPaymentStatus(PaymentStatus status);
+    @Query("SELECT f FROM Fee f JOIN FETCH f.student s JOIN FETCH s.department WHERE f.paymentStatus = :status")
+    List<Fee> findByPaymentStatus(@Param("status") PaymentStatus status);
 
     // Find fees by fee type
     List<Fee> findByFeeType(FeeType feeType);
 
     // Find pending fees for a student
-    List<Fee> findByStudentStudentIdAndPaymentStatus(Long studentId, PaymentStatus status);
-
-    // Find overdue fees (due date passed and not fully paid)
-    @Query("SELECT f FROM Fee f WHERE f.dueDate < :currentDate " +
-            "AND (f.paymentStatus = com.example.student_management.enums.PaymentStatus.Pending " +
-            "OR f.paymentStatus = com.example.student_management.enums.PaymentStatus.Partial)")
-    List<Fee> findOverdueFees(@Param("currentDate") LocalDate currentDate);
-
-    // Custom query: Total fees for a student
-    @Query("SELECT SUM(f.amount) FROM Fee f WHERE f.student.studentId = :studentId")
-    BigDecimal calculateTotalFeesByStudent(@Param("studentId") Long studentId);
+    @Query("SELECT f FROM Fee f JOIN FETCH f.student s JOIN FETCH s.department " +
+            "WHERE s.studentId = :studentId AND f.paymentStatus = :status")
+    List<Fee> findByStudentStudentIdAndPaymentStatus(@Param("studentId") Long studentId,
+                                                     @Param("status") PaymentStatus status);
 
-    // Custom query: Total paid amount for a student
-    @Query("SELECT SUM(f.paidAmount) FROM Fee f WHERE f.student.studentId = :studentId")
-    BigDecimal calculateTotalPaidByStudent(@Param("studentId") Long studentId);
+    // Find overdue fees; OverdueFeeSweeper keeps the status in step with due dates
+    @Query("SELECT f FROM Fee f JOIN FETCH f.student s JOIN FETCH s.department " +
+            "WHERE f.paymentStatus = com.example.student_management.enums.PaymentStatus.Overdue")
+    List<Fee> findOverdueFees();
 
-    // Custom query: Outstanding balance for a student
-    @Query("SELECT SUM(f.amount - f.paidAmount) FROM Fee f WHERE f.student.studentId = :studentId " +
-            "AND (f.paymentStatus = com.example.student_management.enums.PaymentStatus.Pending " +
-            "OR f.paymentStatus = com.example.student_management.enums.PaymentStatus.Partial)")
-    BigDecimal calculateOutstandingBalance(@Param("studentId") Long studentId);
-
-    // Count pending fees for a student
-    long countByStudentStudentIdAndPaymentStatus(Long studentId, PaymentStatus status);
+    // Custom query: Fee counters and outstanding total for the dashboard, in one scan. Pending counts
+    // every fee not yet fully paid, overdue ones included, so fees do not drop out of it when the
+    // sweeper marks them Overdue; overdue is the past-due subset.
+    @Query("SELECT new com.example.student_management.dto.FeeTotals(" +
+            "COUNT(f), " +
+            "SUM(CASE WHEN f.paymentStatus <> com.example.student_management.enums.PaymentStatus.Paid " +
+            "THEN 1L ELSE 0L END), " +
+            "SUM(CASE WHEN f.paymentStatus = com.example.student_management.enums.PaymentStatus.Overdue " +
+            "OR (f.dueDate < :currentDate AND f.paymentStatus IN (" +
+            "com.example.student_management.enums.PaymentStatus.Pending, " +
+            "com.example.student_management.enums.PaymentStatus.Partial)) THEN 1L ELSE 0L END), " +
+            "SUM(CASE WHEN f.paymentStatus <> com.example.student_management.enums.PaymentStatus.Paid " +
+            "THEN f.amount - COALESCE(f.paidAmount, 0) ELSE 0 END)) " +
+            "FROM Fee f")
+    FeeTotals calculateFeeTotals(@Param("currentDate") LocalDate currentDate);
 
     // Delete all fees for a student
     void deleteByStudentStudentId(Long studentId);
+
+    // Forward-only stream of every fee for exports, must be consumed inside a transaction
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT f FROM Fee f JOIN FETCH f.student s JOIN FETCH s.department ORDER BY f.feeId")
+    Stream<Fee> streamAllForExport();
+
+    // Keyset pagination: next page of list view rows after the given id
+    @Query(LIST_ITEM + "WHERE f.feeId > :after ORDER BY f.feeId")
+    List<FeeListItem> findListItemsAfter(@Param("after") Long after, Limit limit);
 }
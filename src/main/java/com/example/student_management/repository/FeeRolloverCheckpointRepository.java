@@ -0,0 +1,33 @@
+package com.example.student_management.repository;
+
+import com.example.student_management.model.FeeRolloverCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface FeeRolloverCheckpointRepository
+        extends JpaRepository<FeeRolloverCheckpoint, FeeRolloverCheckpoint.Key> {
+
+    List<FeeRolloverCheckpoint> findBySemesterOrderByPartitionNo(String semester);
+
+    // Moves a partition past a chunk; guarded on the position that was read, so 0 rows means
+    // another run processed the same chunk meanwhile
+    @Modifying
+    @Query("UPDATE FeeRolloverCheckpoint c SET c.processedThrough = :through, " +
+            "c.feesCreated = c.feesCreated + :fees, c.completed = :completed, c.updatedAt = :now " +
+            "WHERE c.semester = :semester AND c.partitionNo = :partitionNo " +
+            "AND c.processedThrough = :expected AND c.completed = false")
+    int advance(@Param("semester") String semester,
+                @Param("partitionNo") Integer partitionNo,
+                @Param("expected") Long expected,
+                @Param("through") Long through,
+                @Param("fees") long fees,
+                @Param("completed") boolean completed,
+                @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,9 @@
+package com.example.student_management.repository;
+
+import com.example.student_management.model.JobWatermark;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface JobWatermarkRepository extends JpaRepository<JobWatermark, String> {
+}
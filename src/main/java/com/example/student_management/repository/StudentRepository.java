@@ -1,17 +1,40 @@
 package com.example.student_management.repository;
 
+import com.example.student_management.dto.StudentListItem;
+import com.example.student_management.dto.StudentSearchRow;
 import com.example.student_management.enums.StudentStatus;
 import com.example.student_management.model.Student;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface StudentRepository extends JpaRepository<Student, Long> {
+    // Graded (Completed, with grade points) enrollments of the students row being updated
+    String GRADED_ENROLLMENTS = "FROM enrollments e JOIN courses c ON c.course_id = e.course_id " +
+            "WHERE e.student_id = students.student_id AND e.status = 'Completed' AND e.grade_points IS NOT NULL";
+    // Rebuilds the GPA sums from graded enrollments; append a WHERE. Same as the V7 backfill.
+    String RECOMPUTE_GPA = "UPDATE students SET " +
+            "graded_credits = COALESCE((SELECT SUM(c.credits) " + GRADED_ENROLLMENTS + "), 0), " +
+            "quality_points = COALESCE((SELECT SUM(c.credits * e.grade_points) " + GRADED_ENROLLMENTS + "), 0), " +
+            "gpa = COALESCE((SELECT ROUND(SUM(c.credits * e.grade_points) / NULLIF(SUM(c.credits), 0), 2) " +
+            GRADED_ENROLLMENTS + "), 0) ";
+
+    // Select clause of the student list view; append a WHERE/ORDER BY
+    String LIST_ITEM = "SELECT new com.example.student_management.dto.StudentListItem(" +
+            "s.studentId, s.studentNumber, s.firstName, s.lastName, s.email, s.phone, " +
+            "d.departmentId, d.departmentName, s.studentStatus, s.gpa) FROM Student s JOIN s.department d ";
 
     // Find student by student number
     Optional<Student> findByStudentNumber(String studentNumber);
@@ -25,15 +48,40 @@ public interface StudentRepository extends JpaRepository<Student, Long> {
     // Check if email exists
     boolean existsByEmail(String email);
 
+    // List view of every student
+    @Query(LIST_ITEM + "ORDER BY s.studentId")
+    List<StudentListItem> findListItems();
+
+    // List view rows by id, for search results
+    @Query(LIST_ITEM + "WHERE s.studentId IN :ids")
+    List<StudentListItem> findListItemsByIdIn(@Param("ids") Collection<Long> ids);
+
+    // List view rows matching a keyword, same match as searchStudents, at most limit rows
+    @Query(LIST_ITEM + "WHERE " +
+            "LOWER(s.firstName) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
+            "LOWER(s.lastName) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
+            "LOWER(s.email) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
+            "LOWER(s.studentNumber) LIKE LOWER(CONCAT('%', :keyword, '%')) " +
+            "ORDER BY s.studentId")
+    List<StudentListItem> searchListItems(@Param("keyword") String keyword, Limit limit);
+
     // Find all students in a department
-    List<Student> findByDepartmentDepartmentId(Long departmentId);
+    @Query("SELECT s FROM Student s JOIN FETCH s.department d WHERE d.departmentId = :departmentId")
+    List<Student> findByDepartmentDepartmentId(@Param("departmentId") Long departmentId);
 
     // Find students by status (Active, Inactive, etc.)
-    List<Student> findByStudentStatus(StudentStatus status);
+    @Query("SELECT s FROM Student s JOIN FETCH s.department WHERE s.studentStatus = :status")
+    List<Student> findByStudentStatus(@Param("status") StudentStatus status);
 
     // Find students by first name or last name (case-insensitive)
     List<Student> findByFirstNameContainingIgnoreCaseOrLastNameContainingIgnoreCase(String firstName, String lastName);
 
+    // List view rows whose first or last name contains the given text (case-insensitive), at most limit rows
+    @Query(LIST_ITEM + "WHERE LOWER(s.firstName) LIKE LOWER(CONCAT('%', :name, '%')) " +
+            "OR LOWER(s.lastName) LIKE LOWER(CONCAT('%', :name, '%')) " +
+            "ORDER BY s.studentId")
+    List<StudentListItem> searchListItemsByName(@Param("name") String name, Limit limit);
+
     // Custom query: Find students with GPA above a threshold
     @Query("SELECT s FROM Student s WHERE s.gpa >= :minGpa")
     List<Student> findStudentsWithMinGpa(@Param("minGpa") Double minGpa);
@@ -41,7 +89,7 @@ public interface StudentRepository extends JpaRepository<Student, Long> {
     // Count students by department
     long countByDepartmentDepartmentId(Long departmentId);
 
-    @Query("SELECT s FROM Student s WHERE " +
+    @Query("SELECT s FROM Student s JOIN FETCH s.department WHERE " +
             "LOWER(s.firstName) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
             "LOWER(s.lastName) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
             "LOWER(s.email) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
@@ -56,13 +104,93 @@ public interface StudentRepository extends JpaRepository<Student, Long> {
     List<Student> findByGpaBetween(@Param("minGpa") BigDecimal minGpa, @Param("maxGpa") BigDecimal maxGpa);
 
     // Combined filter query
-    @Query("SELECT s FROM Student s WHERE " +
+    @Query(LIST_ITEM + "WHERE " +
             "(:status IS NULL OR s.studentStatus = :status) AND " +
-            "(:departmentId IS NULL OR s.department.departmentId = :departmentId) AND " +
+            "(:departmentId IS NULL OR d.departmentId = :departmentId) AND " +
             "(:minGpa IS NULL OR s.gpa >= :minGpa)")
-    List<Student> filterStudents(
+    List<StudentListItem> filterStudents(
             @Param("status") StudentStatus status,
             @Param("departmentId") Long departmentId,
             @Param("minGpa") BigDecimal minGpa
     );
+
+    // Student numbers and emails already taken, as [studentNumber, email] pairs.
+    // A UNION rather than OR so each branch can use its own unique index.
+    @Query("SELECT s.studentNumber, s.email FROM Student s WHERE s.studentNumber IN :studentNumbers " +
+            "UNION SELECT s.studentNumber, s.email FROM Student s WHERE s.email IN :emails")
+    List<Object[]> findTakenNumbersAndEmails(@Param("studentNumbers") Collection<String> studentNumbers,
+                                             @Param("emails") Collection<String> emails);
+
+    // Forward-only stream of every student for exports, must be consumed inside a transaction
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT s FROM Student s JOIN FETCH s.department ORDER BY s.studentId")
+    Stream<Student> streamAllForExport();
+
+    // Keyset pagination over the searchable columns only, used to build the search index
+    @Query("SELECT new com.example.student_management.dto.StudentSearchRow(" +
+            "s.studentId, s.firstName, s.lastName, s.email, s.studentNumber) " +
+            "FROM Student s WHERE s.studentId > :after ORDER BY s.studentId")
+    List<StudentSearchRow> findSearchRowsAfter(@Param("after") Long after, Limit limit);
+
+    // The ids among the given ones that belong to a student
+    @Query("SELECT s.studentId FROM Student s WHERE s.studentId IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    // Lowest and highest id among the students with a status, as a single [min, max] row
+    @Query("SELECT MIN(s.studentId), MAX(s.studentId) FROM Student s WHERE s.studentStatus = :status")
+    List<Object[]> findIdRangeByStatus(@Param("status") StudentStatus status);
+
+    // Keyset pagination over [studentId, departmentId] of the students with a status and after < id <= upTo
+    @Query("SELECT s.studentId, s.department.departmentId FROM Student s WHERE s.studentStatus = :status " +
+            "AND s.studentId > :after AND s.studentId <= :upTo ORDER BY s.studentId")
+    List<Object[]> findIdsAndDepartmentsByStatus(@Param("status") StudentStatus status,
+                                                 @Param("after") Long after,
+                                                 @Param("upTo") Long upTo,
+                                                 Limit limit);
+
+    // Keyset pagination: next page of list view rows after the given id
+    @Query(LIST_ITEM + "WHERE s.studentId > :after ORDER BY s.studentId")
+    List<StudentListItem> findListItemsAfter(@Param("after") Long after, Limit limit);
+
+    // What a student's JSON depends on: its own updatedAt, the GPA (written without touching updatedAt)
+    // and the embedded department; one row, or none for an unknown id
+    @Query("SELECT s.updatedAt, s.gpa, d.departmentId, d.updatedAt FROM Student s LEFT JOIN s.department d " +
+            "WHERE s.studentId = :studentId")
+    List<Object[]> findVersionById(@Param("studentId") Long studentId);
+
+    // GPA of one student, 0 when ungraded
+    @Query("SELECT COALESCE(s.gpa, 0) FROM Student s WHERE s.studentId = :studentId")
+    Optional<BigDecimal> findGpaById(@Param("studentId") Long studentId);
+
+    // Add a graded enrollment's credits and quality points to a student and recompute the GPA in the
+    // same statement. gpa is assigned first because MySQL evaluates SET left to right with updated values.
+    @Modifying
+    @Query(value = "UPDATE students SET " +
+            "gpa = CASE WHEN graded_credits + :credits > 0 " +
+            "THEN ROUND((quality_points + :qualityPoints) / (graded_credits + :credits), 2) ELSE 0 END, " +
+            "graded_credits = graded_credits + :credits, " +
+            "quality_points = quality_points + :qualityPoints " +
+            "WHERE student_id = :studentId",
+            nativeQuery = true)
+    int applyGradeDelta(@Param("studentId") Long studentId,
+                        @Param("credits") long credits,
+                        @Param("qualityPoints") BigDecimal qualityPoints);
+
+    @Modifying
+    @Query(value = RECOMPUTE_GPA, nativeQuery = true)
+    int recomputeAllGpa();
+
+    @Modifying
+    @Query(value = RECOMPUTE_GPA + "WHERE student_id = :studentId", nativeQuery = true)
+    int recomputeGpa(@Param("studentId") Long studentId);
+
+    // Students with a graded enrollment in the course, e.g. after its credits changed
+    @Modifying
+    @Query(value = RECOMPUTE_GPA + "WHERE student_id IN (SELECT g.student_id FROM enrollments g " +
+            "WHERE g.course_id = :courseId AND g.status = 'Completed' AND g.grade_points IS NOT NULL)",
+            nativeQuery = true)
+    int recomputeGpaForCourse(@Param("courseId") Long courseId);
 }
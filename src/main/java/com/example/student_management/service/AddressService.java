@@ -1,5 +1,7 @@
 package com.example.student_management.service;
 
+import com.example.student_management.dto.AddressListItem;
+import com.example.student_management.dto.CursorPage;
 import com.example.student_management.enums.AddressType;
 import com.example.student_management.model.Address;
 
@@ -10,7 +12,8 @@ public interface AddressService {
     Address createAddress(Address address);
 
     // Read
-    List<Address> getAllAddresses();
+    List<AddressListItem> getAllAddresses();
+    CursorPage<AddressListItem> getAddressesPage(Long after, Integer limit);
     Address getAddressById(Long id);
     List<Address> getAddressesByStudent(Long studentId);
     List<Address> getAddressesByStudentAndType(Long studentId, AddressType type);
@@ -1,11 +1,13 @@
 package com.example.student_management.service;
 
+import com.example.student_management.dto.AddressListItem;
+import com.example.student_management.dto.CursorPage;
 import com.example.student_management.enums.AddressType;
 import com.example.student_management.exception.ResourceNotFoundException;
 import com.example.student_management.model.Address;
 import com.example.student_management.repository.AddressRepository;
-import com.example.student_management.repository.StudentRepository;
 import jakarta.transaction.Transactional;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
@@ -15,20 +17,18 @@ import java.util.List;
 @Transactional
 public class AddressServiceImpl implements AddressService {
     private final AddressRepository addressRepository;
-    private final StudentRepository studentRepository;
+    private final StudentExistenceGuard studentExistenceGuard;
 
-    public AddressServiceImpl(AddressRepository addressRepository, StudentRepository studentRepository) {
+    public AddressServiceImpl(AddressRepository addressRepository, StudentExistenceGuard studentExistenceGuard) {
         this.addressRepository = addressRepository;
-        this.studentRepository = studentRepository;
+        this.studentExistenceGuard = studentExistenceGuard;
     }
 
     @Override
     public Address createAddress(Address address) {
         // Verify student exists
         if (address.getStudent() != null && address.getStudent().getStudentId() != null) {
-            studentRepository.findById(address.getStudent().getStudentId())
-                    .orElseThrow(() -> new ResourceNotFoundException(
-                            "Student not found with id: " + address.getStudent().getStudentId()));
+            studentExistenceGuard.requireExists(address.getStudent().getStudentId());
         }
 
         // If this is primary, unset other primary addresses for this student
@@ -51,8 +51,16 @@ public class AddressServiceImpl implements AddressService {
     }
 
     @Override
-    public List<Address> getAllAddresses() {
-        return addressRepository.findAll();
+    public List<AddressListItem> getAllAddresses() {
+        return addressRepository.findListItems();
+    }
+
+    @Override
+    public CursorPage<AddressListItem> getAddressesPage(Long after, Integer limit) {
+        int pageSize = CursorPage.resolveLimit(limit);
+        List<AddressListItem> rows = addressRepository.findListItemsAfter(
+                CursorPage.resolveAfter(after), Limit.of(pageSize + 1));
+        return CursorPage.of(rows, pageSize, AddressListItem::getAddressId);
     }
 
     @Override
@@ -63,31 +71,30 @@ public class AddressServiceImpl implements AddressService {
 
     @Override
     public List<Address> getAddressesByStudent(Long studentId) {
-        // Verify student exists
-        studentRepository.findById(studentId)
-                .orElseThrow(() -> new ResourceNotFoundException("Student not found with id: " + studentId));
-
-        return addressRepository.findByStudentStudentId(studentId);
+        List<Address> addresses = addressRepository.findByStudentStudentId(studentId);
+        // Rows carry the student; only an empty result needs the existence check
+        if (addresses.isEmpty()) {
+            studentExistenceGuard.requireExists(studentId);
+        }
+        return addresses;
     }
 
     @Override
     public List<Address> getAddressesByStudentAndType(Long studentId, AddressType type) {
-        // Verify student exists
-        studentRepository.findById(studentId)
-                .orElseThrow(() -> new ResourceNotFoundException("Student not found with id: " + studentId));
-
-        return addressRepository.findByStudentStudentIdAndAddressType(studentId, type);
+        List<Address> addresses = addressRepository.findByStudentStudentIdAndAddressType(studentId, type);
+        if (addresses.isEmpty()) {
+            studentExistenceGuard.requireExists(studentId);
+        }
+        return addresses;
     }
 
     @Override
     public Address getPrimaryAddressByStudent(Long studentId) {
-        // Verify student exists
-        studentRepository.findById(studentId)
-                .orElseThrow(() -> new ResourceNotFoundException("Student not found with id: " + studentId));
-
         return addressRepository.findByStudentStudentIdAndIsPrimaryTrue(studentId)
-                .orElseThrow(() -> new ResourceNotFoundException(
-                        "No primary address found for student id: " + studentId));
+                .orElseThrow(() -> {
+                    studentExistenceGuard.requireExists(studentId);
+                    return new ResourceNotFoundException("No primary address found for student id: " + studentId);
+                });
     }
 
     @Override
@@ -152,9 +159,7 @@ public class AddressServiceImpl implements AddressService {
 
     @Override
     public void deleteAllAddressesByStudent(Long studentId) {
-        // Verify student exists
-        studentRepository.findById(studentId)
-                .orElseThrow(() -> new ResourceNotFoundException("Student not found with id: " + studentId));
+        studentExistenceGuard.requireExists(studentId);
 
         addressRepository.deleteByStudentStudentId(studentId);
     }
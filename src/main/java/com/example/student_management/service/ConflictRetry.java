@@ -0,0 +1,66 @@
+package com.example.student_management.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+// Runs work in its own transaction and, when it loses an optimistic-locking race, runs it again after a
+// random pause that doubles per attempt (capped). The work must re-read what it changes on every attempt.
+// Called inside a caller's transaction the attempts would share its stale snapshot, so callers suspend it.
+@Component
+public class ConflictRetry {
+
+    private static final long MAX_BACKOFF_MILLIS = 200;
+
+    private final TransactionTemplate transactionTemplate;
+    private final int maxAttempts;
+    private final long backoffMillis;
+    private final Counter retryCounter;
+    private final Counter exhaustedCounter;
+
+    public ConflictRetry(TransactionTemplate transactionTemplate,
+                         MeterRegistry meterRegistry,
+                         @Value("${concurrency.retry.max-attempts:5}") int maxAttempts,
+                         @Value("${concurrency.retry.backoff-ms:5}") long backoffMillis) {
+        this.transactionTemplate = transactionTemplate;
+        this.maxAttempts = maxAttempts;
+        this.backoffMillis = backoffMillis;
+        this.retryCounter = Counter.builder("concurrency.conflict.retries")
+                .description("Attempts run again after an optimistic-locking conflict")
+                .register(meterRegistry);
+        this.exhaustedCounter = Counter.builder("concurrency.conflict.exhausted")
+                .description("Work that still conflicted after the last attempt")
+                .register(meterRegistry);
+    }
+
+    public <T> T run(Supplier<T> work) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> work.get());
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt >= maxAttempts) {
+                    exhaustedCounter.increment();
+                    throw e;
+                }
+                retryCounter.increment();
+                pause(attempt, e);
+            }
+        }
+    }
+
+    private void pause(int attempt, OptimisticLockingFailureException conflict) {
+        long ceiling = Math.min(MAX_BACKOFF_MILLIS, backoffMillis << Math.min(attempt - 1, 16));
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(ceiling + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw conflict;
+        }
+    }
+}
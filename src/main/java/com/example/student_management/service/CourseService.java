@@ -1,5 +1,7 @@
 package com.example.student_management.service;
 
+import com.example.student_management.dto.CourseSeats;
+import com.example.student_management.dto.CursorPage;
 import com.example.student_management.model.Courses;
 
 import java.util.List;
@@ -10,6 +12,7 @@ public interface CourseService {
 
     // Read
     List<Courses> getAllCourses();
+    CursorPage<Courses> getCoursesPage(Long after, Integer limit);
     Courses getCourseById(Long id);
     Courses getCourseByCourseCode(String courseCode);
     List<Courses> getCoursesByDepartment(Long departmentId);
@@ -17,6 +20,8 @@ public interface CourseService {
     List<Courses> getActiveCourses();
     List<Courses> searchCoursesByName(String name);
     List<Courses> getCoursesWithAvailableSeats();
+    // Changes whenever getAllCourses() would return different JSON
+    String getCoursesVersion();
 
     // Update
     Courses updateCourse(Long id, Courses course);
@@ -32,4 +37,6 @@ public interface CourseService {
     // Statistics
     long countEnrollmentsInCourse(Long courseId);
     boolean hasAvailableSeats(Long courseId);
+    CourseSeats getCourseSeats(Long courseId);
+    void adjustEnrolledCount(Courses course, int delta);
 }
@@ -1,28 +1,41 @@
 package com.example.student_management.service;
 
+import com.example.student_management.dto.CourseSeats;
+import com.example.student_management.dto.CursorPage;
+import com.example.student_management.config.CacheConfig;
 import com.example.student_management.exception.ResourceNotFoundException;
 import com.example.student_management.model.Courses;
 import com.example.student_management.repository.CourseRepository;
-import com.example.student_management.repository.DepartmentRepository;
 import com.example.student_management.repository.EnrollmentRepository;
 import jakarta.transaction.Transactional;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Objects;
 
 @Service
 @Transactional
 public class CourseServiceImpl implements CourseService {
 
     private final CourseRepository courseRepository;
-    private final DepartmentRepository departmentRepository;
+    private final DepartmentService departmentService;
     private final EnrollmentRepository enrollmentRepository;
+    private final StudentGpaWriter studentGpaWriter;
+    private final ReferenceDataCache referenceDataCache;
+    private final SeatAllocator seatAllocator;
 
-    public CourseServiceImpl(CourseRepository courseRepository, DepartmentRepository departmentRepository,EnrollmentRepository enrollmentRepository) {
+    public CourseServiceImpl(CourseRepository courseRepository, DepartmentService departmentService,EnrollmentRepository enrollmentRepository,
+                             StudentGpaWriter studentGpaWriter, ReferenceDataCache referenceDataCache,
+                             SeatAllocator seatAllocator) {
         this.courseRepository = courseRepository;
-        this.departmentRepository = departmentRepository;
+        this.departmentService = departmentService;
         this.enrollmentRepository = enrollmentRepository;
+        this.studentGpaWriter = studentGpaWriter;
+        this.referenceDataCache = referenceDataCache;
+        this.seatAllocator = seatAllocator;
     }
 
     @Override
@@ -34,9 +47,7 @@ public class CourseServiceImpl implements CourseService {
 
         // Verify department exists AND set it
         if (course.getDepartment() != null && course.getDepartment().getDepartmentId() != null) {
-            var department = departmentRepository.findById(course.getDepartment().getDepartmentId())
-                    .orElseThrow(() -> new ResourceNotFoundException(
-                            "Department not found with id: " + course.getDepartment().getDepartmentId()));
+            var department = departmentService.getDepartmentById(course.getDepartment().getDepartmentId());
             course.setDepartment(department);  // ✅ Set the fetched department
         }
 
@@ -47,6 +58,7 @@ public class CourseServiceImpl implements CourseService {
         if (course.getIsActive() == null) {
             course.setIsActive(true);
         }
+        course.setEnrolledCount(0);
 
         // Set timestamps
         course.setCreatedAt(LocalDateTime.now());
@@ -60,23 +72,41 @@ public class CourseServiceImpl implements CourseService {
         return courseRepository.findAll();
     }
 
+    @Override
+    public String getCoursesVersion() {
+        // Courses embed their department
+        return "courses:" + courseRepository.findTableVersion().token()
+                + "/" + departmentService.getDepartmentsVersion();
+    }
+
+    @Override
+    public CursorPage<Courses> getCoursesPage(Long after, Integer limit) {
+        int pageSize = CursorPage.resolveLimit(limit);
+        List<Courses> rows = courseRepository.findByCourseIdGreaterThanOrderByCourseIdAsc(
+                CursorPage.resolveAfter(after), Limit.of(pageSize + 1));
+        return CursorPage.of(rows, pageSize, Courses::getCourseId);
+    }
+
     @Override
     public Courses getCourseById(Long id) {
-        return courseRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Course not found with id: " + id));
+        return referenceDataCache.courseById(id).toEntity();
     }
 
     @Override
     public Courses getCourseByCourseCode(String courseCode) {
-        return courseRepository.findByCourseCode(courseCode)
-                .orElseThrow(() -> new ResourceNotFoundException("Course not found with code: " + courseCode));
+        return referenceDataCache.courseByCode(courseCode).toEntity();
+    }
+
+    // Writes start from the current row, not from the cached copy
+    private Courses findCourse(Long id) {
+        return courseRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Course not found with id: " + id));
     }
 
     @Override
     public List<Courses> getCoursesByDepartment(Long departmentId) {
         // Verify department exists
-        departmentRepository.findById(departmentId)
-                .orElseThrow(() -> new ResourceNotFoundException("Department not found with id: " + departmentId));
+        departmentService.getDepartmentById(departmentId);
 
         return courseRepository.findByDepartmentDepartmentId(departmentId);
     }
@@ -102,8 +132,9 @@ public class CourseServiceImpl implements CourseService {
     }
 
     @Override
+    @CacheEvict(cacheNames = {CacheConfig.COURSES_BY_ID, CacheConfig.COURSES_BY_CODE}, allEntries = true)
     public Courses updateCourse(Long id, Courses courseDetails) {
-        Courses course = getCourseById(id);
+        Courses course = findCourse(id);
 
         // ✅ FIX: Trim and use case-insensitive comparison to handle whitespace/case issues
         String existingCode = course.getCourseCode() != null ? course.getCourseCode().trim() : "";
@@ -118,14 +149,13 @@ public class CourseServiceImpl implements CourseService {
         // Validation 2: Verify department exists if changed AND set it
         if (courseDetails.getDepartment() != null &&
                 courseDetails.getDepartment().getDepartmentId() != null) {
-            var department = departmentRepository.findById(courseDetails.getDepartment().getDepartmentId())
-                    .orElseThrow(() -> new ResourceNotFoundException(
-                            "Department not found with id: " + courseDetails.getDepartment().getDepartmentId()));
+            var department = departmentService.getDepartmentById(courseDetails.getDepartment().getDepartmentId());
             courseDetails.setDepartment(department);  // Set the fetched department
         }
 
         // Update fields (use trimmed course code)
         course.setCourseCode(newCode);
+        Integer previousCredits = course.getCredits();
         course.setCourseName(courseDetails.getCourseName());
         course.setCourseDescription(courseDetails.getCourseDescription());
         course.setCredits(courseDetails.getCredits());
@@ -136,28 +166,36 @@ public class CourseServiceImpl implements CourseService {
         course.setIsActive(courseDetails.getIsActive());
         course.setUpdatedAt(LocalDateTime.now());
 
-        return courseRepository.save(course);
+        Courses saved = courseRepository.save(course);
+        if (!Objects.equals(previousCredits, saved.getCredits())) {
+            courseRepository.flush();
+            studentGpaWriter.recomputeForCourse(saved.getCourseId());
+        }
+        return saved;
     }
 
     @Override
+    @CacheEvict(cacheNames = {CacheConfig.COURSES_BY_ID, CacheConfig.COURSES_BY_CODE}, allEntries = true)
     public Courses activateCourse(Long id) {
-        Courses course = getCourseById(id);
+        Courses course = findCourse(id);
         course.setIsActive(true);
         course.setUpdatedAt(LocalDateTime.now());
         return courseRepository.save(course);
     }
 
     @Override
+    @CacheEvict(cacheNames = {CacheConfig.COURSES_BY_ID, CacheConfig.COURSES_BY_CODE}, allEntries = true)
     public Courses deactivateCourse(Long id) {
-        Courses course = getCourseById(id);
+        Courses course = findCourse(id);
         course.setIsActive(false);
         course.setUpdatedAt(LocalDateTime.now());
         return courseRepository.save(course);
     }
 
     @Override
+    @CacheEvict(cacheNames = {CacheConfig.COURSES_BY_ID, CacheConfig.COURSES_BY_CODE}, allEntries = true)
     public void deleteCourse(Long id) {
-        Courses course = getCourseById(id);
+        Courses course = findCourse(id);
 
         // Check if course has enrollments
         long enrollmentCount = enrollmentRepository.countByCourseCourseId(id);
@@ -173,16 +211,29 @@ public class CourseServiceImpl implements CourseService {
         return courseRepository.existsByCourseCode(courseCode);
     }
 
+    // Seat counts come from SeatAllocator, the cached snapshot only vouches that the course exists
     @Override
     public long countEnrollmentsInCourse(Long courseId) {
-        getCourseById(courseId); // Verify course exists
-        return enrollmentRepository.countByCourseCourseId(courseId);
+        referenceDataCache.courseById(courseId);
+        return seatAllocator.seatsTaken(courseId);
     }
 
     @Override
     public boolean hasAvailableSeats(Long courseId) {
-        Courses course = getCourseById(courseId);
-        long enrollmentCount = enrollmentRepository.countByCourseCourseId(courseId);
-        return enrollmentCount < course.getMaxStudents();
+        ReferenceDataCache.CourseSnapshot course = referenceDataCache.courseById(courseId);
+        return seatAllocator.seatsTaken(courseId) < course.maxStudents();
+    }
+
+    @Override
+    public CourseSeats getCourseSeats(Long courseId) {
+        ReferenceDataCache.CourseSnapshot course = referenceDataCache.courseById(courseId);
+        int enrolled = seatAllocator.seatsTaken(courseId);
+        return new CourseSeats(courseId, course.maxStudents(), enrolled, Math.max(0, course.maxStudents() - enrolled));
+    }
+
+    // Seat deltas leave the course row's version and the reference caches untouched
+    @Override
+    public void adjustEnrolledCount(Courses course, int delta) {
+        courseRepository.adjustEnrolledCount(course.getCourseId(), delta);
     }
 }
\ No newline at end of file
@@ -0,0 +1,8 @@
+package com.example.student_management.service;
+
+import com.example.student_management.dto.DashboardStats;
+
+public interface DashboardService {
+    // Statistics
+    DashboardStats getStats();
+}
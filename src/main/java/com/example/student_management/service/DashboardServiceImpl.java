@@ -0,0 +1,85 @@
+package com.example.student_management.service;
+
+import com.example.student_management.dto.DashboardStats;
+import com.example.student_management.dto.FeeTotals;
+import com.example.student_management.repository.CourseRepository;
+import com.example.student_management.repository.DepartmentRepository;
+import com.example.student_management.repository.EnrollmentRepository;
+import com.example.student_management.repository.FeeRepository;
+import com.example.student_management.repository.StudentRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Service
+public class DashboardServiceImpl implements DashboardService {
+
+    private final StudentRepository studentRepository;
+    private final CourseRepository courseRepository;
+    private final DepartmentRepository departmentRepository;
+    private final EnrollmentRepository enrollmentRepository;
+    private final FeeRepository feeRepository;
+    private final long cacheTtlNanos;
+
+    // Last computed snapshot, shared by every caller until it expires
+    private volatile DashboardStats cachedStats;
+    private volatile long cachedAtNanos;
+
+    public DashboardServiceImpl(StudentRepository studentRepository,
+                                CourseRepository courseRepository,
+                                DepartmentRepository departmentRepository,
+                                EnrollmentRepository enrollmentRepository,
+                                FeeRepository feeRepository,
+                                @Value("${dashboard.stats.cache-ttl:30s}") Duration cacheTtl) {
+        this.studentRepository = studentRepository;
+        this.courseRepository = courseRepository;
+        this.departmentRepository = departmentRepository;
+        this.enrollmentRepository = enrollmentRepository;
+        this.feeRepository = feeRepository;
+        this.cacheTtlNanos = cacheTtl.toNanos();
+    }
+
+    @Override
+    public DashboardStats getStats() {
+        DashboardStats stats = cachedStats;
+        if (stats != null && !isExpired()) {
+            return stats;
+        }
+        synchronized (this) {
+            // Another request may have refreshed the snapshot while we waited
+            if (cachedStats == null || isExpired()) {
+                cachedStats = loadStats();
+                cachedAtNanos = System.nanoTime();
+            }
+            return cachedStats;
+        }
+    }
+
+    private DashboardStats loadStats() {
+        FeeTotals feeTotals = feeRepository.calculateFeeTotals(LocalDate.now());
+
+        return new DashboardStats(
+                studentRepository.count(),
+                courseRepository.count(),
+                departmentRepository.count(),
+                enrollmentRepository.count(),
+                valueOrZero(feeTotals.getTotalFees()),
+                valueOrZero(feeTotals.getPendingFees()),
+                valueOrZero(feeTotals.getOverdueFees()),
+                feeTotals.getOutstandingAmount() != null ? feeTotals.getOutstandingAmount() : BigDecimal.ZERO,
+                LocalDateTime.now()
+        );
+    }
+
+    private boolean isExpired() {
+        return System.nanoTime() - cachedAtNanos >= cacheTtlNanos;
+    }
+
+    private static long valueOrZero(Long value) {
+        return value != null ? value : 0L;
+    }
+}
@@ -0,0 +1,478 @@
+package com.example.student_management.service;
+
+import com.example.student_management.dto.DatasetReport;
+import com.example.student_management.dto.DatasetSpec;
+import com.example.student_management.repository.StudentRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Fills an empty database with synthetic departments, courses, students, addresses, enrollments
+// and fees for load and scale testing. Students are written in fixed chunks by up to spec.threads workers,
+// each chunk in its own transaction with JDBC batches. Every chunk draws from its own random stream
+// derived from the seed, so the output is the same whatever the thread count or scheduling.
+// Skew: course popularity follows a Zipf curve, a few students carry many fees, and past-due
+// fees are split between paid, partial, pending and overdue.
+// On MySQL add rewriteBatchedStatements=true to the JDBC URL so batches become multi-row inserts.
+@Component
+public class DatasetGenerator {
+
+    private static final Logger log = LoggerFactory.getLogger(DatasetGenerator.class);
+
+    private static final double COURSE_POPULARITY_SKEW = 1.0;
+    private static final double DEPARTMENT_SKEW = 0.5;
+    private static final double AVERAGE_ENROLLMENTS = 4.0;
+
+    private static final String[] FIRST_NAMES = {"James", "Mary", "Robert", "Patricia", "John", "Jennifer",
+            "Michael", "Linda", "David", "Elizabeth", "William", "Barbara", "Richard", "Susan", "Joseph",
+            "Jessica", "Thomas", "Sarah", "Charles", "Karen", "Daniel", "Nancy", "Matthew", "Lisa", "Anthony",
+            "Betty", "Mark", "Sandra", "Priya", "Wei", "Fatima", "Mateo"};
+    private static final String[] LAST_NAMES = {"Smith", "Johnson", "Williams", "Brown", "Jones", "Garcia",
+            "Miller", "Davis", "Rodriguez", "Martinez", "Hernandez", "Lopez", "Gonzalez", "Wilson", "Anderson",
+            "Thomas", "Taylor", "Moore", "Jackson", "Martin", "Lee", "Perez", "Thompson", "White", "Harris",
+            "Sanchez", "Clark", "Ramirez", "Patel", "Nguyen", "Kim", "Chen"};
+    private static final String[] CITIES = {"Springfield", "Riverside", "Franklin", "Greenville", "Bristol",
+            "Clinton", "Fairview", "Salem", "Madison", "Georgetown"};
+    private static final String[] STATES = {"CA", "TX", "NY", "FL", "IL", "PA", "OH", "GA", "NC", "MI"};
+    private static final String[] GRADES = {"A", "A-", "B+", "B", "B-", "C+", "C", "D", "F"};
+    private static final String[] GRADE_POINTS = {"4.00", "3.70", "3.30", "3.00", "2.70", "2.30", "2.00", "1.00", "0.00"};
+    private static final String[] EXTRA_FEE_TYPES = {"Lab", "Library", "Sports", "Hostel", "Other"};
+    private static final String[] PAYMENT_METHODS = {"Cash", "Card", "Online", "Cheque"};
+    private static final String[] GENDERS = {"Male", "Female", "Other", "Prefer_not_to_say"};
+
+    private final DataSource dataSource;
+    private final StudentRepository studentRepository;
+    private final EnrolledCountReconciler enrolledCountReconciler;
+    private final FeeLedgerReconciler feeLedgerReconciler;
+    private final StudentGpaReconciler studentGpaReconciler;
+    private final StudentSearchIndex studentSearchIndex;
+    private final AsyncTaskExecutor taskExecutor;
+
+    public DatasetGenerator(DataSource dataSource,
+                            StudentRepository studentRepository,
+                            EnrolledCountReconciler enrolledCountReconciler,
+                            FeeLedgerReconciler feeLedgerReconciler,
+                            StudentGpaReconciler studentGpaReconciler,
+                            StudentSearchIndex studentSearchIndex,
+                            @Qualifier("applicationTaskExecutor") AsyncTaskExecutor taskExecutor) {
+        this.dataSource = dataSource;
+        this.studentRepository = studentRepository;
+        this.enrolledCountReconciler = enrolledCountReconciler;
+        this.feeLedgerReconciler = feeLedgerReconciler;
+        this.studentGpaReconciler = studentGpaReconciler;
+        this.studentSearchIndex = studentSearchIndex;
+        this.taskExecutor = taskExecutor;
+    }
+
+    public DatasetReport generate(DatasetSpec spec) {
+        long existing = studentRepository.count();
+        if (existing > 0) {
+            throw new RuntimeException("Dataset generation needs an empty database, found " + existing + " students");
+        }
+        long startedAt = System.nanoTime();
+        int courses = spec.resolveCourses();
+        Semester[] semesters = Semester.around(spec.getReferenceDate());
+        LocalDateTime now = spec.getReferenceDate().atTime(9, 0);
+
+        double[] coursePopularity;
+        double[] departmentWeights = cumulativeZipf(spec.getDepartments(), DEPARTMENT_SKEW);
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            SplittableRandom random = new SplittableRandom(spec.getSeed());
+            insertDepartments(connection, spec.getDepartments(), now);
+            coursePopularity = insertCourses(connection, spec, courses, semesters, random, now);
+            connection.commit();
+        } catch (SQLException e) {
+            throw new RuntimeException("Dataset generation failed: " + e.getMessage(), e);
+        }
+
+        int chunkSize = spec.getChunkSize();
+        int chunks = (spec.getStudents() + chunkSize - 1) / chunkSize;
+        // Workers on the application task executor take the next chunk until none are left; the chunk
+        // index, not the worker, picks the rows and the random stream
+        AtomicInteger nextChunk = new AtomicInteger();
+        List<Future<ChunkCounts>> results = new ArrayList<>();
+        for (int worker = 0; worker < Math.max(1, Math.min(spec.getThreads(), chunks)); worker++) {
+            results.add(taskExecutor.submit(() -> {
+                ChunkCounts counts = new ChunkCounts();
+                for (int chunk = nextChunk.getAndIncrement(); chunk < chunks; chunk = nextChunk.getAndIncrement()) {
+                    int first = chunk * chunkSize + 1;
+                    int last = Math.min(spec.getStudents(), first + chunkSize - 1);
+                    counts.add(writeStudents(spec, first, last, mix(spec.getSeed(), chunk), departmentWeights,
+                            coursePopularity, semesters, now));
+                }
+                return counts;
+            }));
+        }
+        ChunkCounts total = new ChunkCounts();
+        try {
+            for (Future<ChunkCounts> result : results) {
+                total.add(result.get());
+            }
+        } catch (ExecutionException e) {
+            // The other workers stop after their current chunk
+            nextChunk.set(chunks);
+            throw new RuntimeException("Dataset generation failed: " + e.getCause().getMessage(), e.getCause());
+        } catch (InterruptedException e) {
+            nextChunk.set(chunks);
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Dataset generation interrupted", e);
+        }
+
+        restartIdentities(spec, courses);
+        // Derived data: seat counts, fee ledger, GPA and the search index
+        enrolledCountReconciler.reconcile();
+        feeLedgerReconciler.backfill();
+        studentGpaReconciler.reconcile();
+        studentSearchIndex.rebuild();
+
+        DatasetReport report = new DatasetReport(spec.getDepartments(), courses, total.students,
+                total.addresses, total.enrollments, total.fees, (System.nanoTime() - startedAt) / 1_000_000);
+        log.info("Generated {} rows in {} ms (seed {}): {}", report.totalRows(), report.getElapsedMillis(),
+                spec.getSeed(), report);
+        return report;
+    }
+
+    // ==================== REFERENCE DATA ====================
+
+    private void insertDepartments(Connection connection, int departments, LocalDateTime now) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement("INSERT INTO departments (department_id, " +
+                "department_code, department_name, building, established_year, created_at, updated_at) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?)")) {
+            for (int i = 1; i <= departments; i++) {
+                ps.setLong(1, i);
+                ps.setString(2, String.format("DEP%03d", i));
+                ps.setString(3, "Department " + i);
+                ps.setString(4, "Building " + (char) ('A' + i % 26));
+                ps.setInt(5, 1950 + i);
+                ps.setTimestamp(6, Timestamp.valueOf(now));
+                ps.setTimestamp(7, Timestamp.valueOf(now));
+                ps.addBatch();
+            }
+            ps.executeBatch();
+        }
+    }
+
+    // Course ids are popularity ranks: course 1 draws the most enrollments. Returns the cumulative
+    // popularity curve used to pick courses for students.
+    private double[] insertCourses(Connection connection, DatasetSpec spec, int courses, Semester[] semesters,
+                                   SplittableRandom random, LocalDateTime now) throws SQLException {
+        double[] cumulative = cumulativeZipf(courses, COURSE_POPULARITY_SKEW);
+        double expectedEnrollments = spec.getStudents() * AVERAGE_ENROLLMENTS;
+        try (PreparedStatement ps = connection.prepareStatement("INSERT INTO courses (course_id, course_code, " +
+                "course_name, credits, department_id, instructor_name, max_students, enrolled_count, semester, " +
+                "is_active, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, 0, ?, ?, ?, ?)")) {
+            for (int i = 1; i <= courses; i++) {
+                double share = cumulative[i - 1] - (i > 1 ? cumulative[i - 2] : 0);
+                ps.setLong(1, i);
+                ps.setString(2, String.format("CRS%05d", i));
+                ps.setString(3, "Course " + i);
+                ps.setInt(4, 1 + random.nextInt(4));
+                ps.setLong(5, 1 + random.nextInt(spec.getDepartments()));
+                ps.setString(6, FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " "
+                        + LAST_NAMES[random.nextInt(LAST_NAMES.length)]);
+                // Enough seats for the expected demand plus headroom for new enrollments
+                ps.setInt(7, Math.max(30, (int) Math.ceil(share * expectedEnrollments * 1.25)));
+                ps.setString(8, semesters[0].name);
+                ps.setBoolean(9, random.nextInt(20) != 0);
+                ps.setTimestamp(10, Timestamp.valueOf(now));
+                ps.setTimestamp(11, Timestamp.valueOf(now));
+                addToBatch(ps, i, spec.getBatchSize());
+            }
+            ps.executeBatch();
+        }
+        return cumulative;
+    }
+
+    // ==================== STUDENTS ====================
+
+    private ChunkCounts writeStudents(DatasetSpec spec, int first, int last, long seed, double[] departmentWeights,
+                                      double[] coursePopularity, Semester[] semesters, LocalDateTime now)
+            throws SQLException {
+        SplittableRandom random = new SplittableRandom(seed);
+        ChunkCounts counts = new ChunkCounts();
+        int batchSize = spec.getBatchSize();
+        Timestamp timestamp = Timestamp.valueOf(now);
+
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement students = connection.prepareStatement("INSERT INTO students (student_id, " +
+                    "student_number, first_name, last_name, email, phone, date_of_birth, gender, department_id, " +
+                    "enrollment_date, student_status, gpa, created_at, updated_at) " +
+                    "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)");
+                 PreparedStatement addresses = connection.prepareStatement("INSERT INTO addresses (student_id, " +
+                         "address_type, street_address, city, state, postal_code, country, is_primary, created_at, " +
+                         "updated_at) VALUES (?, ?, ?, ?, ?, ?, 'USA', ?, ?, ?)");
+                 PreparedStatement enrollments = connection.prepareStatement("INSERT INTO enrollments (student_id, " +
+                         "course_id, enrollment_date, grade, grade_points, attendance_percentage, status, " +
+                         "created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)");
+                 PreparedStatement fees = connection.prepareStatement("INSERT INTO fees (student_id, semester, " +
+                         "fee_type, amount, paid_amount, due_date, payment_date, payment_status, payment_method, " +
+                         "transaction_id, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
+
+                for (int id = first; id <= last; id++) {
+                    String firstName = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+                    String lastName = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+                    int status = random.nextInt(100);
+                    double gpa = Math.max(0, Math.min(4, 3.0 + nextGaussian(random) * 0.5));
+                    students.setLong(1, id);
+                    students.setString(2, String.format("S%08d", id));
+                    students.setString(3, firstName);
+                    students.setString(4, lastName);
+                    students.setString(5, (firstName + "." + lastName + id + "@example.edu").toLowerCase());
+                    students.setString(6, String.format("555-%03d-%04d", random.nextInt(1000), random.nextInt(10000)));
+                    students.setDate(7, Date.valueOf(spec.getReferenceDate().minusYears(18 + random.nextInt(8))
+                            .minusDays(random.nextInt(365))));
+                    students.setString(8, GENDERS[random.nextInt(10) < 9 ? random.nextInt(2) : 2 + random.nextInt(2)]);
+                    students.setLong(9, 1 + pick(departmentWeights, random));
+                    students.setDate(10, Date.valueOf(semesters[random.nextInt(semesters.length)].dueDate.minusMonths(1)));
+                    students.setString(11, status < 85 ? "Active" : status < 93 ? "Graduated"
+                            : status < 97 ? "Inactive" : "Suspended");
+                    students.setBigDecimal(12, BigDecimal.valueOf(gpa).setScale(2, RoundingMode.HALF_UP));
+                    students.setTimestamp(13, timestamp);
+                    students.setTimestamp(14, timestamp);
+                    students.addBatch();
+
+                    counts.addresses += writeAddresses(addresses, id, random, timestamp);
+                    counts.enrollments += writeEnrollments(enrollments, id, random, coursePopularity, semesters,
+                            timestamp);
+                    counts.fees += writeFees(fees, id, random, semesters, spec.getReferenceDate(), timestamp);
+                    if (++counts.students % batchSize == 0 || id == last) {
+                        // Parents before children, the other tables point at these students
+                        students.executeBatch();
+                        addresses.executeBatch();
+                        enrollments.executeBatch();
+                        fees.executeBatch();
+                    }
+                }
+            }
+            connection.commit();
+        }
+        return counts;
+    }
+
+    private int writeAddresses(PreparedStatement ps, long studentId, SplittableRandom random, Timestamp timestamp)
+            throws SQLException {
+        // Everyone has a permanent address, two in five also a current one
+        int count = random.nextInt(5) < 2 ? 2 : 1;
+        for (int k = 0; k < count; k++) {
+            int city = random.nextInt(CITIES.length);
+            ps.setLong(1, studentId);
+            ps.setString(2, k == 0 ? "Permanent" : "Current");
+            ps.setString(3, (1 + random.nextInt(9999)) + " " + LAST_NAMES[random.nextInt(LAST_NAMES.length)] + " St");
+            ps.setString(4, CITIES[city]);
+            ps.setString(5, STATES[city]);
+            ps.setString(6, String.format("%05d", random.nextInt(100000)));
+            ps.setBoolean(7, k == 0);
+            ps.setTimestamp(8, timestamp);
+            ps.setTimestamp(9, timestamp);
+            ps.addBatch();
+        }
+        return count;
+    }
+
+    private int writeEnrollments(PreparedStatement ps, long studentId, SplittableRandom random,
+                                 double[] coursePopularity, Semester[] semesters, Timestamp timestamp)
+            throws SQLException {
+        int count = Math.min(coursePopularity.length, 2 + random.nextInt(5));
+        int[] chosen = new int[count];
+        for (int k = 0; k < count; k++) {
+            int course;
+            do {
+                course = pick(coursePopularity, random);
+            } while (contains(chosen, k, course));
+            chosen[k] = course;
+
+            int status = random.nextInt(100);
+            boolean completed = status >= 70 && status < 95;
+            int grade = random.nextInt(GRADES.length);
+            ps.setLong(1, studentId);
+            ps.setLong(2, course + 1);
+            ps.setDate(3, Date.valueOf(semesters[completed ? 1 : 0].dueDate.minusDays(random.nextInt(30))));
+            ps.setString(4, completed ? GRADES[grade] : null);
+            ps.setBigDecimal(5, completed ? new BigDecimal(GRADE_POINTS[grade]) : null);
+            ps.setBigDecimal(6, BigDecimal.valueOf(5000 + random.nextInt(5001), 2));
+            ps.setString(7, status < 70 ? "Enrolled" : completed ? "Completed" : status < 98 ? "Dropped" : "Withdrawn");
+            ps.setTimestamp(8, timestamp);
+            ps.setTimestamp(9, timestamp);
+            ps.addBatch();
+        }
+        return count;
+    }
+
+    private int writeFees(PreparedStatement ps, long studentId, SplittableRandom random, Semester[] semesters,
+                          LocalDate referenceDate, Timestamp timestamp) throws SQLException {
+        // Most students carry two tuition fees; a long tail carries many extra charges
+        int bucket = random.nextInt(100);
+        int count = bucket < 70 ? 2 : bucket < 90 ? 3 + random.nextInt(3)
+                : bucket < 99 ? 6 + random.nextInt(5) : 11 + random.nextInt(15);
+        for (int k = 0; k < count; k++) {
+            boolean tuition = k < 2;
+            Semester semester = semesters[tuition ? k : random.nextInt(semesters.length)];
+            BigDecimal amount = BigDecimal.valueOf(tuition ? 2000 + random.nextInt(4001) : 50 + random.nextInt(751))
+                    .setScale(2);
+            LocalDate dueDate = semester.dueDate.plusDays(random.nextInt(31));
+
+            int roll = random.nextInt(100);
+            String status;
+            if (dueDate.isBefore(referenceDate)) {
+                status = roll < 70 ? "Paid" : roll < 80 ? "Partial" : roll < 92 ? "Pending" : "Overdue";
+            } else {
+                status = roll < 15 ? "Paid" : roll < 25 ? "Partial" : "Pending";
+            }
+            BigDecimal paid = switch (status) {
+                case "Paid" -> amount;
+                case "Partial" -> amount.multiply(BigDecimal.valueOf(10 + random.nextInt(81)))
+                        .divide(BigDecimal.valueOf(100), 2, RoundingMode.DOWN);
+                default -> BigDecimal.ZERO.setScale(2);
+            };
+            boolean hasPayment = paid.signum() > 0;
+
+            ps.setLong(1, studentId);
+            ps.setString(2, semester.name);
+            ps.setString(3, tuition ? "Tuition" : EXTRA_FEE_TYPES[random.nextInt(EXTRA_FEE_TYPES.length)]);
+            ps.setBigDecimal(4, amount);
+            ps.setBigDecimal(5, paid);
+            ps.setDate(6, Date.valueOf(dueDate));
+            ps.setDate(7, hasPayment ? Date.valueOf(dueDate.minusDays(random.nextInt(40))) : null);
+            ps.setString(8, status);
+            ps.setString(9, hasPayment ? PAYMENT_METHODS[random.nextInt(PAYMENT_METHODS.length)] : null);
+            ps.setString(10, hasPayment ? "GEN-" + studentId + "-" + k : null);
+            ps.setTimestamp(11, timestamp);
+            ps.setTimestamp(12, timestamp);
+            ps.addBatch();
+        }
+        return count;
+    }
+
+    // ==================== HELPERS ====================
+
+    // Ids were written explicitly; make sure application inserts continue after them
+    private void restartIdentities(DatasetSpec spec, int courses) {
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            boolean h2 = connection.getMetaData().getDatabaseProductName().equalsIgnoreCase("H2");
+            String[][] tables = {
+                    {"departments", "department_id", Long.toString(spec.getDepartments() + 1L)},
+                    {"courses", "course_id", Long.toString(courses + 1L)},
+                    {"students", "student_id", Long.toString(spec.getStudents() + 1L)}};
+            for (String[] table : tables) {
+                statement.execute(h2
+                        ? "ALTER TABLE " + table[0] + " ALTER COLUMN " + table[1] + " RESTART WITH " + table[2]
+                        : "ALTER TABLE " + table[0] + " AUTO_INCREMENT = " + table[2]);
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Dataset generation failed: " + e.getMessage(), e);
+        }
+    }
+
+    private static void addToBatch(PreparedStatement ps, long row, int batchSize) throws SQLException {
+        ps.addBatch();
+        if (row % batchSize == 0) {
+            ps.executeBatch();
+        }
+    }
+
+    // Cumulative, normalised weights 1/rank^skew
+    private static double[] cumulativeZipf(int size, double skew) {
+        double[] cumulative = new double[size];
+        double sum = 0;
+        for (int i = 0; i < size; i++) {
+            sum += 1.0 / Math.pow(i + 1, skew);
+            cumulative[i] = sum;
+        }
+        for (int i = 0; i < size; i++) {
+            cumulative[i] /= sum;
+        }
+        return cumulative;
+    }
+
+    // 0-based index drawn from a cumulative weight curve
+    private static int pick(double[] cumulative, SplittableRandom random) {
+        int position = Arrays.binarySearch(cumulative, random.nextDouble());
+        int index = position >= 0 ? position : -position - 1;
+        return Math.min(index, cumulative.length - 1);
+    }
+
+    private static boolean contains(int[] values, int length, int value) {
+        for (int i = 0; i < length; i++) {
+            if (values[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static double nextGaussian(SplittableRandom random) {
+        // Box-Muller; SplittableRandom has no nextGaussian on Java 17
+        return Math.sqrt(-2 * Math.log(1 - random.nextDouble())) * Math.cos(2 * Math.PI * random.nextDouble());
+    }
+
+    private static long mix(long seed, int chunk) {
+        long z = seed + 0x9E3779B97F4A7C15L * (chunk + 1);
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private static final class ChunkCounts {
+        long students;
+        long addresses;
+        long enrollments;
+        long fees;
+
+        void add(ChunkCounts other) {
+            students += other.students;
+            addresses += other.addresses;
+            enrollments += other.enrollments;
+            fees += other.fees;
+        }
+    }
+
+    // The four most recent terms up to the reference date, newest first
+    private static final class Semester {
+        final String name;
+        final LocalDate dueDate;
+
+        Semester(String name, LocalDate dueDate) {
+            this.name = name;
+            this.dueDate = dueDate;
+        }
+
+        static Semester[] around(LocalDate referenceDate) {
+            Semester[] semesters = new Semester[4];
+            int year = referenceDate.getYear();
+            boolean fall = referenceDate.getMonthValue() >= 8;
+            for (int i = 0; i < semesters.length; i++) {
+                semesters[i] = fall
+                        ? new Semester("Fall " + year, LocalDate.of(year, 9, 30))
+                        : new Semester("Spring " + year, LocalDate.of(year, 2, 28));
+                if (!fall) {
+                    year--;
+                }
+                fall = !fall;
+            }
+            return semesters;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.student_management.service;
 
+import com.example.student_management.dto.CursorPage;
 import com.example.student_management.model.Department;
 
 import java.util.List;
@@ -10,6 +11,9 @@ public interface DepartmentService {
 
     // Read
     List<Department> getAllDepartments();
+    // Changes whenever getAllDepartments() would return different JSON
+    String getDepartmentsVersion();
+    CursorPage<Department> getDepartmentsPage(Long after, Integer limit);
     Department getDepartmentById(Long id);
     Department getDepartmentByCode(String code);
 
@@ -1,11 +1,15 @@
 package com.example.student_management.service;
 
+import com.example.student_management.config.CacheConfig;
+import com.example.student_management.dto.CursorPage;
 import com.example.student_management.exception.ResourceNotFoundException;
 import com.example.student_management.model.Department;
 import com.example.student_management.repository.CourseRepository;
 import com.example.student_management.repository.DepartmentRepository;
 import com.example.student_management.repository.StudentRepository;
 import jakarta.transaction.Transactional;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
@@ -17,11 +21,14 @@ public class DepartmentServiceImpl implements DepartmentService {
     private final DepartmentRepository departmentRepository;
     private final StudentRepository studentRepository;
     private final CourseRepository courseRepository;
+    private final ReferenceDataCache referenceDataCache;
 
-    public DepartmentServiceImpl(DepartmentRepository departmentRepository, StudentRepository studentRepository, CourseRepository courseRepository) {
+    public DepartmentServiceImpl(DepartmentRepository departmentRepository, StudentRepository studentRepository, CourseRepository courseRepository,
+                                 ReferenceDataCache referenceDataCache) {
         this.studentRepository = studentRepository;
         this.departmentRepository = departmentRepository;
         this.courseRepository = courseRepository;
+        this.referenceDataCache = referenceDataCache;
     }
 
     @Override
@@ -43,21 +50,41 @@ public class DepartmentServiceImpl implements DepartmentService {
         return departmentRepository.findAll();
     }
 
+    @Override
+    public String getDepartmentsVersion() {
+        return "departments:" + departmentRepository.findTableVersion().token();
+    }
+
+    @Override
+    public CursorPage<Department> getDepartmentsPage(Long after, Integer limit) {
+        int pageSize = CursorPage.resolveLimit(limit);
+        List<Department> rows = departmentRepository.findByDepartmentIdGreaterThanOrderByDepartmentIdAsc(
+                CursorPage.resolveAfter(after), Limit.of(pageSize + 1));
+        return CursorPage.of(rows, pageSize, Department::getDepartmentId);
+    }
+
     @Override
     public Department getDepartmentById(Long id) {
-        return departmentRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Department not found with id: " + id));
+        return referenceDataCache.departmentById(id).toEntity();
     }
 
     @Override
     public Department getDepartmentByCode(String code) {
-        return departmentRepository.findByDepartmentCode(code)
-                .orElseThrow(() -> new ResourceNotFoundException("Department not found with code: " + code));
+        return referenceDataCache.departmentByCode(code).toEntity();
+    }
+
+    // Writes start from the current row, not from the cached copy
+    private Department findDepartment(Long id) {
+        return departmentRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Department not found with id: " + id));
     }
 
+    // Courses embed their department, so their cached copies go stale too
     @Override
+    @CacheEvict(cacheNames = {CacheConfig.DEPARTMENTS_BY_ID, CacheConfig.DEPARTMENTS_BY_CODE,
+            CacheConfig.COURSES_BY_ID, CacheConfig.COURSES_BY_CODE}, allEntries = true)
     public Department updateDepartment(Long id, Department departmentDetails) {
-        Department department = getDepartmentById(id);
+        Department department = findDepartment(id);
 
         // Check if code is being changed and already exists
         if (!department.getDepartmentCode().equals(departmentDetails.getDepartmentCode()) &&
@@ -79,8 +106,10 @@ public class DepartmentServiceImpl implements DepartmentService {
     }
 
     @Override
+    @CacheEvict(cacheNames = {CacheConfig.DEPARTMENTS_BY_ID, CacheConfig.DEPARTMENTS_BY_CODE,
+            CacheConfig.COURSES_BY_ID, CacheConfig.COURSES_BY_CODE}, allEntries = true)
     public void deleteDepartment(Long id) {
-        Department department = getDepartmentById(id);
+        Department department = findDepartment(id);
 
         // Check if department has students
         long studentCount = studentRepository.countByDepartmentDepartmentId(id);
@@ -106,14 +135,14 @@ public class DepartmentServiceImpl implements DepartmentService {
     @Override
     public long countStudentsInDepartment(Long departmentId)
     {
-        getDepartmentById(departmentId);
+        referenceDataCache.departmentById(departmentId);
         return studentRepository.countByDepartmentDepartmentId(departmentId);
     }
 
     @Override
     public long countCoursesInDepartment(Long departmentId)
     {
-        getDepartmentById(departmentId);
+        referenceDataCache.departmentById(departmentId);
         return courseRepository.countByDepartmentDepartmentId(departmentId);
     }
 
@@ -0,0 +1,59 @@
+package com.example.student_management.service;
+
+import com.example.student_management.config.CacheConfig;
+import com.example.student_management.repository.CourseRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+// Repairs Courses.enrolledCount where it drifted from the enrollments table: once at startup and
+// nightly, for drift from manual SQL or a failed write. Existing databases were backfilled by V2.
+// The seat counters of repaired courses are dropped so SeatAllocator reseeds them instead of gating
+// on the old count.
+@Component
+public class EnrolledCountReconciler {
+
+    private static final Logger log = LoggerFactory.getLogger(EnrolledCountReconciler.class);
+
+    private final CourseRepository courseRepository;
+    private final SeatAllocator seatAllocator;
+
+    public EnrolledCountReconciler(CourseRepository courseRepository, SeatAllocator seatAllocator) {
+        this.courseRepository = courseRepository;
+        this.seatAllocator = seatAllocator;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(0)
+    @Transactional
+    @CacheEvict(cacheNames = {CacheConfig.COURSES_BY_ID, CacheConfig.COURSES_BY_CODE}, allEntries = true)
+    public void reconcileAtStartup() {
+        repair();
+    }
+
+    @Scheduled(cron = "${courses.enrolled-count.reconcile-cron:0 0 3 * * *}")
+    @Transactional
+    @CacheEvict(cacheNames = {CacheConfig.COURSES_BY_ID, CacheConfig.COURSES_BY_CODE}, allEntries = true)
+    public int reconcile() {
+        return repair();
+    }
+
+    private int repair() {
+        List<Long> drifted = courseRepository.findDriftedEnrolledCounts();
+        if (drifted.isEmpty()) {
+            return 0;
+        }
+        int repaired = courseRepository.reconcileEnrolledCounts(drifted);
+        drifted.forEach(seatAllocator::evict);
+        log.warn("Repaired enrolled count on {} courses", repaired);
+        return repaired;
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.student_management.service;
+
+import com.example.student_management.dto.EnrollmentBatchRequest;
+import com.example.student_management.dto.EnrollmentBatchResult;
+
+public interface EnrollmentBatchService {
+    // Bulk enrollment of a cohort into a course, or of a student into several courses
+    EnrollmentBatchResult enroll(EnrollmentBatchRequest request);
+}
@@ -0,0 +1,249 @@
+package com.example.student_management.service;
+
+import com.example.student_management.dto.EnrollmentBatchRequest;
+import com.example.student_management.dto.EnrollmentBatchResult;
+import com.example.student_management.enums.EnrollmentStatus;
+import com.example.student_management.model.Courses;
+import com.example.student_management.repository.CourseRepository;
+import com.example.student_management.repository.EnrollmentRepository;
+import com.example.student_management.repository.StudentRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// Enrolls a whole request in one transaction with a fixed number of statements, however many pairs it
+// holds: one query each for the students, the courses and the pairs already enrolled, then per course
+// one seat reservation for all its new enrollments and one enrolled-count update, and a single JDBC
+// batch for the inserts. New enrollments carry no grade, so the GPA sums are not touched.
+@Service
+public class EnrollmentBatchServiceImpl implements EnrollmentBatchService {
+
+    private static final String INSERT_SQL = "INSERT INTO enrollments (student_id, course_id, enrollment_date, " +
+            "status, created_at, updated_at, version) VALUES (?, ?, ?, ?, ?, ?, 0)";
+
+    private final StudentRepository studentRepository;
+    private final CourseRepository courseRepository;
+    private final EnrollmentRepository enrollmentRepository;
+    private final CourseService courseService;
+    private final SeatAllocator seatAllocator;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxSize;
+
+    public EnrollmentBatchServiceImpl(StudentRepository studentRepository,
+                                      CourseRepository courseRepository,
+                                      EnrollmentRepository enrollmentRepository,
+                                      CourseService courseService,
+                                      SeatAllocator seatAllocator,
+                                      JdbcTemplate jdbcTemplate,
+                                      TransactionTemplate transactionTemplate,
+                                      @Value("${enrollments.bulk.max-size:1000}") int maxSize) {
+        this.studentRepository = studentRepository;
+        this.courseRepository = courseRepository;
+        this.enrollmentRepository = enrollmentRepository;
+        this.courseService = courseService;
+        this.seatAllocator = seatAllocator;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.maxSize = maxSize;
+    }
+
+    // A student and course pair of the request
+    private static final class Line {
+        final Long studentId;
+        final Long courseId;
+        final EnrollmentBatchResult.Row row;
+
+        Line(Long studentId, Long courseId, EnrollmentBatchResult.Row row) {
+            this.studentId = studentId;
+            this.courseId = courseId;
+            this.row = row;
+        }
+    }
+
+    @Override
+    public EnrollmentBatchResult enroll(EnrollmentBatchRequest request) {
+        List<Line> lines = lines(request);
+        EnrollmentBatchResult result = new EnrollmentBatchResult();
+        result.setTotal(lines.size());
+
+        List<Line> accepted = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        for (Line line : lines) {
+            result.getRows().add(line.row);
+            if (line.studentId == null) {
+                reject(line, "Student id is required");
+            } else if (line.courseId == null) {
+                reject(line, "Course id is required");
+            } else if (!seen.add(key(line.studentId, line.courseId))) {
+                duplicate(line, "Listed earlier in the request");
+            } else {
+                accepted.add(line);
+            }
+        }
+
+        if (!accepted.isEmpty()) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> apply(accepted));
+            } catch (DataAccessException e) {
+                // The whole request was rolled back, seats included
+                for (Line line : accepted) {
+                    if (line.row.getOutcome() == EnrollmentBatchResult.Outcome.Enrolled) {
+                        line.row.setEnrollmentId(null);
+                        reject(line, "Enrollment failed: " + e.getMostSpecificCause().getMessage());
+                    }
+                }
+            }
+        }
+
+        for (EnrollmentBatchResult.Row row : result.getRows()) {
+            switch (row.getOutcome()) {
+                case Enrolled -> result.setEnrolled(result.getEnrolled() + 1);
+                case Duplicate -> result.setDuplicates(result.getDuplicates() + 1);
+                case Rejected -> result.setRejected(result.getRejected() + 1);
+            }
+        }
+        return result;
+    }
+
+    // The request as pairs, in the order its ids were listed
+    private List<Line> lines(EnrollmentBatchRequest request) {
+        boolean cohort = request.getCourseId() != null;
+        boolean schedule = request.getStudentId() != null;
+        if (cohort == schedule) {
+            throw new RuntimeException("Give either a course id with student ids, or a student id with course ids");
+        }
+        List<Long> ids = cohort ? request.getStudentIds() : request.getCourseIds();
+        if (ids == null || ids.isEmpty()) {
+            throw new RuntimeException(cohort ? "Student ids are required" : "Course ids are required");
+        }
+        if (ids.size() > maxSize) {
+            throw new RuntimeException("At most " + maxSize + " enrollments per request");
+        }
+
+        List<Line> lines = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            Long studentId = cohort ? ids.get(i) : request.getStudentId();
+            Long courseId = cohort ? request.getCourseId() : ids.get(i);
+            lines.add(new Line(studentId, courseId, new EnrollmentBatchResult.Row(i + 1, studentId, courseId,
+                    null, EnrollmentBatchResult.Outcome.Rejected, null)));
+        }
+        return lines;
+    }
+
+    private void apply(List<Line> lines) {
+        Set<Long> studentIds = lines.stream().map(line -> line.studentId).collect(Collectors.toSet());
+        Set<Long> courseIds = lines.stream().map(line -> line.courseId).collect(Collectors.toSet());
+        Set<Long> students = new HashSet<>(studentRepository.findExistingIds(studentIds));
+        Map<Long, Courses> courses = new HashMap<>();
+        for (Object[] limit : courseRepository.findSeatLimits(courseIds)) {
+            Courses course = new Courses();
+            course.setCourseId((Long) limit[0]);
+            course.setCourseCode((String) limit[1]);
+            course.setMaxStudents((Integer) limit[2]);
+            courses.put(course.getCourseId(), course);
+        }
+        Set<String> enrolled = new HashSet<>();
+        for (Object[] pair : enrollmentRepository.findEnrolledPairs(studentIds, courseIds)) {
+            enrolled.add(key((Long) pair[0], (Long) pair[1]));
+        }
+
+        Map<Long, List<Line>> byCourse = new LinkedHashMap<>();
+        for (Line line : lines) {
+            if (!students.contains(line.studentId)) {
+                reject(line, "Student not found with id: " + line.studentId);
+            } else if (!courses.containsKey(line.courseId)) {
+                reject(line, "Course not found with id: " + line.courseId);
+            } else if (enrolled.contains(key(line.studentId, line.courseId))) {
+                duplicate(line, "Student is already enrolled in this course");
+            } else {
+                byCourse.computeIfAbsent(line.courseId, id -> new ArrayList<>()).add(line);
+            }
+        }
+
+        // Seats go to the earliest listed students when a course cannot take them all
+        List<Line> seated = new ArrayList<>();
+        for (Map.Entry<Long, List<Line>> entry : byCourse.entrySet()) {
+            Courses course = courses.get(entry.getKey());
+            List<Line> wanting = entry.getValue();
+            int granted = seatAllocator.tryReserve(course.getCourseId(), course.getMaxStudents(), wanting.size());
+            seated.addAll(wanting.subList(0, granted));
+            wanting.subList(granted, wanting.size()).forEach(line -> reject(line, "Course is full. No available seats."));
+            if (granted > 0) {
+                courseService.adjustEnrolledCount(course, granted);
+            }
+        }
+        insert(seated);
+    }
+
+    private void insert(List<Line> lines) {
+        if (lines.isEmpty()) {
+            return;
+        }
+        LocalDate today = LocalDate.now();
+        LocalDateTime now = LocalDateTime.now();
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                connection -> connection.prepareStatement(INSERT_SQL, new String[]{"enrollment_id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        Line line = lines.get(i);
+                        ps.setLong(1, line.studentId);
+                        ps.setLong(2, line.courseId);
+                        ps.setObject(3, today);
+                        ps.setString(4, EnrollmentStatus.Enrolled.name());
+                        ps.setObject(5, now);
+                        ps.setObject(6, now);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return lines.size();
+                    }
+                },
+                keyHolder);
+
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        for (int i = 0; i < lines.size(); i++) {
+            EnrollmentBatchResult.Row row = lines.get(i).row;
+            if (i < keys.size() && !keys.get(i).isEmpty()) {
+                row.setEnrollmentId(((Number) keys.get(i).values().iterator().next()).longValue());
+            }
+            row.setOutcome(EnrollmentBatchResult.Outcome.Enrolled);
+            row.setMessage(null);
+        }
+    }
+
+    private static String key(Long studentId, Long courseId) {
+        return studentId + ":" + courseId;
+    }
+
+    private static void duplicate(Line line, String message) {
+        line.row.setOutcome(EnrollmentBatchResult.Outcome.Duplicate);
+        line.row.setMessage(message);
+    }
+
+    private static void reject(Line line, String message) {
+        line.row.setOutcome(EnrollmentBatchResult.Outcome.Rejected);
+        line.row.setMessage(message);
+    }
+}
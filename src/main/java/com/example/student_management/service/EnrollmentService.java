@@ -1,5 +1,7 @@
 package com.example.student_management.service;
 
+import com.example.student_management.dto.CursorPage;
+import com.example.student_management.dto.EnrollmentListItem;
 import com.example.student_management.enums.EnrollmentStatus;
 import com.example.student_management.model.Enrollments;
 
@@ -11,7 +13,8 @@ public interface EnrollmentService {
     Enrollments enrollStudentInCourse(Long studentId, Long courseId);
 
     // Read
-    List<Enrollments> getAllEnrollments();
+    List<EnrollmentListItem> getAllEnrollments();
+    CursorPage<EnrollmentListItem> getEnrollmentsPage(Long after, Integer limit);
     Enrollments getEnrollmentById(Long id);
     List<Enrollments> getEnrollmentsByStudent(Long studentId);
     List<Enrollments> getEnrollmentsByCourse(Long courseId);
@@ -1,15 +1,18 @@
 package com.example.student_management.service;
 
+import com.example.student_management.dto.CursorPage;
+import com.example.student_management.dto.EnrollmentListItem;
 import com.example.student_management.enums.EnrollmentStatus;
 import com.example.student_management.exception.ResourceNotFoundException;
 import com.example.student_management.model.Courses;
 import com.example.student_management.model.Enrollments;
-import com.example.student_management.repository.CourseRepository;
 import com.example.student_management.repository.EnrollmentRepository;
 import com.example.student_management.repository.StudentRepository;
 import jakarta.transaction.Transactional;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
@@ -19,15 +22,24 @@ import java.util.List;
 public class EnrollmentServiceImpl implements EnrollmentService {
     private final EnrollmentRepository enrollmentRepository;
     private final StudentRepository studentRepository;
-    private final CourseRepository courseRepository;
+    private final CourseService courseService;
+    private final SeatAllocator seatAllocator;
+    private final StudentExistenceGuard studentExistenceGuard;
+    private final StudentGpaWriter studentGpaWriter;
 
     // Constructor injection
     public EnrollmentServiceImpl(EnrollmentRepository enrollmentRepository,
                                  StudentRepository studentRepository,
-                                 CourseRepository courseRepository) {
+                                 CourseService courseService,
+                                 SeatAllocator seatAllocator,
+                                 StudentExistenceGuard studentExistenceGuard,
+                                 StudentGpaWriter studentGpaWriter) {
         this.enrollmentRepository = enrollmentRepository;
         this.studentRepository = studentRepository;
-        this.courseRepository = courseRepository;
+        this.courseService = courseService;
+        this.seatAllocator = seatAllocator;
+        this.studentExistenceGuard = studentExistenceGuard;
+        this.studentGpaWriter = studentGpaWriter;
     }
 
     // ==================== CREATE ====================
@@ -36,16 +48,13 @@ public class EnrollmentServiceImpl implements EnrollmentService {
     public Enrollments createEnrollment(Enrollments enrollment) {
         // Validate student exists
         if (enrollment.getStudent() != null && enrollment.getStudent().getStudentId() != null) {
-            studentRepository.findById(enrollment.getStudent().getStudentId())
-                    .orElseThrow(() -> new ResourceNotFoundException(
-                            "Student not found with id: " + enrollment.getStudent().getStudentId()));
+            studentExistenceGuard.requireExists(enrollment.getStudent().getStudentId());
         }
 
-        // Validate course exists
+        // Validate course exists AND set it
         if (enrollment.getCourse() != null && enrollment.getCourse().getCourseId() != null) {
-            courseRepository.findById(enrollment.getCourse().getCourseId())
-                    .orElseThrow(() -> new ResourceNotFoundException(
-                            "Course not found with id: " + enrollment.getCourse().getCourseId()));
+            var course = courseService.getCourseById(enrollment.getCourse().getCourseId());
+            enrollment.setCourse(course);
         }
 
         // Check if student is already enrolled in this course
@@ -55,13 +64,6 @@ public class EnrollmentServiceImpl implements EnrollmentService {
             throw new RuntimeException("Student is already enrolled in this course");
         }
 
-        // Check if course has available seats
-        Courses course = enrollment.getCourse();
-        long enrollmentCount = enrollmentRepository.countByCourseCourseId(course.getCourseId());
-        if (enrollmentCount >= course.getMaxStudents()) {
-            throw new RuntimeException("Course is full. No available seats.");
-        }
-
         // Set default values
         if (enrollment.getEnrollmentDate() == null) {
             enrollment.setEnrollmentDate(LocalDate.now());
@@ -70,11 +72,18 @@ public class EnrollmentServiceImpl implements EnrollmentService {
             enrollment.setStatus(EnrollmentStatus.Enrolled);
         }
 
+        // Take a seat if the course has one available
+        if (enrollment.getStatus() == EnrollmentStatus.Enrolled) {
+            reserveSeat(enrollment.getCourse());
+        }
+
         // Set timestamps
         enrollment.setCreatedAt(LocalDateTime.now());
         enrollment.setUpdatedAt(LocalDateTime.now());
 
-        return enrollmentRepository.save(enrollment);
+        Enrollments saved = enrollmentRepository.save(enrollment);
+        studentGpaWriter.record(null, studentGpaWriter.snapshot(saved));
+        return saved;
     }
 
     @Override
@@ -84,19 +93,15 @@ public class EnrollmentServiceImpl implements EnrollmentService {
                 .orElseThrow(() -> new ResourceNotFoundException("Student not found with id: " + studentId));
 
         // Verify course exists
-        var course = courseRepository.findById(courseId)
-                .orElseThrow(() -> new ResourceNotFoundException("Course not found with id: " + courseId));
+        var course = courseService.getCourseById(courseId);
 
         // Check if already enrolled
         if (enrollmentRepository.existsByStudentStudentIdAndCourseCourseId(studentId, courseId)) {
             throw new RuntimeException("Student is already enrolled in this course");
         }
 
-        // Check course capacity
-        long enrollmentCount = enrollmentRepository.countByCourseCourseId(courseId);
-        if (enrollmentCount >= course.getMaxStudents()) {
-            throw new RuntimeException("Course is full. No available seats.");
-        }
+        // Take a seat if the course has one available
+        reserveSeat(course);
 
         // Create enrollment
         Enrollments enrollment = new Enrollments();
@@ -113,8 +118,16 @@ public class EnrollmentServiceImpl implements EnrollmentService {
     // ==================== READ ====================
 
     @Override
-    public List<Enrollments> getAllEnrollments() {
-        return enrollmentRepository.findAll();
+    public List<EnrollmentListItem> getAllEnrollments() {
+        return enrollmentRepository.findListItems();
+    }
+
+    @Override
+    public CursorPage<EnrollmentListItem> getEnrollmentsPage(Long after, Integer limit) {
+        int pageSize = CursorPage.resolveLimit(limit);
+        List<EnrollmentListItem> rows = enrollmentRepository.findListItemsAfter(
+                CursorPage.resolveAfter(after), Limit.of(pageSize + 1));
+        return CursorPage.of(rows, pageSize, EnrollmentListItem::getEnrollmentId);
     }
 
     @Override
@@ -125,18 +138,18 @@ public class EnrollmentServiceImpl implements EnrollmentService {
 
     @Override
     public List<Enrollments> getEnrollmentsByStudent(Long studentId) {
-        // Verify student exists
-        studentRepository.findById(studentId)
-                .orElseThrow(() -> new ResourceNotFoundException("Student not found with id: " + studentId));
-
-        return enrollmentRepository.findByStudentStudentId(studentId);
+        List<Enrollments> enrollments = enrollmentRepository.findByStudentStudentId(studentId);
+        // Rows carry the student; only an empty result needs the existence check
+        if (enrollments.isEmpty()) {
+            studentExistenceGuard.requireExists(studentId);
+        }
+        return enrollments;
     }
 
     @Override
     public List<Enrollments> getEnrollmentsByCourse(Long courseId) {
         // Verify course exists
-        courseRepository.findById(courseId)
-                .orElseThrow(() -> new ResourceNotFoundException("Course not found with id: " + courseId));
+        courseService.getCourseById(courseId);
 
         return enrollmentRepository.findByCourseCourseId(courseId);
     }
@@ -158,6 +171,8 @@ public class EnrollmentServiceImpl implements EnrollmentService {
     @Override
     public Enrollments updateEnrollment(Long id, Enrollments enrollmentDetails) {
         Enrollments enrollment = getEnrollmentById(id);
+        EnrollmentStatus previousStatus = enrollment.getStatus();
+        StudentGpaWriter.Entry before = studentGpaWriter.snapshot(enrollment);
 
         // Update fields
         if (enrollmentDetails.getGrade() != null) {
@@ -172,29 +187,42 @@ public class EnrollmentServiceImpl implements EnrollmentService {
         if (enrollmentDetails.getStatus() != null) {
             enrollment.setStatus(enrollmentDetails.getStatus());
         }
+        updateSeat(enrollment, previousStatus);
 
         enrollment.setUpdatedAt(LocalDateTime.now());
 
-        return enrollmentRepository.save(enrollment);
+        Enrollments saved = enrollmentRepository.save(enrollment);
+        studentGpaWriter.record(before, studentGpaWriter.snapshot(saved));
+        return saved;
     }
 
     @Override
     public Enrollments updateEnrollmentStatus(Long id, EnrollmentStatus status) {
         Enrollments enrollment = getEnrollmentById(id);
+        EnrollmentStatus previousStatus = enrollment.getStatus();
+        StudentGpaWriter.Entry before = studentGpaWriter.snapshot(enrollment);
         enrollment.setStatus(status);
+        updateSeat(enrollment, previousStatus);
         enrollment.setUpdatedAt(LocalDateTime.now());
-        return enrollmentRepository.save(enrollment);
+        Enrollments saved = enrollmentRepository.save(enrollment);
+        studentGpaWriter.record(before, studentGpaWriter.snapshot(saved));
+        return saved;
     }
 
     @Override
     public Enrollments updateGrade(Long id, String grade, Double gradePoints) {
         Enrollments enrollment = getEnrollmentById(id);
+        EnrollmentStatus previousStatus = enrollment.getStatus();
+        StudentGpaWriter.Entry before = studentGpaWriter.snapshot(enrollment);
         enrollment.setGrade(grade);
         enrollment.setGradePoints(gradePoints != null ?
                 java.math.BigDecimal.valueOf(gradePoints) : null);
         enrollment.setStatus(EnrollmentStatus.Completed);
+        updateSeat(enrollment, previousStatus);
         enrollment.setUpdatedAt(LocalDateTime.now());
-        return enrollmentRepository.save(enrollment);
+        Enrollments saved = enrollmentRepository.save(enrollment);
+        studentGpaWriter.record(before, studentGpaWriter.snapshot(saved));
+        return saved;
     }
 
     @Override
@@ -211,24 +239,36 @@ public class EnrollmentServiceImpl implements EnrollmentService {
     @Override
     public void deleteEnrollment(Long id) {
         Enrollments enrollment = getEnrollmentById(id);
+        if (enrollment.getStatus() == EnrollmentStatus.Enrolled) {
+            releaseSeat(enrollment.getCourse());
+        }
+        StudentGpaWriter.Entry before = studentGpaWriter.snapshot(enrollment);
         enrollmentRepository.delete(enrollment);
+        studentGpaWriter.record(before, null);
     }
 
     @Override
     public void withdrawEnrollment(Long id) {
         Enrollments enrollment = getEnrollmentById(id);
+        EnrollmentStatus previousStatus = enrollment.getStatus();
+        StudentGpaWriter.Entry before = studentGpaWriter.snapshot(enrollment);
         enrollment.setStatus(EnrollmentStatus.Withdrawn);
+        updateSeat(enrollment, previousStatus);
         enrollment.setUpdatedAt(LocalDateTime.now());
         enrollmentRepository.save(enrollment);
+        studentGpaWriter.record(before, null);
     }
 
     @Override
     public void deleteAllEnrollmentsByStudent(Long studentId) {
-        // Verify student exists
-        studentRepository.findById(studentId)
-                .orElseThrow(() -> new ResourceNotFoundException("Student not found with id: " + studentId));
+        studentExistenceGuard.requireExists(studentId);
+
+        // Give back the seats held by this student
+        enrollmentRepository.findByStudentStudentIdAndStatus(studentId, EnrollmentStatus.Enrolled)
+                .forEach(enrollment -> releaseSeat(enrollment.getCourse()));
 
         enrollmentRepository.deleteByStudentStudentId(studentId);
+        studentGpaWriter.recompute(studentId);
     }
 
     // ==================== VALIDATION ====================
@@ -246,11 +286,9 @@ public class EnrollmentServiceImpl implements EnrollmentService {
         }
 
         // Check if course is available
-        Courses course = courseRepository.findById(courseId)
-                .orElseThrow(() -> new ResourceNotFoundException("Course not found with id: " + courseId));
+        Courses course = courseService.getCourseById(courseId);
 
-        long enrollmentCount = enrollmentRepository.countByCourseCourseId(courseId);
-        return enrollmentCount < course.getMaxStudents();
+        return seatAllocator.seatsTaken(courseId) < course.getMaxStudents();
     }
 
     // ==================== STATISTICS ====================
@@ -267,20 +305,43 @@ public class EnrollmentServiceImpl implements EnrollmentService {
 
     @Override
     public List<Enrollments> getCompletedEnrollments(Long studentId) {
-        // Verify student exists
-        studentRepository.findById(studentId)
-                .orElseThrow(() -> new ResourceNotFoundException("Student not found with id: " + studentId));
-
-        return enrollmentRepository.findCompletedEnrollmentsByStudent(studentId);
+        List<Enrollments> enrollments = enrollmentRepository.findCompletedEnrollmentsByStudent(studentId);
+        if (enrollments.isEmpty()) {
+            studentExistenceGuard.requireExists(studentId);
+        }
+        return enrollments;
     }
 
     @Override
     public Double calculateStudentGpa(Long studentId) {
-        // Verify student exists
-        studentRepository.findById(studentId)
+        // Credit-weighted and kept current by StudentGpaWriter, so this is a single-row read
+        return studentRepository.findGpaById(studentId)
+                .map(BigDecimal::doubleValue)
                 .orElseThrow(() -> new ResourceNotFoundException("Student not found with id: " + studentId));
+    }
+
+    // ==================== SEATS ====================
 
-        Double gpa = enrollmentRepository.calculateAverageGpa(studentId);
-        return gpa != null ? gpa : 0.0;
+    private void reserveSeat(Courses course) {
+        if (!seatAllocator.tryReserve(course.getCourseId(), course.getMaxStudents())) {
+            throw new RuntimeException("Course is full. No available seats.");
+        }
+        courseService.adjustEnrolledCount(course, 1);
+    }
+
+    private void releaseSeat(Courses course) {
+        seatAllocator.release(course.getCourseId());
+        courseService.adjustEnrolledCount(course, -1);
+    }
+
+    // Keep the seat count in step when an enrollment moves in or out of the Enrolled status
+    private void updateSeat(Enrollments enrollment, EnrollmentStatus previousStatus) {
+        boolean heldSeat = previousStatus == EnrollmentStatus.Enrolled;
+        boolean holdsSeat = enrollment.getStatus() == EnrollmentStatus.Enrolled;
+        if (heldSeat && !holdsSeat) {
+            releaseSeat(enrollment.getCourse());
+        } else if (!heldSeat && holdsSeat) {
+            reserveSeat(enrollment.getCourse());
+        }
     }
 }
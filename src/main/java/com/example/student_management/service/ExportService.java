@@ -0,0 +1,15 @@
+package com.example.student_management.service;
+
+import com.example.student_management.enums.ExportFormat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface ExportService {
+
+    void exportStudents(ExportFormat format, OutputStream out) throws IOException;
+
+    void exportEnrollments(ExportFormat format, OutputStream out) throws IOException;
+
+    void exportFees(ExportFormat format, OutputStream out) throws IOException;
+}
@@ -0,0 +1,165 @@
+package com.example.student_management.service;
+
+import com.example.student_management.enums.ExportFormat;
+import com.example.student_management.model.Enrollments;
+import com.example.student_management.model.Fee;
+import com.example.student_management.model.Student;
+import com.example.student_management.repository.EnrollmentRepository;
+import com.example.student_management.repository.FeeRepository;
+import com.example.student_management.repository.StudentRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.persistence.EntityManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+// Writes whole tables straight from a forward-only result set. Rows are serialized one at a time
+// and the persistence context is cleared every few rows, so heap use does not grow with table size.
+@Service
+@Transactional(readOnly = true)
+public class ExportServiceImpl implements ExportService {
+
+    // Matches the fetch size hint on the streaming repository queries
+    private static final int DETACH_EVERY = 1000;
+
+    private static final Map<String, Function<Student, Object>> STUDENT_COLUMNS = new LinkedHashMap<>();
+    private static final Map<String, Function<Enrollments, Object>> ENROLLMENT_COLUMNS = new LinkedHashMap<>();
+    private static final Map<String, Function<Fee, Object>> FEE_COLUMNS = new LinkedHashMap<>();
+
+    static {
+        STUDENT_COLUMNS.put("studentId", Student::getStudentId);
+        STUDENT_COLUMNS.put("studentNumber", Student::getStudentNumber);
+        STUDENT_COLUMNS.put("firstName", Student::getFirstName);
+        STUDENT_COLUMNS.put("lastName", Student::getLastName);
+        STUDENT_COLUMNS.put("email", Student::getEmail);
+        STUDENT_COLUMNS.put("phone", Student::getPhone);
+        STUDENT_COLUMNS.put("dateOfBirth", Student::getDateOfBirth);
+        STUDENT_COLUMNS.put("gender", Student::getGender);
+        STUDENT_COLUMNS.put("departmentCode", student -> student.getDepartment().getDepartmentCode());
+        STUDENT_COLUMNS.put("enrollmentDate", Student::getEnrollmentDate);
+        STUDENT_COLUMNS.put("studentStatus", Student::getStudentStatus);
+        STUDENT_COLUMNS.put("gpa", Student::getGpa);
+
+        ENROLLMENT_COLUMNS.put("enrollmentId", Enrollments::getEnrollmentId);
+        ENROLLMENT_COLUMNS.put("studentId", enrollment -> enrollment.getStudent().getStudentId());
+        ENROLLMENT_COLUMNS.put("studentNumber", enrollment -> enrollment.getStudent().getStudentNumber());
+        ENROLLMENT_COLUMNS.put("courseId", enrollment -> enrollment.getCourse().getCourseId());
+        ENROLLMENT_COLUMNS.put("courseCode", enrollment -> enrollment.getCourse().getCourseCode());
+        ENROLLMENT_COLUMNS.put("enrollmentDate", Enrollments::getEnrollmentDate);
+        ENROLLMENT_COLUMNS.put("grade", Enrollments::getGrade);
+        ENROLLMENT_COLUMNS.put("gradePoints", Enrollments::getGradePoints);
+        ENROLLMENT_COLUMNS.put("attendancePercentage", Enrollments::getAttendancePercentage);
+        ENROLLMENT_COLUMNS.put("status", Enrollments::getStatus);
+
+        FEE_COLUMNS.put("feeId", Fee::getFeeId);
+        FEE_COLUMNS.put("studentId", fee -> fee.getStudent().getStudentId());
+        FEE_COLUMNS.put("studentNumber", fee -> fee.getStudent().getStudentNumber());
+        FEE_COLUMNS.put("semester", Fee::getSemester);
+        FEE_COLUMNS.put("feeType", Fee::getFeeType);
+        FEE_COLUMNS.put("amount", Fee::getAmount);
+        FEE_COLUMNS.put("paidAmount", Fee::getPaidAmount);
+        FEE_COLUMNS.put("dueDate", Fee::getDueDate);
+        FEE_COLUMNS.put("paymentDate", Fee::getPaymentDate);
+        FEE_COLUMNS.put("paymentStatus", Fee::getPaymentStatus);
+        FEE_COLUMNS.put("paymentMethod", Fee::getPaymentMethod);
+        FEE_COLUMNS.put("transactionId", Fee::getTransactionId);
+    }
+
+    private final StudentRepository studentRepository;
+    private final EnrollmentRepository enrollmentRepository;
+    private final FeeRepository feeRepository;
+    private final EntityManager entityManager;
+    private final ObjectWriter jsonWriter;
+
+    public ExportServiceImpl(StudentRepository studentRepository,
+                             EnrollmentRepository enrollmentRepository,
+                             FeeRepository feeRepository,
+                             EntityManager entityManager,
+                             ObjectMapper objectMapper) {
+        this.studentRepository = studentRepository;
+        this.enrollmentRepository = enrollmentRepository;
+        this.feeRepository = feeRepository;
+        this.entityManager = entityManager;
+        // The response stream belongs to the container, Jackson must not close it after each row
+        this.jsonWriter = objectMapper.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+
+    @Override
+    public void exportStudents(ExportFormat format, OutputStream out) throws IOException {
+        try (Stream<Student> rows = studentRepository.streamAllForExport()) {
+            write(rows, format, STUDENT_COLUMNS, out);
+        }
+    }
+
+    @Override
+    public void exportEnrollments(ExportFormat format, OutputStream out) throws IOException {
+        try (Stream<Enrollments> rows = enrollmentRepository.streamAllForExport()) {
+            write(rows, format, ENROLLMENT_COLUMNS, out);
+        }
+    }
+
+    @Override
+    public void exportFees(ExportFormat format, OutputStream out) throws IOException {
+        try (Stream<Fee> rows = feeRepository.streamAllForExport()) {
+            write(rows, format, FEE_COLUMNS, out);
+        }
+    }
+
+    private <T> void write(Stream<T> rows, ExportFormat format, Map<String, Function<T, Object>> columns,
+                           OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        if (format == ExportFormat.Csv) {
+            writeCsvRecord(writer, columns.keySet());
+        }
+
+        int written = 0;
+        Iterator<T> iterator = rows.iterator();
+        while (iterator.hasNext()) {
+            T row = iterator.next();
+            if (format == ExportFormat.Csv) {
+                writeCsvRecord(writer, columns.values().stream().map(column -> column.apply(row)).toList());
+            } else {
+                jsonWriter.writeValue(writer, row);
+                writer.write('\n');
+            }
+            if (++written % DETACH_EVERY == 0) {
+                entityManager.clear();
+            }
+        }
+        writer.flush();
+    }
+
+    private static void writeCsvRecord(Writer writer, Iterable<?> values) throws IOException {
+        boolean first = true;
+        for (Object value : values) {
+            if (!first) {
+                writer.write(',');
+            }
+            first = false;
+            if (value != null) {
+                writer.write(csvField(value.toString()));
+            }
+        }
+        writer.write("\r\n");
+    }
+
+    private static String csvField(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
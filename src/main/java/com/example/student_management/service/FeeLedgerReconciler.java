@@ -0,0 +1,57 @@
+package com.example.student_management.service;
+
+import com.example.student_management.repository.FeeLedgerRepository;
+import com.example.student_management.repository.FeeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+// Keeps fee_ledgers honest against the fees table: builds it at startup when it has never been filled,
+// and nightly recomputes only the rows that drifted through manual SQL or a failed write, so the rest of
+// the ledger is neither rewritten nor briefly missing while payments keep updating it
+@Component
+public class FeeLedgerReconciler {
+
+    private static final Logger log = LoggerFactory.getLogger(FeeLedgerReconciler.class);
+
+    private final FeeLedgerRepository feeLedgerRepository;
+    private final FeeRepository feeRepository;
+
+    public FeeLedgerReconciler(FeeLedgerRepository feeLedgerRepository, FeeRepository feeRepository) {
+        this.feeLedgerRepository = feeLedgerRepository;
+        this.feeRepository = feeRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(0)
+    @Transactional
+    public void backfill() {
+        if (feeLedgerRepository.count() == 0 && feeRepository.count() > 0) {
+            log.info("Fee ledger was empty, built {} ledger rows", feeLedgerRepository.rebuildFromFees());
+        }
+    }
+
+    @Scheduled(cron = "${fees.ledger.reconcile-cron:0 30 3 * * *}")
+    @Transactional
+    public int reconcile() {
+        List<Object[]> drifted = feeLedgerRepository.findDrifted();
+        if (drifted.isEmpty()) {
+            return 0;
+        }
+        for (Object[] key : drifted) {
+            Long studentId = ((Number) key[0]).longValue();
+            String semester = (String) key[1];
+            feeLedgerRepository.refreshFromFees(studentId, semester);
+            feeLedgerRepository.deleteIfNoFees(studentId, semester);
+        }
+        log.warn("Repaired {} fee ledger rows", drifted.size());
+        return drifted.size();
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.student_management.service;
+
+import com.example.student_management.enums.PaymentStatus;
+import com.example.student_management.model.Fee;
+import com.example.student_management.model.FeeLedger;
+import com.example.student_management.repository.FeeLedgerRepository;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+// Keeps fee_ledgers in step with fee writes. Callers take a snapshot of the fee before changing it
+// and another after, and record() adds the difference to the ledger in the same transaction.
+@Component
+public class FeeLedgerWriter {
+
+    private final FeeLedgerRepository feeLedgerRepository;
+
+    public FeeLedgerWriter(FeeLedgerRepository feeLedgerRepository) {
+        this.feeLedgerRepository = feeLedgerRepository;
+    }
+
+    // What one fee contributes to its student's ledger row
+    public static final class Entry {
+        final Long studentId;
+        final String semester;
+        final BigDecimal amount;
+        final BigDecimal paidAmount;
+        final BigDecimal outstandingAmount;
+        final long pending;
+        final long overdue;
+
+        Entry(Long studentId, String semester, BigDecimal amount, BigDecimal paidAmount,
+              BigDecimal outstandingAmount, long pending, long overdue) {
+            this.studentId = studentId;
+            this.semester = semester;
+            this.amount = amount;
+            this.paidAmount = paidAmount;
+            this.outstandingAmount = outstandingAmount;
+            this.pending = pending;
+            this.overdue = overdue;
+        }
+    }
+
+    // Same rules as FeeLedgerRepository.LEDGER_FROM_FEES
+    public Entry snapshot(Fee fee) {
+        if (fee == null || fee.getStudent() == null || fee.getStudent().getStudentId() == null
+                || fee.getSemester() == null) {
+            return null;
+        }
+        BigDecimal amount = fee.getAmount() != null ? fee.getAmount() : BigDecimal.ZERO;
+        BigDecimal paid = fee.getPaidAmount() != null ? fee.getPaidAmount() : BigDecimal.ZERO;
+        PaymentStatus status = fee.getPaymentStatus();
+        return new Entry(
+                fee.getStudent().getStudentId(),
+                fee.getSemester(),
+                amount,
+                paid,
+                status == PaymentStatus.Paid ? BigDecimal.ZERO : amount.subtract(paid),
+                status == PaymentStatus.Pending ? 1 : 0,
+                status == PaymentStatus.Overdue ? 1 : 0);
+    }
+
+    // before is null for a new fee, after is null for a deleted one
+    public void record(Entry before, Entry after) {
+        if (before != null && after != null
+                && before.studentId.equals(after.studentId) && before.semester.equals(after.semester)) {
+            apply(after.studentId, after.semester, 0,
+                    after.amount.subtract(before.amount),
+                    after.paidAmount.subtract(before.paidAmount),
+                    after.outstandingAmount.subtract(before.outstandingAmount),
+                    after.pending - before.pending,
+                    after.overdue - before.overdue);
+            return;
+        }
+        if (before != null) {
+            apply(before.studentId, before.semester, -1, before.amount.negate(), before.paidAmount.negate(),
+                    before.outstandingAmount.negate(), -before.pending, -before.overdue);
+            feeLedgerRepository.deleteIfEmpty(before.studentId, before.semester);
+        }
+        if (after != null) {
+            apply(after.studentId, after.semester, 1, after.amount, after.paidAmount,
+                    after.outstandingAmount, after.pending, after.overdue);
+        }
+    }
+
+    // record() for many fees at once; before.get(i) and after.get(i) are snapshots of the same fee.
+    // Changes that stay in one student and semester are summed, so each ledger row is written once.
+    public void recordAll(List<Entry> before, List<Entry> after) {
+        Map<FeeLedger.Key, Entry> deltas = new LinkedHashMap<>();
+        for (int i = 0; i < before.size(); i++) {
+            Entry from = before.get(i);
+            Entry to = after.get(i);
+            if (from == null || to == null
+                    || !from.studentId.equals(to.studentId) || !from.semester.equals(to.semester)) {
+                record(from, to);
+                continue;
+            }
+            Entry delta = new Entry(to.studentId, to.semester,
+                    to.amount.subtract(from.amount),
+                    to.paidAmount.subtract(from.paidAmount),
+                    to.outstandingAmount.subtract(from.outstandingAmount),
+                    to.pending - from.pending,
+                    to.overdue - from.overdue);
+            deltas.merge(new FeeLedger.Key(to.studentId, to.semester), delta, FeeLedgerWriter::sum);
+        }
+        for (Entry delta : deltas.values()) {
+            apply(delta.studentId, delta.semester, 0, delta.amount, delta.paidAmount,
+                    delta.outstandingAmount, delta.pending, delta.overdue);
+        }
+    }
+
+    // record(null, entry) for many new fees, with one ledger write per student and semester
+    public void recordCreated(List<Entry> created) {
+        Map<FeeLedger.Key, Entry> totals = new LinkedHashMap<>();
+        Map<FeeLedger.Key, Long> counts = new HashMap<>();
+        for (Entry entry : created) {
+            FeeLedger.Key key = new FeeLedger.Key(entry.studentId, entry.semester);
+            totals.merge(key, entry, FeeLedgerWriter::sum);
+            counts.merge(key, 1L, Long::sum);
+        }
+        totals.forEach((key, total) -> apply(total.studentId, total.semester, counts.get(key), total.amount,
+                total.paidAmount, total.outstandingAmount, total.pending, total.overdue));
+    }
+
+    private static Entry sum(Entry a, Entry b) {
+        return new Entry(a.studentId, a.semester, a.amount.add(b.amount), a.paidAmount.add(b.paidAmount),
+                a.outstandingAmount.add(b.outstandingAmount), a.pending + b.pending, a.overdue + b.overdue);
+    }
+
+    private void apply(Long studentId, String semester, long feeCount, BigDecimal amount, BigDecimal paid,
+                       BigDecimal outstanding, long pending, long overdue) {
+        // Edits that do not touch money or status (due date, method, ...) cost no ledger write
+        if (feeCount == 0 && amount.signum() == 0 && paid.signum() == 0 && outstanding.signum() == 0
+                && pending == 0 && overdue == 0) {
+            return;
+        }
+        feeLedgerRepository.applyDelta(Objects.requireNonNull(studentId), semester, feeCount,
+                amount, paid, outstanding, pending, overdue);
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.student_management.service;
+
+import com.example.student_management.dto.FeeRolloverRequest;
+import com.example.student_management.dto.FeeRolloverResult;
+
+public interface FeeRolloverService {
+    // Raises the scheduled fees for every active student; running it again resumes or does nothing
+    FeeRolloverResult rollOver(FeeRolloverRequest request);
+}
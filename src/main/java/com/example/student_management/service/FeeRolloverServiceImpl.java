@@ -0,0 +1,354 @@
+package com.example.student_management.service;
+
+import com.example.student_management.dto.FeeRolloverRequest;
+import com.example.student_management.dto.FeeRolloverResult;
+import com.example.student_management.enums.PaymentStatus;
+import com.example.student_management.enums.StudentStatus;
+import com.example.student_management.exception.ResourceNotFoundException;
+import com.example.student_management.model.Fee;
+import com.example.student_management.model.FeeRolloverCheckpoint;
+import com.example.student_management.model.Student;
+import com.example.student_management.repository.DepartmentRepository;
+import com.example.student_management.repository.FeeRolloverCheckpointRepository;
+import com.example.student_management.repository.StudentRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Raises a semester's fees for every active student. The first run splits the active students into
+// id ranges, one per worker, and saves them as checkpoints. Each worker pages through its range by id;
+// per chunk it moves its checkpoint, inserts the fees with one JDBC batch and books them in the ledger,
+// all in one transaction. A run that dies leaves each partition at its last committed chunk, and the
+// next run for the same semester carries on from there. Students that become active after the first
+// run planned the semester are not picked up by it. The checkpoints keep a fingerprint of the due date
+// and schedule, and a later run for the semester with a different one is rejected before it writes.
+@Service
+public class FeeRolloverServiceImpl implements FeeRolloverService {
+
+    private static final Logger log = LoggerFactory.getLogger(FeeRolloverServiceImpl.class);
+
+    private static final String INSERT_FEE_SQL = "INSERT INTO fees (student_id, semester, fee_type, amount, " +
+            "paid_amount, due_date, payment_status, created_at, updated_at, version) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, 0)";
+
+    private final StudentRepository studentRepository;
+    private final DepartmentRepository departmentRepository;
+    private final FeeRolloverCheckpointRepository checkpointRepository;
+    private final FeeLedgerWriter feeLedgerWriter;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final AsyncTaskExecutor taskExecutor;
+    private final int workers;
+    private final int chunkSize;
+    private final Timer rolloverTimer;
+    private final Counter createdCounter;
+
+    public FeeRolloverServiceImpl(StudentRepository studentRepository,
+                                  DepartmentRepository departmentRepository,
+                                  FeeRolloverCheckpointRepository checkpointRepository,
+                                  FeeLedgerWriter feeLedgerWriter,
+                                  JdbcTemplate jdbcTemplate,
+                                  TransactionTemplate transactionTemplate,
+                                  @Qualifier("applicationTaskExecutor") AsyncTaskExecutor taskExecutor,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${fees.rollover.workers:4}") int workers,
+                                  @Value("${fees.rollover.chunk-size:500}") int chunkSize) {
+        this.studentRepository = studentRepository;
+        this.departmentRepository = departmentRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.feeLedgerWriter = feeLedgerWriter;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.taskExecutor = taskExecutor;
+        this.workers = Math.max(1, workers);
+        this.chunkSize = chunkSize;
+
+        this.rolloverTimer = Timer.builder("fees.rollover")
+                .description("Semester fee roll-over runs")
+                .register(meterRegistry);
+        this.createdCounter = Counter.builder("fees.rollover.created")
+                .description("Fees created by semester roll-overs")
+                .register(meterRegistry);
+    }
+
+    // Schedule items by department; items without a department are in every list
+    private static final class Schedule {
+        final List<FeeRolloverRequest.Item> everyDepartment = new ArrayList<>();
+        final Map<Long, List<FeeRolloverRequest.Item>> byDepartment = new HashMap<>();
+
+        Schedule(List<FeeRolloverRequest.Item> items) {
+            items.stream().filter(item -> item.getDepartmentId() == null).forEach(everyDepartment::add);
+            for (FeeRolloverRequest.Item item : items) {
+                if (item.getDepartmentId() != null) {
+                    byDepartment.computeIfAbsent(item.getDepartmentId(), id -> new ArrayList<>(everyDepartment))
+                            .add(item);
+                }
+            }
+        }
+
+        List<FeeRolloverRequest.Item> forDepartment(Long departmentId) {
+            return byDepartment.getOrDefault(departmentId, everyDepartment);
+        }
+    }
+
+    // Work done by one worker, or by one chunk
+    private static final class Progress {
+        long students;
+        long fees;
+        long through;
+        boolean completed;
+    }
+
+    @Override
+    public FeeRolloverResult rollOver(FeeRolloverRequest request) {
+        long startedAt = System.nanoTime();
+        validate(request);
+        Schedule schedule = new Schedule(request.getSchedule());
+
+        List<FeeRolloverCheckpoint> partitions = plan(request.getSemester(), fingerprint(request));
+        List<FeeRolloverCheckpoint> open = partitions.stream()
+                .filter(partition -> !partition.getCompleted())
+                .toList();
+        int resumed = (int) open.stream()
+                .filter(partition -> partition.getProcessedThrough() > partition.getFirstStudentId())
+                .count();
+
+        FeeRolloverResult result = new FeeRolloverResult(request.getSemester(), partitions.size(), resumed, 0, 0, 0);
+        if (!open.isEmpty()) {
+            // Workers on the application task executor take the next open partition until none are left.
+            // A failed partition does not stop the others; the next run resumes it.
+            AtomicInteger nextPartition = new AtomicInteger();
+            AtomicReference<Throwable> failure = new AtomicReference<>();
+            List<Future<Progress>> futures = new ArrayList<>();
+            for (int worker = 0; worker < Math.min(workers, open.size()); worker++) {
+                futures.add(taskExecutor.submit(() -> {
+                    Progress done = new Progress();
+                    for (int next = nextPartition.getAndIncrement(); next < open.size();
+                         next = nextPartition.getAndIncrement()) {
+                        try {
+                            Progress progress = runPartition(open.get(next), request, schedule);
+                            done.students += progress.students;
+                            done.fees += progress.fees;
+                        } catch (RuntimeException e) {
+                            failure.compareAndSet(null, e);
+                        }
+                    }
+                    return done;
+                }));
+            }
+            try {
+                for (Future<Progress> future : futures) {
+                    Progress progress = future.get();
+                    result.setStudentsProcessed(result.getStudentsProcessed() + progress.students);
+                    result.setFeesCreated(result.getFeesCreated() + progress.fees);
+                }
+            } catch (ExecutionException e) {
+                failure.compareAndSet(null, e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Fee roll-over interrupted", e);
+            }
+            createdCounter.increment(result.getFeesCreated());
+            if (failure.get() != null) {
+                throw new RuntimeException("Fee roll-over failed, run it again to resume: "
+                        + failure.get().getMessage(), failure.get());
+            }
+        }
+
+        long elapsed = System.nanoTime() - startedAt;
+        rolloverTimer.record(elapsed, TimeUnit.NANOSECONDS);
+        result.setElapsedMillis(TimeUnit.NANOSECONDS.toMillis(elapsed));
+        log.info("Rolled over {}: {} fees for {} students in {} partitions ({} resumed) in {} ms",
+                result.getSemester(), result.getFeesCreated(), result.getStudentsProcessed(),
+                result.getPartitions(), resumed, result.getElapsedMillis());
+        return result;
+    }
+
+    private void validate(FeeRolloverRequest request) {
+        if (request.getSemester() == null || request.getSemester().isBlank()) {
+            throw new RuntimeException("Semester is required");
+        }
+        if (request.getDueDate() == null) {
+            throw new RuntimeException("Due date is required");
+        }
+        if (request.getSchedule() == null || request.getSchedule().isEmpty()) {
+            throw new RuntimeException("Fee schedule is required");
+        }
+        for (FeeRolloverRequest.Item item : request.getSchedule()) {
+            if (item == null || item.getFeeType() == null) {
+                throw new RuntimeException("Fee type is required");
+            }
+            if (item.getAmount() == null || item.getAmount().compareTo(BigDecimal.ZERO) <= 0) {
+                throw new RuntimeException("Fee amount must be greater than zero");
+            }
+            if (item.getDepartmentId() != null && !departmentRepository.existsById(item.getDepartmentId())) {
+                throw new ResourceNotFoundException("Department not found with id: " + item.getDepartmentId());
+            }
+        }
+    }
+
+    // The partitions of a semester, planned by its first run and reused by every later one with the
+    // same schedule
+    private List<FeeRolloverCheckpoint> plan(String semester, String fingerprint) {
+        List<FeeRolloverCheckpoint> existing = checkpointRepository.findBySemesterOrderByPartitionNo(semester);
+        if (!existing.isEmpty()) {
+            return requireSameSchedule(existing, fingerprint);
+        }
+        Object[] range = studentRepository.findIdRangeByStatus(StudentStatus.Active).get(0);
+        if (range[0] == null) {
+            return List.of();
+        }
+
+        long first = (Long) range[0] - 1;
+        long last = (Long) range[1];
+        int count = (int) Math.min(workers, last - first);
+        LocalDateTime now = LocalDateTime.now();
+        List<FeeRolloverCheckpoint> partitions = new ArrayList<>(count);
+        long lower = first;
+        for (int i = 0; i < count; i++) {
+            long upper = i == count - 1 ? last : first + (last - first) * (i + 1) / count;
+            partitions.add(new FeeRolloverCheckpoint(semester, i, lower, upper, lower, 0L, false, fingerprint, now));
+            lower = upper;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> checkpointRepository.saveAll(partitions));
+        } catch (DataIntegrityViolationException e) {
+            // Another run planned the semester at the same time
+            return requireSameSchedule(checkpointRepository.findBySemesterOrderByPartitionNo(semester), fingerprint);
+        }
+        return partitions;
+    }
+
+    // A semester gets one schedule: partitions left open would otherwise mix two, and a finished
+    // semester would quietly skip the new one
+    private static List<FeeRolloverCheckpoint> requireSameSchedule(List<FeeRolloverCheckpoint> partitions,
+                                                                   String fingerprint) {
+        String planned = partitions.get(0).getScheduleFingerprint();
+        if (planned != null && !planned.equals(fingerprint)) {
+            throw new RuntimeException("Semester " + partitions.get(0).getSemester()
+                    + " was already rolled over with a different fee schedule or due date");
+        }
+        return partitions;
+    }
+
+    // SHA-256 of the due date and the schedule items, independent of the order the items came in
+    private static String fingerprint(FeeRolloverRequest request) {
+        List<String> items = request.getSchedule().stream()
+                .map(item -> item.getDepartmentId() + "|" + item.getFeeType() + "|"
+                        + item.getAmount().stripTrailingZeros().toPlainString())
+                .sorted()
+                .toList();
+        String input = request.getDueDate() + "\n" + String.join("\n", items);
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(input.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private Progress runPartition(FeeRolloverCheckpoint partition, FeeRolloverRequest request, Schedule schedule) {
+        Progress total = new Progress();
+        long through = partition.getProcessedThrough();
+        while (true) {
+            long after = through;
+            Progress chunk = transactionTemplate.execute(status -> {
+                Progress result = writeChunk(partition, after, request, schedule);
+                if (result == null) {
+                    status.setRollbackOnly();
+                }
+                return result;
+            });
+            if (chunk == null) {
+                log.warn("Partition {} of the {} roll-over was moved on by another run, leaving it to that run",
+                        partition.getPartitionNo(), partition.getSemester());
+                return total;
+            }
+            total.students += chunk.students;
+            total.fees += chunk.fees;
+            if (chunk.completed) {
+                return total;
+            }
+            through = chunk.through;
+        }
+    }
+
+    // The next chunk of a partition; null when its checkpoint is no longer where this run left it
+    private Progress writeChunk(FeeRolloverCheckpoint partition, long after, FeeRolloverRequest request,
+                                Schedule schedule) {
+        List<Object[]> students = studentRepository.findIdsAndDepartmentsByStatus(StudentStatus.Active, after,
+                partition.getLastStudentId(), Limit.of(chunkSize));
+        Progress chunk = new Progress();
+        chunk.students = students.size();
+        chunk.completed = students.size() < chunkSize;
+        chunk.through = chunk.completed ? partition.getLastStudentId() : (Long) students.get(students.size() - 1)[0];
+
+        List<Fee> fees = new ArrayList<>();
+        for (Object[] row : students) {
+            Student student = new Student();
+            student.setStudentId((Long) row[0]);
+            for (FeeRolloverRequest.Item item : schedule.forDepartment((Long) row[1])) {
+                Fee fee = new Fee();
+                fee.setStudent(student);
+                fee.setSemester(request.getSemester());
+                fee.setFeeType(item.getFeeType());
+                fee.setAmount(item.getAmount());
+                fee.setPaidAmount(BigDecimal.ZERO);
+                fee.setDueDate(request.getDueDate());
+                fee.setPaymentStatus(PaymentStatus.Pending);
+                FeeStates.markOverdueIfPastDue(fee);
+                fees.add(fee);
+            }
+        }
+        chunk.fees = fees.size();
+
+        // The checkpoint first: its row lock keeps a concurrent run off this chunk until we commit
+        LocalDateTime now = LocalDateTime.now();
+        if (checkpointRepository.advance(partition.getSemester(), partition.getPartitionNo(), after, chunk.through,
+                chunk.fees, chunk.completed, now) != 1) {
+            return null;
+        }
+        if (fees.isEmpty()) {
+            return chunk;
+        }
+        jdbcTemplate.batchUpdate(INSERT_FEE_SQL, fees, fees.size(), (ps, fee) -> {
+            ps.setLong(1, fee.getStudent().getStudentId());
+            ps.setString(2, fee.getSemester());
+            ps.setString(3, fee.getFeeType().name());
+            ps.setBigDecimal(4, fee.getAmount());
+            ps.setBigDecimal(5, fee.getPaidAmount());
+            ps.setObject(6, fee.getDueDate());
+            ps.setString(7, fee.getPaymentStatus().name());
+            ps.setObject(8, now);
+            ps.setObject(9, now);
+        });
+        feeLedgerWriter.recordCreated(fees.stream().map(feeLedgerWriter::snapshot).toList());
+        return chunk;
+    }
+}
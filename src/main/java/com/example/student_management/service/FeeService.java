@@ -1,5 +1,8 @@
 package com.example.student_management.service;
 
+import com.example.student_management.dto.CursorPage;
+import com.example.student_management.dto.FeeListItem;
+import com.example.student_management.dto.FeeSummary;
 import com.example.student_management.enums.FeeType;
 import com.example.student_management.enums.PaymentStatus;
 import com.example.student_management.model.Fee;
@@ -16,7 +19,8 @@ public interface FeeService {
                             BigDecimal amount, LocalDate dueDate);
 
     // Read
-    List<Fee> getAllFees();
+    List<FeeListItem> getAllFees();
+    CursorPage<FeeListItem> getFeesPage(Long after, Integer limit);
     Fee getFeeById(Long id);
     List<Fee> getFeesByStudent(Long studentId);
     List<Fee> getFeesBySemester(String semester);
@@ -41,4 +45,5 @@ public interface FeeService {
     BigDecimal calculateOutstandingBalance(Long studentId);
     long countPendingFees(Long studentId);
     List<Fee> getFeesSummaryByStudent(Long studentId);
+    FeeSummary getFeeSummary(Long studentId);
 }
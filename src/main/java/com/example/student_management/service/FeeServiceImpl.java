@@ -1,14 +1,25 @@
 package com.example.student_management.service;
 
+import com.example.student_management.dto.CursorPage;
+import com.example.student_management.dto.FeeListItem;
+import com.example.student_management.dto.FeeSummary;
 import com.example.student_management.model.Fee;
+import com.example.student_management.model.FeeLedger;
+import com.example.student_management.model.FeePayment;
 import com.example.student_management.model.Student;
 import com.example.student_management.enums.FeeType;
 import com.example.student_management.enums.PaymentStatus;
 import com.example.student_management.enums.PaymentMethod;
+import com.example.student_management.repository.FeeLedgerRepository;
+import com.example.student_management.repository.FeePaymentRepository;
 import com.example.student_management.repository.FeeRepository;
 import com.example.student_management.repository.StudentRepository;
 import com.example.student_management.exception.ResourceNotFoundException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
@@ -22,12 +33,27 @@ public class FeeServiceImpl implements FeeService {
 
     private final FeeRepository feeRepository;
     private final StudentRepository studentRepository;
+    private final FeeLedgerRepository feeLedgerRepository;
+    private final FeeLedgerWriter feeLedgerWriter;
+    private final FeePaymentRepository feePaymentRepository;
+    private final StudentExistenceGuard studentExistenceGuard;
+    private final ConflictRetry conflictRetry;
 
     // Constructor injection
     public FeeServiceImpl(FeeRepository feeRepository,
-                          StudentRepository studentRepository) {
+                          StudentRepository studentRepository,
+                          FeeLedgerRepository feeLedgerRepository,
+                          FeeLedgerWriter feeLedgerWriter,
+                          FeePaymentRepository feePaymentRepository,
+                          StudentExistenceGuard studentExistenceGuard,
+                          ConflictRetry conflictRetry) {
         this.feeRepository = feeRepository;
         this.studentRepository = studentRepository;
+        this.feeLedgerRepository = feeLedgerRepository;
+        this.feeLedgerWriter = feeLedgerWriter;
+        this.feePaymentRepository = feePaymentRepository;
+        this.studentExistenceGuard = studentExistenceGuard;
+        this.conflictRetry = conflictRetry;
     }
 
 
@@ -48,12 +74,15 @@ public class FeeServiceImpl implements FeeService {
         if (fee.getPaymentStatus() == null) {
             fee.setPaymentStatus(PaymentStatus.Pending);
         }
+        FeeStates.markOverdueIfPastDue(fee);
 
         // Set timestamps
         fee.setCreatedAt(LocalDateTime.now());
         fee.setUpdatedAt(LocalDateTime.now());
 
-        return feeRepository.save(fee);
+        Fee saved = feeRepository.save(fee);
+        feeLedgerWriter.record(null, feeLedgerWriter.snapshot(saved));
+        return saved;
     }
 
     @Override
@@ -72,15 +101,26 @@ public class FeeServiceImpl implements FeeService {
         fee.setPaidAmount(BigDecimal.ZERO);
         fee.setDueDate(dueDate);
         fee.setPaymentStatus(PaymentStatus.Pending);
+        FeeStates.markOverdueIfPastDue(fee);
         fee.setCreatedAt(LocalDateTime.now());
         fee.setUpdatedAt(LocalDateTime.now());
 
-        return feeRepository.save(fee);
+        Fee saved = feeRepository.save(fee);
+        feeLedgerWriter.record(null, feeLedgerWriter.snapshot(saved));
+        return saved;
     }
 
     @Override
-    public List<Fee> getAllFees() {
-        return feeRepository.findAll();
+    public List<FeeListItem> getAllFees() {
+        return feeRepository.findListItems();
+    }
+
+    @Override
+    public CursorPage<FeeListItem> getFeesPage(Long after, Integer limit) {
+        int pageSize = CursorPage.resolveLimit(limit);
+        List<FeeListItem> rows = feeRepository.findListItemsAfter(
+                CursorPage.resolveAfter(after), Limit.of(pageSize + 1));
+        return CursorPage.of(rows, pageSize, FeeListItem::getFeeId);
     }
 
     @Override
@@ -91,11 +131,12 @@ public class FeeServiceImpl implements FeeService {
 
     @Override
     public List<Fee> getFeesByStudent(Long studentId) {
-        // Verify student exists
-        studentRepository.findById(studentId)
-                .orElseThrow(() -> new ResourceNotFoundException("Student not found with id: " + studentId));
-
-        return feeRepository.findByStudentStudentId(studentId);
+        List<Fee> fees = feeRepository.findByStudentStudentId(studentId);
+        // Rows carry the student; only an empty result needs the existence check
+        if (fees.isEmpty()) {
+            studentExistenceGuard.requireExists(studentId);
+        }
+        return fees;
     }
 
     @Override
@@ -105,11 +146,11 @@ public class FeeServiceImpl implements FeeService {
 
     @Override
     public List<Fee> getFeesByStudentAndSemester(Long studentId, String semester) {
-        // Verify student exists
-        studentRepository.findById(studentId)
-                .orElseThrow(() -> new ResourceNotFoundException("Student not found with id: " + studentId));
-
-        return feeRepository.findByStudentStudentIdAndSemester(studentId, semester);
+        List<Fee> fees = feeRepository.findByStudentStudentIdAndSemester(studentId, semester);
+        if (fees.isEmpty()) {
+            studentExistenceGuard.requireExists(studentId);
+        }
+        return fees;
     }
 
     @Override
@@ -119,21 +160,22 @@ public class FeeServiceImpl implements FeeService {
 
     @Override
     public List<Fee> getPendingFeesByStudent(Long studentId) {
-        // Verify student exists
-        studentRepository.findById(studentId)
-                .orElseThrow(() -> new ResourceNotFoundException("Student not found with id: " + studentId));
-
-        return feeRepository.findByStudentStudentIdAndPaymentStatus(studentId, PaymentStatus.Pending);
+        List<Fee> fees = feeRepository.findByStudentStudentIdAndPaymentStatus(studentId, PaymentStatus.Pending);
+        if (fees.isEmpty()) {
+            studentExistenceGuard.requireExists(studentId);
+        }
+        return fees;
     }
 
     @Override
     public List<Fee> getOverdueFees() {
-        return feeRepository.findOverdueFees(LocalDate.now());
+        return feeRepository.findOverdueFees();
     }
 
     @Override
     public Fee updateFee(Long id, Fee feeDetails) {
         Fee fee = getFeeById(id);
+        FeeLedgerWriter.Entry before = feeLedgerWriter.snapshot(fee);
 
         // Verify student exists if changed AND set it
         if (feeDetails.getStudent() != null && feeDetails.getStudent().getStudentId() != null) {
@@ -154,153 +196,206 @@ public class FeeServiceImpl implements FeeService {
         fee.setPaymentStatus(feeDetails.getPaymentStatus());  // ✅ Now updates payment status
         fee.setPaymentMethod(feeDetails.getPaymentMethod());  // ✅ Now updates payment method
         fee.setTransactionId(feeDetails.getTransactionId());  // ✅ Now updates transaction ID
+        FeeStates.markOverdueIfPastDue(fee);
         fee.setUpdatedAt(LocalDateTime.now());
 
-        return feeRepository.save(fee);
+        Fee saved = feeRepository.save(fee);
+        feeLedgerWriter.record(before, feeLedgerWriter.snapshot(saved));
+        return saved;
     }
 
     @Override
     public Fee updatePaymentStatus(Long id, PaymentStatus status) {
         Fee fee = getFeeById(id);
+        FeeLedgerWriter.Entry before = feeLedgerWriter.snapshot(fee);
         fee.setPaymentStatus(status);
+        FeeStates.markOverdueIfPastDue(fee);
         fee.setUpdatedAt(LocalDateTime.now());
-        return feeRepository.save(fee);
+        Fee saved = feeRepository.save(fee);
+        feeLedgerWriter.record(before, feeLedgerWriter.snapshot(saved));
+        return saved;
     }
 
+    // Each attempt applies the payment with one guarded UPDATE in its own transaction, without reading
+    // the fee first: it guesses the fee is still Pending, and only a miss reads the fee, to reject the
+    // payment or to apply it against the status found. A payment that lost a race with another writer
+    // of the fee is retried by ConflictRetry.
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Fee makePayment(Long id, BigDecimal paymentAmount, String paymentMethod,
                            String transactionId) {
-        Fee fee = getFeeById(id);
-
         // Validate payment amount
         if (paymentAmount.compareTo(BigDecimal.ZERO) <= 0) {
             throw new RuntimeException("Payment amount must be greater than zero");
         }
+        PaymentMethod method = toPaymentMethod(paymentMethod);
 
-        // Calculate new paid amount
-        BigDecimal newPaidAmount = fee.getPaidAmount().add(paymentAmount);
+        return conflictRetry.run(() -> {
+            Fee paid = applyPayment(id, PaymentStatus.Pending, paymentAmount, method, transactionId);
+            if (paid != null) {
+                return paid;
+            }
+            Fee fee = getPaymentState(id);
 
-        // Validate payment doesn't exceed total amount
-        if (newPaidAmount.compareTo(fee.getAmount()) > 0) {
-            throw new RuntimeException("Payment amount exceeds outstanding balance");
-        }
+            // Validate payment doesn't exceed total amount
+            if (fee.getPaidAmount().add(paymentAmount).compareTo(fee.getAmount()) > 0) {
+                throw new RuntimeException("Payment amount exceeds outstanding balance");
+            }
 
-        // Update fee
-        fee.setPaidAmount(newPaidAmount);
-        fee.setPaymentDate(LocalDate.now());
+            return applyPayment(fee, paymentAmount, method, transactionId);
+        });
+    }
 
-        // Convert String to PaymentMethod enum
-        if (paymentMethod != null) {
-            try {
-                fee.setPaymentMethod(PaymentMethod.valueOf(paymentMethod));
-            } catch (IllegalArgumentException e) {
-                throw new RuntimeException("Invalid payment method: " + paymentMethod);
-            }
-        }
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Fee makeFullPayment(Long id, String paymentMethod, String transactionId) {
+        PaymentMethod method = toPaymentMethod(paymentMethod);
 
-        fee.setTransactionId(transactionId);
+        return conflictRetry.run(() -> {
+            Fee fee = getPaymentState(id);
 
-        // Update payment status
-        if (newPaidAmount.compareTo(fee.getAmount()) == 0) {
-            fee.setPaymentStatus(PaymentStatus.Paid);
-        } else {
-            fee.setPaymentStatus(PaymentStatus.Partial);
-        }
+            // Calculate outstanding balance
+            BigDecimal outstandingBalance = fee.getAmount().subtract(fee.getPaidAmount());
 
-        fee.setUpdatedAt(LocalDateTime.now());
+            if (outstandingBalance.compareTo(BigDecimal.ZERO) <= 0) {
+                throw new RuntimeException("Fee is already fully paid");
+            }
 
-        return feeRepository.save(fee);
+            return applyPayment(fee, outstandingBalance, method, transactionId);
+        });
     }
 
-    @Override
-    public Fee makeFullPayment(Long id, String paymentMethod, String transactionId) {
-        Fee fee = getFeeById(id);
+    // Convert String to PaymentMethod enum; null keeps the fee's method
+    private static PaymentMethod toPaymentMethod(String paymentMethod) {
+        if (paymentMethod == null) {
+            return null;
+        }
+        try {
+            return PaymentMethod.valueOf(paymentMethod);
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Invalid payment method: " + paymentMethod);
+        }
+    }
 
-        // Calculate outstanding balance
-        BigDecimal outstandingBalance = fee.getAmount().subtract(fee.getPaidAmount());
+    private Fee getPaymentState(Long id) {
+        return feeRepository.findPaymentStates(List.of(id)).stream()
+                .findFirst()
+                .map(FeeStates::fromPaymentState)
+                .orElseThrow(() -> new ResourceNotFoundException("Fee not found with id: " + id));
+    }
 
-        if (outstandingBalance.compareTo(BigDecimal.ZERO) <= 0) {
-            throw new RuntimeException("Fee is already fully paid");
+    // Applies the payment against the state that was read; a miss means the fee changed since
+    private Fee applyPayment(Fee state, BigDecimal paymentAmount, PaymentMethod method, String transactionId) {
+        Fee paid = applyPayment(state.getFeeId(), state.getPaymentStatus(), paymentAmount, method, transactionId);
+        if (paid == null) {
+            throw new ObjectOptimisticLockingFailureException(Fee.class, state.getFeeId());
         }
+        return paid;
+    }
 
-        // Make full payment
-        fee.setPaidAmount(fee.getAmount());
-        fee.setPaymentDate(LocalDate.now());
-
-        // Convert String to PaymentMethod enum
-        if (paymentMethod != null) {
-            try {
-                fee.setPaymentMethod(PaymentMethod.valueOf(paymentMethod));
-            } catch (IllegalArgumentException e) {
-                throw new RuntimeException("Invalid payment method: " + paymentMethod);
-            }
+    // Runs the guarded UPDATE and returns the fee as written, or null if the fee was not at the prior
+    // status or had too little left to pay. The ledger delta comes from the written row: before the
+    // payment the fee had the same student, semester and amount, the prior status, and paid that much less.
+    private Fee applyPayment(Long id, PaymentStatus prior, BigDecimal paymentAmount, PaymentMethod method,
+                             String transactionId) {
+        int updated = feeRepository.applyPayment(id, prior, paymentAmount, method, transactionId,
+                LocalDate.now(), LocalDateTime.now());
+        if (updated == 0) {
+            return null;
         }
 
-        fee.setTransactionId(transactionId);
-        fee.setPaymentStatus(PaymentStatus.Paid);
-        fee.setUpdatedAt(LocalDateTime.now());
+        Fee fee = feeRepository.findForPayment(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Fee not found with id: " + id));
+        Fee before = new Fee();
+        before.setStudent(fee.getStudent());
+        before.setSemester(fee.getSemester());
+        before.setAmount(fee.getAmount());
+        before.setPaidAmount(fee.getPaidAmount().subtract(paymentAmount));
+        before.setPaymentStatus(prior);
+
+        feeLedgerWriter.record(feeLedgerWriter.snapshot(before), feeLedgerWriter.snapshot(fee));
+        recordPayment(fee, paymentAmount, transactionId);
+        return fee;
+    }
 
-        return feeRepository.save(fee);
+    private void recordPayment(Fee fee, BigDecimal amount, String transactionId) {
+        if (transactionId == null) {
+            return;
+        }
+        // Payments share their transaction ids with the batch posting in PaymentBatchServiceImpl; the
+        // unique key rejects a repeat and rolls the payment back with it
+        try {
+            feePaymentRepository.saveAndFlush(new FeePayment(null, fee.getFeeId(), transactionId, amount,
+                    fee.getPaymentMethod(), LocalDateTime.now()));
+        } catch (DataIntegrityViolationException e) {
+            throw new RuntimeException("Transaction already posted: " + transactionId);
+        }
     }
 
     @Override
     public void deleteFee(Long id) {
         Fee fee = getFeeById(id);
+        FeeLedgerWriter.Entry before = feeLedgerWriter.snapshot(fee);
         feeRepository.delete(fee);
+        feeLedgerWriter.record(before, null);
     }
 
     @Override
     public void deleteAllFeesByStudent(Long studentId) {
-        // Verify student exists
-        studentRepository.findById(studentId)
-                .orElseThrow(() -> new ResourceNotFoundException("Student not found with id: " + studentId));
+        studentExistenceGuard.requireExists(studentId);
 
         feeRepository.deleteByStudentStudentId(studentId);
+        feeLedgerRepository.deleteByStudentId(studentId);
     }
 
     // ==================== STATISTICS ====================
+    // Served from the per-semester ledger rows, one indexed query per call
 
     @Override
     public BigDecimal calculateTotalFees(Long studentId) {
-        // Verify student exists
-        studentRepository.findById(studentId)
-                .orElseThrow(() -> new ResourceNotFoundException("Student not found with id: " + studentId));
-
-        BigDecimal total = feeRepository.calculateTotalFeesByStudent(studentId);
-        return total != null ? total : BigDecimal.ZERO;
+        return getFeeSummary(studentId).getTotalAmount();
     }
 
     @Override
     public BigDecimal calculateTotalPaid(Long studentId) {
-        // Verify student exists
-        studentRepository.findById(studentId)
-                .orElseThrow(() -> new ResourceNotFoundException("Student not found with id: " + studentId));
-
-        BigDecimal totalPaid = feeRepository.calculateTotalPaidByStudent(studentId);
-        return totalPaid != null ? totalPaid : BigDecimal.ZERO;
+        return getFeeSummary(studentId).getPaidAmount();
     }
 
     @Override
     public BigDecimal calculateOutstandingBalance(Long studentId) {
-        // Verify student exists
-        studentRepository.findById(studentId)
-                .orElseThrow(() -> new ResourceNotFoundException("Student not found with id: " + studentId));
-
-        BigDecimal outstanding = feeRepository.calculateOutstandingBalance(studentId);
-        return outstanding != null ? outstanding : BigDecimal.ZERO;
+        return getFeeSummary(studentId).getOutstandingAmount();
     }
 
     @Override
     public long countPendingFees(Long studentId) {
-        // Verify student exists
-        studentRepository.findById(studentId)
-                .orElseThrow(() -> new ResourceNotFoundException("Student not found with id: " + studentId));
-
-        return feeRepository.countByStudentStudentIdAndPaymentStatus(studentId, PaymentStatus.Pending);
+        return getFeeSummary(studentId).getPendingCount();
     }
 
     @Override
     public List<Fee> getFeesSummaryByStudent(Long studentId) {
         return getFeesByStudent(studentId);
     }
-}
\ No newline at end of file
+
+    @Override
+    public FeeSummary getFeeSummary(Long studentId) {
+        List<FeeLedger> rows = feeLedgerRepository.findByStudentIdOrderBySemesterAsc(studentId);
+        // No ledger rows means no fees; only then is the student lookup needed
+        if (rows.isEmpty()) {
+            studentExistenceGuard.requireExists(studentId);
+        }
+
+        FeeSummary summary = new FeeSummary();
+        summary.setStudentId(studentId);
+        for (FeeLedger row : rows) {
+            summary.setTotalAmount(summary.getTotalAmount().add(row.getTotalAmount()));
+            summary.setPaidAmount(summary.getPaidAmount().add(row.getPaidAmount()));
+            summary.setOutstandingAmount(summary.getOutstandingAmount().add(row.getOutstandingAmount()));
+            summary.setPendingCount(summary.getPendingCount() + row.getPendingCount());
+            summary.setOverdueCount(summary.getOverdueCount() + row.getOverdueCount());
+            summary.getSemesters().add(new FeeSummary.Semester(row.getSemester(), row.getFeeCount(),
+                    row.getTotalAmount(), row.getPaidAmount(), row.getOutstandingAmount(),
+                    row.getPendingCount(), row.getOverdueCount()));
+        }
+        return summary;
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.student_management.service;
+
+import com.example.student_management.enums.PaymentStatus;
+import com.example.student_management.model.Fee;
+import com.example.student_management.model.Student;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// Payment status rules shared by the single and batch fee writers and the overdue sweeper.
+// A fee that is not fully paid after its due date is Overdue; the sweeper marks fees as their
+// due date passes and the writers keep that status, so overdue lookups are a status filter.
+final class FeeStates {
+
+    private FeeStates() {
+    }
+
+    static boolean isOpen(PaymentStatus status) {
+        return status == PaymentStatus.Pending || status == PaymentStatus.Partial;
+    }
+
+    // Status after paidAmount of amount has been paid
+    static PaymentStatus afterPayment(BigDecimal paidAmount, BigDecimal amount, LocalDate dueDate) {
+        if (paidAmount.compareTo(amount) == 0) {
+            return PaymentStatus.Paid;
+        }
+        return isPastDue(dueDate) ? PaymentStatus.Overdue : PaymentStatus.Partial;
+    }
+
+    // Pending or Partial fees written with a due date that already passed
+    static void markOverdueIfPastDue(Fee fee) {
+        if (isOpen(fee.getPaymentStatus()) && isPastDue(fee.getDueDate())) {
+            fee.setPaymentStatus(PaymentStatus.Overdue);
+        }
+    }
+
+    // A row of FeeRepository.PAYMENT_STATE as a detached fee
+    static Fee fromPaymentState(Object[] state) {
+        Student student = new Student();
+        student.setStudentId((Long) state[1]);
+        Fee fee = new Fee();
+        fee.setFeeId((Long) state[0]);
+        fee.setStudent(student);
+        fee.setSemester((String) state[2]);
+        fee.setAmount((BigDecimal) state[3]);
+        fee.setPaidAmount(state[4] != null ? (BigDecimal) state[4] : BigDecimal.ZERO);
+        fee.setPaymentStatus((PaymentStatus) state[5]);
+        fee.setDueDate((LocalDate) state[6]);
+        fee.setVersion((Long) state[7]);
+        return fee;
+    }
+
+    private static boolean isPastDue(LocalDate dueDate) {
+        return dueDate != null && dueDate.isBefore(LocalDate.now());
+    }
+}
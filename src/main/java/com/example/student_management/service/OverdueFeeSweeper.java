@@ -0,0 +1,171 @@
+package com.example.student_management.service;
+
+import com.example.student_management.enums.PaymentStatus;
+import com.example.student_management.model.Fee;
+import com.example.student_management.model.JobWatermark;
+import com.example.student_management.repository.FeeRepository;
+import com.example.student_management.repository.JobWatermarkRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Marks Pending and Partial fees Overdue once their due date has passed. The watermark records the
+// day the last run swept up to, so a run only reads fees whose due date fell in [watermark, today);
+// the first run has no watermark and sweeps every past due date. Each chunk of fees is marked and
+// booked in the ledger in its own transaction; the watermark moves only after every chunk committed.
+@Component
+public class OverdueFeeSweeper {
+
+    static final String JOB_NAME = "fees.overdue-sweep";
+
+    private static final Logger log = LoggerFactory.getLogger(OverdueFeeSweeper.class);
+
+    // A chunk whose fees were paid between read and update is re-read this many times
+    private static final int MAX_CHUNK_ATTEMPTS = 3;
+
+    private final FeeRepository feeRepository;
+    private final JobWatermarkRepository jobWatermarkRepository;
+    private final FeeLedgerWriter feeLedgerWriter;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final Timer sweepTimer;
+    private final Counter markedCounter;
+    private final Counter chunkCounter;
+
+    public OverdueFeeSweeper(FeeRepository feeRepository,
+                             JobWatermarkRepository jobWatermarkRepository,
+                             FeeLedgerWriter feeLedgerWriter,
+                             TransactionTemplate transactionTemplate,
+                             MeterRegistry meterRegistry,
+                             @Value("${fees.overdue.chunk-size:500}") int chunkSize) {
+        this.feeRepository = feeRepository;
+        this.jobWatermarkRepository = jobWatermarkRepository;
+        this.feeLedgerWriter = feeLedgerWriter;
+        this.transactionTemplate = transactionTemplate;
+        this.chunkSize = chunkSize;
+
+        this.sweepTimer = Timer.builder("fees.overdue.sweep")
+                .description("Overdue fee sweep runs")
+                .register(meterRegistry);
+        this.markedCounter = Counter.builder("fees.overdue.sweep.marked")
+                .description("Fees marked overdue by the sweeper")
+                .register(meterRegistry);
+        this.chunkCounter = Counter.builder("fees.overdue.sweep.chunks")
+                .description("Transactions committed by the overdue sweeper")
+                .register(meterRegistry);
+    }
+
+    // After FeeLedgerReconciler.backfill, whose empty-ledger check would see the sweep's deltas
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(1)
+    public void catchUp() {
+        sweep();
+    }
+
+    @Scheduled(cron = "${fees.overdue.sweep-cron:0 5 * * * *}")
+    public void scheduledSweep() {
+        sweep();
+    }
+
+    // Number of fees marked overdue
+    public synchronized int sweep() {
+        long startedAt = System.nanoTime();
+        LocalDate today = LocalDate.now();
+        LocalDate from = jobWatermarkRepository.findById(JOB_NAME)
+                .map(JobWatermark::getProcessedBefore)
+                .orElse(null);
+        if (from != null && !from.isBefore(today)) {
+            return 0;
+        }
+
+        int marked = 0;
+        long after = 0L;
+        while (true) {
+            long chunkAfter = after;
+            Chunk chunk = null;
+            for (int attempt = 1; chunk == null; attempt++) {
+                if (attempt > MAX_CHUNK_ATTEMPTS) {
+                    throw new IllegalStateException("Fees kept changing while marking them overdue after id " + after);
+                }
+                chunk = transactionTemplate.execute(status -> {
+                    Chunk result = markChunk(chunkAfter, from, today);
+                    if (result == null) {
+                        status.setRollbackOnly();
+                    }
+                    return result;
+                });
+            }
+            if (chunk.size == 0) {
+                break;
+            }
+            chunkCounter.increment();
+            marked += chunk.size;
+            after = chunk.lastFeeId;
+            if (chunk.size < chunkSize) {
+                break;
+            }
+        }
+
+        JobWatermark watermark = new JobWatermark(JOB_NAME, today, LocalDateTime.now());
+        jobWatermarkRepository.save(watermark);
+
+        markedCounter.increment(marked);
+        sweepTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        if (marked > 0) {
+            log.info("Marked {} fees overdue with due dates from {} to {}", marked,
+                    from != null ? from : "the beginning", today.minusDays(1));
+        }
+        return marked;
+    }
+
+    // Marks one chunk; null when a fee changed between the read and the update
+    private Chunk markChunk(long after, LocalDate from, LocalDate today) {
+        List<Object[]> states = feeRepository.findOpenPaymentStatesDueBetween(after, from, today, Limit.of(chunkSize));
+        if (states.isEmpty()) {
+            return new Chunk(0, after);
+        }
+
+        List<Long> feeIds = new ArrayList<>(states.size());
+        List<FeeLedgerWriter.Entry> before = new ArrayList<>(states.size());
+        List<FeeLedgerWriter.Entry> afterSweep = new ArrayList<>(states.size());
+        for (Object[] state : states) {
+            Fee fee = FeeStates.fromPaymentState(state);
+            feeIds.add(fee.getFeeId());
+            before.add(feeLedgerWriter.snapshot(fee));
+            fee.setPaymentStatus(PaymentStatus.Overdue);
+            afterSweep.add(feeLedgerWriter.snapshot(fee));
+        }
+
+        if (feeRepository.markOverdue(feeIds, LocalDateTime.now()) != feeIds.size()) {
+            return null;
+        }
+        feeLedgerWriter.recordAll(before, afterSweep);
+        return new Chunk(feeIds.size(), feeIds.get(feeIds.size() - 1));
+    }
+
+    private static final class Chunk {
+        final int size;
+        final long lastFeeId;
+
+        Chunk(int size, long lastFeeId) {
+            this.size = size;
+            this.lastFeeId = lastFeeId;
+        }
+    }
+}
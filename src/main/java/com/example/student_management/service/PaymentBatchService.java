@@ -0,0 +1,11 @@
+package com.example.student_management.service;
+
+import com.example.student_management.dto.PaymentBatchItem;
+import com.example.student_management.dto.PaymentBatchResult;
+
+import java.util.List;
+
+public interface PaymentBatchService {
+    // Bulk payment posting, idempotent per transaction id
+    PaymentBatchResult postPayments(List<PaymentBatchItem> payments);
+}
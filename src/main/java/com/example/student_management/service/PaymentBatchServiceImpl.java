@@ -0,0 +1,291 @@
+package com.example.student_management.service;
+
+import com.example.student_management.dto.PaymentBatchItem;
+import com.example.student_management.dto.PaymentBatchResult;
+import com.example.student_management.enums.PaymentMethod;
+import com.example.student_management.model.Fee;
+import com.example.student_management.repository.FeePaymentRepository;
+import com.example.student_management.repository.FeeRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Posts payments in chunks, each chunk in its own transaction: one query for transaction ids that
+// were already posted, one for the payment state of the fees, then JDBC batches for the fee updates
+// and payment rows. A re-submitted file only costs the transaction id lookups. Fees another writer
+// changed between the read and the update are read again and posted in a new transaction.
+@Service
+public class PaymentBatchServiceImpl implements PaymentBatchService {
+
+    // Guarded on the version that was read, so neither a payment nor a status change made meanwhile
+    // is overwritten, and the ledger snapshot taken from the read is exact
+    private static final String UPDATE_FEE_SQL = "UPDATE fees SET paid_amount = ?, payment_date = ?, " +
+            "payment_status = ?, payment_method = COALESCE(?, payment_method), transaction_id = ?, updated_at = ?, " +
+            "version = version + 1 WHERE fee_id = ? AND version = ?";
+    private static final String INSERT_PAYMENT_SQL = "INSERT INTO fee_payments (fee_id, transaction_id, amount, " +
+            "payment_method, created_at) VALUES (?, ?, ?, ?, ?)";
+
+    // Transactions a line may take before a fee that keeps changing under it is given up on
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final FeeRepository feeRepository;
+    private final FeePaymentRepository feePaymentRepository;
+    private final FeeLedgerWriter feeLedgerWriter;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    public PaymentBatchServiceImpl(FeeRepository feeRepository,
+                                   FeePaymentRepository feePaymentRepository,
+                                   FeeLedgerWriter feeLedgerWriter,
+                                   JdbcTemplate jdbcTemplate,
+                                   TransactionTemplate transactionTemplate,
+                                   @Value("${fees.payments.batch-size:1000}") int batchSize) {
+        this.feeRepository = feeRepository;
+        this.feePaymentRepository = feePaymentRepository;
+        this.feeLedgerWriter = feeLedgerWriter;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+    }
+
+    // A validated line of the batch
+    private static final class Line {
+        final PaymentBatchItem item;
+        final PaymentMethod method;
+        final PaymentBatchResult.Row row;
+
+        Line(PaymentBatchItem item, PaymentMethod method, PaymentBatchResult.Row row) {
+            this.item = item;
+            this.method = method;
+            this.row = row;
+        }
+    }
+
+    // Payment state of one fee while a chunk is applied in memory
+    private static final class Posting {
+        final Fee fee;
+        final FeeLedgerWriter.Entry before;
+        final List<Line> lines = new ArrayList<>();
+
+        Posting(Fee fee, FeeLedgerWriter.Entry before) {
+            this.fee = fee;
+            this.before = before;
+        }
+    }
+
+    @Override
+    public PaymentBatchResult postPayments(List<PaymentBatchItem> payments) {
+        PaymentBatchResult result = new PaymentBatchResult();
+        result.setTotal(payments.size());
+        Set<String> seenTransactions = new HashSet<>();
+
+        for (int start = 0; start < payments.size(); start += batchSize) {
+            int end = Math.min(start + batchSize, payments.size());
+            List<Line> accepted = new ArrayList<>();
+            for (int i = start; i < end; i++) {
+                PaymentBatchItem item = payments.get(i);
+                PaymentBatchResult.Row row = new PaymentBatchResult.Row(i + 1,
+                        item != null ? item.getFeeId() : null, item != null ? item.getTransactionId() : null,
+                        PaymentBatchResult.Outcome.Rejected, null);
+                result.getRows().add(row);
+
+                String error = validate(item);
+                if (error != null) {
+                    row.setMessage(error);
+                    continue;
+                }
+                if (!seenTransactions.add(item.getTransactionId())) {
+                    row.setOutcome(PaymentBatchResult.Outcome.Duplicate);
+                    row.setMessage("Transaction appears earlier in the batch: " + item.getTransactionId());
+                    continue;
+                }
+                PaymentMethod method = item.getPaymentMethod() != null
+                        ? PaymentMethod.valueOf(item.getPaymentMethod()) : null;
+                accepted.add(new Line(item, method, row));
+            }
+            post(accepted);
+        }
+
+        for (PaymentBatchResult.Row row : result.getRows()) {
+            switch (row.getOutcome()) {
+                case Applied -> result.setApplied(result.getApplied() + 1);
+                case Duplicate -> result.setDuplicates(result.getDuplicates() + 1);
+                case Rejected -> result.setRejected(result.getRejected() + 1);
+            }
+        }
+        return result;
+    }
+
+    // Same rules as FeeServiceImpl.makePayment, plus a transaction id for idempotency
+    private String validate(PaymentBatchItem item) {
+        if (item == null) {
+            return "Payment is required";
+        }
+        if (item.getFeeId() == null) {
+            return "Fee id is required";
+        }
+        if (item.getTransactionId() == null || item.getTransactionId().isBlank()) {
+            return "Transaction id is required";
+        }
+        if (item.getAmount() == null || item.getAmount().compareTo(BigDecimal.ZERO) <= 0) {
+            return "Payment amount must be greater than zero";
+        }
+        if (item.getPaymentMethod() != null) {
+            try {
+                PaymentMethod.valueOf(item.getPaymentMethod());
+            } catch (IllegalArgumentException e) {
+                return "Invalid payment method: " + item.getPaymentMethod();
+            }
+        }
+        return null;
+    }
+
+    // A new transaction per attempt, so the lines that conflicted see the fee as it is now
+    private void post(List<Line> lines) {
+        for (int attempt = 1; !lines.isEmpty(); attempt++) {
+            List<Line> batch = lines;
+            List<Line> conflicted = new ArrayList<>();
+            try {
+                transactionTemplate.executeWithoutResult(status -> conflicted.addAll(apply(batch)));
+            } catch (DataAccessException e) {
+                // The whole attempt was rolled back
+                for (Line line : batch) {
+                    if (line.row.getOutcome() == PaymentBatchResult.Outcome.Applied || conflicted.contains(line)) {
+                        reject(line, "Posting failed: " + e.getMostSpecificCause().getMessage());
+                    }
+                }
+                return;
+            }
+            if (attempt == MAX_ATTEMPTS) {
+                conflicted.forEach(line -> reject(line, "Fee changed while posting, resubmit this payment"));
+                return;
+            }
+            lines = conflicted;
+        }
+    }
+
+    // Posts the lines and returns those whose fee changed after it was read; they are left unposted
+    private List<Line> apply(List<Line> lines) {
+        Set<String> recorded = new HashSet<>(feePaymentRepository.findRecordedTransactionIds(
+                lines.stream().map(line -> line.item.getTransactionId()).toList()));
+        List<Line> fresh = new ArrayList<>();
+        for (Line line : lines) {
+            if (recorded.contains(line.item.getTransactionId())) {
+                line.row.setOutcome(PaymentBatchResult.Outcome.Duplicate);
+                line.row.setMessage("Transaction already posted: " + line.item.getTransactionId());
+            } else {
+                fresh.add(line);
+            }
+        }
+        if (fresh.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, Posting> postings = new LinkedHashMap<>();
+        Set<Long> feeIds = new HashSet<>();
+        fresh.forEach(line -> feeIds.add(line.item.getFeeId()));
+        for (Object[] state : feeRepository.findPaymentStates(feeIds)) {
+            Fee fee = FeeStates.fromPaymentState(state);
+            postings.put(fee.getFeeId(), new Posting(fee, feeLedgerWriter.snapshot(fee)));
+        }
+
+        LocalDate today = LocalDate.now();
+        for (Line line : fresh) {
+            Posting posting = postings.get(line.item.getFeeId());
+            if (posting == null) {
+                reject(line, "Fee not found with id: " + line.item.getFeeId());
+                continue;
+            }
+            Fee fee = posting.fee;
+            BigDecimal newPaidAmount = fee.getPaidAmount().add(line.item.getAmount());
+            if (newPaidAmount.compareTo(fee.getAmount()) > 0) {
+                reject(line, "Payment amount exceeds outstanding balance");
+                continue;
+            }
+            fee.setPaidAmount(newPaidAmount);
+            fee.setPaymentDate(today);
+            if (line.method != null) {
+                fee.setPaymentMethod(line.method);
+            }
+            fee.setTransactionId(line.item.getTransactionId());
+            fee.setPaymentStatus(FeeStates.afterPayment(newPaidAmount, fee.getAmount(), fee.getDueDate()));
+            posting.lines.add(line);
+            line.row.setOutcome(PaymentBatchResult.Outcome.Applied);
+            line.row.setMessage(null);
+        }
+
+        List<Posting> changed = postings.values().stream().filter(posting -> !posting.lines.isEmpty()).toList();
+        if (changed.isEmpty()) {
+            return List.of();
+        }
+        LocalDateTime now = LocalDateTime.now();
+
+        int[][] updated = jdbcTemplate.batchUpdate(UPDATE_FEE_SQL, changed, changed.size(), (ps, posting) -> {
+            Fee fee = posting.fee;
+            ps.setBigDecimal(1, fee.getPaidAmount());
+            ps.setObject(2, fee.getPaymentDate());
+            ps.setString(3, fee.getPaymentStatus().name());
+            ps.setString(4, fee.getPaymentMethod() != null ? fee.getPaymentMethod().name() : null);
+            ps.setString(5, fee.getTransactionId());
+            ps.setObject(6, now);
+            ps.setLong(7, fee.getFeeId());
+            ps.setLong(8, fee.getVersion());
+        });
+
+        // Another writer changed these fees after they were read; their lines go again
+        List<Posting> posted = new ArrayList<>(changed.size());
+        List<Line> conflicted = new ArrayList<>();
+        int index = 0;
+        for (int[] chunk : updated) {
+            for (int count : chunk) {
+                Posting posting = changed.get(index++);
+                if (count == 0) {
+                    posting.lines.forEach(line -> reject(line, "Fee changed while posting"));
+                    conflicted.addAll(posting.lines);
+                } else {
+                    posted.add(posting);
+                }
+            }
+        }
+        if (posted.isEmpty()) {
+            return conflicted;
+        }
+
+        List<Line> applied = new ArrayList<>();
+        posted.forEach(posting -> applied.addAll(posting.lines));
+        jdbcTemplate.batchUpdate(INSERT_PAYMENT_SQL, applied, applied.size(), (ps, line) -> {
+            ps.setLong(1, line.item.getFeeId());
+            ps.setString(2, line.item.getTransactionId());
+            ps.setBigDecimal(3, line.item.getAmount());
+            ps.setString(4, line.method != null ? line.method.name() : null);
+            ps.setObject(5, now);
+        });
+
+        List<FeeLedgerWriter.Entry> before = new ArrayList<>(posted.size());
+        List<FeeLedgerWriter.Entry> after = new ArrayList<>(posted.size());
+        for (Posting posting : posted) {
+            before.add(posting.before);
+            after.add(feeLedgerWriter.snapshot(posting.fee));
+        }
+        feeLedgerWriter.recordAll(before, after);
+        return conflicted;
+    }
+
+    private static void reject(Line line, String message) {
+        line.row.setOutcome(PaymentBatchResult.Outcome.Rejected);
+        line.row.setMessage(message);
+    }
+}
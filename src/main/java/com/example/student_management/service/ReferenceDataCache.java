@@ -0,0 +1,93 @@
+package com.example.student_management.service;
+
+import com.example.student_management.config.CacheConfig;
+import com.example.student_management.exception.ResourceNotFoundException;
+import com.example.student_management.model.Courses;
+import com.example.student_management.model.Department;
+import com.example.student_management.repository.CourseRepository;
+import com.example.student_management.repository.DepartmentRepository;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+// Department and course lookups behind the caches in CacheConfig. The caches hold immutable snapshots,
+// never entities: every caller gets a fresh detached entity from toEntity(), so setting a field on a
+// lookup result cannot change what the next request sees. It is a bean of its own so lookups made
+// from inside CourseServiceImpl and DepartmentServiceImpl go through the caching proxy too.
+@Component
+public class ReferenceDataCache {
+
+    private final DepartmentRepository departmentRepository;
+    private final CourseRepository courseRepository;
+
+    public ReferenceDataCache(DepartmentRepository departmentRepository, CourseRepository courseRepository) {
+        this.departmentRepository = departmentRepository;
+        this.courseRepository = courseRepository;
+    }
+
+    @Cacheable(CacheConfig.DEPARTMENTS_BY_ID)
+    public DepartmentSnapshot departmentById(Long id) {
+        return departmentRepository.findById(id)
+                .map(DepartmentSnapshot::of)
+                .orElseThrow(() -> new ResourceNotFoundException("Department not found with id: " + id));
+    }
+
+    @Cacheable(CacheConfig.DEPARTMENTS_BY_CODE)
+    public DepartmentSnapshot departmentByCode(String code) {
+        return departmentRepository.findByDepartmentCode(code)
+                .map(DepartmentSnapshot::of)
+                .orElseThrow(() -> new ResourceNotFoundException("Department not found with code: " + code));
+    }
+
+    @Cacheable(CacheConfig.COURSES_BY_ID)
+    public CourseSnapshot courseById(Long id) {
+        return courseRepository.findById(id)
+                .map(CourseSnapshot::of)
+                .orElseThrow(() -> new ResourceNotFoundException("Course not found with id: " + id));
+    }
+
+    @Cacheable(CacheConfig.COURSES_BY_CODE)
+    public CourseSnapshot courseByCode(String courseCode) {
+        return courseRepository.findByCourseCode(courseCode)
+                .map(CourseSnapshot::of)
+                .orElseThrow(() -> new ResourceNotFoundException("Course not found with code: " + courseCode));
+    }
+
+    public record DepartmentSnapshot(Long departmentId, String departmentCode, String departmentName,
+                                     String headOfDepartment, String email, String phone, String building,
+                                     Integer establishedYear, LocalDateTime createdAt, LocalDateTime updatedAt) {
+
+        static DepartmentSnapshot of(Department department) {
+            return new DepartmentSnapshot(department.getDepartmentId(), department.getDepartmentCode(),
+                    department.getDepartmentName(), department.getHeadOfDepartment(), department.getEmail(),
+                    department.getPhone(), department.getBuilding(), department.getEstablishedYear(),
+                    department.getCreatedAt(), department.getUpdatedAt());
+        }
+
+        public Department toEntity() {
+            return new Department(departmentId, departmentCode, departmentName, headOfDepartment, email, phone,
+                    building, establishedYear, createdAt, updatedAt);
+        }
+    }
+
+    public record CourseSnapshot(Long courseId, String courseCode, String courseName, String courseDescription,
+                                 Integer credits, DepartmentSnapshot department, String instructorName,
+                                 Integer maxStudents, Integer enrolledCount, String semester, Boolean isActive,
+                                 LocalDateTime createdAt, LocalDateTime updatedAt) {
+
+        static CourseSnapshot of(Courses course) {
+            return new CourseSnapshot(course.getCourseId(), course.getCourseCode(), course.getCourseName(),
+                    course.getCourseDescription(), course.getCredits(),
+                    course.getDepartment() == null ? null : DepartmentSnapshot.of(course.getDepartment()),
+                    course.getInstructorName(), course.getMaxStudents(), course.getEnrolledCount(),
+                    course.getSemester(), course.getIsActive(), course.getCreatedAt(), course.getUpdatedAt());
+        }
+
+        public Courses toEntity() {
+            return new Courses(courseId, courseCode, courseName, courseDescription, credits,
+                    department == null ? null : department.toEntity(), instructorName, maxStudents,
+                    enrolledCount, semester, isActive, createdAt, updatedAt);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.student_management.service;
+
+import com.example.student_management.repository.CourseRepository;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Keeps an in-memory count of taken seats per course so enrollment does not need a COUNT query
+// or a table lock. Counters are seeded lazily from courses.enrolled_count the first time a course is
+// seen, so the allocator and the read endpoints work from the same number; EnrolledCountReconciler
+// evicts the counters of courses whose count it repairs.
+// Seats are taken with a compare-and-set loop, so requests for different courses never contend
+// and requests for the same course are serialized on a single counter.
+@Component
+public class SeatAllocator {
+
+    private static final int SEED_LOCK_STRIPES = 64;
+
+    private final CourseRepository courseRepository;
+    private final ConcurrentMap<Long, AtomicInteger> seatsTaken = new ConcurrentHashMap<>();
+    private final Object[] seedLocks = new Object[SEED_LOCK_STRIPES];
+
+    public SeatAllocator(CourseRepository courseRepository) {
+        this.courseRepository = courseRepository;
+        for (int i = 0; i < SEED_LOCK_STRIPES; i++) {
+            seedLocks[i] = new Object();
+        }
+    }
+
+    // Take one seat if the course is below capacity. The seat is given back if the
+    // surrounding transaction rolls back.
+    public boolean tryReserve(Long courseId, int capacity) {
+        return tryReserve(courseId, capacity, 1) == 1;
+    }
+
+    // Take up to wanted seats in one step, as many as the course has left, and return how many were
+    // taken. They are given back together if the surrounding transaction rolls back.
+    public int tryReserve(Long courseId, int capacity, int wanted) {
+        AtomicInteger counter = counterFor(courseId);
+        while (true) {
+            int taken = counter.get();
+            int granted = Math.max(0, Math.min(wanted, capacity - taken));
+            if (granted == 0) {
+                return 0;
+            }
+            if (counter.compareAndSet(taken, taken + granted)) {
+                TransactionCallbacks.onRollback(() -> decrement(courseId, granted));
+                return granted;
+            }
+        }
+    }
+
+    // Give a seat back once the surrounding transaction commits
+    public void release(Long courseId) {
+        TransactionCallbacks.afterCommit(() -> decrement(courseId, 1));
+    }
+
+    // Forget the counter so it is reseeded from the database on next use
+    public void evict(Long courseId) {
+        TransactionCallbacks.afterCommit(() -> seatsTaken.remove(courseId));
+    }
+
+    public int seatsTaken(Long courseId) {
+        return counterFor(courseId).get();
+    }
+
+    private AtomicInteger counterFor(Long courseId) {
+        AtomicInteger counter = seatsTaken.get(courseId);
+        if (counter != null) {
+            return counter;
+        }
+        // Only one thread per stripe runs the seeding query, other courses keep going
+        synchronized (seedLocks[Math.floorMod(courseId.hashCode(), SEED_LOCK_STRIPES)]) {
+            counter = seatsTaken.get(courseId);
+            if (counter == null) {
+                counter = new AtomicInteger(courseRepository.findEnrolledCount(courseId).orElse(0));
+                seatsTaken.put(courseId, counter);
+            }
+            return counter;
+        }
+    }
+
+    private void decrement(Long courseId, int seats) {
+        AtomicInteger counter = seatsTaken.get(courseId);
+        if (counter != null) {
+            counter.updateAndGet(taken -> Math.max(0, taken - seats));
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.example.student_management.service;
+
+import com.example.student_management.enums.Gender;
+import com.example.student_management.enums.StudentStatus;
+import com.example.student_management.model.Department;
+import com.example.student_management.model.Student;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// Reads students from CSV text with a header row, e.g.
+// studentNumber,firstName,lastName,email,departmentCode,enrollmentDate
+// Quoted fields ("a, b") and doubled quotes ("say ""hi""") are supported.
+final class StudentCsvReader {
+
+    private static final List<String> COLUMNS = List.of(
+            "studentnumber", "firstname", "lastname", "email", "phone", "dateofbirth", "gender",
+            "departmentid", "departmentcode", "enrollmentdate", "studentstatus", "gpa");
+
+    // One data record: either a student or the reason it could not be read
+    static final class Line {
+        final Student student;
+        final String error;
+
+        Line(Student student, String error) {
+            this.student = student;
+            this.error = error;
+        }
+    }
+
+    private StudentCsvReader() {
+    }
+
+    static List<Line> read(String csv) {
+        List<List<String>> records = parse(csv);
+        if (records.isEmpty()) {
+            return List.of();
+        }
+
+        Map<String, Integer> header = new HashMap<>();
+        List<String> names = records.get(0);
+        for (int i = 0; i < names.size(); i++) {
+            String column = names.get(i).trim().toLowerCase(Locale.ROOT);
+            if (!COLUMNS.contains(column)) {
+                throw new RuntimeException("Unknown CSV column: " + names.get(i));
+            }
+            header.put(column, i);
+        }
+
+        List<Line> lines = new ArrayList<>(records.size() - 1);
+        for (List<String> record : records.subList(1, records.size())) {
+            try {
+                lines.add(new Line(toStudent(header, record), null));
+            } catch (RuntimeException e) {
+                lines.add(new Line(null, "Invalid row: " + e.getMessage()));
+            }
+        }
+        return lines;
+    }
+
+    private static Student toStudent(Map<String, Integer> header, List<String> record) {
+        Student student = new Student();
+        student.setStudentNumber(value(header, record, "studentnumber"));
+        student.setFirstName(value(header, record, "firstname"));
+        student.setLastName(value(header, record, "lastname"));
+        student.setEmail(value(header, record, "email"));
+        student.setPhone(value(header, record, "phone"));
+
+        String dateOfBirth = value(header, record, "dateofbirth");
+        student.setDateOfBirth(dateOfBirth != null ? LocalDate.parse(dateOfBirth) : null);
+        String gender = value(header, record, "gender");
+        student.setGender(gender != null ? Gender.valueOf(gender) : null);
+
+        String departmentId = value(header, record, "departmentid");
+        String departmentCode = value(header, record, "departmentcode");
+        if (departmentId != null || departmentCode != null) {
+            Department department = new Department();
+            department.setDepartmentId(departmentId != null ? Long.valueOf(departmentId) : null);
+            department.setDepartmentCode(departmentCode);
+            student.setDepartment(department);
+        }
+
+        String enrollmentDate = value(header, record, "enrollmentdate");
+        student.setEnrollmentDate(enrollmentDate != null ? LocalDate.parse(enrollmentDate) : null);
+        String status = value(header, record, "studentstatus");
+        student.setStudentStatus(status != null ? StudentStatus.valueOf(status) : null);
+        String gpa = value(header, record, "gpa");
+        student.setGpa(gpa != null ? new BigDecimal(gpa) : null);
+        return student;
+    }
+
+    private static String value(Map<String, Integer> header, List<String> record, String column) {
+        Integer index = header.get(column);
+        if (index == null || index >= record.size()) {
+            return null;
+        }
+        String value = record.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    // Split CSV text into records of fields, skipping blank lines
+    private static List<List<String>> parse(String csv) {
+        List<List<String>> records = new ArrayList<>();
+        List<String> record = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < csv.length(); i++) {
+            char c = csv.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < csv.length() && csv.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                record.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n' || c == '\r') {
+                if (c == '\r' && i + 1 < csv.length() && csv.charAt(i + 1) == '\n') {
+                    i++;
+                }
+                endRecord(records, record, field);
+                record = new ArrayList<>();
+            } else {
+                field.append(c);
+            }
+        }
+        endRecord(records, record, field);
+        return records;
+    }
+
+    private static void endRecord(List<List<String>> records, List<String> record, StringBuilder field) {
+        record.add(field.toString());
+        field.setLength(0);
+        if (record.size() > 1 || !record.get(0).isBlank()) {
+            records.add(record);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.student_management.service;
+
+import com.example.student_management.exception.ResourceNotFoundException;
+import com.example.student_management.repository.StudentRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+// Answers "does this student exist?" for per-student lookups that came back empty.
+// Only ids seen to exist are cached, for a short time, so a deleted student can still
+// pass for at most the TTL on other instances; on this instance deletes evict immediately.
+@Component
+public class StudentExistenceGuard {
+
+    private final StudentRepository studentRepository;
+    private final Cache<Long, Boolean> knownIds;
+
+    public StudentExistenceGuard(StudentRepository studentRepository,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${students.known-ids.max-size:10000}") long maxSize,
+                                 @Value("${students.known-ids.ttl:30s}") Duration ttl) {
+        this.studentRepository = studentRepository;
+        this.knownIds = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, knownIds, "studentKnownIds");
+    }
+
+    // Id-only probe (no student row or department join), skipped when the id was seen recently
+    public void requireExists(Long studentId) {
+        if (knownIds.getIfPresent(studentId) != null) {
+            return;
+        }
+        if (!studentRepository.existsById(studentId)) {
+            throw new ResourceNotFoundException("Student not found with id: " + studentId);
+        }
+        knownIds.put(studentId, Boolean.TRUE);
+    }
+
+    public void forget(Long studentId) {
+        knownIds.invalidate(studentId);
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.student_management.service;
+
+import com.example.student_management.repository.StudentRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+// Recomputes every student's GPA sums from the enrollments table: nightly to repair drift from manual
+// SQL or a failed write, and after bulk loads. Existing databases were backfilled by V7__student_gpa_sums.
+@Component
+public class StudentGpaReconciler {
+
+    private static final Logger log = LoggerFactory.getLogger(StudentGpaReconciler.class);
+
+    private final StudentRepository studentRepository;
+
+    public StudentGpaReconciler(StudentRepository studentRepository) {
+        this.studentRepository = studentRepository;
+    }
+
+    @Scheduled(cron = "${students.gpa.reconcile-cron:0 45 3 * * *}")
+    @Transactional
+    public int reconcile() {
+        int students = studentRepository.recomputeAllGpa();
+        log.info("Recomputed GPA for {} students", students);
+        return students;
+    }
+}
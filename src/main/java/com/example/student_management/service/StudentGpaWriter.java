@@ -0,0 +1,87 @@
+package com.example.student_management.service;
+
+import com.example.student_management.enums.EnrollmentStatus;
+import com.example.student_management.model.Enrollments;
+import com.example.student_management.repository.StudentRepository;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+
+// Keeps students.gpa in step with graded enrollments. A student row carries the credits of its graded
+// (Completed, with grade points) enrollments and their quality points (credits x grade points);
+// callers snapshot an enrollment before and after a change and record() applies the difference with
+// one UPDATE, so a grade change never re-reads the student's other enrollments.
+@Component
+public class StudentGpaWriter {
+
+    public static final String GPA_NOT_WRITABLE = "GPA is computed from graded enrollments and cannot be set";
+
+    private final StudentRepository studentRepository;
+
+    public StudentGpaWriter(StudentRepository studentRepository) {
+        this.studentRepository = studentRepository;
+    }
+
+    // What one enrollment contributes to its student's GPA
+    public static final class Entry {
+        final Long studentId;
+        final long credits;
+        final BigDecimal qualityPoints;
+
+        Entry(Long studentId, long credits, BigDecimal qualityPoints) {
+            this.studentId = studentId;
+            this.credits = credits;
+            this.qualityPoints = qualityPoints;
+        }
+    }
+
+    // Same rules as StudentRepository.GRADED_ENROLLMENTS; null when the enrollment does not count
+    public Entry snapshot(Enrollments enrollment) {
+        if (enrollment == null || enrollment.getStatus() != EnrollmentStatus.Completed
+                || enrollment.getGradePoints() == null
+                || enrollment.getStudent() == null || enrollment.getStudent().getStudentId() == null
+                || enrollment.getCourse() == null || enrollment.getCourse().getCredits() == null) {
+            return null;
+        }
+        int credits = enrollment.getCourse().getCredits();
+        return new Entry(enrollment.getStudent().getStudentId(), credits,
+                enrollment.getGradePoints().multiply(BigDecimal.valueOf(credits)));
+    }
+
+    // before is null for an enrollment that did not count, after is null for one that no longer does
+    public void record(Entry before, Entry after) {
+        if (before != null && after != null && before.studentId.equals(after.studentId)) {
+            apply(after.studentId, after.credits - before.credits,
+                    after.qualityPoints.subtract(before.qualityPoints));
+            return;
+        }
+        if (before != null) {
+            apply(before.studentId, -before.credits, before.qualityPoints.negate());
+        }
+        if (after != null) {
+            apply(after.studentId, after.credits, after.qualityPoints);
+        }
+    }
+
+    // Rebuild one student's sums, e.g. after a bulk delete of their enrollments
+    public void recompute(Long studentId) {
+        studentRepository.recomputeGpa(studentId);
+    }
+
+    // A course's credits weigh every grade in it, so its graded students are rebuilt
+    public void recomputeForCourse(Long courseId) {
+        studentRepository.recomputeGpaForCourse(courseId);
+    }
+
+    private void apply(Long studentId, long credits, BigDecimal qualityPoints) {
+        if (credits == 0 && qualityPoints.signum() == 0) {
+            return;
+        }
+        studentRepository.applyGradeDelta(studentId, credits, qualityPoints);
+    }
+
+    // A client-supplied GPA is only accepted when it repeats the stored one (null counts as absent)
+    public static boolean changesGpa(BigDecimal requested, BigDecimal current) {
+        return requested != null && requested.compareTo(current != null ? current : BigDecimal.ZERO) != 0;
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.student_management.service;
+
+import com.example.student_management.dto.StudentImportResult;
+import com.example.student_management.model.Student;
+
+import java.util.List;
+
+public interface StudentImportService {
+    // Bulk create
+    StudentImportResult importStudents(List<Student> students);
+    StudentImportResult importStudentsCsv(String csv);
+}
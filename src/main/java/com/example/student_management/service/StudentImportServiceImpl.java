@@ -0,0 +1,264 @@
+package com.example.student_management.service;
+
+import com.example.student_management.dto.StudentImportResult;
+import com.example.student_management.enums.StudentStatus;
+import com.example.student_management.model.Department;
+import com.example.student_management.model.Student;
+import com.example.student_management.repository.DepartmentRepository;
+import com.example.student_management.repository.StudentRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// Creates students in chunks: one uniqueness query and one JDBC batch insert per chunk,
+// each chunk in its own transaction. Hibernate cannot batch IDENTITY inserts, so rows go through JDBC.
+@Service
+public class StudentImportServiceImpl implements StudentImportService {
+
+    private static final String INSERT_SQL = "INSERT INTO students (student_number, first_name, last_name, email, " +
+            "phone, date_of_birth, gender, department_id, enrollment_date, student_status, gpa, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final StudentRepository studentRepository;
+    private final DepartmentRepository departmentRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final StudentSearchIndex studentSearchIndex;
+    private final int batchSize;
+
+    public StudentImportServiceImpl(StudentRepository studentRepository,
+                                    DepartmentRepository departmentRepository,
+                                    JdbcTemplate jdbcTemplate,
+                                    TransactionTemplate transactionTemplate,
+                                    Validator validator,
+                                    StudentSearchIndex studentSearchIndex,
+                                    @Value("${students.import.batch-size:1000}") int batchSize) {
+        this.studentRepository = studentRepository;
+        this.departmentRepository = departmentRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.validator = validator;
+        this.studentSearchIndex = studentSearchIndex;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public StudentImportResult importStudents(List<Student> students) {
+        List<StudentCsvReader.Line> lines = students.stream()
+                .map(student -> new StudentCsvReader.Line(student, null))
+                .toList();
+        return run(lines);
+    }
+
+    @Override
+    public StudentImportResult importStudentsCsv(String csv) {
+        return run(StudentCsvReader.read(csv));
+    }
+
+    private StudentImportResult run(List<StudentCsvReader.Line> lines) {
+        // Departments are a small table, resolve them once for the whole import
+        List<Department> departments = departmentRepository.findAll();
+        Map<Long, Department> departmentsById = departments.stream()
+                .collect(Collectors.toMap(Department::getDepartmentId, department -> department));
+        Map<String, Department> departmentsByCode = departments.stream()
+                .collect(Collectors.toMap(Department::getDepartmentCode, department -> department));
+
+        StudentImportResult result = new StudentImportResult();
+        result.setTotal(lines.size());
+        Set<String> seenNumbers = new HashSet<>();
+        Set<String> seenEmails = new HashSet<>();
+
+        for (int start = 0; start < lines.size(); start += batchSize) {
+            int end = Math.min(start + batchSize, lines.size());
+            List<StudentImportResult.Row> chunkRows = new ArrayList<>();
+            List<Student> accepted = new ArrayList<>();
+            List<StudentImportResult.Row> acceptedRows = new ArrayList<>();
+
+            for (int i = start; i < end; i++) {
+                StudentCsvReader.Line line = lines.get(i);
+                Student student = line.student;
+                StudentImportResult.Row row = new StudentImportResult.Row(i + 1,
+                        student != null ? student.getStudentNumber() : null, false, null, line.error);
+                chunkRows.add(row);
+                if (student == null) {
+                    continue;
+                }
+
+                String error = validate(student, departmentsById, departmentsByCode);
+                if (error == null && !seenNumbers.add(key(student.getStudentNumber()))) {
+                    error = "Duplicate student number in import: " + student.getStudentNumber();
+                }
+                if (error == null && !seenEmails.add(key(student.getEmail()))) {
+                    error = "Duplicate email in import: " + student.getEmail();
+                }
+                if (error != null) {
+                    row.setMessage(error);
+                    continue;
+                }
+                accepted.add(student);
+                acceptedRows.add(row);
+            }
+
+            rejectTaken(accepted, acceptedRows);
+            insert(accepted, acceptedRows);
+            result.getRows().addAll(chunkRows);
+        }
+
+        int created = (int) result.getRows().stream().filter(StudentImportResult.Row::isSuccess).count();
+        result.setCreated(created);
+        result.setFailed(result.getTotal() - created);
+        return result;
+    }
+
+    // Bean validation plus department lookup; fills defaults the same way createStudent does
+    private String validate(Student student, Map<Long, Department> departmentsById,
+                            Map<String, Department> departmentsByCode) {
+        Set<ConstraintViolation<Student>> violations = validator.validate(student);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+        }
+
+        if (StudentGpaWriter.changesGpa(student.getGpa(), BigDecimal.ZERO)) {
+            return StudentGpaWriter.GPA_NOT_WRITABLE;
+        }
+
+        Department requested = student.getDepartment();
+        if (requested == null) {
+            return "Department is required";
+        }
+        Department department = requested.getDepartmentId() != null
+                ? departmentsById.get(requested.getDepartmentId())
+                : departmentsByCode.get(requested.getDepartmentCode());
+        if (department == null) {
+            return requested.getDepartmentId() != null
+                    ? "Department not found with id: " + requested.getDepartmentId()
+                    : "Department not found with code: " + requested.getDepartmentCode();
+        }
+        student.setDepartment(department);
+
+        if (student.getStudentStatus() == null) {
+            student.setStudentStatus(StudentStatus.Active);
+        }
+        if (student.getEnrollmentDate() == null) {
+            student.setEnrollmentDate(LocalDate.now());
+        }
+        student.setGpa(BigDecimal.ZERO);
+        return null;
+    }
+
+    // One query per chunk for student numbers and emails that already exist
+    private void rejectTaken(List<Student> accepted, List<StudentImportResult.Row> acceptedRows) {
+        if (accepted.isEmpty()) {
+            return;
+        }
+        List<String> numbers = accepted.stream().map(Student::getStudentNumber).toList();
+        List<String> emails = accepted.stream().map(Student::getEmail).toList();
+        Set<String> takenNumbers = new HashSet<>();
+        Set<String> takenEmails = new HashSet<>();
+        for (Object[] taken : studentRepository.findTakenNumbersAndEmails(numbers, emails)) {
+            takenNumbers.add(key((String) taken[0]));
+            takenEmails.add(key((String) taken[1]));
+        }
+
+        for (int i = accepted.size() - 1; i >= 0; i--) {
+            Student student = accepted.get(i);
+            String error = null;
+            if (takenNumbers.contains(key(student.getStudentNumber()))) {
+                error = "Student number already exists: " + student.getStudentNumber();
+            } else if (takenEmails.contains(key(student.getEmail()))) {
+                error = "Email already exists: " + student.getEmail();
+            }
+            if (error != null) {
+                acceptedRows.get(i).setMessage(error);
+                accepted.remove(i);
+                acceptedRows.remove(i);
+            }
+        }
+    }
+
+    private void insert(List<Student> students, List<StudentImportResult.Row> rows) {
+        if (students.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        try {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(
+                    connection -> connection.prepareStatement(INSERT_SQL, new String[]{"student_id"}),
+                    new BatchPreparedStatementSetter() {
+                        @Override
+                        public void setValues(PreparedStatement ps, int i) throws SQLException {
+                            Student student = students.get(i);
+                            ps.setString(1, student.getStudentNumber());
+                            ps.setString(2, student.getFirstName());
+                            ps.setString(3, student.getLastName());
+                            ps.setString(4, student.getEmail());
+                            ps.setString(5, student.getPhone());
+                            ps.setObject(6, student.getDateOfBirth());
+                            ps.setString(7, student.getGender() != null ? student.getGender().name() : null);
+                            ps.setLong(8, student.getDepartment().getDepartmentId());
+                            ps.setObject(9, student.getEnrollmentDate());
+                            ps.setString(10, student.getStudentStatus().name());
+                            ps.setBigDecimal(11, student.getGpa());
+                            ps.setObject(12, now);
+                            ps.setObject(13, now);
+                        }
+
+                        @Override
+                        public int getBatchSize() {
+                            return students.size();
+                        }
+                    },
+                    keyHolder));
+        } catch (DataAccessException e) {
+            // The whole chunk was rolled back
+            rows.forEach(row -> row.setMessage("Insert failed: " + e.getMostSpecificCause().getMessage()));
+            return;
+        }
+
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        for (int i = 0; i < students.size(); i++) {
+            Student student = students.get(i);
+            if (i < keys.size() && !keys.get(i).isEmpty()) {
+                Object key = keys.get(i).values().iterator().next();
+                student.setStudentId(((Number) key).longValue());
+            }
+            student.setCreatedAt(now);
+            student.setUpdatedAt(now);
+            rows.get(i).setSuccess(true);
+            rows.get(i).setStudentId(student.getStudentId());
+            rows.get(i).setMessage(null);
+            if (student.getStudentId() != null) {
+                studentSearchIndex.index(student);
+            }
+        }
+    }
+
+    private static String key(String value) {
+        return value == null ? null : value.trim().toLowerCase(Locale.ROOT);
+    }
+}
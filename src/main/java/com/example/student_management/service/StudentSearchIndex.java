@@ -0,0 +1,370 @@
+package com.example.student_management.service;
+
+import com.example.student_management.dto.StudentSearchRow;
+import com.example.student_management.model.Student;
+import com.example.student_management.repository.StudentRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// In-process trigram index over first name, last name, email and student number.
+// Every lower-cased field is split into 3-character grams and each gram maps to a sorted list of
+// student ids. A keyword is answered by intersecting the lists of its grams and then checking the
+// candidates against the stored fields, so results are the same as a LOWER(col) LIKE '%kw%' scan.
+// The index is built in the background at startup; isReady() stays false until that finishes.
+@Component
+public class StudentSearchIndex {
+
+    public enum Field { FIRST_NAME, LAST_NAME, EMAIL, STUDENT_NUMBER }
+
+    public static final Set<Field> ALL_FIELDS = EnumSet.allOf(Field.class);
+
+    private static final Logger log = LoggerFactory.getLogger(StudentSearchIndex.class);
+
+    private static final int GRAM_LENGTH = 3;
+    private static final int WARMUP_PAGE_SIZE = 1000;
+
+    // Ranking weights per field, indexed by Field.ordinal()
+    private static final int[] EXACT_SCORE = {40, 40, 90, 100};
+    private static final int[] PREFIX_SCORE = {30, 30, 40, 50};
+    private static final int[] CONTAINS_SCORE = {10, 10, 5, 10};
+
+    // Rough JVM object sizes used for the memory gauge
+    private static final int MAP_ENTRY_BYTES = 48;
+    private static final int BOXED_LONG_BYTES = 16;
+    private static final int ARRAY_HEADER_BYTES = 16;
+    private static final int STRING_OVERHEAD_BYTES = 40;
+    private static final int DOCUMENT_BYTES =
+            MAP_ENTRY_BYTES + BOXED_LONG_BYTES + ARRAY_HEADER_BYTES + 4 * Field.values().length;
+    private static final int POSTINGS_BYTES = MAP_ENTRY_BYTES + BOXED_LONG_BYTES + ARRAY_HEADER_BYTES;
+
+    private final StudentRepository studentRepository;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, String[]> documents = new HashMap<>();
+    private final Map<Long, Postings> postings = new HashMap<>();
+    private final Set<Long> removedWhileWarming = new HashSet<>();
+    // Kept up to date by put()/removeDocument() so the gauges never walk the index
+    private volatile long estimatedBytes;
+    private volatile boolean ready;
+
+    public StudentSearchIndex(StudentRepository studentRepository, MeterRegistry meterRegistry) {
+        this.studentRepository = studentRepository;
+
+        Gauge.builder("student.search.index.students", this, StudentSearchIndex::size)
+                .description("Students held in the search index")
+                .register(meterRegistry);
+        Gauge.builder("student.search.index.memory", this, StudentSearchIndex::estimatedBytes)
+                .description("Estimated heap used by the search index")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("student.search.index.memory.per.student", this, StudentSearchIndex::estimatedBytesPerStudent)
+                .description("Estimated heap used by the search index per indexed student")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        Thread warmup = new Thread(this::rebuild, "student-search-warmup");
+        warmup.setDaemon(true);
+        warmup.start();
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    // Load every student in keyset pages. Rows written through index()/remove() while this runs win.
+    void rebuild() {
+        long startedAt = System.nanoTime();
+        try {
+            long after = 0L;
+            List<StudentSearchRow> page;
+            do {
+                page = studentRepository.findSearchRowsAfter(after, Limit.of(WARMUP_PAGE_SIZE));
+                lock.writeLock().lock();
+                try {
+                    for (StudentSearchRow row : page) {
+                        if (!documents.containsKey(row.getStudentId())
+                                && !removedWhileWarming.contains(row.getStudentId())) {
+                            put(row);
+                        }
+                    }
+                } finally {
+                    lock.writeLock().unlock();
+                }
+                if (!page.isEmpty()) {
+                    after = page.get(page.size() - 1).getStudentId();
+                }
+            } while (page.size() == WARMUP_PAGE_SIZE);
+
+            lock.writeLock().lock();
+            try {
+                removedWhileWarming.clear();
+                ready = true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.info("Student search index built with {} students in {} ms",
+                    size(), (System.nanoTime() - startedAt) / 1_000_000);
+        } catch (RuntimeException e) {
+            log.error("Student search index warm-up failed, search stays on the database", e);
+        }
+    }
+
+    public void index(Student student) {
+        StudentSearchRow row = new StudentSearchRow(student.getStudentId(), student.getFirstName(),
+                student.getLastName(), student.getEmail(), student.getStudentNumber());
+        lock.writeLock().lock();
+        try {
+            removeDocument(row.getStudentId());
+            removedWhileWarming.remove(row.getStudentId());
+            put(row);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long studentId) {
+        lock.writeLock().lock();
+        try {
+            removeDocument(studentId);
+            if (!ready) {
+                removedWhileWarming.add(studentId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Ids of matching students, best match first
+    public List<Long> search(String keyword, Set<Field> fields, int maxResults) {
+        String needle = normalize(keyword);
+        PriorityQueue<Match> best = new PriorityQueue<>(Match.WORST_FIRST);
+
+        lock.readLock().lock();
+        try {
+            if (needle.length() < GRAM_LENGTH) {
+                // Too short for a gram lookup, a scan over the in-memory fields is still cheap
+                for (Map.Entry<Long, String[]> document : documents.entrySet()) {
+                    collect(best, document.getKey(), document.getValue(), needle, fields, maxResults);
+                }
+            } else {
+                for (long studentId : candidates(needle)) {
+                    String[] values = documents.get(studentId);
+                    if (values != null) {
+                        collect(best, studentId, values, needle, fields, maxResults);
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<Match> ranked = new ArrayList<>(best);
+        ranked.sort(Match.WORST_FIRST.reversed());
+        List<Long> ids = new ArrayList<>(ranked.size());
+        for (Match match : ranked) {
+            ids.add(match.studentId);
+        }
+        return ids;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long estimatedBytes() {
+        return estimatedBytes;
+    }
+
+    public double estimatedBytesPerStudent() {
+        int students = size();
+        return students == 0 ? 0 : (double) estimatedBytes() / students;
+    }
+
+    // ==================== INTERNALS (callers hold the lock) ====================
+
+    private void put(StudentSearchRow row) {
+        String[] values = {
+                normalize(row.getFirstName()),
+                normalize(row.getLastName()),
+                normalize(row.getEmail()),
+                normalize(row.getStudentNumber())
+        };
+        documents.put(row.getStudentId(), values);
+        long bytes = documentBytes(values);
+        for (long gram : grams(values)) {
+            Postings list = postings.get(gram);
+            if (list == null) {
+                list = new Postings();
+                postings.put(gram, list);
+                bytes += POSTINGS_BYTES + 8L * list.ids.length;
+            }
+            int capacity = list.ids.length;
+            list.add(row.getStudentId());
+            bytes += 8L * (list.ids.length - capacity);
+        }
+        estimatedBytes += bytes;
+    }
+
+    private void removeDocument(Long studentId) {
+        String[] values = documents.remove(studentId);
+        if (values == null) {
+            return;
+        }
+        long bytes = documentBytes(values);
+        for (long gram : grams(values)) {
+            Postings list = postings.get(gram);
+            if (list != null && list.remove(studentId) && list.size == 0) {
+                postings.remove(gram);
+                bytes += POSTINGS_BYTES + 8L * list.ids.length;
+            }
+        }
+        estimatedBytes -= bytes;
+    }
+
+    private static long documentBytes(String[] values) {
+        long bytes = DOCUMENT_BYTES;
+        for (String value : values) {
+            bytes += STRING_OVERHEAD_BYTES + value.length();
+        }
+        return bytes;
+    }
+
+    private long[] candidates(String needle) {
+        Set<Long> needleGrams = grams(new String[]{needle});
+        Postings[] lists = new Postings[needleGrams.size()];
+        int i = 0;
+        for (long gram : needleGrams) {
+            Postings list = postings.get(gram);
+            if (list == null) {
+                return new long[0];
+            }
+            lists[i++] = list;
+        }
+        // Walk the shortest list and probe the others
+        Arrays.sort(lists, Comparator.comparingInt(list -> list.size));
+        long[] result = new long[lists[0].size];
+        int found = 0;
+        for (int k = 0; k < lists[0].size; k++) {
+            long id = lists[0].ids[k];
+            boolean inAll = true;
+            for (int j = 1; j < lists.length && inAll; j++) {
+                inAll = lists[j].contains(id);
+            }
+            if (inAll) {
+                result[found++] = id;
+            }
+        }
+        return Arrays.copyOf(result, found);
+    }
+
+    private static void collect(PriorityQueue<Match> best, long studentId, String[] values,
+                                String needle, Set<Field> fields, int maxResults) {
+        int score = 0;
+        for (Field field : fields) {
+            String value = values[field.ordinal()];
+            if (value.equals(needle)) {
+                score += EXACT_SCORE[field.ordinal()];
+            } else if (value.startsWith(needle)) {
+                score += PREFIX_SCORE[field.ordinal()];
+            } else if (value.contains(needle)) {
+                score += CONTAINS_SCORE[field.ordinal()];
+            }
+        }
+        if (score == 0) {
+            return;
+        }
+        best.offer(new Match(studentId, score));
+        if (best.size() > maxResults) {
+            best.poll();
+        }
+    }
+
+    private static Set<Long> grams(String[] values) {
+        Set<Long> grams = new LinkedHashSet<>();
+        for (String value : values) {
+            for (int i = 0; i + GRAM_LENGTH <= value.length(); i++) {
+                grams.add(((long) value.charAt(i) << 32) | ((long) value.charAt(i + 1) << 16) | value.charAt(i + 2));
+            }
+        }
+        return grams;
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static final class Match {
+        // Lowest score first, ties broken so the lower id ranks higher
+        static final Comparator<Match> WORST_FIRST = Comparator.<Match>comparingInt(match -> match.score)
+                .thenComparing(match -> match.studentId, Comparator.reverseOrder());
+
+        final long studentId;
+        final int score;
+
+        Match(long studentId, int score) {
+            this.studentId = studentId;
+            this.score = score;
+        }
+    }
+
+    // Sorted, growable list of student ids for one gram
+    private static final class Postings {
+        long[] ids = new long[4];
+        int size;
+
+        void add(long id) {
+            int pos = Arrays.binarySearch(ids, 0, size, id);
+            if (pos >= 0) {
+                return;
+            }
+            int insertAt = -pos - 1;
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+            ids[insertAt] = id;
+            size++;
+        }
+
+        boolean remove(long id) {
+            int pos = Arrays.binarySearch(ids, 0, size, id);
+            if (pos < 0) {
+                return false;
+            }
+            System.arraycopy(ids, pos + 1, ids, pos, size - pos - 1);
+            size--;
+            return true;
+        }
+
+        boolean contains(long id) {
+            return Arrays.binarySearch(ids, 0, size, id) >= 0;
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.example.student_management.service;
 
+import com.example.student_management.dto.CursorPage;
+import com.example.student_management.dto.StudentListItem;
 import com.example.student_management.enums.StudentStatus;
 import com.example.student_management.model.Student;
 import java.math.BigDecimal;
@@ -10,13 +12,16 @@ public interface StudentService {
     Student createStudent(Student student);
 
     // Read operations
-    List<Student> getAllStudents();
+    List<StudentListItem> getAllStudents();
+    CursorPage<StudentListItem> getStudentsPage(Long after, Integer limit);
     Student getStudentById(Long id);
+    // Changes whenever getStudentById(id) would return different JSON
+    String getStudentVersion(Long id);
     Student getStudentByStudentNumber(String studentNumber);
     Student getStudentByEmail(String email);
     List<Student> getStudentsByDepartment(Long departmentId);
     List<Student> getStudentsByStatus(StudentStatus status);
-    List<Student> searchStudentsByName(String name);
+    List<StudentListItem> searchStudentsByName(String name);
 
     // Update operations
     Student updateStudent(Long id, Student student);
@@ -32,6 +37,6 @@ public interface StudentService {
     // Statistics operations
     long countStudentsByDepartment(Long departmentId);
     List<Student> getStudentsWithMinGpa(Double minGpa);
-    List<Student> searchStudents(String keyword);
-    List<Student> filterStudents(StudentStatus status, Long departmentId, BigDecimal minGpa);
+    List<StudentListItem> searchStudents(String keyword);
+    List<StudentListItem> filterStudents(StudentStatus status, Long departmentId, BigDecimal minGpa);
 }
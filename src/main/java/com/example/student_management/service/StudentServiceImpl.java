@@ -1,27 +1,45 @@
 package com.example.student_management.service;
 
+import com.example.student_management.dto.CursorPage;
+import com.example.student_management.dto.StudentListItem;
 import com.example.student_management.enums.StudentStatus;
 import com.example.student_management.exception.ResourceNotFoundException;
 import com.example.student_management.model.Student;
-import com.example.student_management.repository.DepartmentRepository;
 import com.example.student_management.repository.StudentRepository;
 import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional
 public class StudentServiceImpl implements StudentService {
     private final StudentRepository studentRepository;
-    private final DepartmentRepository departmentRepository;
+    private final DepartmentService departmentService;
+    private final StudentSearchIndex studentSearchIndex;
+    private final StudentExistenceGuard studentExistenceGuard;
+    private final int searchMaxResults;
 
     public StudentServiceImpl(StudentRepository studentRepository,
-                              DepartmentRepository departmentRepository) {
+                              DepartmentService departmentService,
+                              StudentSearchIndex studentSearchIndex,
+                              StudentExistenceGuard studentExistenceGuard,
+                              @Value("${students.search.max-results:100}") int searchMaxResults) {
         this.studentRepository = studentRepository;
-        this.departmentRepository = departmentRepository;
+        this.departmentService = departmentService;
+        this.studentSearchIndex = studentSearchIndex;
+        this.studentExistenceGuard = studentExistenceGuard;
+        this.searchMaxResults = searchMaxResults;
     }
 
     @Override
@@ -35,10 +53,13 @@ public class StudentServiceImpl implements StudentService {
         {
             throw new RuntimeException("Email already exists" + student.getEmail());
         }
+        // A new student has no graded enrollments yet
+        if (StudentGpaWriter.changesGpa(student.getGpa(), BigDecimal.ZERO)) {
+            throw new RuntimeException(StudentGpaWriter.GPA_NOT_WRITABLE);
+        }
+        student.setGpa(BigDecimal.ZERO);
         if (student.getDepartment() != null && student.getDepartment().getDepartmentId() != null) {
-            var department = departmentRepository.findById(student.getDepartment().getDepartmentId())
-                    .orElseThrow(() -> new ResourceNotFoundException(
-                            "Department not found with id: " + student.getDepartment().getDepartmentId()));
+            var department = departmentService.getDepartmentById(student.getDepartment().getDepartmentId());
             student.setDepartment(department);  // ✅ FIX: Actually set the fetched department
         }
 
@@ -51,12 +72,22 @@ public class StudentServiceImpl implements StudentService {
         student.setCreatedAt(LocalDateTime.now());
         student.setUpdatedAt(LocalDateTime.now());
 
-        return studentRepository.save(student);
+        Student saved = studentRepository.save(student);
+        TransactionCallbacks.afterCommit(() -> studentSearchIndex.index(saved));
+        return saved;
+    }
+
+    @Override
+    public List<StudentListItem> getAllStudents() {
+        return studentRepository.findListItems();
     }
 
     @Override
-    public List<Student> getAllStudents() {
-        return studentRepository.findAll();
+    public CursorPage<StudentListItem> getStudentsPage(Long after, Integer limit) {
+        int pageSize = CursorPage.resolveLimit(limit);
+        List<StudentListItem> rows = studentRepository.findListItemsAfter(
+                CursorPage.resolveAfter(after), Limit.of(pageSize + 1));
+        return CursorPage.of(rows, pageSize, StudentListItem::getStudentId);
     }
 
     @Override
@@ -65,6 +96,15 @@ public class StudentServiceImpl implements StudentService {
                 .orElseThrow(() -> new ResourceNotFoundException("Student not found with id: " + id));
     }
 
+    @Override
+    public String getStudentVersion(Long id) {
+        List<Object[]> version = studentRepository.findVersionById(id);
+        if (version.isEmpty()) {
+            throw new ResourceNotFoundException("Student not found with id: " + id);
+        }
+        return "student:" + id + ":" + Arrays.toString(version.get(0));
+    }
+
     @Override
     public Student getStudentByStudentNumber(String studentNumber) {
         return studentRepository.findByStudentNumber(studentNumber)
@@ -81,8 +121,7 @@ public class StudentServiceImpl implements StudentService {
     @Override
     public List<Student> getStudentsByDepartment(Long departmentId) {
         // Verify department exists
-        departmentRepository.findById(departmentId)
-                .orElseThrow(() -> new ResourceNotFoundException("Department not found with id: " + departmentId));
+        departmentService.getDepartmentById(departmentId);
 
         return studentRepository.findByDepartmentDepartmentId(departmentId);
     }
@@ -93,8 +132,13 @@ public class StudentServiceImpl implements StudentService {
     }
 
     @Override
-    public List<Student> searchStudentsByName(String name) {
-        return studentRepository.findByFirstNameContainingIgnoreCaseOrLastNameContainingIgnoreCase(name, name);
+    public List<StudentListItem> searchStudentsByName(String name) {
+        if (!studentSearchIndex.isReady()) {
+            return studentRepository.searchListItemsByName(name, Limit.of(searchMaxResults));
+        }
+        return findInOrder(studentSearchIndex.search(name,
+                EnumSet.of(StudentSearchIndex.Field.FIRST_NAME, StudentSearchIndex.Field.LAST_NAME),
+                searchMaxResults));
     }
 
     @Override
@@ -114,12 +158,15 @@ public class StudentServiceImpl implements StudentService {
             throw new RuntimeException("Email already exists: " + studentDetails.getEmail());
         }
 
-        // Validation 3: Verify department exists if changed
+        // Validation 3: GPA follows graded enrollments, an edited value is refused rather than dropped
+        if (StudentGpaWriter.changesGpa(studentDetails.getGpa(), student.getGpa())) {
+            throw new RuntimeException(StudentGpaWriter.GPA_NOT_WRITABLE);
+        }
+
+        // Validation 4: Verify department exists if changed
         if (studentDetails.getDepartment() != null &&
                 studentDetails.getDepartment().getDepartmentId() != null) {
-            departmentRepository.findById(studentDetails.getDepartment().getDepartmentId())
-                    .orElseThrow(() -> new ResourceNotFoundException(
-                            "Department not found with id: " + studentDetails.getDepartment().getDepartmentId()));
+            departmentService.getDepartmentById(studentDetails.getDepartment().getDepartmentId());
         }
 
         // Update fields
@@ -133,11 +180,12 @@ public class StudentServiceImpl implements StudentService {
         student.setDepartment(studentDetails.getDepartment());
         student.setEnrollmentDate(studentDetails.getEnrollmentDate());
         student.setStudentStatus(studentDetails.getStudentStatus());
-        student.setGpa(studentDetails.getGpa());
         student.setUpdatedAt(LocalDateTime.now());
 
         // Save and return
-        return studentRepository.save(student);
+        Student saved = studentRepository.save(student);
+        TransactionCallbacks.afterCommit(() -> studentSearchIndex.index(saved));
+        return saved;
 
     }
     @Override
@@ -152,6 +200,10 @@ public class StudentServiceImpl implements StudentService {
     public void deleteStudent(Long id) {
         Student student = getStudentById(id);
         studentRepository.delete(student);
+        TransactionCallbacks.afterCommit(() -> {
+            studentSearchIndex.remove(id);
+            studentExistenceGuard.forget(id);
+        });
     }
 
     @Override
@@ -178,16 +230,32 @@ public class StudentServiceImpl implements StudentService {
         return studentRepository.findStudentsWithMinGpa(minGpa);
     }
     @Override
-    public List<Student> searchStudents(String keyword) {
+    public List<StudentListItem> searchStudents(String keyword) {
         if (keyword == null || keyword.trim().isEmpty()) {
-            return studentRepository.findAll();
+            return studentRepository.findListItems();
+        }
+        // Fall back to the LIKE scan until the index has finished warming up, under the same cap
+        if (!studentSearchIndex.isReady()) {
+            return studentRepository.searchListItems(keyword.trim(), Limit.of(searchMaxResults));
         }
-        return studentRepository.searchStudents(keyword.trim());
+        return findInOrder(studentSearchIndex.search(keyword, StudentSearchIndex.ALL_FIELDS, searchMaxResults));
     }
 
     @Override
-    public List<Student> filterStudents(StudentStatus status, Long departmentId, BigDecimal minGpa) {
+    public List<StudentListItem> filterStudents(StudentStatus status, Long departmentId, BigDecimal minGpa) {
         return studentRepository.filterStudents(status, departmentId, minGpa);
     }
 
+    // Load students by id in one query, keeping the order of the ids
+    private List<StudentListItem> findInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, StudentListItem> byId = studentRepository.findListItemsByIdIn(ids).stream()
+                .collect(Collectors.toMap(StudentListItem::getStudentId, Function.identity()));
+        return ids.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
 }
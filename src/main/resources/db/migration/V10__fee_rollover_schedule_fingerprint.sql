@@ -0,0 +1,3 @@
+-- The fee schedule and due date a semester's roll-over was planned with (FeeRolloverServiceImpl),
+-- so a rerun with a different one is rejected. Semesters planned before this have none.
+ALTER TABLE fee_rollover_checkpoints ADD COLUMN schedule_fingerprint VARCHAR(64);
@@ -0,0 +1,106 @@
+-- Schema as Hibernate generated it from the entities before migrations were introduced.
+-- Databases that already have these tables are baselined at version 1 and skip this script.
+
+CREATE TABLE departments (
+    department_id       BIGINT NOT NULL AUTO_INCREMENT,
+    department_code     VARCHAR(255) NOT NULL,
+    department_name     VARCHAR(255) NOT NULL,
+    head_of_department  VARCHAR(255),
+    building            VARCHAR(255),
+    phone               VARCHAR(255),
+    email               VARCHAR(255),
+    established_year    INTEGER,
+    created_at          DATETIME(6),
+    updated_at          DATETIME(6),
+    PRIMARY KEY (department_id),
+    CONSTRAINT uk_departments_department_code UNIQUE (department_code)
+) ENGINE=InnoDB;
+
+CREATE TABLE students (
+    student_id          BIGINT NOT NULL AUTO_INCREMENT,
+    student_number      VARCHAR(255) NOT NULL,
+    first_name          VARCHAR(255) NOT NULL,
+    last_name           VARCHAR(255) NOT NULL,
+    email               VARCHAR(255) NOT NULL,
+    phone               VARCHAR(255),
+    date_of_birth       DATE,
+    gender              ENUM ('Female','Male','Other','Prefer_not_to_say'),
+    department_id       BIGINT NOT NULL,
+    enrollment_date     DATE NOT NULL,
+    student_status      ENUM ('Active','Graduated','Inactive','Suspended'),
+    gpa                 DECIMAL(38,2),
+    created_at          DATETIME(6),
+    updated_at          DATETIME(6),
+    PRIMARY KEY (student_id),
+    CONSTRAINT uk_students_student_number UNIQUE (student_number),
+    CONSTRAINT uk_students_email UNIQUE (email),
+    CONSTRAINT fk_students_department FOREIGN KEY (department_id) REFERENCES departments (department_id)
+) ENGINE=InnoDB;
+
+CREATE TABLE courses (
+    course_id           BIGINT NOT NULL AUTO_INCREMENT,
+    course_code         VARCHAR(255) NOT NULL,
+    course_name         VARCHAR(255) NOT NULL,
+    course_description  TEXT,
+    credits             INTEGER NOT NULL,
+    department_id       BIGINT NOT NULL,
+    instructor_name     VARCHAR(255),
+    semester            VARCHAR(255),
+    max_students        INTEGER,
+    is_active           BIT,
+    created_at          DATETIME(6),
+    updated_at          DATETIME(6),
+    PRIMARY KEY (course_id),
+    CONSTRAINT uk_courses_course_code UNIQUE (course_code),
+    CONSTRAINT fk_courses_department FOREIGN KEY (department_id) REFERENCES departments (department_id)
+) ENGINE=InnoDB;
+
+CREATE TABLE enrollments (
+    enrollment_id           BIGINT NOT NULL AUTO_INCREMENT,
+    student_id              BIGINT NOT NULL,
+    course_id               BIGINT NOT NULL,
+    enrollment_date         DATE NOT NULL,
+    grade                   VARCHAR(255),
+    grade_points            DECIMAL(38,2),
+    attendance_percentage   DECIMAL(38,2),
+    status                  ENUM ('Completed','Dropped','Enrolled','Withdrawn'),
+    created_at              DATETIME(6),
+    updated_at              DATETIME(6),
+    PRIMARY KEY (enrollment_id),
+    CONSTRAINT fk_enrollments_student FOREIGN KEY (student_id) REFERENCES students (student_id),
+    CONSTRAINT fk_enrollments_course FOREIGN KEY (course_id) REFERENCES courses (course_id)
+) ENGINE=InnoDB;
+
+CREATE TABLE fees (
+    fee_id          BIGINT NOT NULL AUTO_INCREMENT,
+    student_id      BIGINT NOT NULL,
+    semester        VARCHAR(255) NOT NULL,
+    fee_type        ENUM ('Hostel','Lab','Library','Other','Sports','Tuition') NOT NULL,
+    amount          DECIMAL(38,2) NOT NULL,
+    paid_amount     DECIMAL(38,2),
+    due_date        DATE NOT NULL,
+    payment_date    DATE,
+    payment_status  ENUM ('Overdue','Paid','Partial','Pending'),
+    payment_method  ENUM ('Card','Cash','Cheque','Online'),
+    transaction_id  VARCHAR(255),
+    created_at      DATETIME(6),
+    updated_at      DATETIME(6),
+    PRIMARY KEY (fee_id),
+    CONSTRAINT fk_fees_student FOREIGN KEY (student_id) REFERENCES students (student_id)
+) ENGINE=InnoDB;
+
+CREATE TABLE addresses (
+    address_id      BIGINT NOT NULL AUTO_INCREMENT,
+    student_id      BIGINT NOT NULL,
+    address_type    ENUM ('Current','Permanent') NOT NULL,
+    street_address  VARCHAR(255),
+    city            VARCHAR(255),
+    state           VARCHAR(255),
+    postal_code     VARCHAR(255),
+    country         VARCHAR(255),
+    is_primary      BIT,
+    created_at      DATETIME(6),
+    updated_at      DATETIME(6),
+    PRIMARY KEY (address_id),
+    CONSTRAINT fk_addresses_student FOREIGN KEY (student_id) REFERENCES students (student_id)
+) ENGINE=InnoDB;
@@ -0,0 +1,6 @@
+-- Enrolled students per course, kept by the enrollment writers so seat checks do not count rows.
+ALTER TABLE courses ADD COLUMN enrolled_count INTEGER NOT NULL DEFAULT 0;
+
+-- Backfill, same count as CourseRepository.reconcileEnrolledCounts
+UPDATE courses SET enrolled_count = (SELECT COUNT(*) FROM enrollments e
+    WHERE e.course_id = courses.course_id AND e.status = 'Enrolled');
@@ -0,0 +1,24 @@
+-- Running fee totals per student and semester, kept by FeeLedgerWriter so fee summaries do not
+-- aggregate the fees table.
+CREATE TABLE fee_ledgers (
+    student_id          BIGINT NOT NULL,
+    semester            VARCHAR(255) NOT NULL,
+    fee_count           BIGINT NOT NULL,
+    total_amount        DECIMAL(38,2) NOT NULL,
+    paid_amount         DECIMAL(38,2) NOT NULL,
+    outstanding_amount  DECIMAL(38,2) NOT NULL,
+    pending_count       BIGINT NOT NULL,
+    overdue_count       BIGINT NOT NULL,
+    updated_at          DATETIME(6),
+    PRIMARY KEY (student_id, semester)
+) ENGINE=InnoDB;
+
+-- Backfill, same totals as FeeLedgerRepository.rebuildFromFees
+INSERT INTO fee_ledgers (student_id, semester, fee_count, total_amount, paid_amount, outstanding_amount,
+                         pending_count, overdue_count, updated_at)
+SELECT student_id, semester, COUNT(*), SUM(amount), SUM(COALESCE(paid_amount, 0)),
+       SUM(CASE WHEN payment_status = 'Paid' THEN 0 ELSE amount - COALESCE(paid_amount, 0) END),
+       SUM(CASE WHEN payment_status = 'Pending' THEN 1 ELSE 0 END),
+       SUM(CASE WHEN payment_status = 'Overdue' THEN 1 ELSE 0 END),
+       CURRENT_TIMESTAMP
+FROM fees GROUP BY student_id, semester;
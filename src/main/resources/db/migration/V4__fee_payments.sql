@@ -0,0 +1,11 @@
+-- Posted payments by transaction id, so a retried batch payment is applied once.
+CREATE TABLE fee_payments (
+    payment_id      BIGINT NOT NULL AUTO_INCREMENT,
+    fee_id          BIGINT NOT NULL,
+    transaction_id  VARCHAR(255) NOT NULL,
+    amount          DECIMAL(38,2) NOT NULL,
+    payment_method  ENUM ('Card','Cash','Cheque','Online'),
+    created_at      DATETIME(6),
+    PRIMARY KEY (payment_id),
+    CONSTRAINT uk_fee_payments_transaction_id UNIQUE (transaction_id)
+) ENGINE=InnoDB;
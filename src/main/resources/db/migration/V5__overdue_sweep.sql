@@ -0,0 +1,9 @@
+-- OverdueFeeSweeper: how far each job has swept, and the status lookup it and getOverdueFees run.
+CREATE TABLE job_watermarks (
+    job_name            VARCHAR(255) NOT NULL,
+    processed_before    DATE NOT NULL,
+    updated_at          DATETIME(6),
+    PRIMARY KEY (job_name)
+) ENGINE=InnoDB;
+
+CREATE INDEX idx_fees_status_due_date ON fees (payment_status, due_date);
@@ -0,0 +1,25 @@
+-- Secondary indexes for the filters the repositories run. Leading columns follow the equality
+-- predicates, so one index also serves the shorter prefixes (e.g. fees by student alone).
+
+-- fees: by student (+ status), by semester (+ student); status and due-date lookups use
+-- idx_fees_status_due_date from V5
+CREATE INDEX idx_fees_student_status ON fees (student_id, payment_status);
+CREATE INDEX idx_fees_semester_student ON fees (semester, student_id);
+
+-- enrollments: by student (+ course, the duplicate-enrollment check), by course (+ status), by status
+CREATE INDEX idx_enrollments_student_course ON enrollments (student_id, course_id);
+CREATE INDEX idx_enrollments_course_status ON enrollments (course_id, status);
+CREATE INDEX idx_enrollments_status ON enrollments (status);
+
+-- students: by department (+ status), by status (+ GPA floor), GPA ranges
+CREATE INDEX idx_students_department_status ON students (department_id, student_status);
+CREATE INDEX idx_students_status_gpa ON students (student_status, gpa);
+CREATE INDEX idx_students_gpa ON students (gpa);
+
+-- addresses: by student (+ primary flag), by city, by state
+CREATE INDEX idx_addresses_student_primary ON addresses (student_id, is_primary);
+CREATE INDEX idx_addresses_city ON addresses (city);
+CREATE INDEX idx_addresses_state ON addresses (state);
+
+-- courses: by semester; by department uses the foreign key index
+CREATE INDEX idx_courses_semester ON courses (semester);
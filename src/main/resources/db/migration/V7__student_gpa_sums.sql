@@ -0,0 +1,16 @@
+-- Running sums behind students.gpa: credits of graded (Completed, with grade points) enrollments
+-- and their quality points (credits x grade points). GPA = quality_points / graded_credits.
+ALTER TABLE students ADD COLUMN graded_credits BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE students ADD COLUMN quality_points DECIMAL(38,2) NOT NULL DEFAULT 0;
+
+-- Backfill, same statement as StudentRepository.recomputeAllGpa
+UPDATE students SET
+    graded_credits = COALESCE((SELECT SUM(c.credits) FROM enrollments e
+        JOIN courses c ON c.course_id = e.course_id
+        WHERE e.student_id = students.student_id AND e.status = 'Completed' AND e.grade_points IS NOT NULL), 0),
+    quality_points = COALESCE((SELECT SUM(c.credits * e.grade_points) FROM enrollments e
+        JOIN courses c ON c.course_id = e.course_id
+        WHERE e.student_id = students.student_id AND e.status = 'Completed' AND e.grade_points IS NOT NULL), 0),
+    gpa = COALESCE((SELECT ROUND(SUM(c.credits * e.grade_points) / NULLIF(SUM(c.credits), 0), 2) FROM enrollments e
+        JOIN courses c ON c.course_id = e.course_id
+        WHERE e.student_id = students.student_id AND e.status = 'Completed' AND e.grade_points IS NOT NULL), 0);
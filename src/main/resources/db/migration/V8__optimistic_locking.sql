@@ -0,0 +1,4 @@
+-- Row versions for optimistic locking (@Version on Fee and Enrollments).
+-- Bulk and JDBC writers of these tables bump version themselves.
+ALTER TABLE fees ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE enrollments ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,13 @@
+-- Progress of semester fee roll-overs (FeeRolloverServiceImpl). Each run splits the active students
+-- into id ranges; a partition's row advances in the same transaction as the fees of each chunk.
+CREATE TABLE fee_rollover_checkpoints (
+    semester            VARCHAR(255) NOT NULL,
+    partition_no        INT NOT NULL,
+    first_student_id    BIGINT NOT NULL,
+    last_student_id     BIGINT NOT NULL,
+    processed_through   BIGINT NOT NULL,
+    fees_created        BIGINT NOT NULL DEFAULT 0,
+    completed           BOOLEAN NOT NULL DEFAULT FALSE,
+    updated_at          DATETIME(6),
+    PRIMARY KEY (semester, partition_no)
+) ENGINE=InnoDB;
@@ -0,0 +1,159 @@
+package com.example.student_management.controller;
+
+import com.example.student_management.model.Courses;
+import com.example.student_management.model.Department;
+import com.example.student_management.model.Enrollments;
+import com.example.student_management.model.Student;
+import com.example.student_management.repository.CourseRepository;
+import com.example.student_management.repository.DepartmentRepository;
+import com.example.student_management.repository.EnrollmentRepository;
+import com.example.student_management.repository.StudentRepository;
+import com.example.student_management.service.EnrollmentService;
+import com.example.student_management.service.SeatAllocator;
+import com.example.student_management.support.QueryCounter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class BulkEnrollmentTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private DepartmentRepository departmentRepository;
+    @Autowired
+    private StudentRepository studentRepository;
+    @Autowired
+    private CourseRepository courseRepository;
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+    @Autowired
+    private EnrollmentService enrollmentService;
+    @Autowired
+    private SeatAllocator seatAllocator;
+
+    private String suffix;
+    private Department department;
+
+    @BeforeEach
+    void seed() {
+        suffix = Long.toString(System.nanoTime());
+        department = new Department();
+        department.setDepartmentCode("BE" + suffix);
+        department.setDepartmentName("Bulk Enrollment");
+        department = departmentRepository.save(department);
+    }
+
+    @Test
+    void cohortFillsTheRemainingSeatsAndReportsTheRest() throws Exception {
+        Courses course = course("A", 5);
+        List<Student> cohort = students(7);
+        enrollmentService.enrollStudentInCourse(cohort.get(0).getStudentId(), course.getCourseId());
+
+        List<Long> ids = new ArrayList<>();
+        cohort.forEach(student -> ids.add(student.getStudentId()));
+        ids.add(cohort.get(1).getStudentId());
+        ids.add(-1L);
+
+        mockMvc.perform(post("/api/enrollments/bulk").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"courseId\":" + course.getCourseId() + ",\"studentIds\":" + ids + "}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(9))
+                .andExpect(jsonPath("$.enrolled").value(4))
+                .andExpect(jsonPath("$.duplicates").value(2))
+                .andExpect(jsonPath("$.rejected").value(3))
+                .andExpect(jsonPath("$.rows[0].message").value("Student is already enrolled in this course"))
+                .andExpect(jsonPath("$.rows[1].outcome").value("Enrolled"))
+                .andExpect(jsonPath("$.rows[5].message").value("Course is full. No available seats."))
+                .andExpect(jsonPath("$.rows[7].message").value("Listed earlier in the request"))
+                .andExpect(jsonPath("$.rows[8].message").value("Student not found with id: -1"));
+
+        // Seat counter, enrolled count and rows agree, and the new rows start at version 0
+        assertEquals(5, seatAllocator.seatsTaken(course.getCourseId()));
+        assertEquals(5, courseRepository.findById(course.getCourseId()).orElseThrow().getEnrolledCount());
+        List<Enrollments> enrollments = enrollmentRepository.findByCourseCourseId(course.getCourseId());
+        assertEquals(5, enrollments.size());
+        Enrollments bulk = enrollmentService.getEnrollmentByStudentAndCourse(cohort.get(1).getStudentId(),
+                course.getCourseId());
+        assertEquals(0L, bulk.getVersion());
+    }
+
+    @Test
+    void largeCohortCostsAFixedNumberOfStatements() throws Exception {
+        Courses course = course("B", 400);
+        String ids = students(300).stream()
+                .map(student -> student.getStudentId().toString())
+                .collect(Collectors.joining(",", "[", "]"));
+
+        // Students, courses, existing pairs, seat count and enrolled count; the inserts are one JDBC batch
+        QueryCounter.assertMaxStatements(5, "300-student cohort", () -> mockMvc
+                .perform(post("/api/enrollments/bulk").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"courseId\":" + course.getCourseId() + ",\"studentIds\":" + ids + "}"))
+                .andExpect(jsonPath("$.enrolled").value(300)));
+
+        assertEquals(300, courseRepository.findById(course.getCourseId()).orElseThrow().getEnrolledCount());
+        assertEquals(300, enrollmentRepository.countByCourseCourseId(course.getCourseId()));
+    }
+
+    @Test
+    void studentIntoSeveralCourses() throws Exception {
+        Student student = students(1).get(0);
+        Courses first = course("C", 10);
+        Courses second = course("D", 10);
+
+        mockMvc.perform(post("/api/enrollments/bulk").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"studentId\":" + student.getStudentId() + ",\"courseIds\":["
+                                + first.getCourseId() + "," + second.getCourseId() + ",-1]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.enrolled").value(2))
+                .andExpect(jsonPath("$.rows[2].message").value("Course not found with id: -1"));
+        assertEquals(2, enrollmentRepository.countByStudentStudentId(student.getStudentId()));
+
+        // A request must name exactly one side
+        mockMvc.perform(post("/api/enrollments/bulk").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"studentId\":" + student.getStudentId() + ",\"courseId\":" + first.getCourseId()
+                                + ",\"courseIds\":[" + second.getCourseId() + "]}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private Courses course(String code, int seats) {
+        Courses course = new Courses();
+        course.setCourseCode("BE" + code + suffix);
+        course.setCourseName("Course " + code);
+        course.setCredits(3);
+        course.setMaxStudents(seats);
+        course.setDepartment(department);
+        return courseRepository.save(course);
+    }
+
+    private List<Student> students(int count) {
+        List<Student> students = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Student student = new Student();
+            student.setStudentNumber("BE" + suffix + "-" + i);
+            student.setFirstName("Bulk");
+            student.setLastName("Student " + i);
+            student.setEmail("be" + suffix + "-" + i + "@example.com");
+            student.setDepartment(department);
+            student.setEnrollmentDate(LocalDate.now());
+            students.add(student);
+        }
+        return studentRepository.saveAll(students);
+    }
+}
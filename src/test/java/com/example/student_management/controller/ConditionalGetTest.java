@@ -0,0 +1,203 @@
+package com.example.student_management.controller;
+
+import com.example.student_management.config.RequestQueryStats;
+import com.example.student_management.model.Courses;
+import com.example.student_management.model.Department;
+import com.example.student_management.model.Enrollments;
+import com.example.student_management.model.Student;
+import com.example.student_management.repository.CourseRepository;
+import com.example.student_management.repository.DepartmentRepository;
+import com.example.student_management.repository.StudentRepository;
+import com.example.student_management.service.DepartmentService;
+import com.example.student_management.service.EnrollmentService;
+import com.example.student_management.support.QueryCounter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+// ETags on polled read endpoints: a matching If-None-Match is a 304 answered from the version query alone,
+// and the tag differs per body format
+@SpringBootTest
+@AutoConfigureMockMvc
+class ConditionalGetTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private DepartmentRepository departmentRepository;
+    @Autowired
+    private StudentRepository studentRepository;
+    @Autowired
+    private CourseRepository courseRepository;
+    @Autowired
+    private DepartmentService departmentService;
+    @Autowired
+    private EnrollmentService enrollmentService;
+
+    private Department department;
+    private Student student;
+    private String suffix;
+
+    @BeforeEach
+    void seed() {
+        suffix = Long.toString(System.nanoTime());
+
+        department = new Department();
+        department.setDepartmentCode("CG" + suffix);
+        department.setDepartmentName("Conditional");
+        department = departmentRepository.save(department);
+
+        student = new Student();
+        student.setStudentNumber("CG" + suffix);
+        student.setFirstName("Cond");
+        student.setLastName("Get");
+        student.setEmail("cg" + suffix + "@example.com");
+        student.setDepartment(department);
+        student.setEnrollmentDate(LocalDate.now());
+        student = studentRepository.save(student);
+    }
+
+    @Test
+    void courseListRevalidatesWithoutLoadingCourses() throws Exception {
+        Courses course = course("A");
+        MockHttpServletResponse first = fetch("/api/courses", null);
+        assertEquals(200, first.getStatus());
+        String etag = first.getHeader(HttpHeaders.ETAG);
+        assertNotNull(etag);
+        assertTrue(first.getHeader(HttpHeaders.CACHE_CONTROL).contains("max-age=60"));
+
+        RequestQueryStats stats = QueryCounter.count(() -> {
+            MockHttpServletResponse revalidated = fetch("/api/courses", etag);
+            assertEquals(304, revalidated.getStatus());
+            assertEquals(etag, revalidated.getHeader(HttpHeaders.ETAG));
+            assertEquals("", revalidated.getContentAsString());
+        });
+        // Course and department versions, no course rows
+        assertEquals(2, stats.getStatements(), String.join("\n", stats.getSql()));
+        assertEquals(0, stats.getEntitiesLoaded());
+
+        // A seat taken leaves the course JSON alone, the live count is on the seats endpoint
+        assertFalse(first.getContentAsString().contains("enrolledCount"));
+        enrollmentService.enrollStudentInCourse(student.getStudentId(), course.getCourseId());
+        assertEquals(304, fetch("/api/courses", etag).getStatus());
+        String seats = fetch("/api/courses/" + course.getCourseId() + "/seats", null).getContentAsString();
+        assertTrue(seats.contains("\"enrolled\":1"), seats);
+
+        // A new course moves the ETag
+        course("B");
+        MockHttpServletResponse afterCreate = fetch("/api/courses", etag);
+        assertEquals(200, afterCreate.getStatus());
+        assertNotEquals(etag, afterCreate.getHeader(HttpHeaders.ETAG));
+    }
+
+    @Test
+    void departmentListChangesWithAnyDepartment() throws Exception {
+        String etag = fetch("/api/departments", null).getHeader(HttpHeaders.ETAG);
+        assertEquals(304, fetch("/api/departments", etag).getStatus());
+
+        Department details = departmentRepository.findById(department.getDepartmentId()).orElseThrow();
+        details.setDepartmentName("Renamed " + suffix);
+        departmentService.updateDepartment(department.getDepartmentId(), details);
+
+        MockHttpServletResponse changed = fetch("/api/departments", etag);
+        assertEquals(200, changed.getStatus());
+        assertTrue(changed.getContentAsString().contains("Renamed " + suffix));
+        // Courses embed their department, so the course list moves with it
+        assertNotEquals(etag, changed.getHeader(HttpHeaders.ETAG));
+    }
+
+    @Test
+    void studentEtagFollowsGpaAndDepartment() throws Exception {
+        String path = "/api/students/" + student.getStudentId();
+        MockHttpServletResponse first = fetch(path, null);
+        String etag = first.getHeader(HttpHeaders.ETAG);
+        assertTrue(first.getHeader(HttpHeaders.CACHE_CONTROL).contains("no-cache"));
+
+        RequestQueryStats stats = QueryCounter.count(() -> assertEquals(304, fetch(path, etag).getStatus()));
+        assertEquals(1, stats.getStatements(), String.join("\n", stats.getSql()));
+        assertEquals(0, stats.getEntitiesLoaded());
+
+        // The GPA is written by a grade change, which does not touch the student's updatedAt
+        Courses course = course("G");
+        Enrollments enrollment = enrollmentService.enrollStudentInCourse(student.getStudentId(), course.getCourseId());
+        enrollmentService.updateGrade(enrollment.getEnrollmentId(), "A", 4.0);
+        MockHttpServletResponse graded = fetch(path, etag);
+        assertEquals(200, graded.getStatus());
+        assertNotEquals(etag, graded.getHeader(HttpHeaders.ETAG));
+
+        assertEquals(404, fetch("/api/students/-1", etag).getStatus());
+    }
+
+    @Test
+    void eachBodyFormatHasItsOwnEtag() throws Exception {
+        for (String path : new String[] {"/api/courses", "/api/departments", "/api/students/" + student.getStudentId()}) {
+            MockHttpServletResponse json = fetch(path, null, null);
+            MockHttpServletResponse cbor = fetch(path, null, "application/cbor");
+            MockHttpServletResponse smile = fetch(path, null, "application/x-jackson-smile");
+            assertEquals("application/cbor", cbor.getContentType(), path);
+            assertTrue(json.getHeaders(HttpHeaders.VARY).contains(HttpHeaders.ACCEPT), path);
+            String jsonTag = json.getHeader(HttpHeaders.ETAG);
+            String cborTag = cbor.getHeader(HttpHeaders.ETAG);
+            assertNotEquals(jsonTag, cborTag, path);
+            assertNotEquals(jsonTag, smile.getHeader(HttpHeaders.ETAG), path);
+            assertNotEquals(cborTag, smile.getHeader(HttpHeaders.ETAG), path);
+
+            // A JSON client's tag does not revalidate a CBOR request, and the reverse
+            assertEquals(200, fetch(path, jsonTag, "application/cbor").getStatus(), path);
+            assertEquals(200, fetch(path, cborTag, "application/json").getStatus(), path);
+            MockHttpServletResponse revalidated = fetch(path, cborTag, "application/cbor");
+            assertEquals(304, revalidated.getStatus(), path);
+            assertTrue(revalidated.getHeaders(HttpHeaders.VARY).contains(HttpHeaders.ACCEPT), path);
+        }
+
+        // The preferred format wins by quality, then by specificity; no preference means JSON
+        String path = "/api/departments";
+        String jsonTag = fetch(path, null, null).getHeader(HttpHeaders.ETAG);
+        String cborTag = fetch(path, null, "application/cbor").getHeader(HttpHeaders.ETAG);
+        assertEquals(jsonTag, fetch(path, null, "*/*").getHeader(HttpHeaders.ETAG));
+        assertEquals(cborTag, fetch(path, null, "application/json;q=0.5, application/cbor").getHeader(HttpHeaders.ETAG));
+        assertEquals(cborTag, fetch(path, null, "application/*;q=0.9, application/cbor").getHeader(HttpHeaders.ETAG));
+    }
+
+    private MockHttpServletResponse fetch(String path, String ifNoneMatch) throws Exception {
+        return fetch(path, ifNoneMatch, null);
+    }
+
+    private MockHttpServletResponse fetch(String path, String ifNoneMatch, String accept) throws Exception {
+        MockHttpServletRequestBuilder request = get(path);
+        if (ifNoneMatch != null) {
+            request.header(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        if (accept != null) {
+            request.header(HttpHeaders.ACCEPT, accept);
+        }
+        return mockMvc.perform(request).andReturn().getResponse();
+    }
+
+    private Courses course(String code) {
+        Courses course = new Courses();
+        course.setCourseCode("CG" + code + suffix);
+        course.setCourseName("Course " + code);
+        course.setCredits(3);
+        course.setMaxStudents(30);
+        course.setDepartment(department);
+        course.setUpdatedAt(LocalDateTime.now());
+        return courseRepository.save(course);
+    }
+}
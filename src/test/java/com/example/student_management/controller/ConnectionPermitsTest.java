@@ -0,0 +1,97 @@
+package com.example.student_management.controller;
+
+import com.example.student_management.config.ConnectionPermitDataSource;
+import com.example.student_management.model.Department;
+import com.example.student_management.model.Student;
+import com.example.student_management.repository.DepartmentRepository;
+import com.example.student_management.repository.StudentRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+// Virtual-thread mode: far more request threads than connections, queued on the permits.
+// Below Java 21 Boot leaves Tomcat on platform threads, but the permits follow the same switch.
+@SpringBootTest(properties = {
+        "spring.threads.virtual.enabled=true",
+        "datasource.permits.max-concurrent=2",
+        "datasource.permits.timeout-ms=5000"})
+@AutoConfigureMockMvc
+class ConnectionPermitsTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private DataSource dataSource;
+    @Autowired
+    private DepartmentRepository departmentRepository;
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Test
+    void manyConcurrentRequestsShareTwoPermits() throws Exception {
+        String suffix = Long.toString(System.nanoTime());
+        Department department = new Department();
+        department.setDepartmentCode("CP" + suffix);
+        department.setDepartmentName("Permits");
+        department = departmentRepository.save(department);
+        Student student = new Student();
+        student.setStudentNumber("CP" + suffix);
+        student.setFirstName("Con");
+        student.setLastName("Current");
+        student.setEmail("cp" + suffix + "@example.com");
+        student.setDepartment(department);
+        student.setEnrollmentDate(LocalDate.now());
+        Long studentId = studentRepository.save(student).getStudentId();
+
+        ConnectionPermitDataSource permits = (ConnectionPermitDataSource) dataSource;
+        ExecutorService pool = Executors.newFixedThreadPool(32);
+        try {
+            List<Future<Integer>> statuses = new ArrayList<>();
+            for (int i = 0; i < 128; i++) {
+                String uri = i % 2 == 0 ? "/api/enrollments/student/{id}" : "/api/fees/student/{id}";
+                statuses.add(pool.submit(() -> mockMvc.perform(get(uri, studentId))
+                        .andReturn().getResponse().getStatus()));
+            }
+            for (Future<Integer> status : statuses) {
+                assertEquals(200, status.get());
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        assertEquals(2, permits.availablePermits());
+    }
+
+    @Test
+    void waitersTimeOutAndCloseReturnsThePermit() throws Exception {
+        ConnectionPermitDataSource permits = new ConnectionPermitDataSource(dataSource, 1, 100, null);
+        Connection held = permits.getConnection();
+        assertTrue(held.isValid(1));
+        assertThrows(SQLTransientConnectionException.class, permits::getConnection);
+
+        held.close();
+        held.close();
+        assertEquals(1, permits.availablePermits());
+        try (Connection next = permits.getConnection()) {
+            assertTrue(next.isValid(1));
+            assertEquals(0, permits.availablePermits());
+        }
+        assertEquals(1, permits.availablePermits());
+    }
+}
@@ -0,0 +1,182 @@
+package com.example.student_management.controller;
+
+import com.example.student_management.enums.FeeType;
+import com.example.student_management.model.Courses;
+import com.example.student_management.model.Department;
+import com.example.student_management.model.Enrollments;
+import com.example.student_management.model.Fee;
+import com.example.student_management.model.Student;
+import com.example.student_management.repository.CourseRepository;
+import com.example.student_management.repository.DepartmentRepository;
+import com.example.student_management.repository.StudentRepository;
+import com.example.student_management.service.EnrollmentService;
+import com.example.student_management.service.FeeService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Streamed exports: every table row once, CSV fields quoted and escaped where needed
+@SpringBootTest
+@AutoConfigureMockMvc
+class ExportTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private DepartmentRepository departmentRepository;
+    @Autowired
+    private StudentRepository studentRepository;
+    @Autowired
+    private CourseRepository courseRepository;
+    @Autowired
+    private EnrollmentService enrollmentService;
+    @Autowired
+    private FeeService feeService;
+
+    private Student student;
+    private Fee fee;
+    private Enrollments enrollment;
+    private String suffix;
+
+    @BeforeEach
+    void seed() {
+        suffix = Long.toString(System.nanoTime());
+
+        Department department = new Department();
+        department.setDepartmentCode("EX" + suffix);
+        department.setDepartmentName("Exports");
+        department = departmentRepository.save(department);
+
+        student = new Student();
+        student.setStudentNumber("EX" + suffix);
+        student.setFirstName("Ann, \"Jr\"");
+        student.setLastName("Two\nLines");
+        student.setEmail("ex" + suffix + "@example.com");
+        student.setDepartment(department);
+        student.setEnrollmentDate(LocalDate.of(2024, 9, 1));
+        student = studentRepository.save(student);
+
+        Courses course = new Courses();
+        course.setCourseCode("EX" + suffix);
+        course.setCourseName("Exporting");
+        course.setCredits(3);
+        course.setMaxStudents(10);
+        course.setDepartment(department);
+        course.setUpdatedAt(LocalDateTime.now());
+        course = courseRepository.save(course);
+
+        enrollment = enrollmentService.enrollStudentInCourse(student.getStudentId(), course.getCourseId());
+        fee = feeService.createFeeForStudent(student.getStudentId(), "F24", FeeType.Lab,
+                new BigDecimal("120.50"), LocalDate.now().plusDays(30));
+    }
+
+    @Test
+    void studentsCsvQuotesAndEscapesFields() throws Exception {
+        MockHttpServletResponse response = export("/api/students/export?format=csv");
+        assertEquals("text/csv", response.getContentType());
+        assertEquals("attachment; filename=students.csv", response.getHeader(HttpHeaders.CONTENT_DISPOSITION));
+
+        List<String> records = csvRecords(response.getContentAsString());
+        assertEquals("studentId,studentNumber,firstName,lastName,email,phone,dateOfBirth,gender,departmentCode,"
+                + "enrollmentDate,studentStatus,gpa", records.get(0));
+        assertEquals(count("students"), records.size() - 1);
+        assertEquals(student.getStudentId() + ",EX" + suffix + ",\"Ann, \"\"Jr\"\"\",\"Two\nLines\",ex" + suffix
+                        + "@example.com,,,,EX" + suffix + ",2024-09-01,Active,0.00",
+                single(records, student.getStudentId() + ",EX" + suffix + ","));
+    }
+
+    @Test
+    void studentsNdjsonIsOneJsonDocumentPerLine() throws Exception {
+        MockHttpServletResponse response = export("/api/students/export");
+        assertEquals("application/x-ndjson", response.getContentType());
+
+        String body = response.getContentAsString();
+        assertTrue(body.endsWith("\n"));
+        String[] lines = body.split("\n");
+        assertEquals(count("students"), lines.length);
+        JsonNode mine = null;
+        for (String line : lines) {
+            JsonNode node = objectMapper.readTree(line);
+            if (node.get("studentId").asLong() == student.getStudentId()) {
+                mine = node;
+            }
+        }
+        assertEquals("Ann, \"Jr\"", mine.get("firstName").asText());
+        assertEquals("Two\nLines", mine.get("lastName").asText());
+        assertEquals("EX" + suffix, mine.get("department").get("departmentCode").asText());
+    }
+
+    @Test
+    void feesAndEnrollmentsExportTheirColumns() throws Exception {
+        List<String> fees = csvRecords(export("/api/fees/export?format=csv").getContentAsString());
+        assertEquals(count("fees"), fees.size() - 1);
+        assertEquals(fee.getFeeId() + "," + student.getStudentId() + ",EX" + suffix + ",F24,Lab,120.50,0.00,"
+                        + fee.getDueDate() + ",,Pending,,",
+                single(fees, fee.getFeeId() + "," + student.getStudentId() + ","));
+
+        // The format parameter is case-insensitive
+        List<String> enrollments = csvRecords(export("/api/enrollments/export?format=CSV").getContentAsString());
+        assertEquals("enrollmentId,studentId,studentNumber,courseId,courseCode,enrollmentDate,grade,gradePoints,"
+                + "attendancePercentage,status", enrollments.get(0));
+        assertEquals(count("enrollments"), enrollments.size() - 1);
+        assertTrue(single(enrollments, enrollment.getEnrollmentId() + "," + student.getStudentId() + ",")
+                .endsWith(",Enrolled"));
+
+        String ndjson = export("/api/enrollments/export").getContentAsString();
+        assertEquals(count("enrollments"), ndjson.split("\n").length);
+    }
+
+    @Test
+    void unknownFormatIsRejected() throws Exception {
+        mockMvc.perform(get("/api/students/export?format=xml")).andExpect(status().isBadRequest());
+    }
+
+    private MockHttpServletResponse export(String path) throws Exception {
+        MvcResult started = mockMvc.perform(get(path)).andExpect(request().asyncStarted()).andReturn();
+        MockHttpServletResponse response = mockMvc.perform(asyncDispatch(started)).andReturn().getResponse();
+        assertEquals(200, response.getStatus());
+        return response;
+    }
+
+    private long count(String table) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Long.class);
+    }
+
+    private static String single(List<String> records, String prefix) {
+        List<String> matching = records.stream().filter(record -> record.startsWith(prefix)).toList();
+        assertEquals(1, matching.size(), "records starting with " + prefix);
+        return matching.get(0);
+    }
+
+    // Splits on the CRLF record separator; a quoted field may hold a bare LF
+    private static List<String> csvRecords(String body) {
+        assertTrue(body.endsWith("\r\n"));
+        return new ArrayList<>(List.of(body.substring(0, body.length() - 2).split("\r\n")));
+    }
+}
@@ -0,0 +1,188 @@
+package com.example.student_management.controller;
+
+import com.example.student_management.enums.AddressType;
+import com.example.student_management.enums.EnrollmentStatus;
+import com.example.student_management.enums.FeeType;
+import com.example.student_management.enums.PaymentStatus;
+import com.example.student_management.model.Address;
+import com.example.student_management.model.Courses;
+import com.example.student_management.model.Department;
+import com.example.student_management.model.Enrollments;
+import com.example.student_management.model.Fee;
+import com.example.student_management.model.Student;
+import com.example.student_management.repository.AddressRepository;
+import com.example.student_management.repository.CourseRepository;
+import com.example.student_management.repository.DepartmentRepository;
+import com.example.student_management.repository.EnrollmentRepository;
+import com.example.student_management.repository.FeeRepository;
+import com.example.student_management.service.StudentService;
+import com.example.student_management.support.QueryCounter;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Statement budgets for every list endpoint of the student, enrollment, fee and address controllers.
+// The data spans several students, courses and departments, so a lazy or eager association loaded
+// row by row blows the budget. A failure prints the SQL that ran.
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ListEndpointQueryCountTest {
+
+    private static final int STUDENTS = 4;
+    private static final int COURSES = 4;
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private DepartmentRepository departmentRepository;
+    @Autowired
+    private StudentService studentService;
+    @Autowired
+    private CourseRepository courseRepository;
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+    @Autowired
+    private FeeRepository feeRepository;
+    @Autowired
+    private AddressRepository addressRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long studentId;
+    private Long courseId;
+    private Long departmentId;
+
+    @BeforeAll
+    void seed() {
+        String suffix = Long.toString(System.nanoTime());
+        Department[] departments = new Department[2];
+        for (int d = 0; d < departments.length; d++) {
+            Department department = new Department();
+            department.setDepartmentCode("LE" + d + suffix);
+            department.setDepartmentName("List Endpoints " + d);
+            departments[d] = departmentRepository.save(department);
+        }
+        departmentId = departments[0].getDepartmentId();
+
+        Courses[] courses = new Courses[COURSES];
+        for (int c = 0; c < COURSES; c++) {
+            Courses course = new Courses();
+            course.setCourseCode("LE" + c + suffix);
+            course.setCourseName("Course " + c);
+            course.setCredits(3);
+            course.setMaxStudents(30);
+            course.setDepartment(departments[c % departments.length]);
+            courses[c] = courseRepository.save(course);
+        }
+        courseId = courses[0].getCourseId();
+
+        for (int s = 0; s < STUDENTS; s++) {
+            Student student = new Student();
+            student.setStudentNumber("LE" + s + suffix);
+            student.setFirstName("List");
+            student.setLastName("Endpoint" + s);
+            student.setEmail("le" + s + suffix + "@example.com");
+            student.setDepartment(departments[s % departments.length]);
+            student.setEnrollmentDate(LocalDate.now());
+            // Through the service so the student is also in the search index
+            student = studentService.createStudent(student);
+            // GPA is derived from grades and never written by the services, set it for the minGpa filter
+            jdbcTemplate.update("UPDATE students SET gpa = 3.20 WHERE student_id = ?", student.getStudentId());
+            if (s == 0) {
+                studentId = student.getStudentId();
+            }
+
+            for (int c = 0; c < COURSES; c++) {
+                Enrollments enrollment = new Enrollments();
+                enrollment.setStudent(student);
+                enrollment.setCourse(courses[c]);
+                enrollment.setEnrollmentDate(LocalDate.now());
+                enrollment.setStatus(EnrollmentStatus.Enrolled);
+                enrollmentRepository.save(enrollment);
+
+                Fee fee = new Fee();
+                fee.setStudent(student);
+                fee.setSemester("Fall 2025");
+                fee.setFeeType(FeeType.values()[c]);
+                fee.setAmount(new BigDecimal("100.00"));
+                fee.setDueDate(LocalDate.now().plusDays(30));
+                fee.setPaymentStatus(PaymentStatus.Pending);
+                feeRepository.save(fee);
+            }
+
+            for (AddressType type : AddressType.values()) {
+                Address address = new Address();
+                address.setStudent(student);
+                address.setAddressType(type);
+                address.setStreetAddress(s + " Main Street");
+                address.setCity("Springfield");
+                address.setIsPrimary(type == AddressType.Permanent);
+                addressRepository.save(address);
+            }
+        }
+    }
+
+    @ParameterizedTest(name = "{0} <= {1}")
+    @CsvSource({
+            "/api/students, 1, 4",
+            "/api/students?limit=50, 1, 4",
+            "/api/students/department/{departmentId}, 1, 2",
+            "/api/students/status/Active, 1, 4",
+            "/api/students/search?keyword=endpoint, 1, 4",
+            "/api/students/filter?status=Active&minGpa=3.0, 1, 4",
+            "/api/enrollments, 1, 4",
+            "/api/enrollments?limit=50, 1, 4",
+            "/api/enrollments/student/{studentId}, 1, 4",
+            "/api/enrollments/course/{courseId}, 1, 4",
+            "/api/enrollments/status/Enrolled, 1, 4",
+            "/api/fees, 1, 4",
+            "/api/fees?limit=50, 1, 4",
+            "/api/fees/student/{studentId}, 1, 4",
+            "/api/fees/payment-status/Pending, 1, 4",
+            "/api/addresses, 1, 4",
+            "/api/addresses?limit=50, 1, 4",
+            "/api/addresses/student/{studentId}, 1, 2",
+    })
+    void listEndpointStaysWithinBudget(String template, long maxStatements, int minRows) throws Exception {
+        String url = template
+                .replace("{studentId}", studentId.toString())
+                .replace("{courseId}", courseId.toString())
+                .replace("{departmentId}", departmentId.toString());
+        // Warm reference-data caches and the known-student cache so the budget is the steady state.
+        // Enough rows must come back for a per-row select to show up.
+        String rows = url.contains("limit=") ? "$.content.length()" : "$.length()";
+        mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath(rows).value(greaterThanOrEqualTo(minRows)));
+
+        QueryCounter.assertMaxStatements(maxStatements, url,
+                () -> mockMvc.perform(get(url)).andExpect(status().isOk()));
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "/api/students?limit=0, Limit must be greater than zero",
+            "/api/fees?limit=-5, Limit must be greater than zero",
+            "/api/courses?limit=ten, 'Invalid value for parameter limit: ten'",
+    })
+    void badLimitIsRejected(String url, String message) throws Exception {
+        mockMvc.perform(get(url))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value(message));
+    }
+}
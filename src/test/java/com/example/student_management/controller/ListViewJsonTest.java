@@ -0,0 +1,167 @@
+package com.example.student_management.controller;
+
+import com.example.student_management.enums.AddressType;
+import com.example.student_management.enums.FeeType;
+import com.example.student_management.model.Address;
+import com.example.student_management.model.Courses;
+import com.example.student_management.model.Department;
+import com.example.student_management.model.Enrollments;
+import com.example.student_management.model.Fee;
+import com.example.student_management.model.Student;
+import com.example.student_management.repository.AddressRepository;
+import com.example.student_management.repository.CourseRepository;
+import com.example.student_management.repository.DepartmentRepository;
+import com.example.student_management.repository.EnrollmentRepository;
+import com.example.student_management.repository.FeeRepository;
+import com.example.student_management.repository.StudentRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// List endpoints return the columns the list pages render, not entity graphs
+@SpringBootTest
+@AutoConfigureMockMvc
+class ListViewJsonTest {
+
+    private static final Set<String> STUDENT_REF = Set.of("studentId", "firstName", "lastName");
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private DepartmentRepository departmentRepository;
+    @Autowired
+    private StudentRepository studentRepository;
+    @Autowired
+    private CourseRepository courseRepository;
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+    @Autowired
+    private FeeRepository feeRepository;
+    @Autowired
+    private AddressRepository addressRepository;
+
+    private Student student;
+    private Enrollments enrollment;
+    private Fee fee;
+    private Address address;
+
+    @BeforeEach
+    void seed() {
+        String suffix = Long.toString(System.nanoTime());
+
+        Department department = new Department();
+        department.setDepartmentCode("LV" + suffix);
+        department.setDepartmentName("List Views");
+        department = departmentRepository.save(department);
+
+        student = new Student();
+        student.setStudentNumber("LV" + suffix);
+        student.setFirstName("List");
+        student.setLastName("View");
+        student.setEmail("lv" + suffix + "@example.com");
+        student.setDepartment(department);
+        student.setEnrollmentDate(LocalDate.now());
+        student = studentRepository.save(student);
+
+        Courses course = new Courses();
+        course.setCourseCode("LV" + suffix);
+        course.setCourseName("Projections");
+        course.setCredits(3);
+        course.setMaxStudents(30);
+        course.setDepartment(department);
+        course = courseRepository.save(course);
+
+        enrollment = new Enrollments();
+        enrollment.setStudent(student);
+        enrollment.setCourse(course);
+        enrollment.setEnrollmentDate(LocalDate.now());
+        enrollment = enrollmentRepository.save(enrollment);
+
+        fee = new Fee();
+        fee.setStudent(student);
+        fee.setSemester("Fall 2025");
+        fee.setFeeType(FeeType.Tuition);
+        fee.setAmount(new BigDecimal("1000.00"));
+        fee.setDueDate(LocalDate.now().plusDays(30));
+        fee = feeRepository.save(fee);
+
+        address = new Address();
+        address.setStudent(student);
+        address.setAddressType(AddressType.Permanent);
+        address.setStreetAddress("1 Main Street");
+        address.setCity("Springfield");
+        address = addressRepository.save(address);
+    }
+
+    @Test
+    void studentList() throws Exception {
+        JsonNode row = find("/api/students", "studentId", student.getStudentId());
+        assertEquals(Set.of("studentId", "studentNumber", "firstName", "lastName", "email", "phone",
+                "department", "studentStatus", "gpa"), fields(row));
+        assertEquals(Set.of("departmentId", "departmentName"), fields(row.get("department")));
+        assertEquals("List Views", row.get("department").get("departmentName").asText());
+    }
+
+    @Test
+    void enrollmentList() throws Exception {
+        JsonNode row = find("/api/enrollments", "enrollmentId", enrollment.getEnrollmentId());
+        assertEquals(Set.of("enrollmentId", "student", "course", "enrollmentDate", "grade", "gradePoints",
+                "attendancePercentage", "status"), fields(row));
+        assertEquals(STUDENT_REF, fields(row.get("student")));
+        assertEquals(Set.of("courseId", "courseCode", "courseName"), fields(row.get("course")));
+        assertEquals("Projections", row.get("course").get("courseName").asText());
+    }
+
+    @Test
+    void feeList() throws Exception {
+        JsonNode row = find("/api/fees", "feeId", fee.getFeeId());
+        assertEquals(Set.of("feeId", "student", "semester", "feeType", "amount", "paidAmount", "paymentStatus",
+                "dueDate"), fields(row));
+        assertEquals(STUDENT_REF, fields(row.get("student")));
+        assertEquals("View", row.get("student").get("lastName").asText());
+    }
+
+    @Test
+    void addressList() throws Exception {
+        JsonNode row = find("/api/addresses?limit=500", "addressId", address.getAddressId());
+        assertEquals(Set.of("addressId", "student", "addressType", "streetAddress", "city", "state", "postalCode",
+                "country", "isPrimary"), fields(row));
+        assertEquals(STUDENT_REF, fields(row.get("student")));
+    }
+
+    private JsonNode find(String url, String idField, Long id) throws Exception {
+        String body = mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        JsonNode json = objectMapper.readTree(body);
+        JsonNode rows = json.isArray() ? json : json.get("content");
+        for (JsonNode row : rows) {
+            if (row.get(idField).asLong() == id) {
+                return row;
+            }
+        }
+        throw new AssertionError(url + " has no row with " + idField + " " + id);
+    }
+
+    private static Set<String> fields(JsonNode node) {
+        Set<String> names = new TreeSet<>();
+        node.fieldNames().forEachRemaining(names::add);
+        return names;
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.student_management.controller;
+
+import com.example.student_management.model.Department;
+import com.example.student_management.model.Student;
+import com.example.student_management.repository.DepartmentRepository;
+import com.example.student_management.repository.StudentRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.io.ByteArrayInputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Compression and the binary content types need the real container: MockMvc never gzips
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class PayloadFormatTest {
+
+    private static final int STUDENTS = 40;
+
+    @LocalServerPort
+    private int port;
+    @Autowired
+    private DepartmentRepository departmentRepository;
+    @Autowired
+    private StudentRepository studentRepository;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+    private Department department;
+
+    @BeforeEach
+    void seed() {
+        String suffix = Long.toString(System.nanoTime());
+        department = new Department();
+        department.setDepartmentCode("PF" + suffix);
+        department.setDepartmentName("Payload Formats");
+        department = departmentRepository.save(department);
+
+        for (int i = 0; i < STUDENTS; i++) {
+            Student student = new Student();
+            student.setStudentNumber("PF" + suffix + "-" + i);
+            student.setFirstName("Pay");
+            student.setLastName("Load " + i);
+            student.setEmail("pf" + suffix + "-" + i + "@example.com");
+            student.setDepartment(department);
+            student.setEnrollmentDate(LocalDate.now());
+            studentRepository.save(student);
+        }
+    }
+
+    @Test
+    void largeListsAreGzippedWhenAccepted() throws Exception {
+        String path = "/api/students/department/" + department.getDepartmentId();
+        HttpResponse<byte[]> plain = send(path, "application/json", null);
+        HttpResponse<byte[]> gzipped = send(path, "application/json", "gzip");
+
+        assertTrue(plain.headers().firstValue("Content-Encoding").isEmpty());
+        assertEquals("gzip", gzipped.headers().firstValue("Content-Encoding").orElse(null));
+        byte[] inflated = new GZIPInputStream(new ByteArrayInputStream(gzipped.body())).readAllBytes();
+        assertArrayEquals(plain.body(), inflated);
+        assertTrue(gzipped.body().length < plain.body().length / 4, gzipped.body().length + " bytes");
+    }
+
+    @Test
+    void binaryFormatsCarryTheSameStudentsInFewerBytes() throws Exception {
+        String path = "/api/students/department/" + department.getDepartmentId();
+        HttpResponse<byte[]> json = send(path, "application/json", null);
+        HttpResponse<byte[]> cbor = send(path, "application/cbor", null);
+        HttpResponse<byte[]> smile = send(path, "application/x-jackson-smile", null);
+
+        assertEquals("application/cbor", cbor.headers().firstValue("Content-Type").orElse(null));
+        assertEquals("application/x-jackson-smile", smile.headers().firstValue("Content-Type").orElse(null));
+        JsonNode expected = new ObjectMapper().readTree(json.body());
+        assertSameStudents(expected, new CBORMapper().readTree(cbor.body()));
+        assertSameStudents(expected, new SmileMapper().readTree(smile.body()));
+
+        assertTrue(cbor.body().length < json.body().length, cbor.body().length + " vs " + json.body().length);
+        assertTrue(smile.body().length < cbor.body().length, smile.body().length + " vs " + cbor.body().length);
+    }
+
+    private void assertSameStudents(JsonNode expected, JsonNode actual) {
+        assertEquals(STUDENTS, actual.size());
+        for (int i = 0; i < STUDENTS; i++) {
+            assertEquals(expected.get(i).get("studentNumber"), actual.get(i).get("studentNumber"));
+            assertEquals(expected.get(i).get("email"), actual.get(i).get("email"));
+            assertEquals(expected.get(i).get("department").get("departmentName"),
+                    actual.get(i).get("department").get("departmentName"));
+        }
+        // Dates are numeric arrays in the binary formats
+        assertTrue(actual.get(0).get("enrollmentDate").isArray());
+    }
+
+    private HttpResponse<byte[]> send(String path, String accept, String acceptEncoding) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Accept", accept);
+        if (acceptEncoding != null) {
+            request.header("Accept-Encoding", acceptEncoding);
+        }
+        HttpResponse<byte[]> response = client.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+        assertEquals(200, response.statusCode());
+        return response;
+    }
+}
@@ -0,0 +1,220 @@
+package com.example.student_management.controller;
+
+import com.example.student_management.enums.FeeType;
+import com.example.student_management.enums.PaymentStatus;
+import com.example.student_management.model.Department;
+import com.example.student_management.model.Fee;
+import com.example.student_management.model.FeeLedger;
+import com.example.student_management.model.Student;
+import com.example.student_management.repository.DepartmentRepository;
+import com.example.student_management.repository.FeeLedgerRepository;
+import com.example.student_management.repository.FeeRepository;
+import com.example.student_management.repository.StudentRepository;
+import com.example.student_management.service.FeeLedgerWriter;
+import com.example.student_management.service.FeeService;
+import com.example.student_management.support.QueryCounter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class PaymentBatchTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private DepartmentRepository departmentRepository;
+    @Autowired
+    private StudentRepository studentRepository;
+    @Autowired
+    private FeeRepository feeRepository;
+    @Autowired
+    private FeeLedgerRepository feeLedgerRepository;
+    @Autowired
+    private FeeService feeService;
+    @MockitoSpyBean
+    private FeeLedgerWriter feeLedgerWriter;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String suffix;
+    private Student student;
+    private Fee tuition;
+    private Fee library;
+
+    @BeforeEach
+    void seed() {
+        suffix = Long.toString(System.nanoTime());
+
+        Department department = new Department();
+        department.setDepartmentCode("PB" + suffix);
+        department.setDepartmentName("Payment Batch");
+        department = departmentRepository.save(department);
+
+        student = new Student();
+        student.setStudentNumber("PB" + suffix);
+        student.setFirstName("Payment");
+        student.setLastName("Batch");
+        student.setEmail("pb" + suffix + "@example.com");
+        student.setDepartment(department);
+        student.setEnrollmentDate(LocalDate.now());
+        student = studentRepository.save(student);
+
+        tuition = feeService.createFeeForStudent(student.getStudentId(), "Fall " + suffix, FeeType.Tuition,
+                new BigDecimal("1000.00"), LocalDate.now().plusDays(30));
+        library = feeService.createFeeForStudent(student.getStudentId(), "Fall " + suffix, FeeType.Library,
+                new BigDecimal("50.00"), LocalDate.now().plusDays(30));
+    }
+
+    @Test
+    void appliesValidLinesAndReportsTheRest() throws Exception {
+        String body = "[" +
+                line(tuition.getFeeId(), "300.00", "Card", "A") + "," +
+                line(tuition.getFeeId(), "200.00", "Online", "B") + "," +
+                line(library.getFeeId(), "50.00", null, "C") + "," +
+                line(-1L, "10.00", "Cash", "D") + "," +
+                line(library.getFeeId(), "1.00", "Cash", "E") + "," +
+                line(tuition.getFeeId(), "-5.00", "Cash", "F") + "," +
+                line(tuition.getFeeId(), "5.00", "Bitcoin", "G") + "," +
+                line(tuition.getFeeId(), "300.00", "Card", "A") +
+                "]";
+
+        mockMvc.perform(post("/api/fees/payments/batch").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(8))
+                .andExpect(jsonPath("$.applied").value(3))
+                .andExpect(jsonPath("$.duplicates").value(1))
+                .andExpect(jsonPath("$.rejected").value(4))
+                .andExpect(jsonPath("$.rows[3].message").value("Fee not found with id: -1"))
+                .andExpect(jsonPath("$.rows[4].message").value("Payment amount exceeds outstanding balance"))
+                .andExpect(jsonPath("$.rows[7].outcome").value("Duplicate"));
+
+        Fee paidTuition = feeRepository.findById(tuition.getFeeId()).orElseThrow();
+        assertEquals(0, new BigDecimal("500.00").compareTo(paidTuition.getPaidAmount()));
+        assertEquals(PaymentStatus.Partial, paidTuition.getPaymentStatus());
+        assertEquals("B" + suffix, paidTuition.getTransactionId());
+        assertEquals(PaymentStatus.Paid, feeRepository.findById(library.getFeeId()).orElseThrow().getPaymentStatus());
+
+        FeeLedger ledger = feeLedgerRepository.findByStudentIdOrderBySemesterAsc(student.getStudentId()).get(0);
+        assertEquals(0, new BigDecimal("550.00").compareTo(ledger.getPaidAmount()));
+        assertEquals(0, new BigDecimal("500.00").compareTo(ledger.getOutstandingAmount()));
+        assertEquals(0L, ledger.getPendingCount());
+    }
+
+    @Test
+    void resubmittedFileIsANoOp() throws Exception {
+        String body = "[" +
+                line(tuition.getFeeId(), "100.00", "Card", "R1") + "," +
+                line(tuition.getFeeId(), "100.00", "Card", "R2") + "," +
+                line(library.getFeeId(), "25.00", "Cash", "R3") +
+                "]";
+        mockMvc.perform(post("/api/fees/payments/batch").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(jsonPath("$.applied").value(3));
+
+        // Only the transaction id lookup runs the second time
+        QueryCounter.assertMaxStatements(1, "resubmitted payment batch", () -> mockMvc
+                .perform(post("/api/fees/payments/batch").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(jsonPath("$.applied").value(0))
+                .andExpect(jsonPath("$.duplicates").value(3)));
+
+        assertEquals(0, new BigDecimal("200.00").compareTo(
+                feeRepository.findById(tuition.getFeeId()).orElseThrow().getPaidAmount()));
+    }
+
+    @Test
+    void singlePaymentsShareTransactionIds() throws Exception {
+        feeService.makePayment(tuition.getFeeId(), new BigDecimal("100.00"), "Card", "S" + suffix);
+
+        mockMvc.perform(post("/api/fees/payments/batch").contentType(MediaType.APPLICATION_JSON)
+                        .content("[" + line(tuition.getFeeId(), "100.00", "Card", "S") + "]"))
+                .andExpect(jsonPath("$.duplicates").value(1));
+        assertThrows(RuntimeException.class, () -> feeService.makePayment(tuition.getFeeId(),
+                new BigDecimal("100.00"), "Card", "S" + suffix));
+    }
+
+    @Test
+    void feeChangedAfterTheReadIsReadAgain() throws Exception {
+        // The sweeper marks the tuition Overdue right after the batch read it, once
+        changeAfterRead(tuition, 1);
+
+        mockMvc.perform(post("/api/fees/payments/batch").contentType(MediaType.APPLICATION_JSON).content("[" +
+                        line(tuition.getFeeId(), "100.00", "Card", "O1") + "," +
+                        line(library.getFeeId(), "10.00", "Card", "O2") + "]"))
+                .andExpect(jsonPath("$.applied").value(2));
+
+        Fee paidTuition = feeRepository.findById(tuition.getFeeId()).orElseThrow();
+        assertEquals(0, new BigDecimal("100.00").compareTo(paidTuition.getPaidAmount()));
+        assertEquals(PaymentStatus.Overdue, paidTuition.getPaymentStatus());
+        FeeLedger ledger = feeLedgerRepository.findByStudentIdOrderBySemesterAsc(student.getStudentId()).get(0);
+        assertEquals(0L, ledger.getPendingCount());
+        assertEquals(1L, ledger.getOverdueCount());
+        assertTrue(feeLedgerRepository.findDrifted().stream()
+                .noneMatch(key -> ((Number) key[0]).longValue() == student.getStudentId()));
+    }
+
+    @Test
+    void feeThatKeepsChangingRejectsOnlyItsLines() throws Exception {
+        changeAfterRead(tuition, Integer.MAX_VALUE);
+
+        mockMvc.perform(post("/api/fees/payments/batch").contentType(MediaType.APPLICATION_JSON).content("[" +
+                        line(tuition.getFeeId(), "100.00", "Card", "K1") + "," +
+                        line(library.getFeeId(), "10.00", "Card", "K2") + "]"))
+                .andExpect(jsonPath("$.applied").value(1))
+                .andExpect(jsonPath("$.rejected").value(1))
+                .andExpect(jsonPath("$.rows[0].message").value("Fee changed while posting, resubmit this payment"))
+                .andExpect(jsonPath("$.rows[1].outcome").value("Applied"));
+
+        assertEquals(0, BigDecimal.ZERO.compareTo(
+                feeRepository.findById(tuition.getFeeId()).orElseThrow().getPaidAmount()));
+        assertEquals(0, new BigDecimal("10.00").compareTo(
+                feeRepository.findById(library.getFeeId()).orElseThrow().getPaidAmount()));
+    }
+
+    // The next times the batch snapshots the fee it has just read, another writer moves the fee to
+    // Overdue and past due, with its own ledger delta
+    private void changeAfterRead(Fee fee, int times) {
+        AtomicInteger left = new AtomicInteger(times);
+        doAnswer(invocation -> {
+            Fee read = invocation.getArgument(0);
+            if (fee.getFeeId().equals(read.getFeeId()) && left.getAndDecrement() > 0) {
+                int moved = jdbcTemplate.update("UPDATE fees SET payment_status = 'Overdue', due_date = ?, "
+                                + "version = version + 1 WHERE fee_id = ? AND payment_status = 'Pending'",
+                        LocalDate.now().minusDays(1), fee.getFeeId());
+                if (moved == 0) {
+                    jdbcTemplate.update("UPDATE fees SET version = version + 1 WHERE fee_id = ?", fee.getFeeId());
+                } else {
+                    feeLedgerRepository.applyDelta(student.getStudentId(), fee.getSemester(), 0, BigDecimal.ZERO,
+                            BigDecimal.ZERO, BigDecimal.ZERO, -1, 1);
+                }
+            }
+            return invocation.callRealMethod();
+        }).when(feeLedgerWriter).snapshot(any());
+    }
+
+    // Transaction ids get the per-test suffix so test methods do not see each other's payments
+    private String line(Long feeId, String amount, String method, String transactionId) {
+        return "{\"feeId\":" + feeId + ",\"amount\":" + amount
+                + (method != null ? ",\"paymentMethod\":\"" + method + "\"" : "")
+                + ",\"transactionId\":\"" + transactionId + suffix + "\"}";
+    }
+}
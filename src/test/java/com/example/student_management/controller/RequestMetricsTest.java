@@ -0,0 +1,142 @@
+package com.example.student_management.controller;
+
+import com.example.student_management.model.Courses;
+import com.example.student_management.model.Department;
+import com.example.student_management.model.Enrollments;
+import com.example.student_management.model.Student;
+import com.example.student_management.repository.CourseRepository;
+import com.example.student_management.repository.DepartmentRepository;
+import com.example.student_management.repository.EnrollmentRepository;
+import com.example.student_management.repository.StudentRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Endpoint, service and repository timings plus per-request Hibernate counts
+@SpringBootTest(properties = "metrics.hibernate.statistics=true")
+@AutoConfigureMockMvc
+class RequestMetricsTest {
+
+    private static final String URI = "/api/enrollments/student/{studentId}";
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private DepartmentRepository departmentRepository;
+    @Autowired
+    private StudentRepository studentRepository;
+    @Autowired
+    private CourseRepository courseRepository;
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    private Long studentId;
+
+    @BeforeEach
+    void seed() {
+        String suffix = Long.toString(System.nanoTime());
+
+        Department department = new Department();
+        department.setDepartmentCode("RM" + suffix);
+        department.setDepartmentName("Request Metrics");
+        department = departmentRepository.save(department);
+
+        Student student = new Student();
+        student.setStudentNumber("RM" + suffix);
+        student.setFirstName("Request");
+        student.setLastName("Metrics");
+        student.setEmail("rm" + suffix + "@example.com");
+        student.setDepartment(department);
+        student.setEnrollmentDate(LocalDate.now());
+        student = studentRepository.save(student);
+        studentId = student.getStudentId();
+
+        for (int i = 0; i < 2; i++) {
+            Courses course = new Courses();
+            course.setCourseCode("RM" + i + suffix);
+            course.setCourseName("Course " + i);
+            course.setCredits(3);
+            course.setMaxStudents(30);
+            course.setDepartment(department);
+            course = courseRepository.save(course);
+
+            Enrollments enrollment = new Enrollments();
+            enrollment.setStudent(student);
+            enrollment.setCourse(course);
+            enrollment.setEnrollmentDate(LocalDate.now());
+            enrollmentRepository.save(enrollment);
+        }
+    }
+
+    @Test
+    void recordsQueryCountsPerEndpoint() throws Exception {
+        long before = statementSummary().map(DistributionSummary::count).orElse(0L);
+
+        mockMvc.perform(get("/api/enrollments/student/" + studentId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2));
+
+        DistributionSummary statements = statementSummary().orElseThrow();
+        assertEquals(before + 1, statements.count());
+        // One fetch-joined query, no per-row selects
+        assertEquals(1.0, statements.max());
+
+        DistributionSummary loaded = meterRegistry.get("http.server.requests.hibernate.entities.loaded")
+                .tag("uri", URI).summary();
+        assertTrue(loaded.max() >= 2, "enrollments, courses, student and departments are loaded");
+    }
+
+    @Test
+    void timesServicesAndRepositories() throws Exception {
+        mockMvc.perform(get("/api/enrollments/student/" + studentId)).andExpect(status().isOk());
+
+        Timer service = meterRegistry.get("service.invocations")
+                .tag("service", "EnrollmentServiceImpl")
+                .tag("method", "getEnrollmentsByStudent")
+                .timer();
+        assertTrue(service.count() >= 1);
+        assertEquals(3, service.takeSnapshot().percentileValues().length);
+
+        Timer repository = meterRegistry.get("spring.data.repository.invocations")
+                .tag("repository", "EnrollmentRepository")
+                .tag("method", "findByStudentStudentId")
+                .timer();
+        assertTrue(repository.count() >= 1);
+    }
+
+    @Test
+    void exposesMetricsEndpoint() throws Exception {
+        mockMvc.perform(get("/api/enrollments/student/" + studentId)).andExpect(status().isOk());
+
+        mockMvc.perform(get("/actuator/metrics/http.server.requests.sql.statements").param("tag", "uri:" + URI))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.measurements[0].statistic").value("COUNT"));
+        mockMvc.perform(get("/actuator/metrics/hibernate.statements"))
+                .andExpect(status().isOk());
+        assertNotNull(meterRegistry.find("http.server.requests.percentile").tag("phi", "0.99").gauge());
+    }
+
+    private Optional<DistributionSummary> statementSummary() {
+        return Optional.ofNullable(meterRegistry.find("http.server.requests.sql.statements")
+                .tag("uri", URI)
+                .summary());
+    }
+}
@@ -0,0 +1,166 @@
+package com.example.student_management.controller;
+
+import com.example.student_management.enums.AddressType;
+import com.example.student_management.enums.FeeType;
+import com.example.student_management.model.Address;
+import com.example.student_management.model.Courses;
+import com.example.student_management.model.Department;
+import com.example.student_management.model.Enrollments;
+import com.example.student_management.model.Fee;
+import com.example.student_management.model.Student;
+import com.example.student_management.repository.AddressRepository;
+import com.example.student_management.repository.CourseRepository;
+import com.example.student_management.repository.DepartmentRepository;
+import com.example.student_management.repository.EnrollmentRepository;
+import com.example.student_management.repository.FeeRepository;
+import com.example.student_management.repository.StudentRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Counts the SQL statements behind the per-student list endpoints
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+class StudentScopedQueryCountTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private DepartmentRepository departmentRepository;
+    @Autowired
+    private StudentRepository studentRepository;
+    @Autowired
+    private CourseRepository courseRepository;
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+    @Autowired
+    private FeeRepository feeRepository;
+    @Autowired
+    private AddressRepository addressRepository;
+
+    private Statistics statistics;
+    private Long studentId;
+
+    @BeforeEach
+    void seed() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        String suffix = Long.toString(System.nanoTime());
+
+        Department department = new Department();
+        department.setDepartmentCode("QC" + suffix);
+        department.setDepartmentName("Query Count");
+        department = departmentRepository.save(department);
+
+        Student student = new Student();
+        student.setStudentNumber("QC" + suffix);
+        student.setFirstName("Query");
+        student.setLastName("Count");
+        student.setEmail("qc" + suffix + "@example.com");
+        student.setDepartment(department);
+        student.setEnrollmentDate(LocalDate.now());
+        student = studentRepository.save(student);
+        studentId = student.getStudentId();
+
+        for (int i = 0; i < 3; i++) {
+            Courses course = new Courses();
+            course.setCourseCode("QC" + i + suffix);
+            course.setCourseName("Course " + i);
+            course.setCredits(3);
+            course.setMaxStudents(30);
+            course.setDepartment(department);
+            course = courseRepository.save(course);
+
+            Enrollments enrollment = new Enrollments();
+            enrollment.setStudent(student);
+            enrollment.setCourse(course);
+            enrollment.setEnrollmentDate(LocalDate.now());
+            enrollmentRepository.save(enrollment);
+
+            Fee fee = new Fee();
+            fee.setStudent(student);
+            fee.setSemester("Fall 2025");
+            fee.setFeeType(FeeType.Tuition);
+            fee.setAmount(new BigDecimal("1000.00"));
+            fee.setDueDate(LocalDate.now().plusDays(30));
+            feeRepository.save(fee);
+
+            Address address = new Address();
+            address.setStudent(student);
+            address.setAddressType(i == 0 ? AddressType.Permanent : AddressType.Current);
+            address.setStreetAddress(i + " Main Street");
+            address.setCity("Springfield");
+            address.setIsPrimary(i == 0);
+            addressRepository.save(address);
+        }
+    }
+
+    // Before: a student lookup (with its department join) and then the fee query
+    @Test
+    void feesByStudent() throws Exception {
+        assertStatements("/api/fees/student/" + studentId, 3, 2, 1);
+    }
+
+    // Before: a student lookup, the enrollment query and one course select per enrollment
+    @Test
+    void enrollmentsByStudent() throws Exception {
+        assertStatements("/api/enrollments/student/" + studentId, 3, 5, 1);
+    }
+
+    // Before: a student lookup and then the address query
+    @Test
+    void addressesByStudent() throws Exception {
+        assertStatements("/api/addresses/student/" + studentId, 3, 2, 1);
+    }
+
+    // An empty result costs one id-only probe, and nothing once the id is known
+    @Test
+    void emptyResultProbesOnce() throws Exception {
+        Student student = studentRepository.findById(studentId).orElseThrow();
+        Student other = new Student();
+        other.setStudentNumber(student.getStudentNumber() + "E");
+        other.setFirstName("No");
+        other.setLastName("Fees");
+        other.setEmail("e" + student.getEmail());
+        other.setDepartment(student.getDepartment());
+        other.setEnrollmentDate(LocalDate.now());
+        Long otherId = studentRepository.save(other).getStudentId();
+
+        assertStatements("/api/fees/student/" + otherId, 0, 2, 2);
+        assertStatements("/api/fees/student/" + otherId, 0, 2, 1);
+    }
+
+    @Test
+    void unknownStudentIsNotFound() throws Exception {
+        statistics.clear();
+        mockMvc.perform(get("/api/addresses/student/" + Long.MAX_VALUE))
+                .andExpect(status().isNotFound());
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    private void assertStatements(String url, int rows, long before, long after) throws Exception {
+        statistics.clear();
+        mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(rows));
+        long statements = statistics.getPrepareStatementCount();
+        assertEquals(after, statements, url);
+        assertTrue(statements <= before, url);
+    }
+}
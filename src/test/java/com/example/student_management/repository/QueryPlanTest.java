@@ -0,0 +1,152 @@
+package com.example.student_management.repository;
+
+import com.example.student_management.config.RequestQueryStats;
+import com.example.student_management.enums.AddressType;
+import com.example.student_management.enums.EnrollmentStatus;
+import com.example.student_management.enums.PaymentStatus;
+import com.example.student_management.enums.StudentStatus;
+import com.example.student_management.support.QueryCounter;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.function.Executable;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.fail;
+
+// Runs each hot repository method, EXPLAINs the SQL Hibernate sent and fails on a full table scan,
+// so the indexes in db/migration stay matched to the queries. Whole-table reads (list views without
+// a filter, exports, dashboard totals, ledger rebuilds) and the LIKE '%keyword%' searches scan by
+// design and are not listed.
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class QueryPlanTest {
+
+    // How H2 marks a full scan in EXPLAIN output
+    private static final String TABLE_SCAN = ".tableScan";
+
+    @Autowired
+    private DataSource dataSource;
+    @Autowired
+    private StudentRepository studentRepository;
+    @Autowired
+    private CourseRepository courseRepository;
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+    @Autowired
+    private FeeRepository feeRepository;
+    @Autowired
+    private FeeLedgerRepository feeLedgerRepository;
+    @Autowired
+    private FeePaymentRepository feePaymentRepository;
+    @Autowired
+    private AddressRepository addressRepository;
+
+    Stream<Arguments> hotQueries() {
+        LocalDate today = LocalDate.now();
+        return Stream.of(
+                query("students by number", () -> studentRepository.findByStudentNumber("S1")),
+                query("students by email", () -> studentRepository.findByEmail("s1@example.com")),
+                query("students by ids", () -> studentRepository.findListItemsByIdIn(List.of(1L, 2L))),
+                query("students page", () -> studentRepository.findListItemsAfter(0L, Limit.of(50))),
+                query("students by department", () -> studentRepository.findByDepartmentDepartmentId(1L)),
+                query("students by status", () -> studentRepository.findByStudentStatus(StudentStatus.Active)),
+                query("students by status and department", () ->
+                        studentRepository.findByStudentStatusAndDepartmentDepartmentId(StudentStatus.Active, 1L)),
+                query("students count by department", () -> studentRepository.countByDepartmentDepartmentId(1L)),
+                query("students with min gpa", () -> studentRepository.findStudentsWithMinGpa(3.5)),
+                query("students by gpa range", () ->
+                        studentRepository.findByGpaBetween(new BigDecimal("3.0"), new BigDecimal("3.5"))),
+
+                query("courses by semester", () -> courseRepository.findBySemester("Fall 2025")),
+                query("courses by department", () -> courseRepository.findByDepartmentDepartmentId(1L)),
+                query("courses count by department", () -> courseRepository.countByDepartmentDepartmentId(1L)),
+
+                query("enrollments by student", () -> enrollmentRepository.findByStudentStudentId(1L)),
+                query("enrollments by course", () -> enrollmentRepository.findByCourseCourseId(1L)),
+                query("enrollments by status", () -> enrollmentRepository.findByStatus(EnrollmentStatus.Dropped)),
+                query("enrollments by student and status", () ->
+                        enrollmentRepository.findByStudentStudentIdAndStatus(1L, EnrollmentStatus.Enrolled)),
+                query("enrollment exists", () -> enrollmentRepository.existsByStudentStudentIdAndCourseCourseId(1L, 1L)),
+                query("enrollments count by course", () -> enrollmentRepository.countByCourseCourseId(1L)),
+                query("enrollments count by course and status", () ->
+                        enrollmentRepository.countByCourseCourseIdAndStatus(1L, EnrollmentStatus.Enrolled)),
+                query("enrollments page", () -> enrollmentRepository.findListItemsAfter(0L, Limit.of(50))),
+
+                query("fees by student", () -> feeRepository.findByStudentStudentId(1L)),
+                query("fees by semester", () -> feeRepository.findBySemester("Fall 2025")),
+                query("fees by student and semester", () ->
+                        feeRepository.findByStudentStudentIdAndSemester(1L, "Fall 2025")),
+                query("fees by status", () -> feeRepository.findByPaymentStatus(PaymentStatus.Pending)),
+                query("fees by student and status", () ->
+                        feeRepository.findByStudentStudentIdAndPaymentStatus(1L, PaymentStatus.Pending)),
+                query("overdue fees", () -> feeRepository.findOverdueFees()),
+                query("fee payment states", () -> feeRepository.findPaymentStates(List.of(1L, 2L))),
+                query("overdue sweep chunk", () ->
+                        feeRepository.findOpenPaymentStatesDueBetween(0L, today.minusDays(1), today, Limit.of(500))),
+                query("fees page", () -> feeRepository.findListItemsAfter(0L, Limit.of(50))),
+                query("fee ledger by student", () -> feeLedgerRepository.findByStudentIdOrderBySemesterAsc(1L)),
+                query("posted transactions", () -> feePaymentRepository.findRecordedTransactionIds(List.of("T1", "T2"))),
+
+                query("addresses by student", () -> addressRepository.findByStudentStudentId(1L)),
+                query("addresses by student and type", () ->
+                        addressRepository.findByStudentStudentIdAndAddressType(1L, AddressType.Current)),
+                query("primary address", () -> addressRepository.findByStudentStudentIdAndIsPrimaryTrue(1L)),
+                query("addresses by city", () -> addressRepository.findByCity("Springfield")),
+                query("addresses by state", () -> addressRepository.findByState("IL")),
+                query("addresses page", () -> addressRepository.findListItemsAfter(0L, Limit.of(50))));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("hotQueries")
+    void usesAnIndex(String label, Executable call) throws SQLException {
+        RequestQueryStats stats = QueryCounter.count(call);
+        assertFalse(stats.getSql().isEmpty(), label + " ran no SQL");
+
+        try (Connection connection = dataSource.getConnection()) {
+            for (String sql : stats.getSql()) {
+                String plan = explain(connection, sql);
+                if (plan.contains(TABLE_SCAN)) {
+                    fail(label + " scans a whole table:" + System.lineSeparator() + sql
+                            + System.lineSeparator() + plan);
+                }
+            }
+        }
+    }
+
+    private static String explain(Connection connection, String sql) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+            // The plan does not depend on the bound values
+            int parameters = statement.getParameterMetaData().getParameterCount();
+            for (int i = 1; i <= parameters; i++) {
+                statement.setNull(i, Types.NULL);
+            }
+            StringBuilder plan = new StringBuilder();
+            try (ResultSet rows = statement.executeQuery()) {
+                while (rows.next()) {
+                    plan.append(rows.getString(1));
+                }
+            }
+            return plan.toString();
+        }
+    }
+
+    private static Arguments query(String label, Executable call) {
+        return Arguments.of(label, call);
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.student_management.repository;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// A database Hibernate created before migrations existed: only the V1 tables, rows in them and no
+// flyway_schema_history. The application must baseline it at 1, run every later script with its
+// backfill, and then pass Hibernate's schema validation.
+@SpringBootTest
+class SchemaMigrationTest {
+
+    private static final String URL = "jdbc:h2:mem:legacy;MODE=MySQL;DB_CLOSE_DELAY=-1;DATABASE_TO_LOWER=TRUE";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Runs before the application context starts
+    @DynamicPropertySource
+    static void legacyDatabase(DynamicPropertyRegistry registry) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(URL, "sa", "");
+        Flyway.configure().dataSource(dataSource).target("1").load().migrate();
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("DROP TABLE flyway_schema_history");
+
+        String created = "TIMESTAMP '2020-01-01 00:00:00'";
+        jdbc.update("INSERT INTO departments (department_id, department_code, department_name, created_at, "
+                + "updated_at) VALUES (1, 'LEG', 'Legacy', " + created + ", " + created + ")");
+        for (int id = 1; id <= 2; id++) {
+            jdbc.update("INSERT INTO students (student_id, student_number, first_name, last_name, email, "
+                    + "department_id, enrollment_date, student_status, gpa, created_at, updated_at) "
+                    + "VALUES (?, ?, 'Old', 'Timer', ?, 1, DATE '2019-09-01', 'Active', 0, " + created + ", "
+                    + created + ")", id, "LEG" + id, "leg" + id + "@example.com");
+            jdbc.update("INSERT INTO courses (course_id, course_code, course_name, credits, department_id, "
+                    + "max_students, is_active, created_at, updated_at) "
+                    + "VALUES (?, ?, 'Legacy course', ?, 1, 30, TRUE, " + created + ", " + created + ")",
+                    id, "LEG" + id, 2 + id);
+        }
+        String enrollment = "INSERT INTO enrollments (student_id, course_id, enrollment_date, grade, grade_points, "
+                + "status) VALUES (?, ?, DATE '2019-09-01', ?, ?, ?)";
+        jdbc.update(enrollment, 1, 1, null, null, "Enrolled");
+        jdbc.update(enrollment, 2, 1, null, null, "Enrolled");
+        jdbc.update(enrollment, 1, 2, "A", new BigDecimal("4.00"), "Completed");
+        jdbc.update(enrollment, 2, 2, null, null, "Dropped");
+        String fee = "INSERT INTO fees (student_id, semester, fee_type, amount, paid_amount, due_date, "
+                + "payment_status) VALUES (1, ?, ?, ?, ?, DATE '2099-01-01', ?)";
+        jdbc.update(fee, "Fall 2019", "Tuition", new BigDecimal("1000.00"), new BigDecimal("400.00"), "Partial");
+        jdbc.update(fee, "Fall 2019", "Lab", new BigDecimal("100.00"), new BigDecimal("100.00"), "Paid");
+        jdbc.update(fee, "Spring 2020", "Library", new BigDecimal("50.00"), null, "Pending");
+
+        registry.add("spring.datasource.url", () -> URL);
+    }
+
+    @Test
+    void legacyDatabaseIsBaselinedAndBackfilled() {
+        assertEquals("BASELINE", jdbcTemplate.queryForObject(
+                "SELECT type FROM flyway_schema_history WHERE version = '1'", String.class));
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM flyway_schema_history WHERE NOT success", Integer.class));
+        assertEquals(List.of("2", "3", "4", "5"), jdbcTemplate.queryForList(
+                "SELECT version FROM flyway_schema_history WHERE version IN ('2', '3', '4', '5') "
+                        + "ORDER BY installed_rank", String.class));
+
+        // V2 counted the enrolled rows, so the startup reconciler found nothing to repair
+        List<Map<String, Object>> courses = jdbcTemplate.queryForList(
+                "SELECT enrolled_count, updated_at FROM courses ORDER BY course_id");
+        assertEquals(2, ((Number) courses.get(0).get("enrolled_count")).intValue());
+        assertEquals(0, ((Number) courses.get(1).get("enrolled_count")).intValue());
+        assertEquals(Timestamp.valueOf("2020-01-01 00:00:00"), courses.get(0).get("updated_at"));
+
+        // V3 built the ledger from the fees
+        assertEquals(List.of("Fall 2019|2|1100.00|500.00|600.00|0|0", "Spring 2020|1|50.00|0.00|50.00|1|0"),
+                jdbcTemplate.queryForList("SELECT CONCAT(semester, '|', fee_count, '|', total_amount, '|', "
+                        + "paid_amount, '|', outstanding_amount, '|', pending_count, '|', overdue_count) "
+                        + "FROM fee_ledgers WHERE student_id = 1 ORDER BY semester", String.class));
+
+        // V7 filled the GPA sums from the graded enrollment
+        Map<String, Object> student = jdbcTemplate.queryForMap(
+                "SELECT graded_credits, quality_points, gpa FROM students WHERE student_id = 1");
+        assertEquals(4L, ((Number) student.get("graded_credits")).longValue());
+        assertEquals(0, new BigDecimal("16.00").compareTo((BigDecimal) student.get("quality_points")));
+        assertEquals(0, new BigDecimal("4.00").compareTo((BigDecimal) student.get("gpa")));
+
+        // V8 versions start at zero
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT MAX(version) FROM fees", Integer.class));
+    }
+}
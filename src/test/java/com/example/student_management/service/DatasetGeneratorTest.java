@@ -0,0 +1,126 @@
+package com.example.student_management.service;
+
+import com.example.student_management.dto.DatasetReport;
+import com.example.student_management.dto.DatasetSpec;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+// The same seed gives the same rows whatever the thread count. Runs on a database of its own,
+// since the generator only fills an empty one.
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:dataset;MODE=MySQL;DB_CLOSE_DELAY=-1;DATABASE_TO_LOWER=TRUE")
+class DatasetGeneratorTest {
+
+    // Children before parents
+    private static final List<String> TABLES = List.of("fee_payments", "fee_ledgers", "fees", "enrollments",
+            "addresses", "fee_rollover_checkpoints", "job_watermarks", "students", "courses", "departments");
+
+    // Enrollment, address and fee ids depend on insert order across threads, so they are left out
+    private static final Map<String, String> CONTENT = new LinkedHashMap<>();
+
+    static {
+        CONTENT.put("courses", "SELECT course_id, course_code, credits, department_id, instructor_name, "
+                + "max_students, enrolled_count, semester, is_active FROM courses ORDER BY course_id");
+        CONTENT.put("students", "SELECT student_id, student_number, first_name, last_name, email, phone, "
+                + "date_of_birth, gender, department_id, enrollment_date, student_status, gpa FROM students "
+                + "ORDER BY student_id");
+        CONTENT.put("addresses", "SELECT student_id, address_type, street_address, city, state, postal_code, "
+                + "is_primary FROM addresses ORDER BY student_id, address_type");
+        CONTENT.put("enrollments", "SELECT student_id, course_id, enrollment_date, grade, grade_points, "
+                + "attendance_percentage, status FROM enrollments ORDER BY student_id, course_id");
+        CONTENT.put("fees", "SELECT student_id, semester, fee_type, amount, paid_amount, due_date, payment_date, "
+                + "payment_status, payment_method, transaction_id FROM fees "
+                + "ORDER BY student_id, semester, fee_type, amount, paid_amount, due_date, payment_date, "
+                + "payment_status, payment_method, transaction_id");
+        CONTENT.put("fee_ledgers", "SELECT student_id, semester, fee_count, total_amount, paid_amount, "
+                + "outstanding_amount, pending_count, overdue_count FROM fee_ledgers ORDER BY student_id, semester");
+    }
+
+    @Autowired
+    private DatasetGenerator datasetGenerator;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    @AfterEach
+    void wipe() {
+        TABLES.forEach(table -> jdbcTemplate.update("DELETE FROM " + table));
+    }
+
+    @Test
+    void sameSeedSameRowsForAnyThreadCount() {
+        // Eight chunks, so several threads really share the work
+        DatasetReport single = datasetGenerator.generate(spec(42L, 1));
+        Map<String, String> expected = digests();
+        wipe();
+        DatasetReport parallel = datasetGenerator.generate(spec(42L, 4));
+
+        assertEquals(expected, digests());
+        assertEquals(single.totalRows(), parallel.totalRows());
+        assertEquals(1_000, count("students"));
+
+        wipe();
+        datasetGenerator.generate(spec(7L, 4));
+        assertNotEquals(expected.get("fees"), digests().get("fees"));
+    }
+
+    @Test
+    void refusesADatabaseWithStudents() {
+        datasetGenerator.generate(spec(42L, 2));
+        RuntimeException error = assertThrows(RuntimeException.class, () -> datasetGenerator.generate(spec(42L, 2)));
+        assertEquals("Dataset generation needs an empty database, found 1000 students", error.getMessage());
+    }
+
+    private static DatasetSpec spec(long seed, int threads) {
+        DatasetSpec spec = new DatasetSpec();
+        spec.setSeed(seed);
+        spec.setStudents(1_000);
+        spec.setChunkSize(125);
+        spec.setThreads(threads);
+        return spec;
+    }
+
+    private long count(String table) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Long.class);
+    }
+
+    // SHA-256 of every table's rows in a fixed order
+    private Map<String, String> digests() {
+        Map<String, String> digests = new LinkedHashMap<>();
+        CONTENT.forEach((table, sql) -> {
+            MessageDigest digest = sha256();
+            jdbcTemplate.query(sql, resultSet -> {
+                int columns = resultSet.getMetaData().getColumnCount();
+                for (int i = 1; i <= columns; i++) {
+                    digest.update(String.valueOf(resultSet.getString(i)).getBytes(StandardCharsets.UTF_8));
+                    digest.update((byte) 0);
+                }
+            });
+            digests.put(table, HexFormat.of().formatHex(digest.digest()));
+        });
+        return digests;
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
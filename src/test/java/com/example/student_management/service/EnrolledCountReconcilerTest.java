@@ -0,0 +1,101 @@
+package com.example.student_management.service;
+
+import com.example.student_management.model.Courses;
+import com.example.student_management.model.Department;
+import com.example.student_management.model.Enrollments;
+import com.example.student_management.model.Student;
+import com.example.student_management.repository.CourseRepository;
+import com.example.student_management.repository.DepartmentRepository;
+import com.example.student_management.repository.StudentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class EnrolledCountReconcilerTest {
+
+    @Autowired
+    private EnrolledCountReconciler reconciler;
+    @Autowired
+    private EnrollmentService enrollmentService;
+    @Autowired
+    private SeatAllocator seatAllocator;
+    @Autowired
+    private DepartmentRepository departmentRepository;
+    @Autowired
+    private StudentRepository studentRepository;
+    @Autowired
+    private CourseRepository courseRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Department department;
+    private String suffix;
+
+    @BeforeEach
+    void seed() {
+        suffix = Long.toString(System.nanoTime());
+
+        department = new Department();
+        department.setDepartmentCode("RC" + suffix);
+        department.setDepartmentName("Reconcile");
+        department = departmentRepository.save(department);
+    }
+
+    @Test
+    void repairsDriftedCoursesAndReseedsTheirSeatCounters() {
+        Courses course = course("A", 2);
+        Courses untouched = course("B", 2);
+        Enrollments removed = enrollmentService.enrollStudentInCourse(student("1").getStudentId(), course.getCourseId());
+        enrollmentService.enrollStudentInCourse(student("2").getStudentId(), course.getCourseId());
+        enrollmentService.enrollStudentInCourse(student("3").getStudentId(), untouched.getCourseId());
+        assertEquals(2, seatAllocator.seatsTaken(course.getCourseId()));
+
+        // Manual SQL frees a seat behind the application's back
+        jdbcTemplate.update("DELETE FROM enrollments WHERE enrollment_id = ?", removed.getEnrollmentId());
+
+        assertTrue(reconciler.reconcile() >= 1);
+        assertEquals(1, enrolledCount(course));
+        assertEquals(1, enrolledCount(untouched));
+        // The counter was dropped with the repair, so the freed seat can be taken again
+        assertEquals(1, seatAllocator.seatsTaken(course.getCourseId()));
+        enrollmentService.enrollStudentInCourse(student("4").getStudentId(), course.getCourseId());
+        assertEquals(2, enrolledCount(course));
+
+        assertEquals(0, reconciler.reconcile());
+    }
+
+    private int enrolledCount(Courses course) {
+        return courseRepository.findById(course.getCourseId()).orElseThrow().getEnrolledCount();
+    }
+
+    private Student student(String name) {
+        Student student = new Student();
+        student.setStudentNumber("RC" + name + suffix);
+        student.setFirstName("Seat");
+        student.setLastName(name);
+        student.setEmail("rc" + name + suffix + "@example.com");
+        student.setDepartment(department);
+        student.setEnrollmentDate(LocalDate.now());
+        return studentRepository.save(student);
+    }
+
+    private Courses course(String code, int maxStudents) {
+        Courses course = new Courses();
+        course.setCourseCode("RC" + code + suffix);
+        course.setCourseName("Course " + code);
+        course.setCredits(3);
+        course.setMaxStudents(maxStudents);
+        course.setDepartment(department);
+        course.setUpdatedAt(LocalDateTime.now());
+        return courseRepository.save(course);
+    }
+}
@@ -0,0 +1,170 @@
+package com.example.student_management.service;
+
+import com.example.student_management.dto.FeeSummary;
+import com.example.student_management.enums.FeeType;
+import com.example.student_management.enums.PaymentStatus;
+import com.example.student_management.model.Department;
+import com.example.student_management.model.Fee;
+import com.example.student_management.model.FeeLedger;
+import com.example.student_management.model.Student;
+import com.example.student_management.repository.DepartmentRepository;
+import com.example.student_management.repository.FeeLedgerRepository;
+import com.example.student_management.repository.StudentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// fee_ledgers kept by FeeLedgerWriter must equal what the fees table adds up to
+@SpringBootTest
+class FeeLedgerTest {
+
+    // One row as text, amounts at the column scale so the computed sums compare equal
+    private static final String LEDGER_COLUMNS = "SELECT CONCAT(semester, '|', fee_count, '|', "
+            + "CAST(total_amount AS DECIMAL(12, 2)), '|', CAST(paid_amount AS DECIMAL(12, 2)), '|', "
+            + "CAST(outstanding_amount AS DECIMAL(12, 2)), '|', pending_count, '|', overdue_count) ";
+
+    @Autowired
+    private FeeService feeService;
+    @Autowired
+    private FeeLedgerReconciler feeLedgerReconciler;
+    @Autowired
+    private FeeLedgerRepository feeLedgerRepository;
+    @Autowired
+    private DepartmentRepository departmentRepository;
+    @Autowired
+    private StudentRepository studentRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Student student;
+    private String suffix;
+    private String fall;
+    private String spring;
+
+    @BeforeEach
+    void seed() {
+        suffix = Long.toString(System.nanoTime());
+        fall = "Fall " + suffix;
+        spring = "Spring " + suffix;
+
+        Department department = new Department();
+        department.setDepartmentCode("FL" + suffix);
+        department.setDepartmentName("Fee Ledger");
+        department = departmentRepository.save(department);
+
+        student = new Student();
+        student.setStudentNumber("FL" + suffix);
+        student.setFirstName("Led");
+        student.setLastName("Ger");
+        student.setEmail("fl" + suffix + "@example.com");
+        student.setDepartment(department);
+        student.setEnrollmentDate(LocalDate.now());
+        student = studentRepository.save(student);
+    }
+
+    @Test
+    void incrementalLedgerMatchesTheFees() {
+        LocalDate due = LocalDate.now().plusDays(30);
+        Fee tuition = feeService.createFeeForStudent(student.getStudentId(), fall, FeeType.Tuition,
+                new BigDecimal("1000.00"), due);
+        Fee lab = feeService.createFeeForStudent(student.getStudentId(), fall, FeeType.Lab,
+                new BigDecimal("200.00"), due);
+        Fee library = feeService.createFeeForStudent(student.getStudentId(), spring, FeeType.Library,
+                new BigDecimal("50.00"), due);
+        Fee sports = feeService.createFeeForStudent(student.getStudentId(), spring, FeeType.Sports,
+                new BigDecimal("75.00"), due);
+
+        feeService.makePayment(tuition.getFeeId(), new BigDecimal("300.00"), "Card", null);
+        feeService.makeFullPayment(lab.getFeeId(), "Card", null);
+        feeService.updatePaymentStatus(library.getFeeId(), PaymentStatus.Overdue);
+        // Moves to the other semester with a new amount
+        Fee moved = feeService.getFeeById(tuition.getFeeId());
+        moved.setSemester(spring);
+        moved.setAmount(new BigDecimal("1200.00"));
+        feeService.updateFee(tuition.getFeeId(), moved);
+        feeService.deleteFee(sports.getFeeId());
+
+        assertLedgerMatchesFees();
+        List<FeeLedger> rows = feeLedgerRepository.findByStudentIdOrderBySemesterAsc(student.getStudentId());
+        assertEquals(2, rows.size());
+        assertEquals(1L, row(rows, fall).getFeeCount());
+        assertEquals(0, new BigDecimal("0.00").compareTo(row(rows, fall).getOutstandingAmount()));
+        assertEquals(2L, row(rows, spring).getFeeCount());
+
+        FeeSummary summary = feeService.getFeeSummary(student.getStudentId());
+        assertEquals(0, new BigDecimal("1450.00").compareTo(summary.getTotalAmount()));
+        assertEquals(0, new BigDecimal("500.00").compareTo(summary.getPaidAmount()));
+        assertEquals(0, new BigDecimal("950.00").compareTo(summary.getOutstandingAmount()));
+        assertEquals(0, summary.getPendingCount());
+        assertEquals(1, summary.getOverdueCount());
+
+        // Deleting the last fee of a semester drops its row
+        feeService.deleteFee(lab.getFeeId());
+        assertFalse(feeLedgerRepository.existsById(new FeeLedger.Key(student.getStudentId(), fall)));
+        assertLedgerMatchesFees();
+    }
+
+    @Test
+    void reconcileRepairsOnlyDriftedRows() {
+        String summer = "Summer " + suffix;
+        LocalDate due = LocalDate.now().plusDays(30);
+        for (String semester : List.of(fall, spring, summer)) {
+            feeService.createFeeForStudent(student.getStudentId(), semester, FeeType.Tuition,
+                    new BigDecimal("100.00"), due);
+        }
+        LocalDateTime marker = LocalDateTime.of(2020, 1, 1, 0, 0);
+        jdbcTemplate.update("UPDATE fee_ledgers SET updated_at = ? WHERE student_id = ? AND semester = ?",
+                Timestamp.valueOf(marker), student.getStudentId(), summer);
+
+        // A wrong total, a missing row and a row without fees
+        jdbcTemplate.update("UPDATE fee_ledgers SET total_amount = 1 WHERE student_id = ? AND semester = ?",
+                student.getStudentId(), fall);
+        jdbcTemplate.update("DELETE FROM fee_ledgers WHERE student_id = ? AND semester = ?",
+                student.getStudentId(), spring);
+        jdbcTemplate.update("INSERT INTO fee_ledgers (student_id, semester, fee_count, total_amount, paid_amount, "
+                        + "outstanding_amount, pending_count, overdue_count, updated_at) "
+                        + "VALUES (?, 'Nowhere', 1, 10, 0, 10, 1, 0, CURRENT_TIMESTAMP)",
+                student.getStudentId());
+
+        assertTrue(feeLedgerReconciler.reconcile() >= 3);
+
+        assertLedgerMatchesFees();
+        assertFalse(feeLedgerRepository.existsById(new FeeLedger.Key(student.getStudentId(), "Nowhere")));
+        // The row that was right is left alone
+        FeeLedger untouched = feeLedgerRepository.findById(new FeeLedger.Key(student.getStudentId(), summer))
+                .orElseThrow();
+        assertEquals(marker, untouched.getUpdatedAt());
+        assertTrue(feeLedgerRepository.findDrifted().stream()
+                .noneMatch(key -> ((Number) key[0]).longValue() == student.getStudentId()));
+    }
+
+    // The student's ledger rows against the same totals computed from the fees table
+    private void assertLedgerMatchesFees() {
+        List<String> expected = jdbcTemplate.queryForList(
+                LEDGER_COLUMNS + "FROM ("
+                        + FeeLedgerRepository.LEDGER_FROM_FEES + "WHERE student_id = ? "
+                        + FeeLedgerRepository.GROUP_BY_KEY + ") f ORDER BY semester",
+                String.class, student.getStudentId());
+        List<String> actual = jdbcTemplate.queryForList(
+                LEDGER_COLUMNS + "FROM fee_ledgers "
+                        + "WHERE student_id = ? ORDER BY semester",
+                String.class, student.getStudentId());
+        assertEquals(expected, actual);
+    }
+
+    private static FeeLedger row(List<FeeLedger> rows, String semester) {
+        return rows.stream().filter(row -> row.getSemester().equals(semester)).findFirst().orElseThrow();
+    }
+}
@@ -0,0 +1,199 @@
+package com.example.student_management.service;
+
+import com.example.student_management.enums.FeeType;
+import com.example.student_management.enums.PaymentStatus;
+import com.example.student_management.model.Department;
+import com.example.student_management.model.Fee;
+import com.example.student_management.model.FeeLedger;
+import com.example.student_management.model.Student;
+import com.example.student_management.repository.DepartmentRepository;
+import com.example.student_management.repository.FeeLedgerRepository;
+import com.example.student_management.repository.FeePaymentRepository;
+import com.example.student_management.repository.FeeRepository;
+import com.example.student_management.repository.StudentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// 64 threads paying one fee at the same time: no lost updates, never more than the amount
+@SpringBootTest
+class FeePaymentConcurrencyTest {
+
+    private static final int THREADS = 64;
+
+    @Autowired
+    private FeeService feeService;
+    @Autowired
+    private FeeLedgerReconciler feeLedgerReconciler;
+    @Autowired
+    private DepartmentRepository departmentRepository;
+    @Autowired
+    private StudentRepository studentRepository;
+    @Autowired
+    private FeeRepository feeRepository;
+    @Autowired
+    private FeeLedgerRepository feeLedgerRepository;
+    @Autowired
+    private FeePaymentRepository feePaymentRepository;
+
+    private Student student;
+    private String suffix;
+
+    @BeforeEach
+    void seed() {
+        suffix = Long.toString(System.nanoTime());
+
+        Department department = new Department();
+        department.setDepartmentCode("FC" + suffix);
+        department.setDepartmentName("Fee Concurrency");
+        department = departmentRepository.save(department);
+
+        student = new Student();
+        student.setStudentNumber("FC" + suffix);
+        student.setFirstName("Con");
+        student.setLastName("Current");
+        student.setEmail("fc" + suffix + "@example.com");
+        student.setDepartment(department);
+        student.setEnrollmentDate(LocalDate.now());
+        student = studentRepository.save(student);
+    }
+
+    @Test
+    void concurrentPaymentsNeitherLoseUpdatesNorOverpay() throws Exception {
+        Fee fee = fee("50.00");
+
+        List<Future<Boolean>> results = hammer(i -> feeService.makePayment(fee.getFeeId(), new BigDecimal("1.00"),
+                i % 2 == 0 ? "Online" : "Card", "FC" + suffix + "-" + i));
+
+        int applied = 0;
+        for (Future<Boolean> result : results) {
+            applied += result.get() ? 1 : 0;
+        }
+        Fee paid = feeRepository.findById(fee.getFeeId()).orElseThrow();
+        assertEquals(50, applied);
+        assertEquals(0, new BigDecimal("50.00").compareTo(paid.getPaidAmount()));
+        assertEquals(PaymentStatus.Paid, paid.getPaymentStatus());
+        assertEquals(50L, paid.getVersion());
+        long recorded = IntStream.range(0, THREADS)
+                .filter(i -> feePaymentRepository.existsByTransactionId("FC" + suffix + "-" + i))
+                .count();
+        assertEquals(50, recorded);
+        assertLedgerMatchesRebuild();
+    }
+
+    @Test
+    void concurrentFullPaymentsPayOnce() throws Exception {
+        Fee fee = fee("80.00");
+
+        List<Future<Boolean>> results = hammer(i -> feeService.makeFullPayment(fee.getFeeId(), "Cash", null));
+
+        int applied = 0;
+        for (Future<Boolean> result : results) {
+            applied += result.get() ? 1 : 0;
+        }
+        Fee paid = feeRepository.findById(fee.getFeeId()).orElseThrow();
+        assertEquals(1, applied);
+        assertEquals(0, new BigDecimal("80.00").compareTo(paid.getPaidAmount()));
+        assertLedgerMatchesRebuild();
+    }
+
+    @Test
+    void staleEntitySaveIsRejected() {
+        Fee fee = fee("30.00");
+        Fee stale = feeRepository.findById(fee.getFeeId()).orElseThrow();
+        feeService.makePayment(fee.getFeeId(), new BigDecimal("10.00"), "Cash", null);
+
+        stale.setPaidAmount(BigDecimal.ZERO);
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> feeRepository.save(stale));
+        assertEquals(0, new BigDecimal("10.00").compareTo(
+                feeRepository.findById(fee.getFeeId()).orElseThrow().getPaidAmount()));
+    }
+
+    @Test
+    void repeatedTransactionIdIsRolledBack() {
+        Fee fee = fee("30.00");
+        feeService.makePayment(fee.getFeeId(), new BigDecimal("10.00"), "Cash", "FC" + suffix);
+
+        RuntimeException error = assertThrows(RuntimeException.class,
+                () -> feeService.makePayment(fee.getFeeId(), new BigDecimal("5.00"), "Cash", "FC" + suffix));
+        assertEquals("Transaction already posted: FC" + suffix, error.getMessage());
+        Fee paid = feeRepository.findById(fee.getFeeId()).orElseThrow();
+        assertEquals(0, new BigDecimal("10.00").compareTo(paid.getPaidAmount()));
+        assertEquals(PaymentStatus.Partial, paid.getPaymentStatus());
+        assertLedgerMatchesRebuild();
+    }
+
+    private interface Payment {
+        void pay(int i);
+    }
+
+    // Runs one payment per thread, all released together; true when the payment went through
+    private List<Future<Boolean>> hammer(Payment payment) throws InterruptedException {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < THREADS; i++) {
+                int index = i;
+                results.add(pool.submit(() -> {
+                    start.await();
+                    try {
+                        payment.pay(index);
+                        return true;
+                    } catch (ObjectOptimisticLockingFailureException e) {
+                        throw e;
+                    } catch (RuntimeException e) {
+                        // Balance exhausted: the only acceptable rejection
+                        assertTrue(e.getMessage().contains("exceeds outstanding balance")
+                                || e.getMessage().contains("already fully paid"), e.getMessage());
+                        return false;
+                    }
+                }));
+            }
+            start.countDown();
+            pool.shutdown();
+            assertTrue(pool.awaitTermination(2, TimeUnit.MINUTES));
+        } finally {
+            pool.shutdownNow();
+        }
+        return results;
+    }
+
+    private void assertLedgerMatchesRebuild() {
+        FeeLedger incremental = feeLedgerRepository.findById(new FeeLedger.Key(student.getStudentId(), "Fall " + suffix))
+                .orElseThrow();
+        feeLedgerReconciler.reconcile();
+        FeeLedger rebuilt = feeLedgerRepository.findById(new FeeLedger.Key(student.getStudentId(), "Fall " + suffix))
+                .orElseThrow();
+        assertEquals(0, rebuilt.getPaidAmount().compareTo(incremental.getPaidAmount()));
+        assertEquals(0, rebuilt.getOutstandingAmount().compareTo(incremental.getOutstandingAmount()));
+        assertEquals(rebuilt.getPendingCount(), incremental.getPendingCount());
+    }
+
+    private Fee fee(String amount) {
+        Fee fee = new Fee();
+        fee.setStudent(student);
+        fee.setSemester("Fall " + suffix);
+        fee.setFeeType(FeeType.Tuition);
+        fee.setAmount(new BigDecimal(amount));
+        fee.setDueDate(LocalDate.now().plusDays(30));
+        return feeService.createFee(fee);
+    }
+}
@@ -0,0 +1,235 @@
+package com.example.student_management.service;
+
+import com.example.student_management.dto.FeeRolloverRequest;
+import com.example.student_management.dto.FeeRolloverResult;
+import com.example.student_management.enums.FeeType;
+import com.example.student_management.enums.PaymentStatus;
+import com.example.student_management.enums.StudentStatus;
+import com.example.student_management.model.Department;
+import com.example.student_management.model.Fee;
+import com.example.student_management.model.FeeLedger;
+import com.example.student_management.model.FeeRolloverCheckpoint;
+import com.example.student_management.model.Student;
+import com.example.student_management.repository.DepartmentRepository;
+import com.example.student_management.repository.FeeLedgerRepository;
+import com.example.student_management.repository.FeeRepository;
+import com.example.student_management.repository.FeeRolloverCheckpointRepository;
+import com.example.student_management.repository.StudentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doCallRealMethod;
+
+// Small chunks and several workers, so even a handful of students spans many transactions
+@SpringBootTest(properties = {"fees.rollover.workers=3", "fees.rollover.chunk-size=2"})
+class FeeRolloverTest {
+
+    @Autowired
+    private FeeRolloverService feeRolloverService;
+    @Autowired
+    private FeeLedgerReconciler feeLedgerReconciler;
+    @MockitoSpyBean
+    private FeeLedgerWriter feeLedgerWriter;
+    @Autowired
+    private DepartmentRepository departmentRepository;
+    @Autowired
+    private StudentRepository studentRepository;
+    @Autowired
+    private FeeRepository feeRepository;
+    @Autowired
+    private FeeLedgerRepository feeLedgerRepository;
+    @Autowired
+    private FeeRolloverCheckpointRepository checkpointRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String suffix;
+    private Department science;
+    private Department arts;
+    private final List<Student> scienceStudents = new ArrayList<>();
+    private final List<Student> artsStudents = new ArrayList<>();
+    private Student graduated;
+
+    @BeforeEach
+    void seed() {
+        suffix = Long.toString(System.nanoTime());
+        science = department("SC");
+        arts = department("AR");
+        for (int i = 0; i < 7; i++) {
+            scienceStudents.add(student(science, "S" + i, StudentStatus.Active));
+        }
+        for (int i = 0; i < 5; i++) {
+            artsStudents.add(student(arts, "A" + i, StudentStatus.Active));
+        }
+        graduated = student(science, "G", StudentStatus.Graduated);
+    }
+
+    @Test
+    void everyActiveStudentGetsItsDepartmentsScheduleOnce() {
+        FeeRolloverRequest request = request("Fall " + suffix);
+
+        FeeRolloverResult first = feeRolloverService.rollOver(request);
+        assertEquals(3, first.getPartitions());
+        assertEquals(0, first.getResumedPartitions());
+        assertTrue(first.getFeesCreated() >= 7 * 3 + 5 * 2);
+
+        scienceStudents.forEach(student -> assertFees(student, request.getSemester(), 3));
+        artsStudents.forEach(student -> assertFees(student, request.getSemester(), 2));
+        assertFees(graduated, request.getSemester(), 0);
+        Fee lab = feeRepository.findByStudentStudentId(scienceStudents.get(0).getStudentId()).stream()
+                .filter(fee -> fee.getFeeType() == FeeType.Lab)
+                .findFirst().orElseThrow();
+        assertEquals(0, new BigDecimal("200.00").compareTo(lab.getAmount()));
+        assertEquals(PaymentStatus.Pending, lab.getPaymentStatus());
+        assertEquals(0L, lab.getVersion());
+
+        FeeLedger ledger = ledger(scienceStudents.get(0), request.getSemester());
+        assertEquals(3L, ledger.getFeeCount());
+        assertEquals(0, new BigDecimal("1250.00").compareTo(ledger.getOutstandingAmount()));
+        assertEquals(3L, ledger.getPendingCount());
+        assertLedgerMatchesRebuild(request.getSemester());
+
+        // The semester is done, running it again adds nothing
+        FeeRolloverResult again = feeRolloverService.rollOver(request);
+        assertEquals(0, again.getFeesCreated());
+        assertNoDuplicates(request.getSemester());
+    }
+
+    @Test
+    void interruptedRunResumesFromItsCheckpoints() {
+        FeeRolloverRequest request = request("Spring " + suffix);
+        // The third chunk to commit fails, after two others have
+        doCallRealMethod().doCallRealMethod()
+                .doThrow(new IllegalStateException("Simulated crash"))
+                .doCallRealMethod()
+                .when(feeLedgerWriter).recordCreated(anyList());
+
+        RuntimeException crash = assertThrows(RuntimeException.class, () -> feeRolloverService.rollOver(request));
+        assertTrue(crash.getMessage().contains("run it again to resume"), crash.getMessage());
+        List<FeeRolloverCheckpoint> checkpoints = checkpointRepository.findBySemesterOrderByPartitionNo(request.getSemester());
+        assertEquals(3, checkpoints.size());
+        assertTrue(checkpoints.stream().anyMatch(checkpoint -> !checkpoint.getCompleted()));
+
+        // Only the failed partition is left, and it picks up after its last committed chunk
+        FeeRolloverResult resumed = feeRolloverService.rollOver(request);
+        assertEquals(3, resumed.getPartitions());
+        assertTrue(resumed.getResumedPartitions() <= 1);
+        assertTrue(resumed.getFeesCreated() > 0);
+        assertTrue(checkpointRepository.findBySemesterOrderByPartitionNo(request.getSemester()).stream()
+                .allMatch(FeeRolloverCheckpoint::getCompleted));
+
+        scienceStudents.forEach(student -> assertFees(student, request.getSemester(), 3));
+        artsStudents.forEach(student -> assertFees(student, request.getSemester(), 2));
+        assertNoDuplicates(request.getSemester());
+        assertLedgerMatchesRebuild(request.getSemester());
+    }
+
+    @Test
+    void rerunWithAnotherScheduleIsRejected() {
+        FeeRolloverRequest request = request("Winter " + suffix);
+        feeRolloverService.rollOver(request);
+        long fees = feeRepository.count();
+
+        // The same schedule in another order with amounts at another scale is the same schedule
+        FeeRolloverRequest reordered = request(request.getSemester());
+        Collections.reverse(reordered.getSchedule());
+        reordered.getSchedule().get(0).setAmount(new BigDecimal("200"));
+        assertEquals(0, feeRolloverService.rollOver(reordered).getFeesCreated());
+
+        FeeRolloverRequest added = request(request.getSemester());
+        added.getSchedule().add(new FeeRolloverRequest.Item(arts.getDepartmentId(), FeeType.Lab,
+                new BigDecimal("150.00")));
+        FeeRolloverRequest moved = request(request.getSemester());
+        moved.setDueDate(request.getDueDate().plusDays(1));
+        for (FeeRolloverRequest rerun : List.of(added, moved)) {
+            RuntimeException error = assertThrows(RuntimeException.class, () -> feeRolloverService.rollOver(rerun));
+            assertEquals("Semester " + request.getSemester()
+                    + " was already rolled over with a different fee schedule or due date", error.getMessage());
+        }
+        assertEquals(fees, feeRepository.count());
+    }
+
+    @Test
+    void unknownDepartmentIsRejectedBeforeAnythingIsWritten() {
+        FeeRolloverRequest request = request("Summer " + suffix);
+        request.getSchedule().add(new FeeRolloverRequest.Item(-1L, FeeType.Other, new BigDecimal("10.00")));
+
+        assertThrows(RuntimeException.class, () -> feeRolloverService.rollOver(request));
+        assertTrue(checkpointRepository.findBySemesterOrderByPartitionNo(request.getSemester()).isEmpty());
+    }
+
+    private FeeRolloverRequest request(String semester) {
+        FeeRolloverRequest request = new FeeRolloverRequest();
+        request.setSemester(semester);
+        request.setDueDate(LocalDate.now().plusDays(30));
+        request.getSchedule().add(new FeeRolloverRequest.Item(null, FeeType.Tuition, new BigDecimal("1000.00")));
+        request.getSchedule().add(new FeeRolloverRequest.Item(null, FeeType.Library, new BigDecimal("50.00")));
+        request.getSchedule().add(new FeeRolloverRequest.Item(science.getDepartmentId(), FeeType.Lab,
+                new BigDecimal("200.00")));
+        return request;
+    }
+
+    private void assertFees(Student student, String semester, int expected) {
+        assertEquals(expected, feeRepository.findByStudentStudentIdAndSemester(student.getStudentId(), semester).size(),
+                "fees of " + student.getStudentNumber());
+    }
+
+    private void assertNoDuplicates(String semester) {
+        Integer duplicated = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM (SELECT student_id, fee_type " +
+                "FROM fees WHERE semester = ? GROUP BY student_id, fee_type HAVING COUNT(*) > 1) d",
+                Integer.class, semester);
+        assertEquals(0, duplicated);
+    }
+
+    private void assertLedgerMatchesRebuild(String semester) {
+        List<FeeLedger> incremental = new ArrayList<>();
+        scienceStudents.forEach(student -> incremental.add(ledger(student, semester)));
+        artsStudents.forEach(student -> incremental.add(ledger(student, semester)));
+        feeLedgerReconciler.reconcile();
+        for (FeeLedger before : incremental) {
+            FeeLedger rebuilt = feeLedgerRepository.findById(new FeeLedger.Key(before.getStudentId(), semester))
+                    .orElseThrow();
+            assertEquals(rebuilt.getFeeCount(), before.getFeeCount());
+            assertEquals(0, rebuilt.getTotalAmount().compareTo(before.getTotalAmount()));
+            assertEquals(0, rebuilt.getOutstandingAmount().compareTo(before.getOutstandingAmount()));
+            assertEquals(rebuilt.getPendingCount(), before.getPendingCount());
+        }
+    }
+
+    private FeeLedger ledger(Student student, String semester) {
+        return feeLedgerRepository.findById(new FeeLedger.Key(student.getStudentId(), semester)).orElseThrow();
+    }
+
+    private Department department(String code) {
+        Department department = new Department();
+        department.setDepartmentCode(code + suffix);
+        department.setDepartmentName("Roll-over " + code);
+        return departmentRepository.save(department);
+    }
+
+    private Student student(Department department, String number, StudentStatus status) {
+        Student student = new Student();
+        student.setStudentNumber("FR" + number + suffix);
+        student.setFirstName("Roll");
+        student.setLastName("Over");
+        student.setEmail("fr" + number + suffix + "@example.com");
+        student.setDepartment(department);
+        student.setEnrollmentDate(LocalDate.now());
+        student.setStudentStatus(status);
+        return studentRepository.save(student);
+    }
+}
@@ -0,0 +1,165 @@
+package com.example.student_management.service;
+
+import com.example.student_management.dto.FeeTotals;
+import com.example.student_management.enums.FeeType;
+import com.example.student_management.enums.PaymentStatus;
+import com.example.student_management.model.Department;
+import com.example.student_management.model.Fee;
+import com.example.student_management.model.FeeLedger;
+import com.example.student_management.model.JobWatermark;
+import com.example.student_management.model.Student;
+import com.example.student_management.repository.DepartmentRepository;
+import com.example.student_management.repository.FeeLedgerRepository;
+import com.example.student_management.repository.FeeRepository;
+import com.example.student_management.repository.JobWatermarkRepository;
+import com.example.student_management.repository.StudentRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class OverdueFeeSweeperTest {
+
+    @Autowired
+    private OverdueFeeSweeper sweeper;
+    @Autowired
+    private FeeService feeService;
+    @Autowired
+    private FeeLedgerReconciler feeLedgerReconciler;
+    @Autowired
+    private DepartmentRepository departmentRepository;
+    @Autowired
+    private StudentRepository studentRepository;
+    @Autowired
+    private FeeRepository feeRepository;
+    @Autowired
+    private FeeLedgerRepository feeLedgerRepository;
+    @Autowired
+    private JobWatermarkRepository jobWatermarkRepository;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final LocalDate today = LocalDate.now();
+    private Student student;
+    private String semester;
+
+    @BeforeEach
+    void seed() {
+        String suffix = Long.toString(System.nanoTime());
+        semester = "Spring " + suffix;
+
+        Department department = new Department();
+        department.setDepartmentCode("OD" + suffix);
+        department.setDepartmentName("Overdue");
+        department = departmentRepository.save(department);
+
+        student = new Student();
+        student.setStudentNumber("OD" + suffix);
+        student.setFirstName("Over");
+        student.setLastName("Due");
+        student.setEmail("od" + suffix + "@example.com");
+        student.setDepartment(department);
+        student.setEnrollmentDate(today);
+        student = studentRepository.save(student);
+    }
+
+    @Test
+    void firstSweepMarksEveryOpenPastDueFee() {
+        Fee pending = fee(PaymentStatus.Pending, "0.00", today.minusDays(1));
+        Fee partial = fee(PaymentStatus.Partial, "40.00", today.minusDays(30));
+        Fee paid = fee(PaymentStatus.Paid, "100.00", today.minusDays(30));
+        Fee future = fee(PaymentStatus.Pending, "0.00", today);
+        feeLedgerReconciler.reconcile();
+        jobWatermarkRepository.deleteById(OverdueFeeSweeper.JOB_NAME);
+        double runs = meterRegistry.get("fees.overdue.sweep").timer().count();
+
+        assertTrue(sweeper.sweep() >= 2);
+
+        assertEquals(PaymentStatus.Overdue, statusOf(pending));
+        assertEquals(PaymentStatus.Overdue, statusOf(partial));
+        assertEquals(PaymentStatus.Paid, statusOf(paid));
+        assertEquals(PaymentStatus.Pending, statusOf(future));
+        assertTrue(feeService.getOverdueFees().stream().map(Fee::getFeeId).toList()
+                .containsAll(List.of(pending.getFeeId(), partial.getFeeId())));
+        assertEquals(runs + 1, meterRegistry.get("fees.overdue.sweep").timer().count());
+
+        FeeLedger ledger = ledger();
+        assertEquals(2L, ledger.getOverdueCount());
+        assertEquals(1L, ledger.getPendingCount());
+        assertEquals(0, new BigDecimal("260.00").compareTo(ledger.getOutstandingAmount()));
+        assertEquals(today, jobWatermarkRepository.findById(OverdueFeeSweeper.JOB_NAME)
+                .orElseThrow().getProcessedBefore());
+    }
+
+    @Test
+    void laterSweepsOnlyReadDueDatesPastTheWatermark() {
+        Fee crossed = fee(PaymentStatus.Pending, "0.00", today.minusDays(1));
+        Fee older = fee(PaymentStatus.Pending, "0.00", today.minusDays(10));
+        feeLedgerReconciler.reconcile();
+        jobWatermarkRepository.save(new JobWatermark(OverdueFeeSweeper.JOB_NAME, today.minusDays(3),
+                LocalDateTime.now()));
+
+        sweeper.sweep();
+
+        assertEquals(PaymentStatus.Overdue, statusOf(crossed));
+        // Due before the watermark, so an earlier run is taken to have handled it
+        assertEquals(PaymentStatus.Pending, statusOf(older));
+        assertEquals(0, sweeper.sweep());
+    }
+
+    @Test
+    void writesKeepOverdueStatus() {
+        FeeTotals before = feeRepository.calculateFeeTotals(today);
+        Fee created = feeService.createFeeForStudent(student.getStudentId(), semester, FeeType.Tuition,
+                new BigDecimal("100.00"), today.minusDays(5));
+        assertEquals(PaymentStatus.Overdue, created.getPaymentStatus());
+        // The dashboard counts an overdue fee as pending too
+        FeeTotals open = feeRepository.calculateFeeTotals(today);
+        assertEquals(before.getPendingFees() + 1, open.getPendingFees());
+        assertEquals(before.getOverdueFees() + 1, open.getOverdueFees());
+
+        // Setting a past-due fee back to Pending by hand keeps it Overdue
+        Fee reset = feeService.updatePaymentStatus(created.getFeeId(), PaymentStatus.Pending);
+        assertEquals(PaymentStatus.Overdue, reset.getPaymentStatus());
+        assertEquals(1L, ledger().getOverdueCount());
+
+        Fee partlyPaid = feeService.makePayment(created.getFeeId(), new BigDecimal("30.00"), "Cash", null);
+        assertEquals(PaymentStatus.Overdue, partlyPaid.getPaymentStatus());
+
+        Fee paid = feeService.makePayment(created.getFeeId(), new BigDecimal("70.00"), "Cash", null);
+        assertEquals(PaymentStatus.Paid, paid.getPaymentStatus());
+        assertEquals(0L, ledger().getOverdueCount());
+        assertEquals(before.getPendingFees(), feeRepository.calculateFeeTotals(today).getPendingFees());
+    }
+
+    // Saved straight through the repository, like rows that predate the sweeper
+    private Fee fee(PaymentStatus status, String paid, LocalDate dueDate) {
+        Fee fee = new Fee();
+        fee.setStudent(student);
+        fee.setSemester(semester);
+        fee.setFeeType(FeeType.Tuition);
+        fee.setAmount(new BigDecimal("100.00"));
+        fee.setPaidAmount(new BigDecimal(paid));
+        fee.setPaymentStatus(status);
+        fee.setDueDate(dueDate);
+        return feeRepository.save(fee);
+    }
+
+    private PaymentStatus statusOf(Fee fee) {
+        return feeRepository.findById(fee.getFeeId()).orElseThrow().getPaymentStatus();
+    }
+
+    private FeeLedger ledger() {
+        return feeLedgerRepository.findById(new FeeLedger.Key(student.getStudentId(), semester)).orElseThrow();
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.student_management.service;
+
+import com.example.student_management.model.Courses;
+import com.example.student_management.model.Department;
+import com.example.student_management.repository.CourseRepository;
+import com.example.student_management.repository.DepartmentRepository;
+import com.example.student_management.support.QueryCounter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class ReferenceDataCacheTest {
+
+    @Autowired
+    private CourseService courseService;
+    @Autowired
+    private DepartmentService departmentService;
+    @Autowired
+    private DepartmentRepository departmentRepository;
+    @Autowired
+    private CourseRepository courseRepository;
+
+    private Department department;
+    private Courses course;
+
+    @BeforeEach
+    void seed() {
+        String suffix = Long.toString(System.nanoTime());
+
+        department = new Department();
+        department.setDepartmentCode("RD" + suffix);
+        department.setDepartmentName("Reference");
+        department = departmentRepository.save(department);
+
+        course = new Courses();
+        course.setCourseCode("RD" + suffix);
+        course.setCourseName("Cached");
+        course.setCredits(3);
+        course.setMaxStudents(30);
+        course.setDepartment(department);
+        course.setUpdatedAt(LocalDateTime.now());
+        course = courseRepository.save(course);
+    }
+
+    @Test
+    void callersGetTheirOwnCopies() {
+        Courses first = courseService.getCourseById(course.getCourseId());
+        first.setCourseName("Changed by a caller");
+        first.setMaxStudents(0);
+        first.getDepartment().setDepartmentName("Changed by a caller");
+
+        Courses second = courseService.getCourseById(course.getCourseId());
+        assertNotSame(first, second);
+        assertEquals("Cached", second.getCourseName());
+        assertEquals(30, second.getMaxStudents());
+        assertEquals("Reference", second.getDepartment().getDepartmentName());
+
+        Department byCode = departmentService.getDepartmentByCode(department.getDepartmentCode());
+        byCode.setDepartmentName("Changed by a caller");
+        assertEquals("Reference", departmentService.getDepartmentById(department.getDepartmentId()).getDepartmentName());
+        assertEquals("Reference",
+                departmentService.getDepartmentByCode(department.getDepartmentCode()).getDepartmentName());
+    }
+
+    @Test
+    void lookupsInsideTheServicesAreCached() {
+        courseService.getCourseById(course.getCourseId());
+        departmentService.getDepartmentById(department.getDepartmentId());
+        // Seeds the seat counter, later seat checks run in memory
+        courseService.hasAvailableSeats(course.getCourseId());
+
+        QueryCounter.assertMaxStatements(0, "cached seat check", () -> {
+            assertTrue(courseService.hasAvailableSeats(course.getCourseId()));
+            assertEquals(0, courseService.countEnrollmentsInCourse(course.getCourseId()));
+        });
+        // Only the count itself, the department check is served from the cache
+        QueryCounter.assertMaxStatements(1, "cached department check",
+                () -> departmentService.countCoursesInDepartment(department.getDepartmentId()));
+    }
+
+    @Test
+    void updatesAreVisibleToTheNextLookup() {
+        courseService.getCourseById(course.getCourseId());
+
+        Courses details = courseService.getCourseById(course.getCourseId());
+        details.setCourseName("Renamed");
+        courseService.updateCourse(course.getCourseId(), details);
+        assertEquals("Renamed", courseService.getCourseById(course.getCourseId()).getCourseName());
+
+        courseService.deactivateCourse(course.getCourseId());
+        assertEquals(false, courseService.getCourseById(course.getCourseId()).getIsActive());
+        assertEquals("Renamed", courseService.getCourseByCourseCode(course.getCourseCode()).getCourseName());
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.student_management.service;
+
+import com.example.student_management.repository.CourseRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SeatAllocatorTest {
+
+    @Test
+    void concurrentReservationsNeverOversell() throws Exception {
+        int courses = 8;
+        int capacity = 100;
+        int threads = 32;
+        int requestsPerThread = 500;
+
+        CourseRepository courseRepository = mock(CourseRepository.class);
+        when(courseRepository.findEnrolledCount(anyLong())).thenReturn(Optional.of(10));
+        SeatAllocator allocator = new SeatAllocator(courseRepository);
+
+        AtomicIntegerArray granted = new AtomicIntegerArray(courses);
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            futures.add(pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < requestsPerThread; i++) {
+                    int course = i % courses;
+                    if (allocator.tryReserve((long) course, capacity)) {
+                        granted.incrementAndGet(course);
+                    }
+                }
+                return null;
+            }));
+        }
+
+        long startedAt = System.nanoTime();
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        double seconds = (System.nanoTime() - startedAt) / 1_000_000_000.0;
+        pool.shutdown();
+
+        for (int course = 0; course < courses; course++) {
+            assertEquals(capacity - 10, granted.get(course));
+            assertEquals(capacity, allocator.seatsTaken((long) course));
+            verify(courseRepository, times(1)).findEnrolledCount((long) course);
+        }
+        double requestsPerSecond = threads * requestsPerThread / seconds;
+        assertTrue(requestsPerSecond > 5_000, "Throughput too low: " + requestsPerSecond + " req/s");
+    }
+
+    @Test
+    void releasedSeatCanBeTakenAgain() {
+        CourseRepository courseRepository = mock(CourseRepository.class);
+        when(courseRepository.findEnrolledCount(1L)).thenReturn(Optional.of(2));
+        SeatAllocator allocator = new SeatAllocator(courseRepository);
+
+        assertFalse(allocator.tryReserve(1L, 2));
+        allocator.release(1L);
+        assertTrue(allocator.tryReserve(1L, 2));
+        assertFalse(allocator.tryReserve(1L, 2));
+    }
+
+    @Test
+    void seatIsReturnedWhenTransactionRollsBack() {
+        CourseRepository courseRepository = mock(CourseRepository.class);
+        when(courseRepository.findEnrolledCount(1L)).thenReturn(Optional.of(0));
+        SeatAllocator allocator = new SeatAllocator(courseRepository);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            assertTrue(allocator.tryReserve(1L, 1));
+            assertEquals(1, allocator.seatsTaken(1L));
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(0, allocator.seatsTaken(1L));
+    }
+}
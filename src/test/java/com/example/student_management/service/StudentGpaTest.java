@@ -0,0 +1,178 @@
+package com.example.student_management.service;
+
+import com.example.student_management.enums.EnrollmentStatus;
+import com.example.student_management.model.Courses;
+import com.example.student_management.model.Department;
+import com.example.student_management.model.Enrollments;
+import com.example.student_management.model.Student;
+import com.example.student_management.repository.CourseRepository;
+import com.example.student_management.repository.DepartmentRepository;
+import com.example.student_management.repository.StudentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+class StudentGpaTest {
+
+    @Autowired
+    private EnrollmentService enrollmentService;
+    @Autowired
+    private CourseService courseService;
+    @Autowired
+    private StudentService studentService;
+    @Autowired
+    private StudentGpaReconciler studentGpaReconciler;
+    @Autowired
+    private DepartmentRepository departmentRepository;
+    @Autowired
+    private StudentRepository studentRepository;
+    @Autowired
+    private CourseRepository courseRepository;
+
+    private Department department;
+    private Student student;
+    private String suffix;
+
+    @BeforeEach
+    void seed() {
+        suffix = Long.toString(System.nanoTime());
+
+        department = new Department();
+        department.setDepartmentCode("GP" + suffix);
+        department.setDepartmentName("Grades");
+        department = departmentRepository.save(department);
+
+        student = new Student();
+        student.setStudentNumber("GP" + suffix);
+        student.setFirstName("Grade");
+        student.setLastName("Points");
+        student.setEmail("gp" + suffix + "@example.com");
+        student.setDepartment(department);
+        student.setEnrollmentDate(LocalDate.now());
+        student = studentRepository.save(student);
+    }
+
+    @Test
+    void gpaIsWeightedByCreditsAsGradesChange() {
+        Enrollments fourCredits = enroll(course("A", 4));
+        Enrollments oneCredit = enroll(course("B", 1));
+        assertEquals(0.0, gpa());
+
+        enrollmentService.updateGrade(fourCredits.getEnrollmentId(), "A", 4.0);
+        enrollmentService.updateGrade(oneCredit.getEnrollmentId(), "F", 0.0);
+        // (4 x 4.0 + 1 x 0.0) / 5 credits, not the plain average 2.0
+        assertEquals(3.2, gpa());
+
+        enrollmentService.updateGrade(fourCredits.getEnrollmentId(), "B", 3.0);
+        assertEquals(2.4, gpa());
+
+        enrollmentService.updateEnrollmentStatus(oneCredit.getEnrollmentId(), EnrollmentStatus.Dropped);
+        assertEquals(3.0, gpa());
+
+        enrollmentService.withdrawEnrollment(fourCredits.getEnrollmentId());
+        assertEquals(0.0, gpa());
+    }
+
+    @Test
+    void deletesAndCreditChangesKeepTheSumsExact() {
+        Courses three = course("C", 3);
+        Enrollments graded = enroll(three);
+        Enrollments other = enroll(course("D", 2));
+        enrollmentService.updateGrade(graded.getEnrollmentId(), "A", 4.0);
+        enrollmentService.updateGrade(other.getEnrollmentId(), "C", 2.0);
+        assertEquals(3.2, gpa());
+
+        // Changing a course's credits re-weighs every grade in it
+        Courses details = courseRepository.findById(three.getCourseId()).orElseThrow();
+        details.setCredits(1);
+        courseService.updateCourse(three.getCourseId(), details);
+        assertEquals(2.67, gpa());
+
+        enrollmentService.deleteEnrollment(other.getEnrollmentId());
+        assertEquals(4.0, gpa());
+        assertSums(1, "4.00");
+
+        enrollmentService.deleteAllEnrollmentsByStudent(student.getStudentId());
+        assertEquals(0.0, gpa());
+        assertSums(0, "0.00");
+    }
+
+    @Test
+    void reconcilerAgreesWithIncrementalSums() {
+        Enrollments first = enroll(course("E", 3));
+        Enrollments second = enroll(course("F", 4));
+        enrollmentService.updateGrade(first.getEnrollmentId(), "B+", 3.3);
+        enrollmentService.updateGrade(second.getEnrollmentId(), "A-", 3.7);
+        Student incremental = studentRepository.findById(student.getStudentId()).orElseThrow();
+
+        studentGpaReconciler.reconcile();
+
+        Student rebuilt = studentRepository.findById(student.getStudentId()).orElseThrow();
+        assertEquals(7L, rebuilt.getGradedCredits());
+        assertEquals(0, incremental.getQualityPoints().compareTo(rebuilt.getQualityPoints()));
+        assertEquals(0, incremental.getGpa().compareTo(rebuilt.getGpa()));
+        assertEquals(0, new BigDecimal("3.53").compareTo(rebuilt.getGpa()));
+    }
+
+    @Test
+    void clientSuppliedGpaIsRejected() {
+        Student created = new Student();
+        created.setStudentNumber("GPN" + suffix);
+        created.setFirstName("New");
+        created.setLastName("Student");
+        created.setEmail("gpn" + suffix + "@example.com");
+        created.setDepartment(department);
+        created.setEnrollmentDate(LocalDate.now());
+        created.setGpa(new BigDecimal("3.90"));
+        RuntimeException error = assertThrows(RuntimeException.class, () -> studentService.createStudent(created));
+        assertEquals(StudentGpaWriter.GPA_NOT_WRITABLE, error.getMessage());
+
+        enrollmentService.updateGrade(enroll(course("G", 3)).getEnrollmentId(), "A", 4.0);
+        Student details = studentRepository.findById(student.getStudentId()).orElseThrow();
+        details.setGpa(new BigDecimal("2.00"));
+        error = assertThrows(RuntimeException.class,
+                () -> studentService.updateStudent(student.getStudentId(), details));
+        assertEquals(StudentGpaWriter.GPA_NOT_WRITABLE, error.getMessage());
+        assertEquals(4.0, gpa());
+
+        // Echoing the stored value, or leaving it out, is an ordinary edit
+        details.setGpa(new BigDecimal("4.0"));
+        details.setFirstName("Echoed");
+        studentService.updateStudent(student.getStudentId(), details);
+        details.setGpa(null);
+        studentService.updateStudent(student.getStudentId(), details);
+        assertEquals("Echoed", studentRepository.findById(student.getStudentId()).orElseThrow().getFirstName());
+        assertEquals(4.0, gpa());
+    }
+
+    private double gpa() {
+        return enrollmentService.calculateStudentGpa(student.getStudentId());
+    }
+
+    private void assertSums(long credits, String qualityPoints) {
+        Student current = studentRepository.findById(student.getStudentId()).orElseThrow();
+        assertEquals(credits, current.getGradedCredits());
+        assertEquals(0, new BigDecimal(qualityPoints).compareTo(current.getQualityPoints()));
+    }
+
+    private Courses course(String code, int credits) {
+        Courses course = new Courses();
+        course.setCourseCode("GP" + code + suffix);
+        course.setCourseName("Course " + code);
+        course.setCredits(credits);
+        course.setDepartment(department);
+        return courseRepository.save(course);
+    }
+
+    private Enrollments enroll(Courses course) {
+        return enrollmentService.enrollStudentInCourse(student.getStudentId(), course.getCourseId());
+    }
+}
@@ -0,0 +1,184 @@
+package com.example.student_management.service;
+
+import com.example.student_management.dto.StudentImportResult;
+import com.example.student_management.model.Department;
+import com.example.student_management.model.Student;
+import com.example.student_management.repository.DepartmentRepository;
+import com.example.student_management.repository.StudentRepository;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class StudentImportTest {
+
+    private static final String HEADER = "studentNumber,firstName,lastName,email,phone,gender,departmentCode\n";
+
+    @Autowired
+    private StudentImportService studentImportService;
+    @Autowired
+    private StudentService studentService;
+    @Autowired
+    private StudentRepository studentRepository;
+    @Autowired
+    private DepartmentRepository departmentRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private Validator validator;
+    @Autowired
+    private StudentSearchIndex studentSearchIndex;
+
+    private Department department;
+    private String suffix;
+
+    @BeforeEach
+    void seed() {
+        suffix = Long.toString(System.nanoTime());
+
+        department = new Department();
+        department.setDepartmentCode("IM" + suffix);
+        department.setDepartmentName("Imports");
+        department = departmentRepository.save(department);
+    }
+
+    @Test
+    void csvReportsEveryRejectedRowAndCreatesTheRest() {
+        Student existing = new Student();
+        existing.setStudentNumber("IMX" + suffix);
+        existing.setFirstName("Already");
+        existing.setLastName("Here");
+        existing.setEmail(email("imx"));
+        existing.setDepartment(department);
+        existing.setEnrollmentDate(LocalDate.now());
+        studentRepository.save(existing);
+
+        String code = department.getDepartmentCode();
+        String csv = HEADER
+                + line("IM1" + suffix, "\"Ann, Jr.\"", email("im1"), "", "Female", code)
+                + line("IM2" + suffix, "\"Say \"\"hi\"\"\"", email("im2"), "", "", code)
+                + line("IM3" + suffix, "Bad", "not-an-email", "", "", code)
+                + line("IM4" + suffix, "Nowhere", email("im4"), "", "", "NOPE" + suffix)
+                + line("IM5" + suffix, "Alien", email("im5"), "", "Alien", code)
+                + line("IM1" + suffix, "Twice", email("im6"), "", "", code)
+                + line("IM7" + suffix, "Twice", email("im1").toUpperCase(), "", "", code)
+                + line("IMX" + suffix, "Taken", email("im8"), "", "", code)
+                + line("IM9" + suffix, "Taken", email("imx"), "", "", code)
+                + "\n"
+                + line("IM10" + suffix, "", email("im10"), "", "", code);
+
+        StudentImportResult result = studentImportService.importStudentsCsv(csv);
+
+        assertEquals(10, result.getTotal());
+        assertEquals(2, result.getCreated());
+        assertEquals(8, result.getFailed());
+        List<StudentImportResult.Row> rows = result.getRows();
+        assertEquals(10, rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            assertEquals(i + 1, rows.get(i).getRow());
+        }
+
+        assertTrue(rows.get(0).isSuccess());
+        assertNotNull(rows.get(0).getStudentId());
+        assertTrue(rows.get(1).isSuccess());
+        assertEquals("Email should be valid", rows.get(2).getMessage());
+        assertEquals("Department not found with code: NOPE" + suffix, rows.get(3).getMessage());
+        assertTrue(rows.get(4).getMessage().startsWith("Invalid row: "), rows.get(4).getMessage());
+        assertNull(rows.get(4).getStudentNumber());
+        assertEquals("Duplicate student number in import: IM1" + suffix, rows.get(5).getMessage());
+        // Emails compare case-insensitively
+        assertEquals("Duplicate email in import: " + email("im1").toUpperCase(), rows.get(6).getMessage());
+        assertEquals("Student number already exists: IMX" + suffix, rows.get(7).getMessage());
+        assertEquals("Email already exists: " + email("imx"), rows.get(8).getMessage());
+        assertEquals("First name is required", rows.get(9).getMessage());
+        rows.stream().skip(2).forEach(row -> {
+            assertFalse(row.isSuccess());
+            assertNull(row.getStudentId());
+        });
+
+        // Quoted fields keep their commas and quotes
+        Student ann = studentService.getStudentByStudentNumber("IM1" + suffix);
+        assertEquals(rows.get(0).getStudentId(), ann.getStudentId());
+        assertEquals("Ann, Jr.", ann.getFirstName());
+        assertEquals(department.getDepartmentId(), ann.getDepartment().getDepartmentId());
+        assertEquals("Say \"hi\"", studentService.getStudentByStudentNumber("IM2" + suffix).getFirstName());
+        assertFalse(studentRepository.existsByStudentNumber("IM7" + suffix));
+    }
+
+    @Test
+    void failedInsertFailsOnlyItsChunk() {
+        // Three rows per chunk; the 300-character phone passes validation but not the column
+        StudentImportServiceImpl importer = new StudentImportServiceImpl(studentRepository, departmentRepository,
+                jdbcTemplate, transactionTemplate, validator, studentSearchIndex, 3);
+        String code = department.getDepartmentCode();
+        StringBuilder csv = new StringBuilder(HEADER);
+        for (int i = 1; i <= 7; i++) {
+            csv.append(line("IC" + i + suffix, "Chunk", email("ic" + i), i == 5 ? "9".repeat(300) : "", "", code));
+        }
+
+        StudentImportResult result = importer.importStudentsCsv(csv.toString());
+
+        assertEquals(4, result.getCreated());
+        assertEquals(3, result.getFailed());
+        for (StudentImportResult.Row row : result.getRows()) {
+            boolean secondChunk = row.getRow() >= 4 && row.getRow() <= 6;
+            assertEquals(!secondChunk, row.isSuccess(), "row " + row.getRow());
+            if (secondChunk) {
+                assertTrue(row.getMessage().startsWith("Insert failed: "), row.getMessage());
+                assertFalse(studentRepository.existsByStudentNumber(row.getStudentNumber()));
+            } else {
+                assertTrue(studentRepository.existsByStudentNumber(row.getStudentNumber()));
+            }
+        }
+    }
+
+    @Test
+    void importedGpaMustBeEmptyOrZero() {
+        String code = department.getDepartmentCode();
+        String csv = "studentNumber,firstName,lastName,email,departmentCode,gpa\n"
+                + String.join(",", "IG1" + suffix, "Graded", "Importer", email("ig1"), code, "3.75") + "\n"
+                + String.join(",", "IG2" + suffix, "Zero", "Importer", email("ig2"), code, "0.00") + "\n"
+                + String.join(",", "IG3" + suffix, "Blank", "Importer", email("ig3"), code, "") + "\n";
+
+        StudentImportResult result = studentImportService.importStudentsCsv(csv);
+
+        assertEquals(2, result.getCreated());
+        assertEquals(StudentGpaWriter.GPA_NOT_WRITABLE, result.getRows().get(0).getMessage());
+        assertFalse(studentRepository.existsByStudentNumber("IG1" + suffix));
+        assertEquals(0, BigDecimal.ZERO.compareTo(studentService.getStudentByStudentNumber("IG2" + suffix).getGpa()));
+        assertEquals(0, BigDecimal.ZERO.compareTo(studentService.getStudentByStudentNumber("IG3" + suffix).getGpa()));
+    }
+
+    @Test
+    void unknownColumnRejectsTheWholeFile() {
+        RuntimeException error = assertThrows(RuntimeException.class,
+                () -> studentImportService.importStudentsCsv("studentNumber,nickname\nX,Y\n"));
+        assertEquals("Unknown CSV column: nickname", error.getMessage());
+    }
+
+    private String email(String name) {
+        return name + suffix + "@example.com";
+    }
+
+    private static String line(String number, String firstName, String email, String phone, String gender,
+                               String departmentCode) {
+        return String.join(",", number, firstName, "Importer", email, phone, gender, departmentCode) + "\n";
+    }
+}
@@ -0,0 +1,153 @@
+package com.example.student_management.service;
+
+import com.example.student_management.dto.StudentSearchRow;
+import com.example.student_management.model.Student;
+import com.example.student_management.repository.StudentRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class StudentSearchIndexTest {
+
+    private static final String[] FIRST_NAMES = {"Ana", "Bob", "Carla", "Dmitri", "Eve", "Fatima", "Gus"};
+    private static final String[] LAST_NAMES = {"Smith", "Smithers", "Nguyen", "Okafor", "Larsen", "Ito"};
+
+    @Test
+    void matchesSameStudentsAsSubstringScan() {
+        List<StudentSearchRow> rows = randomRows(2_000, new Random(42));
+        StudentSearchIndex index = buildIndex(rows);
+
+        for (String keyword : List.of("smi", "SMITHERS", "ana", "example.org", "s00012", "zzz", "it", "e")) {
+            List<Long> expected = rows.stream()
+                    .filter(row -> contains(row, keyword))
+                    .map(StudentSearchRow::getStudentId)
+                    .sorted()
+                    .toList();
+            List<Long> actual = index.search(keyword, StudentSearchIndex.ALL_FIELDS, Integer.MAX_VALUE)
+                    .stream().sorted().toList();
+            assertEquals(expected, actual, "keyword " + keyword);
+        }
+    }
+
+    @Test
+    void exactStudentNumberRanksFirst() {
+        List<StudentSearchRow> rows = List.of(
+                new StudentSearchRow(1L, "Ann", "Smith", "ann@example.org", "S1000"),
+                new StudentSearchRow(2L, "Bo", "Lee", "bo@example.org", "S100"),
+                new StudentSearchRow(3L, "Cy", "Ray", "cy@example.org", "XS1001"));
+        StudentSearchIndex index = buildIndex(rows);
+
+        assertEquals(List.of(2L, 1L, 3L), index.search("s100", StudentSearchIndex.ALL_FIELDS, 10));
+        assertEquals(List.of(2L), index.search("s100", StudentSearchIndex.ALL_FIELDS, 1));
+    }
+
+    @Test
+    void updatesAndRemovalsAreVisibleImmediately() {
+        StudentSearchIndex index = buildIndex(List.of(
+                new StudentSearchRow(1L, "Ann", "Smith", "ann@example.org", "S1")));
+        long indexedBytes = index.estimatedBytes();
+        assertTrue(indexedBytes > 0);
+
+        Student same = new Student();
+        same.setStudentId(1L);
+        same.setFirstName("Ann");
+        same.setLastName("Smith");
+        same.setEmail("ann@example.org");
+        same.setStudentNumber("S1");
+        index.index(same);
+        // Re-indexing unchanged fields leaves the running estimate where it was
+        assertEquals(indexedBytes, index.estimatedBytes());
+
+        Student renamed = new Student();
+        renamed.setStudentId(1L);
+        renamed.setFirstName("Ann");
+        renamed.setLastName("Jones");
+        renamed.setEmail("ann@example.org");
+        renamed.setStudentNumber("S1");
+        index.index(renamed);
+
+        assertTrue(index.search("smith", StudentSearchIndex.ALL_FIELDS, 10).isEmpty());
+        assertEquals(List.of(1L), index.search("jones", StudentSearchIndex.ALL_FIELDS, 10));
+
+        index.remove(1L);
+        assertTrue(index.search("jones", StudentSearchIndex.ALL_FIELDS, 10).isEmpty());
+        assertEquals(0, index.size());
+        assertEquals(0, index.estimatedBytes());
+    }
+
+    @Test
+    void notReadyUntilWarmUpCompletes() {
+        StudentRepository studentRepository = mock(StudentRepository.class);
+        StudentSearchIndex index = new StudentSearchIndex(studentRepository, new SimpleMeterRegistry());
+        assertFalse(index.isReady());
+
+        when(studentRepository.findSearchRowsAfter(anyLong(), any(Limit.class))).thenReturn(List.of());
+        index.rebuild();
+        assertTrue(index.isReady());
+    }
+
+    @Test
+    void scanFallbackWhileWarmingKeepsTheResultCap() {
+        StudentRepository studentRepository = mock(StudentRepository.class);
+        StudentSearchIndex index = new StudentSearchIndex(studentRepository, new SimpleMeterRegistry());
+        StudentServiceImpl studentService = new StudentServiceImpl(studentRepository, null, index, null, 5);
+
+        studentService.searchStudents(" smi ");
+        studentService.searchStudentsByName("smi");
+        verify(studentRepository).searchListItems("smi", Limit.of(5));
+        verify(studentRepository).searchListItemsByName("smi", Limit.of(5));
+    }
+
+    private static StudentSearchIndex buildIndex(List<StudentSearchRow> rows) {
+        StudentRepository studentRepository = mock(StudentRepository.class);
+        when(studentRepository.findSearchRowsAfter(anyLong(), any(Limit.class))).thenAnswer(invocation -> {
+            long after = invocation.getArgument(0);
+            int limit = invocation.<Limit>getArgument(1).max();
+            return rows.stream().filter(row -> row.getStudentId() > after).limit(limit).toList();
+        });
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        StudentSearchIndex index = new StudentSearchIndex(studentRepository, meterRegistry);
+        index.rebuild();
+
+        assertTrue(index.isReady());
+        assertEquals(rows.size(), index.size());
+        assertEquals(rows.size(), meterRegistry.get("student.search.index.students").gauge().value());
+        assertTrue(meterRegistry.get("student.search.index.memory.per.student").gauge().value() > 0);
+        return index;
+    }
+
+    private static List<StudentSearchRow> randomRows(int count, Random random) {
+        List<StudentSearchRow> rows = new ArrayList<>();
+        for (long id = 1; id <= count; id++) {
+            String first = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+            String last = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+            String domain = random.nextBoolean() ? "example.org" : "uni.edu";
+            rows.add(new StudentSearchRow(id, first, last,
+                    (first + "." + last + id + "@" + domain).toLowerCase(Locale.ROOT),
+                    String.format("S%05d", id)));
+        }
+        return rows;
+    }
+
+    private static boolean contains(StudentSearchRow row, String keyword) {
+        String needle = keyword.toLowerCase(Locale.ROOT);
+        return row.getFirstName().toLowerCase(Locale.ROOT).contains(needle)
+                || row.getLastName().toLowerCase(Locale.ROOT).contains(needle)
+                || row.getEmail().toLowerCase(Locale.ROOT).contains(needle)
+                || row.getStudentNumber().toLowerCase(Locale.ROOT).contains(needle);
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.student_management.support;
+
+import com.example.student_management.config.RequestQueryStats;
+import org.junit.jupiter.api.function.Executable;
+import org.junit.jupiter.api.function.ThrowingSupplier;
+import org.opentest4j.AssertionFailedError;
+
+// Counts the SQL statements Hibernate prepares on the calling thread while a service call or a
+// MockMvc request runs, and fails with the captured SQL when a budget is exceeded, e.g.
+//   QueryCounter.assertMaxStatements(1, "fees by student", () -> feeService.getFeesByStudent(id));
+// Only work done on the calling thread is seen; streamed exports and @Async work are not.
+public final class QueryCounter {
+
+    private QueryCounter() {
+    }
+
+    public static RequestQueryStats count(Executable action) {
+        RequestQueryStats.begin(true);
+        try {
+            action.execute();
+        } catch (Throwable e) {
+            RequestQueryStats.end();
+            throw new AssertionFailedError("Counted action failed: " + e, e);
+        }
+        return RequestQueryStats.end();
+    }
+
+    public static void assertMaxStatements(long max, String label, Executable action) {
+        assertWithin(max, label, count(action));
+    }
+
+    public static <T> T assertMaxStatements(long max, String label, ThrowingSupplier<T> action) {
+        Object[] result = new Object[1];
+        RequestQueryStats stats = count(() -> result[0] = action.get());
+        assertWithin(max, label, stats);
+        @SuppressWarnings("unchecked")
+        T value = (T) result[0];
+        return value;
+    }
+
+    private static void assertWithin(long max, String label, RequestQueryStats stats) {
+        if (stats.getStatements() <= max) {
+            return;
+        }
+        StringBuilder message = new StringBuilder()
+                .append(label).append(": expected at most ").append(max).append(" SQL statements but ")
+                .append(stats.getStatements()).append(" were executed");
+        for (String sql : stats.getSql()) {
+            message.append(System.lineSeparator()).append("  ").append(sql);
+        }
+        throw new AssertionFailedError(message.toString(), max, stats.getStatements());
+    }
+}
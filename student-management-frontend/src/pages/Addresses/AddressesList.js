@@ -6,6 +6,8 @@ import '../../styles/Table.css';
 
 function AddressesList() {
     const [addresses, setAddresses] = useState([]);
+    const [nextCursor, setNextCursor] = useState(null);
+    const [loadingMore, setLoadingMore] = useState(false);
     const [loading, setLoading] = useState(true);
     const [error, setError] = useState(null);
 
@@ -16,8 +18,9 @@ function AddressesList() {
     const fetchAddresses = async () => {
         try {
             setLoading(true);
-            const response = await addressAPI.get();
-            setAddresses(response.data);
+            const response = await addressAPI.page();
+            setAddresses(response.data.content);
+            setNextCursor(response.data.hasNext ? response.data.nextCursor : null);
             setError(null);
         } catch (err) {
             setError(err.response?.data?.message || 'Failed to fetch addresses');
@@ -26,6 +29,20 @@ function AddressesList() {
         }
     };
 
+    // Next page, after the last row shown
+    const loadMore = async () => {
+        try {
+            setLoadingMore(true);
+            const response = await addressAPI.page(nextCursor);
+            setAddresses((shown) => [...shown, ...response.data.content]);
+            setNextCursor(response.data.hasNext ? response.data.nextCursor : null);
+        } catch (err) {
+            alert(err.response?.data?.message || 'Failed to fetch more addresses');
+        } finally {
+            setLoadingMore(false);
+        }
+    };
+
     const handleDelete = async (id) => {
         if (window.confirm('Are you sure you want to delete this address?')) {
             try {
@@ -97,6 +114,14 @@ function AddressesList() {
                     </table>
                 </div>
             )}
+
+            {nextCursor !== null && (
+                <div className="load-more">
+                    <button onClick={loadMore} className="btn btn-primary" disabled={loadingMore}>
+                        {loadingMore ? 'Loading...' : 'Load more'}
+                    </button>
+                </div>
+            )}
         </div>
     );
 }
@@ -1,7 +1,7 @@
 // src/pages/Dashboard/Dashboard.js
 import React, { useState, useEffect } from 'react';
 import { Link } from 'react-router-dom';
-import { studentAPI, courseAPI, departmentAPI, enrollmentAPI, feeAPI } from '../../services/api';
+import { getDashboardStats } from '../../services/api';
 import '../../styles/Dashboard.css';
 
 function Dashboard() {
@@ -22,24 +22,14 @@ function Dashboard() {
     const fetchStats = async () => {
         try {
             setLoading(true);
-            const [studentsRes, coursesRes, departmentsRes, enrollmentsRes, feesRes] = await Promise.all([
-                studentAPI.get(),
-                courseAPI.get(),
-                departmentAPI.get(),
-                enrollmentAPI.get(),
-                feeAPI.get(),
-            ]);
-
-            const pendingFees = feesRes.data.filter(
-                fee => fee.paymentStatus === 'Pending' || fee.paymentStatus === 'Partial'
-            ).length;
+            const response = await getDashboardStats();
 
             setStats({
-                students: studentsRes.data.length,
-                courses: coursesRes.data.length,
-                departments: departmentsRes.data.length,
-                enrollments: enrollmentsRes.data.length,
-                pendingFees: pendingFees,
+                students: response.data.students,
+                courses: response.data.courses,
+                departments: response.data.departments,
+                enrollments: response.data.enrollments,
+                pendingFees: response.data.pendingFees,
             });
             setError(null);
         } catch (err) {
@@ -6,6 +6,8 @@ import '../../styles/Table.css';
 
 function EnrollmentsList() {
     const [enrollments, setEnrollments] = useState([]);
+    const [nextCursor, setNextCursor] = useState(null);
+    const [loadingMore, setLoadingMore] = useState(false);
     const [loading, setLoading] = useState(true);
     const [error, setError] = useState(null);
 
@@ -16,8 +18,9 @@ function EnrollmentsList() {
     const fetchEnrollments = async () => {
         try {
             setLoading(true);
-            const response = await enrollmentAPI.get();
-            setEnrollments(response.data);
+            const response = await enrollmentAPI.page();
+            setEnrollments(response.data.content);
+            setNextCursor(response.data.hasNext ? response.data.nextCursor : null);
             setError(null);
         } catch (err) {
             setError(err.response?.data?.message || 'Failed to fetch enrollments');
@@ -26,6 +29,20 @@ function EnrollmentsList() {
         }
     };
 
+    // Next page, after the last row shown
+    const loadMore = async () => {
+        try {
+            setLoadingMore(true);
+            const response = await enrollmentAPI.page(nextCursor);
+            setEnrollments((shown) => [...shown, ...response.data.content]);
+            setNextCursor(response.data.hasNext ? response.data.nextCursor : null);
+        } catch (err) {
+            alert(err.response?.data?.message || 'Failed to fetch more enrollments');
+        } finally {
+            setLoadingMore(false);
+        }
+    };
+
     const handleDelete = async (id) => {
         if (window.confirm('Are you sure you want to delete this enrollment?')) {
             try {
@@ -101,6 +118,14 @@ function EnrollmentsList() {
                     </table>
                 </div>
             )}
+
+            {nextCursor !== null && (
+                <div className="load-more">
+                    <button onClick={loadMore} className="btn btn-primary" disabled={loadingMore}>
+                        {loadingMore ? 'Loading...' : 'Load more'}
+                    </button>
+                </div>
+            )}
         </div>
     );
 }
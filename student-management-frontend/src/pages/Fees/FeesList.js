@@ -6,6 +6,8 @@ import '../../styles/Table.css';
 
 function FeesList() {
     const [fees, setFees] = useState([]);
+    const [nextCursor, setNextCursor] = useState(null);
+    const [loadingMore, setLoadingMore] = useState(false);
     const [loading, setLoading] = useState(true);
     const [error, setError] = useState(null);
 
@@ -16,8 +18,9 @@ function FeesList() {
     const fetchFees = async () => {
         try {
             setLoading(true);
-            const response = await feeAPI.get();
-            setFees(response.data);
+            const response = await feeAPI.page();
+            setFees(response.data.content);
+            setNextCursor(response.data.hasNext ? response.data.nextCursor : null);
             setError(null);
         } catch (err) {
             setError(err.response?.data?.message || 'Failed to fetch fees');
@@ -26,6 +29,20 @@ function FeesList() {
         }
     };
 
+    // Next page, after the last row shown
+    const loadMore = async () => {
+        try {
+            setLoadingMore(true);
+            const response = await feeAPI.page(nextCursor);
+            setFees((shown) => [...shown, ...response.data.content]);
+            setNextCursor(response.data.hasNext ? response.data.nextCursor : null);
+        } catch (err) {
+            alert(err.response?.data?.message || 'Failed to fetch more fees');
+        } finally {
+            setLoadingMore(false);
+        }
+    };
+
     const handleDelete = async (id) => {
         if (window.confirm('Are you sure you want to delete this fee record?')) {
             try {
@@ -101,6 +118,14 @@ function FeesList() {
                     </table>
                 </div>
             )}
+
+            {nextCursor !== null && (
+                <div className="load-more">
+                    <button onClick={loadMore} className="btn btn-primary" disabled={loadingMore}>
+                        {loadingMore ? 'Loading...' : 'Load more'}
+                    </button>
+                </div>
+            )}
         </div>
     );
 }
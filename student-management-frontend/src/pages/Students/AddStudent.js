@@ -17,7 +17,6 @@ function AddStudent() {
         gender: 'Male',
         enrollmentDate: new Date().toISOString().split('T')[0],
         studentStatus: 'Active',
-        gpa: '',
         departmentId: '',
     });
     const [error, setError] = useState(null);
@@ -50,7 +49,6 @@ function AddStudent() {
 
         const payload = {
             ...formData,
-            gpa: formData.gpa ? parseFloat(formData.gpa) : null,
             department: { departmentId: parseInt(formData.departmentId) },
         };
         delete payload.departmentId;
@@ -220,23 +218,6 @@ function AddStudent() {
                     </div>
                 </div>
 
-                <div className="form-row">
-                    <div className="form-group">
-                        <label htmlFor="gpa">GPA</label>
-                        <input
-                            type="number"
-                            id="gpa"
-                            name="gpa"
-                            value={formData.gpa}
-                            onChange={handleChange}
-                            step="0.01"
-                            min="0"
-                            max="4.0"
-                            placeholder="0.00 - 4.00"
-                        />
-                    </div>
-                </div>
-
                 <div className="form-actions">
                     <button type="submit" disabled={loading} className="btn btn-primary">
                         {loading ? 'Saving...' : '✓ Add Student'}
@@ -78,10 +78,11 @@ function EditStudent() {
 
         const payload = {
             ...formData,
-            gpa: formData.gpa ? parseFloat(formData.gpa) : null,
             department: { departmentId: parseInt(formData.departmentId) },
         };
         delete payload.departmentId;
+        // GPA follows graded enrollments, the server refuses edits to it
+        delete payload.gpa;
 
         try {
             await studentAPI.put(`/${id}`, payload);
@@ -254,10 +255,7 @@ function EditStudent() {
                             id="gpa"
                             name="gpa"
                             value={formData.gpa}
-                            onChange={handleChange}
-                            step="0.01"
-                            min="0"
-                            max="4.0"
+                            readOnly
                         />
                     </div>
                 </div>
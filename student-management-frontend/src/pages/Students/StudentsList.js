@@ -5,6 +5,8 @@ import '../../styles/Table.css';
 
 function StudentsList() {
     const [students, setStudents] = useState([]);
+    const [nextCursor, setNextCursor] = useState(null);
+    const [loadingMore, setLoadingMore] = useState(false);
     const [departments, setDepartments] = useState([]);
     const [loading, setLoading] = useState(true);
     const [error, setError] = useState(null);
@@ -26,8 +28,9 @@ function StudentsList() {
     const fetchStudents = async () => {
         try {
             setLoading(true);
-            const response = await studentAPI.get();
-            setStudents(response.data);
+            const response = await studentAPI.page();
+            setStudents(response.data.content);
+            setNextCursor(response.data.hasNext ? response.data.nextCursor : null);
             setError(null);
         } catch (err) {
             setError(err.response?.data?.message || 'Failed to fetch students');
@@ -56,6 +59,7 @@ function StudentsList() {
             setLoading(true);
             const response = await searchStudents(searchTerm);
             setStudents(response.data);
+            setNextCursor(null);
         } catch (err) {
             setError('Search failed');
             console.error('Search error:', err);
@@ -77,6 +81,7 @@ function StudentsList() {
             setIsFiltering(true);
             const response = await filterStudents(filters);
             setStudents(response.data);
+            setNextCursor(null);
         } catch (err) {
             setError('Filter failed');
             console.error('Filter error:', err);
@@ -100,6 +105,20 @@ function StudentsList() {
         }
     };
 
+    // Next page, after the last row shown
+    const loadMore = async () => {
+        try {
+            setLoadingMore(true);
+            const response = await studentAPI.page(nextCursor);
+            setStudents((shown) => [...shown, ...response.data.content]);
+            setNextCursor(response.data.hasNext ? response.data.nextCursor : null);
+        } catch (err) {
+            alert(err.response?.data?.message || 'Failed to fetch more students');
+        } finally {
+            setLoadingMore(false);
+        }
+    };
+
     const handleDelete = async (id) => {
         if (window.confirm('Are you sure you want to delete this student?')) {
             try {
@@ -248,6 +267,14 @@ function StudentsList() {
                     </table>
                 </div>
             )}
+
+            {nextCursor !== null && (
+                <div className="load-more">
+                    <button onClick={loadMore} className="btn btn-primary" disabled={loadingMore}>
+                        {loadingMore ? 'Loading...' : 'Load more'}
+                    </button>
+                </div>
+            )}
         </div>
     );
 }
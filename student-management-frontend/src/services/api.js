@@ -30,8 +30,13 @@ api.interceptors.response.use(
     }
 );
 
+// Rows per page of the cursor-paginated list endpoints
+export const PAGE_SIZE = 50;
+
 const makeResource = (resource) => ({
     get: (path = '') => api.get(`/${resource}${path}`),
+    // One page of the list; pass the previous page's nextCursor as after
+    page: (after = null, limit = PAGE_SIZE) => api.get(`/${resource}`, { params: { limit, after } }),
     post: (data) => api.post(`/${resource}`, data),
     put: (path, data) => api.put(`/${resource}${path}`, data),
     delete: (path) => api.delete(`/${resource}${path}`),
@@ -43,6 +48,7 @@ export const courseAPI = makeResource('courses');
 export const addressAPI = makeResource('addresses');
 export const enrollmentAPI = makeResource('enrollments');
 export const feeAPI = makeResource('fees');
+export const getDashboardStats = () => api.get('/dashboard/stats');
 export const searchStudents = (keyword) =>
     api.get(`/students/search?keyword=${encodeURIComponent(keyword)}`);
 export const filterStudents = (filters) => {